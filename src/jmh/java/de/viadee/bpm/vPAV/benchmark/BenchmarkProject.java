@@ -0,0 +1,79 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.generator.SyntheticBpmnGenerator;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Writes the synthetic models of a benchmark to a temporary project folder and configures vPAV to validate it
+ */
+class BenchmarkProject {
+
+    private final File folder;
+
+    private final List<File> models;
+
+    BenchmarkProject(final SyntheticBpmnGenerator generator) throws IOException {
+        folder = Files.createTempDirectory("vPAV-benchmark").toFile();
+        final File basedir = new File(folder, "models");
+        final File validationFolder = new File(folder, "vPAV");
+        Files.createDirectories(basedir.toPath());
+        Files.createDirectories(new File(validationFolder, "data").toPath());
+        models = generator.write(basedir);
+
+        final Properties properties = new Properties();
+        properties.put("basepath", basedir.getPath() + "/");
+        properties.put("scanpath", "target/test-classes/");
+        properties.put("validationFolder", validationFolder.getPath() + "/");
+        properties.put("outputhtml", "true");
+        RuntimeConfig.getInstance().setProperties(properties);
+        RuntimeConfig.getInstance().setTest(true);
+        RuntimeConfig.getInstance().setClassLoader(BenchmarkProject.class.getClassLoader());
+    }
+
+    List<File> getModels() {
+        return models;
+    }
+
+    void delete() throws IOException {
+        RuntimeConfig.getInstance().setProperties(new Properties());
+        FileUtils.deleteDirectory(folder);
+    }
+}
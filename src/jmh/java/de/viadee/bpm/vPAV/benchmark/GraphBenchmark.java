@@ -0,0 +1,115 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.generator.SyntheticBpmnGenerator;
+import de.viadee.bpm.vPAV.processing.code.flow.FlowAnalysis;
+import de.viadee.bpm.vPAV.processing.model.graph.Graph;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of the process graphs by the ElementGraphBuilder and the flow analysis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBenchmark {
+
+    @Param({ "50", "200" })
+    public int tasks;
+
+    @Param({ "0.1", "0.3" })
+    public double gatewayDensity;
+
+    @Param({ "2" })
+    public int callActivityDepth;
+
+    @Param({ "10" })
+    public int variables;
+
+    private BenchmarkProject project;
+
+    private Map<String, BpmnModelInstance> models;
+
+    private FileScanner fileScanner;
+
+    @Setup
+    public void setup() throws IOException {
+        final SyntheticBpmnGenerator generator = new SyntheticBpmnGenerator().tasks(tasks)
+                .gatewayDensity(gatewayDensity).callActivityDepth(callActivityDepth).variables(variables);
+        project = new BenchmarkProject(generator);
+        models = generator.generate();
+        fileScanner = new FileScanner(new RuleSet());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        project.delete();
+    }
+
+    @Benchmark
+    public Collection<Graph> createProcessGraph() {
+        return new ProcessGraphs(models, fileScanner).getGraphs();
+    }
+
+    @Benchmark
+    public FlowAnalysis analyzeFlow(final CreatedGraphs createdGraphs) {
+        final FlowAnalysis flowAnalysis = createdGraphs.processGraphs.getFlowAnalysis();
+        flowAnalysis.analyze(createdGraphs.processGraphs.getGraphs());
+        return flowAnalysis;
+    }
+
+    /**
+     * The flow analysis changes the graphs, so they are created again before each invocation
+     */
+    @State(Scope.Thread)
+    public static class CreatedGraphs {
+
+        private ProcessGraphs processGraphs;
+
+        @Setup(Level.Invocation)
+        public void setup(final GraphBenchmark benchmark) {
+            processGraphs = new ProcessGraphs(benchmark.models, benchmark.fileScanner);
+        }
+    }
+}
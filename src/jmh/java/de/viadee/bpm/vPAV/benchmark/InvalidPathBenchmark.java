@@ -0,0 +1,116 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.generator.SyntheticBpmnGenerator;
+import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.graph.Graph;
+import de.viadee.bpm.vPAV.processing.model.graph.InvalidPathSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculation of the invalid paths of all anomalies found by the flow analysis. The number of paths grows
+ * exponentially with the number of gateways, so the search mode "all" is only feasible for small models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InvalidPathBenchmark {
+
+    @Param({ "50", "200" })
+    public int tasks;
+
+    @Param({ "0.1", "0.3" })
+    public double gatewayDensity;
+
+    @Param({ "2" })
+    public int callActivityDepth;
+
+    @Param({ "bounded", "shortest" })
+    public String invalidPaths;
+
+    private BenchmarkProject project;
+
+    private ProcessGraphs processGraphs;
+
+    private InvalidPathSearch search;
+
+    @Setup
+    public void setup() throws IOException {
+        final SyntheticBpmnGenerator generator = new SyntheticBpmnGenerator().tasks(tasks)
+                .gatewayDensity(gatewayDensity).callActivityDepth(callActivityDepth);
+        project = new BenchmarkProject(generator);
+        processGraphs = new ProcessGraphs(generator.generate(), new FileScanner(new RuleSet()));
+        processGraphs.getFlowAnalysis().analyze(processGraphs.getGraphs());
+
+        switch (invalidPaths) {
+            case "all":
+                search = InvalidPathSearch.ALL;
+                break;
+            case "shortest":
+                search = InvalidPathSearch.shortest();
+                break;
+            default:
+                search = InvalidPathSearch.bounded(100, 100);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        project.delete();
+    }
+
+    @Benchmark
+    public int calculateInvalidPaths() {
+        int paths = 0;
+        for (final Graph graph : processGraphs.getGraphs()) {
+            for (final Map.Entry<BpmnElement, List<AnomalyContainer>> element : graph.getNodesWithAnomalies()
+                    .entrySet()) {
+                for (final AnomalyContainer anomaly : element.getValue()) {
+                    paths += graph.getInvalidPaths(element.getKey(), anomaly, search).size();
+                }
+            }
+        }
+        return paths;
+    }
+}
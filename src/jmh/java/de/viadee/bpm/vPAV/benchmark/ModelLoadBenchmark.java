@@ -0,0 +1,90 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.generator.SyntheticBpmnGenerator;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of BPMN models and mapping of the project files by the FileScanner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModelLoadBenchmark {
+
+    @Param({ "50", "500" })
+    public int tasks;
+
+    @Param({ "0.1" })
+    public double gatewayDensity;
+
+    @Param({ "2" })
+    public int callActivityDepth;
+
+    private BenchmarkProject project;
+
+    @Setup
+    public void setup() throws IOException {
+        project = new BenchmarkProject(new SyntheticBpmnGenerator().tasks(tasks).gatewayDensity(gatewayDensity)
+                .callActivityDepth(callActivityDepth));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        project.delete();
+    }
+
+    @Benchmark
+    public void readModels(final Blackhole blackhole) {
+        for (final File model : project.getModels()) {
+            blackhole.consume(Bpmn.readModelFromFile(model));
+        }
+    }
+
+    @Benchmark
+    public FileScanner scanFiles() {
+        // Every FileScanner uses a new model repository and parses all models again
+        return new FileScanner(new RuleSet());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.SootResolverSimplified;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.generator.SyntheticBpmnGenerator;
+import de.viadee.bpm.vPAV.processing.EntryPointScanner;
+import de.viadee.bpm.vPAV.processing.JavaReaderStatic;
+import de.viadee.bpm.vPAV.processing.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.toolkits.graph.Block;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Interpretation of the methods of the delegates in the test classes by the ObjectReader, as done by the entry point
+ * scan. The method bodies are loaded by Soot beforehand, so only the ObjectReader is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ObjectReaderBenchmark {
+
+    @Param({ "de/viadee/bpm/vPAV/delegates/" })
+    public String corpus;
+
+    private BenchmarkProject project;
+
+    private final List<SootClass> classes = new ArrayList<>();
+
+    private final List<SootMethod> methods = new ArrayList<>();
+
+    private final List<Block> blocks = new ArrayList<>();
+
+    @Setup
+    public void setup() throws IOException {
+        project = new BenchmarkProject(new SyntheticBpmnGenerator().tasks(1));
+        final FileScanner fileScanner = new FileScanner(new RuleSet());
+        JavaReaderStatic.setupSoot();
+
+        final Set<String> classFiles = fileScanner.getJavaResourcesFileInputStream().stream()
+                .filter(classFile -> classFile.replace('\\', '/').startsWith(corpus))
+                .collect(Collectors.toSet());
+        for (final SootClass sootClass : SootResolverSimplified.setupSootClasses(classFiles).values()) {
+            if (sootClass.isInterface()) {
+                continue;
+            }
+            for (final SootMethod method : sootClass.getMethods()) {
+                final Block block = !method.isPhantom() && !method.isAbstract()
+                        ? SootResolverSimplified.getBlockFromMethod(method) : null;
+                if (block != null) {
+                    classes.add(sootClass);
+                    methods.add(method);
+                    blocks.add(block);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        project.delete();
+    }
+
+    @Benchmark
+    public void readDelegates(final Blackhole blackhole) {
+        final EntryPointScanner receiver = new EntryPointScanner(null);
+        for (int i = 0; i < blocks.size(); i++) {
+            final ObjectReader objectReader = new ObjectReader(receiver, classes.get(i), methods.get(i).getName());
+            blackhole.consume(objectReader.processBlock(blocks.get(i), new ArrayList<>(), null, new HashMap<>(),
+                    new HashMap<>()));
+        }
+        blackhole.consume(receiver);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.benchmark;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.exceptions.OutputWriterException;
+import de.viadee.bpm.vPAV.generator.SyntheticBpmnGenerator;
+import de.viadee.bpm.vPAV.output.JsOutputWriter;
+import de.viadee.bpm.vPAV.output.JsonOutputWriter;
+import de.viadee.bpm.vPAV.output.XmlOutputWriter;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing of the XML, JSON and JavaScript output for a number of issues
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OutputWriterBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int issues;
+
+    @Param({ "500" })
+    public int tasks;
+
+    private BenchmarkProject project;
+
+    private final Collection<CheckerIssue> checkerIssues = new ArrayList<>();
+
+    private final Set<String> modelPaths = new HashSet<>();
+
+    @Setup
+    public void setup() throws IOException {
+        project = new BenchmarkProject(new SyntheticBpmnGenerator().tasks(tasks));
+        RuntimeConfig.getInstance().setRuleSet(new RuleSet());
+        final List<File> models = project.getModels();
+        for (final File model : models) {
+            modelPaths.add(model.getName());
+        }
+        final String bpmnFile = RuntimeConfig.getInstance().getBasepath() + models.get(0).getName();
+        for (int i = 0; i < issues; i++) {
+            final String elementId = "Task_0_" + (i % tasks);
+            checkerIssues.add(new CheckerIssue("BenchmarkChecker", null,
+                    i % 2 == 0 ? CriticalityEnum.WARNING : CriticalityEnum.ERROR, bpmnFile, elementId, elementId,
+                    "Issue " + i, null, null));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        project.delete();
+    }
+
+    @Benchmark
+    public void writeXml() throws OutputWriterException {
+        new XmlOutputWriter().write(checkerIssues);
+    }
+
+    @Benchmark
+    public void writeJson() throws OutputWriterException {
+        new JsonOutputWriter().write(checkerIssues);
+    }
+
+    @Benchmark
+    public void writeJs() throws OutputWriterException {
+        final JsOutputWriter jsOutputWriter = new JsOutputWriter();
+        jsOutputWriter.prepareMaps(Collections.emptyMap(), Collections.emptyMap(), modelPaths);
+        jsOutputWriter.write(checkerIssues);
+    }
+}
@@ -35,12 +35,20 @@ import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import org.camunda.bpm.model.bpmn.instance.Process;
 import org.camunda.bpm.model.bpmn.instance.*;
 import org.camunda.bpm.model.bpmn.instance.camunda.*;
+import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
 
 import java.util.*;
 
 public class BpmnScanner {
 
+    /**
+     * Script types below the elements of a model, which is not changed during validation. The index only refers to
+     * the ids of the elements, so that the model can be garbage collected.
+     */
+    private static final Map<ModelInstance, Map<String, List<String>>> SCRIPT_TYPES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
     private BpmnScanner() {
 
     }
@@ -173,18 +181,48 @@ public class BpmnScanner {
      * @return scriptPlaces contains script type
      */
     public static List<String> getScriptTypes(BaseElement element) {
-        // bool to hold return values
-        ArrayList<String> returnScriptType = new ArrayList<>();
+        if (element.getId() == null) {
+            // elements without id are not part of the index
+            ArrayList<String> returnScriptType = new ArrayList<>();
+            for (CamundaScript script : element.getModelInstance().getModelElementsByType(CamundaScript.class)) {
+                if (isChildOf(element, script)) {
+                    returnScriptType.add(script.getParentElement().getElementType().getTypeName());
+                }
+            }
+            return returnScriptType;
+        }
 
-        Collection<CamundaScript> scripts = element.getModelInstance().getModelElementsByType(CamundaScript.class);
+        Map<String, List<String>> scriptTypes = SCRIPT_TYPES.get(element.getModelInstance());
+        if (scriptTypes == null) {
+            scriptTypes = createScriptTypeIndex(element.getModelInstance());
+            SCRIPT_TYPES.put(element.getModelInstance(), scriptTypes);
+        }
+        return new ArrayList<>(scriptTypes.getOrDefault(element.getId(), Collections.emptyList()));
+    }
 
-        for (CamundaScript script : scripts) {
-            if (isChildOf(element, script)) {
-                returnScriptType.add(script.getParentElement().getElementType().getTypeName());
+    /**
+     * Maps the ids of all elements to the types of the parents of the scripts below them. Each script is visited once
+     * and added to all of its ancestors in the order of the scripts in the model.
+     *
+     * @param modelInstance Model
+     * @return Script types by element id
+     */
+    private static Map<String, List<String>> createScriptTypeIndex(ModelInstance modelInstance) {
+        Map<String, List<String>> scriptTypes = new HashMap<>();
+        for (CamundaScript script : modelInstance.getModelElementsByType(CamundaScript.class)) {
+            if (script.getParentElement() == null) {
+                continue;
+            }
+            String scriptType = script.getParentElement().getElementType().getTypeName();
+            for (ModelElementInstance ancestor = script.getParentElement(); ancestor != null;
+                    ancestor = ancestor.getParentElement()) {
+                String id = ancestor instanceof BaseElement ? ((BaseElement) ancestor).getId() : null;
+                if (id != null) {
+                    scriptTypes.computeIfAbsent(id, key -> new ArrayList<>()).add(scriptType);
+                }
             }
         }
-
-        return returnScriptType;
+        return scriptTypes;
     }
 
     private static boolean isChildOf(BaseElement element, ModelElementInstance child) {
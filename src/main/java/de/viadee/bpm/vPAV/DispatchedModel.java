@@ -0,0 +1,100 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import com.google.gson.JsonArray;
+import de.viadee.bpm.vPAV.processing.ClassDependencies;
+
+import java.util.Map;
+
+/**
+ * Result of a single dispatched model, which is merged after all models have been dispatched
+ */
+class DispatchedModel {
+
+    private final Map<String, String> incorrectCheckers;
+
+    private final IssueService modelIssues;
+
+    private final JsonArray elements;
+
+    private final JsonArray processVariables;
+
+    private final ClassDependencies classDependencies;
+
+    /**
+     * @param incorrectCheckers Checkers which could not be instantiated
+     * @param modelIssues       IssueService containing the issues of the model
+     * @param elements          JSON representation of the elements with process variables
+     * @param processVariables  JSON representation of the process variables
+     */
+    DispatchedModel(final Map<String, String> incorrectCheckers, final IssueService modelIssues,
+            final JsonArray elements, final JsonArray processVariables) {
+        this(incorrectCheckers, modelIssues, elements, processVariables, null);
+    }
+
+    /**
+     * @param incorrectCheckers Checkers which could not be instantiated
+     * @param modelIssues       IssueService containing the issues of the model
+     * @param elements          JSON representation of the elements with process variables
+     * @param processVariables  JSON representation of the process variables
+     * @param classDependencies Classes read while the model was dispatched or null, if the result was restored
+     */
+    DispatchedModel(final Map<String, String> incorrectCheckers, final IssueService modelIssues,
+            final JsonArray elements, final JsonArray processVariables, final ClassDependencies classDependencies) {
+        this.incorrectCheckers = incorrectCheckers;
+        this.modelIssues = modelIssues;
+        this.elements = elements;
+        this.processVariables = processVariables;
+        this.classDependencies = classDependencies;
+    }
+
+    Map<String, String> getIncorrectCheckers() {
+        return incorrectCheckers;
+    }
+
+    IssueService getModelIssues() {
+        return modelIssues;
+    }
+
+    JsonArray getElements() {
+        return elements;
+    }
+
+    JsonArray getProcessVariables() {
+        return processVariables;
+    }
+
+    ClassDependencies getClassDependencies() {
+        return classDependencies;
+    }
+}
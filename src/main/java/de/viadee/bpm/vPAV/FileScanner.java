@@ -36,16 +36,15 @@ import de.viadee.bpm.vPAV.config.model.RuleSet;
 import de.viadee.bpm.vPAV.config.model.Setting;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.exceptions.ConfigItemNotFoundException;
+import de.viadee.bpm.vPAV.processing.CallActivityGraphCache;
 import de.viadee.bpm.vPAV.processing.checker.VersioningChecker;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.tools.ant.DirectoryScanner;
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelException;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.Process;
-import org.camunda.bpm.model.dmn.Dmn;
 import org.camunda.bpm.model.dmn.DmnModelException;
 import org.camunda.bpm.model.dmn.DmnModelInstance;
 import org.camunda.bpm.model.dmn.instance.Decision;
@@ -80,6 +79,12 @@ public class FileScanner {
 
     private final Map<String, String> processIdToPathMap;
 
+    // Parsed models are not thread-safe, models dispatched in parallel are parsed once per thread
+    private final ThreadLocal<ModelRepository> modelRepository = ThreadLocal.withInitial(ModelRepository::new);
+
+    private final ThreadLocal<CallActivityGraphCache> callActivityGraphCache = ThreadLocal
+            .withInitial(CallActivityGraphCache::new);
+
     private static String scheme = null;
 
     private static final StringBuilder sootPath = new StringBuilder();
@@ -90,7 +95,21 @@ public class FileScanner {
 
     private static final Logger LOGGER = Logger.getLogger(FileScanner.class.getName());
 
+    private static final String GENERATED_SOURCES = "target/generated-sources/";
+
     public FileScanner(final RuleSet rules) {
+        this(rules, new ModelRepository());
+    }
+
+    /**
+     * Scans the project and reuses the models, which were already parsed in a previous run, e.g. by a
+     * {@link ValidatorSession}. Changed models have to be evicted from the repository beforehand.
+     *
+     * @param rules           RuleSet
+     * @param modelRepository repository of the current thread
+     */
+    public FileScanner(final RuleSet rules, final ModelRepository modelRepository) {
+        this.modelRepository.set(modelRepository);
 
         final DirectoryScanner scanner = new DirectoryScanner();
         File basedir = null;
@@ -133,7 +152,7 @@ public class FileScanner {
             LOGGER.log(Level.SEVERE, "No compiled files in target folder. Build project at least once.");
         }
 
-        scanner.setBasedir("target/generated-sources/");
+        scanner.setBasedir(GENERATED_SOURCES);
         // get file paths of process definitions
         scanner.setIncludes(new String[] { filePattern });
         if (scanner.getBasedir().exists()) {
@@ -142,7 +161,7 @@ public class FileScanner {
         }
 
         // get mapping from process id to file path
-        processIdToPathMap = createProcessIdToPathMap(processDefinitions);
+        processIdToPathMap = createProcessIdToPathMap(processDefinitions, getModelRepository());
 
         // determine version name schema for resources
         String versioningScheme = null;
@@ -162,7 +181,8 @@ public class FileScanner {
         scanner.setBasedir(basedir);
         scanner.setIncludes(new String[] { ConfigConstants.DMN_FILE_PATTERN });
         scanner.scan();
-        decisionRefToPathMap = createDmnKeyToPathMap(new HashSet<>(Arrays.asList(scanner.getIncludedFiles())));
+        decisionRefToPathMap = createDmnKeyToPathMap(new HashSet<>(Arrays.asList(scanner.getIncludedFiles())),
+                getModelRepository());
 
         if (rules.getElementRules().get(VersioningChecker.class.getSimpleName()) != null) {
             final Rule rule = rules.getElementRules().get(VersioningChecker.class.getSimpleName())
@@ -311,6 +331,25 @@ public class FileScanner {
         return processIdToPathMap;
     }
 
+    /**
+     * get the repository of parsed models. Each thread gets its own repository, as model instances must not be
+     * shared between threads.
+     *
+     * @return modelRepository returns modelRepository of the current thread
+     */
+    public ModelRepository getModelRepository() {
+        return modelRepository.get();
+    }
+
+    /**
+     * get the cache of called process graphs. Like the parsed models, the cache is kept per thread.
+     *
+     * @return callActivityGraphCache returns callActivityGraphCache of the current thread
+     */
+    public CallActivityGraphCache getCallActivityGraphCache() {
+        return callActivityGraphCache.get();
+    }
+
     /**
      * get mapping from decisionRef to file path of dmn models
      *
@@ -332,10 +371,12 @@ public class FileScanner {
     /**
      * Map for getting bpmn reference by process id
      *
-     * @param paths file paths
+     * @param paths           file paths
+     * @param modelRepository repository used to parse the models
      * @return Map of processIds and corresponding file paths of process definitions
      */
-    private static Map<String, String> createProcessIdToPathMap(final Set<String> paths) {
+    private static Map<String, String> createProcessIdToPathMap(final Set<String> paths,
+            final ModelRepository modelRepository) {
 
         final Map<String, String> keyToPathMap = new HashMap<>();
 
@@ -357,7 +398,7 @@ public class FileScanner {
             }
 
             try {
-                modelInstance = Bpmn.readModelFromFile(bpmnfile);
+                modelInstance = modelRepository.getBpmnModel(bpmnfile);
             } catch (final BpmnModelException ex) {
                 throw new RuntimeException("bpmn model couldn't be read", ex);
             }
@@ -379,10 +420,12 @@ public class FileScanner {
     /**
      * Map for getting dmn reference by key
      *
-     * @param paths file paths
+     * @param paths           file paths
+     * @param modelRepository repository used to parse the models
      * @return Map of dmn keys and corresponding file paths of dmn definitions
      */
-    private static Map<String, String> createDmnKeyToPathMap(final Set<String> paths) {
+    private static Map<String, String> createDmnKeyToPathMap(final Set<String> paths,
+            final ModelRepository modelRepository) {
 
         final Map<String, String> keyToPathMap = new HashMap<>();
 
@@ -390,7 +433,8 @@ public class FileScanner {
             // read dmn file
             DmnModelInstance modelInstance;
             try {
-                modelInstance = Dmn.readModelFromFile(new File(RuntimeConfig.getInstance().getBasepath() + path));
+                modelInstance = modelRepository
+                        .getDmnModel(new File(RuntimeConfig.getInstance().getBasepath() + path));
             } catch (final DmnModelException ex) {
                 throw new RuntimeException("dmn model couldn't be read", ex);
             }
@@ -549,4 +593,16 @@ public class FileScanner {
         }
         return sootPath.toString().substring(0, sootPath.toString().length() - 1);
     }
+
+    /**
+     * Resolves a class file found by the scanner, which is located either in the scan path or in the generated
+     * sources
+     *
+     * @param classFile Path of the class file relative to the scan path
+     * @return File in the scan path or, if it doesn't exist there, in the generated sources
+     */
+    public static File getClassFile(final String classFile) {
+        final File file = new File(RuntimeConfig.getInstance().getScanPath(), classFile);
+        return file.exists() ? file : new File(GENERATED_SOURCES, classFile);
+    }
 }
@@ -0,0 +1,550 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.viadee.bpm.vPAV.processing.ClassDependencies;
+import de.viadee.bpm.vPAV.processing.EntryPoint;
+import de.viadee.bpm.vPAV.processing.EntryPointScanner;
+import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
+import de.viadee.bpm.vPAV.processing.code.flow.ControlFlowGraph;
+import de.viadee.bpm.vPAV.processing.code.flow.FlowAnalysis;
+import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
+import de.viadee.bpm.vPAV.processing.model.graph.Path;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.BusinessRuleTask;
+import org.camunda.bpm.model.bpmn.instance.CallActivity;
+import org.camunda.bpm.model.bpmn.instance.ConditionExpression;
+import org.camunda.bpm.model.bpmn.instance.Message;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.ScriptTask;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaScript;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.springframework.util.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores the results of dispatched models together with a fingerprint of the files they depend on, so that
+ * unchanged models are not dispatched again in the next validation run.
+ * <p>
+ * The fingerprint of a model covers the BPMN file of the model, the BPMN files of all directly or indirectly called
+ * processes, the DMN files of referenced decisions and the external scripts of script tasks, listeners, input/output
+ * parameters and conditions. A change of the effective rule set or the relevant properties invalidates all models.
+ * <p>
+ * Classes are tracked per model: the result of a model stores the hashes of the classes read while it was dispatched
+ * (see {@link ClassDependencies}) and the entry points, which start its processes or correlate its messages. If class
+ * files changed, a model is only dispatched again if one of its classes or one of its entry points changed. Models
+ * whose dispatch read or wrote static fields depend on all classes and are dispatched again after any class change.
+ */
+public class IncrementalValidationCache {
+
+    private static final Logger LOGGER = Logger.getLogger(IncrementalValidationCache.class.getName());
+
+    // Increase when the format of the cache or the results of the checkers change
+    private static final int VERSION = 2;
+
+    private static final String MISSING = "missing";
+
+    private final JsonObject cachedModels;
+
+    private final JsonObject models = new JsonObject();
+
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    // Process ids and message names of each model and its called processes, which select the relevant entry points
+    private final Map<String, Set<String>> entryPointKeys = new HashMap<>();
+
+    private final Map<String, String> classHashes = new HashMap<>();
+
+    private String globalFingerprint;
+
+    private String classesFingerprint;
+
+    private IncrementalValidationCache(final JsonObject cachedModels) {
+        this.cachedModels = cachedModels;
+    }
+
+    /**
+     * Reads the cache of the previous validation run. If the cache does not exist or can not be read, an empty
+     * cache is returned.
+     *
+     * @param file Cache file
+     * @return cache
+     */
+    public static IncrementalValidationCache read(final File file) {
+        if (file.exists()) {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                final JsonObject cache = JsonParser.parseReader(reader).getAsJsonObject();
+                if (cache.has("version") && cache.get("version").getAsInt() == VERSION) {
+                    return new IncrementalValidationCache(cache.getAsJsonObject("models"));
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warning("Cache of previous validation run couldn't be read: " + e.getMessage());
+            }
+        }
+        return empty();
+    }
+
+    /**
+     * Creates a cache without results of a previous run
+     *
+     * @return cache
+     */
+    static IncrementalValidationCache empty() {
+        return new IncrementalValidationCache(new JsonObject());
+    }
+
+    /**
+     * Creates the cache for the next run, which restores the results of the current run without writing them to a
+     * file, see {@link ValidatorSession}
+     *
+     * @return cache
+     */
+    IncrementalValidationCache next() {
+        return new IncrementalValidationCache(models);
+    }
+
+    /**
+     * Writes the results of all models of the current validation run
+     *
+     * @param file Cache file
+     */
+    public void write(final File file) {
+        final JsonObject cache = new JsonObject();
+        cache.addProperty("version", VERSION);
+        cache.add("models", models);
+
+        final File folder = file.getParentFile();
+        if (folder != null && !folder.exists() && !folder.mkdirs()) {
+            LOGGER.warning("Cache folder couldn't be created: " + folder);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            new Gson().toJson(cache, writer);
+        } catch (IOException e) {
+            LOGGER.warning("Cache of validation run couldn't be written: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the files and settings, which affect all models
+     *
+     * @param fileScanner   FileScanner of the current validation run
+     * @param withVariables true, if models are dispatched with process variables
+     */
+    void initialize(final FileScanner fileScanner, final boolean withVariables) {
+        final RuntimeConfig config = RuntimeConfig.getInstance();
+        final StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append("version:").append(VERSION).append('\n');
+        fingerprint.append("variables:").append(withVariables).append('\n');
+        fingerprint.append("language:").append(config.getLanguage()).append('\n');
+        fingerprint.append("basepath:").append(config.getBasepath()).append('\n');
+        fingerprint.append("scanpath:").append(config.getScanPath()).append('\n');
+        fingerprint.append("ruleSet:").append(hash(new File(config.getEffectiveRuleset()))).append('\n');
+        fingerprint.append("userVariables:").append(hash(new File(config.getUserVariablesFilePath())))
+                .append('\n');
+        if (config.getBeanMapping() != null) {
+            fingerprint.append("beans:").append(new TreeMap<>(config.getBeanMapping())).append('\n');
+        }
+        for (final String resource : new TreeSet<>(fileScanner.getResourcesNewestVersions())) {
+            // The versioning checker compares the names, external scripts are read by their content
+            final File file = new File(resource);
+            fingerprint.append("resource:").append(resource).append('=')
+                    .append(hash(file.isAbsolute() ? file : resolve(resource))).append('\n');
+        }
+        globalFingerprint = DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+
+        final StringBuilder classes = new StringBuilder();
+        for (final String classFile : new TreeSet<>(fileScanner.getJavaResourcesFileInputStream())) {
+            classes.append(classFile).append('=').append(getClassHash(classFile)).append('\n');
+        }
+        classesFingerprint = DigestUtils.md5DigestAsHex(classes.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks, whether class files changed since the cached results were stored. In this case, the entry points are
+     * needed to decide which models are affected, see {@link #restore(String, ModelRepository, EntryPointScanner)}.
+     *
+     * @return true, if a cached result was stored for other class files
+     */
+    boolean hasChangedClasses() {
+        for (final Map.Entry<String, JsonElement> cachedModel : cachedModels.entrySet()) {
+            final JsonElement classes = cachedModel.getValue().getAsJsonObject().get("classesFingerprint");
+            if (classes == null || !classesFingerprint.equals(classes.getAsString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the fingerprint of a model
+     *
+     * @param processDefinition Path of the model relative to the base path
+     * @param fileScanner       FileScanner of the current validation run
+     * @return fingerprint or null, if the dependencies of the model couldn't be determined
+     */
+    String getFingerprint(final String processDefinition, final FileScanner fileScanner) {
+        final Set<String> dependencies = new TreeSet<>();
+        final Set<String> keys = new HashSet<>();
+        try {
+            collectDependencies(processDefinition, fileScanner, dependencies, keys, new HashSet<>());
+        } catch (RuntimeException e) {
+            // The model is dispatched again, which reports the problem
+            LOGGER.log(Level.FINE, "Dependencies of " + processDefinition + " couldn't be determined", e);
+            return null;
+        }
+        final String fingerprint = DigestUtils.md5DigestAsHex(
+                (globalFingerprint + '\n' + String.join("\n", dependencies)).getBytes(StandardCharsets.UTF_8));
+        fingerprints.put(processDefinition, fingerprint);
+        entryPointKeys.put(processDefinition, keys);
+        return fingerprint;
+    }
+
+    private void collectDependencies(final String path, final FileScanner fileScanner,
+            final Set<String> dependencies, final Set<String> entryPointKeys, final Set<String> visitedPaths) {
+        if (!visitedPaths.add(path)) {
+            return;
+        }
+        final File file = resolve(path);
+        dependencies.add("bpmn:" + path + "=" + hash(file));
+
+        final BpmnModelInstance modelInstance = fileScanner.getModelRepository().getBpmnModel(file);
+        for (final Process process : modelInstance.getModelElementsByType(Process.class)) {
+            entryPointKeys.add("process:" + process.getId());
+        }
+        for (final Message message : modelInstance.getModelElementsByType(Message.class)) {
+            entryPointKeys.add("message:" + message.getName());
+        }
+        for (final CallActivity callActivity : modelInstance.getModelElementsByType(CallActivity.class)) {
+            final String calledPath = fileScanner.getProcessIdToPathMap().get(callActivity.getCalledElement());
+            dependencies.add("process:" + callActivity.getCalledElement() + "=" + calledPath);
+            if (calledPath != null) {
+                collectDependencies(calledPath, fileScanner, dependencies, entryPointKeys, visitedPaths);
+            }
+        }
+        for (final BusinessRuleTask task : modelInstance.getModelElementsByType(BusinessRuleTask.class)) {
+            final String decisionPath = fileScanner.getDecisionRefToPathMap().get(task.getCamundaDecisionRef());
+            dependencies.add("decision:" + task.getCamundaDecisionRef() + "=" + decisionPath + ":"
+                    + (decisionPath != null ? hash(resolve(decisionPath)) : MISSING));
+        }
+        // External scripts are read relative to the base path, see ResourceFileReader
+        for (final ScriptTask task : modelInstance.getModelElementsByType(ScriptTask.class)) {
+            addScript(task.getCamundaResource(), dependencies);
+        }
+        for (final CamundaScript script : modelInstance.getModelElementsByType(CamundaScript.class)) {
+            addScript(script.getCamundaResource(), dependencies);
+        }
+        for (final ConditionExpression condition : modelInstance.getModelElementsByType(ConditionExpression.class)) {
+            addScript(condition.getCamundaResource(), dependencies);
+        }
+    }
+
+    private static void addScript(final String resource, final Set<String> dependencies) {
+        if (resource != null && !resource.trim().isEmpty()) {
+            dependencies.add("script:" + resource + "=" + hash(resolve(resource)));
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the entry points, which might start a process of the model or correlate one of its
+     * messages. Entry points without process definition key and message name are relevant for every model.
+     *
+     * @param processDefinition Path of the model relative to the base path
+     * @param variableScanner   Scanner with the entry points or null, if models are dispatched without variables
+     * @return fingerprint
+     */
+    private String getEntryPointFingerprint(final String processDefinition, final EntryPointScanner variableScanner) {
+        if (variableScanner == null) {
+            return "";
+        }
+        final Set<String> keys = entryPointKeys.get(processDefinition);
+        final StringBuilder fingerprint = new StringBuilder();
+        for (final EntryPoint entryPoint : variableScanner.getEntryPoints()) {
+            final String messageName = entryPoint.getMessageName();
+            final boolean withoutKey = entryPoint.getProcessDefinitionKey() == null
+                    && (messageName == null || messageName.isEmpty());
+            if (withoutKey || keys.contains("process:" + entryPoint.getProcessDefinitionKey())
+                    || keys.contains("message:" + messageName)) {
+                fingerprint.append(entryPoint.getClassName()).append(':').append(entryPoint.getMethodName())
+                        .append(':').append(entryPoint.getEntryPointName()).append(':')
+                        .append(entryPoint.getProcessDefinitionKey()).append(':').append(messageName).append(':')
+                        .append(entryPoint.getProcessVariables()).append('\n');
+            }
+        }
+        return DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Restores the result of an unchanged model
+     *
+     * @param processDefinition Path of the model relative to the base path
+     * @param modelRepository   Repository used to look up the elements of invalid paths
+     * @param variableScanner   Scanner with the entry points of the current run, required if class files changed and
+     *                          models are dispatched with variables
+     * @return result of the previous run or null, if the model changed
+     */
+    DispatchedModel restore(final String processDefinition, final ModelRepository modelRepository,
+            final EntryPointScanner variableScanner) {
+        final String fingerprint = fingerprints.get(processDefinition);
+        if (fingerprint == null || !cachedModels.has(processDefinition)) {
+            return null;
+        }
+        final JsonObject cachedModel = cachedModels.getAsJsonObject(processDefinition);
+        if (!fingerprint.equals(cachedModel.get("fingerprint").getAsString())
+                || !hasUnchangedClasses(processDefinition, cachedModel, variableScanner)) {
+            return null;
+        }
+
+        try {
+            final FlowAnalysis flowAnalysis = new FlowAnalysis();
+            final List<CheckerIssue> issues = new ArrayList<>();
+            for (final JsonElement issue : cachedModel.getAsJsonArray("issues")) {
+                issues.add(toIssue(issue.getAsJsonObject(), modelRepository, flowAnalysis));
+            }
+            final IssueService modelIssues = new IssueService();
+            modelIssues.setIssues(issues);
+            for (final Map.Entry<String, JsonElement> entry : cachedModel.getAsJsonObject("elementIds")
+                    .entrySet()) {
+                final Collection<String> elementIds = new ArrayList<>();
+                entry.getValue().getAsJsonArray().forEach(id -> elementIds.add(id.isJsonNull() ? null : id.getAsString()));
+                modelIssues.addElementIds(entry.getKey(), elementIds);
+            }
+            final Map<String, String> incorrectCheckers = new HashMap<>();
+            cachedModel.getAsJsonObject("incorrectCheckers").entrySet().forEach(entry -> incorrectCheckers
+                    .put(entry.getKey(), entry.getValue().isJsonNull() ? null : entry.getValue().getAsString()));
+
+            cachedModel.addProperty("classesFingerprint", classesFingerprint);
+            models.add(processDefinition, cachedModel);
+            return new DispatchedModel(incorrectCheckers, modelIssues,
+                    cachedModel.getAsJsonArray("elements"), cachedModel.getAsJsonArray("processVariables"));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Cached result of " + processDefinition + " couldn't be restored", e);
+            return null;
+        }
+    }
+
+    private boolean hasUnchangedClasses(final String processDefinition, final JsonObject cachedModel,
+            final EntryPointScanner variableScanner) {
+        final JsonElement cachedClassesFingerprint = cachedModel.get("classesFingerprint");
+        if (cachedClassesFingerprint != null && classesFingerprint.equals(cachedClassesFingerprint.getAsString())) {
+            return true;
+        }
+        if (cachedClassesFingerprint == null || cachedModel.get("staticFieldAccess").getAsBoolean()) {
+            return false;
+        }
+        for (final Map.Entry<String, JsonElement> cachedClass : cachedModel.getAsJsonObject("classes").entrySet()) {
+            if (!getClassHash(toClassFile(cachedClass.getKey())).equals(cachedClass.getValue().getAsString())) {
+                return false;
+            }
+        }
+        return getEntryPointFingerprint(processDefinition, variableScanner)
+                .equals(cachedModel.get("entryPoints").getAsString());
+    }
+
+    /**
+     * Stores the result of a dispatched model, if its fingerprint is known
+     *
+     * @param processDefinition Path of the model relative to the base path
+     * @param dispatchedModel   Result of the model
+     * @param variableScanner   Scanner the model was dispatched with or null, if it was dispatched without variables
+     */
+    void store(final String processDefinition, final DispatchedModel dispatchedModel,
+            final EntryPointScanner variableScanner) {
+        final String fingerprint = fingerprints.get(processDefinition);
+        final ClassDependencies dependencies = dispatchedModel.getClassDependencies();
+        if (fingerprint == null || dependencies == null || models.has(processDefinition)) {
+            return;
+        }
+        final JsonObject cachedModel = new JsonObject();
+        cachedModel.addProperty("fingerprint", fingerprint);
+        cachedModel.addProperty("classesFingerprint", classesFingerprint);
+        cachedModel.addProperty("staticFieldAccess", dependencies.hasStaticFieldAccess());
+        final JsonObject classes = new JsonObject();
+        for (final String className : new TreeSet<>(dependencies.getClasses())) {
+            classes.addProperty(className, getClassHash(toClassFile(className)));
+        }
+        cachedModel.add("classes", classes);
+        cachedModel.addProperty("entryPoints", getEntryPointFingerprint(processDefinition, variableScanner));
+
+        final JsonArray issues = new JsonArray();
+        dispatchedModel.getModelIssues().getIssues().forEach(issue -> issues.add(toJson(issue)));
+        cachedModel.add("issues", issues);
+
+        final JsonObject elementIds = new JsonObject();
+        dispatchedModel.getModelIssues().getElementIdToBpmnFileMap().forEach((bpmnFile, ids) -> {
+            final JsonArray jsonIds = new JsonArray();
+            ids.forEach(jsonIds::add);
+            elementIds.add(bpmnFile, jsonIds);
+        });
+        cachedModel.add("elementIds", elementIds);
+
+        final JsonObject incorrectCheckers = new JsonObject();
+        dispatchedModel.getIncorrectCheckers().forEach(incorrectCheckers::addProperty);
+        cachedModel.add("incorrectCheckers", incorrectCheckers);
+
+        cachedModel.add("elements", dispatchedModel.getElements());
+        cachedModel.add("processVariables", dispatchedModel.getProcessVariables());
+        models.add(processDefinition, cachedModel);
+    }
+
+    private static JsonObject toJson(final CheckerIssue issue) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("ruleName", issue.getRuleName());
+        json.addProperty("ruleDescription", issue.getRuleDescription());
+        json.addProperty("classification", issue.getClassification().name());
+        json.addProperty("bpmnFile", issue.getBpmnFile());
+        json.addProperty("resourceFile", issue.getResourceFile());
+        json.addProperty("elementId", issue.getElementId());
+        json.addProperty("elementName", issue.getElementName());
+        json.addProperty("variable", issue.getVariable());
+        json.addProperty("anomaly", issue.getAnomaly() == null ? null : issue.getAnomaly().name());
+        json.addProperty("message", issue.getMessage());
+        json.addProperty("elementDescription", issue.getElementDescription());
+        json.addProperty("implementationDetails", issue.getImplementationDetails());
+        if (issue.getInvalidPaths() != null) {
+            final JsonArray paths = new JsonArray();
+            for (final Path path : issue.getInvalidPaths()) {
+                final JsonArray elements = new JsonArray();
+                for (final BpmnElement element : path.getElements()) {
+                    final JsonObject jsonElement = new JsonObject();
+                    jsonElement.addProperty("bpmnFile", element.getProcessDefinition());
+                    jsonElement.addProperty("elementId", element.getBaseElement().getId());
+                    jsonElement.addProperty("graphId", element.getGraphId());
+                    elements.add(jsonElement);
+                }
+                paths.add(elements);
+            }
+            json.add("invalidPaths", paths);
+        }
+        return json;
+    }
+
+    private static CheckerIssue toIssue(final JsonObject json, final ModelRepository modelRepository,
+            final FlowAnalysis flowAnalysis) {
+        List<Path> invalidPaths = null;
+        if (json.has("invalidPaths")) {
+            invalidPaths = new ArrayList<>();
+            for (final JsonElement path : json.getAsJsonArray("invalidPaths")) {
+                final List<BpmnElement> elements = new ArrayList<>();
+                for (final JsonElement element : path.getAsJsonArray()) {
+                    elements.add(toElement(element.getAsJsonObject(), modelRepository, flowAnalysis));
+                }
+                invalidPaths.add(new Path(elements));
+            }
+        }
+        final String anomaly = getString(json, "anomaly");
+        return new CheckerIssue(getString(json, "ruleName"), getString(json, "ruleDescription"),
+                CriticalityEnum.valueOf(getString(json, "classification")), getString(json, "bpmnFile"),
+                getString(json, "resourceFile"), getString(json, "elementId"), getString(json, "elementName"),
+                getString(json, "variable"), anomaly == null ? null : Anomaly.valueOf(anomaly), invalidPaths,
+                getString(json, "message"), getString(json, "elementDescription"),
+                getString(json, "implementationDetails"));
+    }
+
+    private static BpmnElement toElement(final JsonObject json, final ModelRepository modelRepository,
+            final FlowAnalysis flowAnalysis) {
+        final String processDefinition = getString(json, "bpmnFile");
+        File file = new File(processDefinition);
+        if (!file.exists()) {
+            // Elements of called processes refer to the path relative to the base path
+            file = resolve(processDefinition);
+        }
+        final ModelElementInstance element = modelRepository.getBpmnModel(file)
+                .getModelElementById(getString(json, "elementId"));
+        if (!(element instanceof BaseElement)) {
+            throw new IllegalStateException("Element " + getString(json, "elementId") + " not found");
+        }
+        return new BpmnElement(processDefinition, (BaseElement) element, new ControlFlowGraph(), flowAnalysis,
+                getString(json, "graphId"));
+    }
+
+    private static String getString(final JsonObject json, final String key) {
+        final JsonElement value = json.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    static File resolve(final String path) {
+        final String basepath = RuntimeConfig.getInstance().getBasepath();
+        if (basepath.startsWith("file:/")) {
+            // Convert URI
+            try {
+                return new File(new URI(basepath + path));
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("URI of basedirectory seems to be malformed.", e);
+            }
+        }
+        return new File(basepath + path);
+    }
+
+    private static String toClassFile(final String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    private String getClassHash(final String classFile) {
+        return classHashes.computeIfAbsent(classFile, path -> hash(FileScanner.getClassFile(path)));
+    }
+
+    private static String hash(final File file) {
+        try {
+            return DigestUtils.md5DigestAsHex(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+}
@@ -34,28 +34,64 @@ package de.viadee.bpm.vPAV;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Collects the issues of a validation run.
+ * <p>
+ * Every validation run uses its own IssueService, which is bound to the threads doing the work. Issues are
+ * appended to a buffer owned by the calling thread, so adding issues does not need any locking. The buffers are
+ * merged when the issues are read after the work has been completed.
+ */
 public class IssueService {
 
-    private static IssueService instance;
+    private static final IssueService DEFAULT_INSTANCE = new IssueService();
+
+    private static final ThreadLocal<IssueService> BOUND_INSTANCE = new ThreadLocal<>();
 
-    private Collection<CheckerIssue> issues;
+    private volatile IssueBuffers issueBuffers = new IssueBuffers();
 
     private final Map<String, Set<String>> elementIdToBpmnFileMap = new HashMap<>();
 
-    private IssueService() {
-        issues = new ArrayList<>();
+    public IssueService() {
     }
 
+    /**
+     * Returns the IssueService bound to the current thread. If no IssueService is bound, a default instance is
+     * returned.
+     *
+     * @return IssueService
+     */
     public static IssueService getInstance() {
-        if (IssueService.instance == null) {
-            IssueService.instance = new IssueService();
+        final IssueService issueService = BOUND_INSTANCE.get();
+        return issueService != null ? issueService : DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Binds an IssueService to the current thread. All issues created on this thread, e.g. by the IssueWriter,
+     * are added to the bound IssueService.
+     *
+     * @param issueService IssueService to be bound, null removes the binding
+     * @return previously bound IssueService or null, if none was bound
+     */
+    public static IssueService bind(final IssueService issueService) {
+        final IssueService previous = BOUND_INSTANCE.get();
+        if (issueService == null) {
+            BOUND_INSTANCE.remove();
+        } else {
+            BOUND_INSTANCE.set(issueService);
         }
-        return IssueService.instance;
+        return previous;
     }
 
+    /**
+     * Returns the issues of all threads. Must not be called while other threads are still adding issues.
+     * The buffers are only merged again, if issues were added since the last call.
+     *
+     * @return Unmodifiable collection of issues
+     */
     public Collection<CheckerIssue> getIssues() {
-        return issues;
+        return issueBuffers.merge();
     }
 
     public Map<String, Set<String>> getElementIdToBpmnFileMap() {
@@ -63,15 +99,70 @@ public class IssueService {
     }
 
     public void setIssues(Collection<CheckerIssue> issues) {
-        this.issues = issues;
+        final IssueBuffers newIssueBuffers = new IssueBuffers();
+        newIssueBuffers.get().addAll(issues);
+        this.issueBuffers = newIssueBuffers;
     }
 
     public void addIssue(CheckerIssue issue) {
-        this.issues.add(issue);
+        issueBuffers.get().add(issue);
+    }
+
+    /**
+     * Registers the ids of elements which belong to a BPMN file
+     *
+     * @param bpmnFile   Path of the BPMN file
+     * @param elementIds Ids of the elements in the file
+     */
+    public synchronized void addElementIds(final String bpmnFile, final Collection<String> elementIds) {
+        elementIdToBpmnFileMap.computeIfAbsent(bpmnFile, k -> new HashSet<>()).addAll(elementIds);
+    }
+
+    /**
+     * Adds issues and element ids of another IssueService, e.g. of a model which was dispatched in parallel
+     *
+     * @param issueService IssueService to be merged
+     */
+    public void merge(final IssueService issueService) {
+        issueBuffers.get().addAll(issueService.getIssues());
+        synchronized (issueService) {
+            issueService.elementIdToBpmnFileMap.forEach(this::addElementIds);
+        }
     }
 
     public void clear() {
-        this.issues = new ArrayList<>();
+        this.issueBuffers = new IssueBuffers();
+    }
+
+    /**
+     * Append-only buffers, one per thread, in the order the threads added their first issue
+     */
+    private static class IssueBuffers extends ThreadLocal<List<CheckerIssue>> {
+
+        private final Queue<List<CheckerIssue>> buffers = new ConcurrentLinkedQueue<>();
+
+        private Collection<CheckerIssue> mergedIssues = Collections.emptyList();
+
+        @Override
+        protected List<CheckerIssue> initialValue() {
+            final List<CheckerIssue> buffer = new ArrayList<>();
+            buffers.add(buffer);
+            return buffer;
+        }
+
+        private synchronized Collection<CheckerIssue> merge() {
+            int size = 0;
+            for (final List<CheckerIssue> buffer : buffers) {
+                size += buffer.size();
+            }
+            // Buffers are append-only, so the merged issues are up to date as long as the size did not change
+            if (size != mergedIssues.size()) {
+                final List<CheckerIssue> issues = new ArrayList<>(size);
+                buffers.forEach(issues::addAll);
+                mergedIssues = Collections.unmodifiableList(issues);
+            }
+            return mergedIssues;
+        }
     }
 
 }
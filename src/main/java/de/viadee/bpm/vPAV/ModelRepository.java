@@ -0,0 +1,97 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.dmn.Dmn;
+import org.camunda.bpm.model.dmn.DmnModelInstance;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses BPMN and DMN models and keeps the parsed instances, so that each file is only read once.
+ * <p>
+ * Model instances are not thread-safe, not even for reading. A repository must therefore only be used by a single
+ * thread, see {@link FileScanner#getModelRepository()}.
+ */
+public class ModelRepository {
+
+    private final Map<String, BpmnModelInstance> bpmnModels = new HashMap<>();
+
+    private final Map<String, DmnModelInstance> dmnModels = new HashMap<>();
+
+    /**
+     * Returns the parsed BPMN model of a file. The file is only parsed on first access.
+     *
+     * @param file BPMN file
+     * @return model instance
+     */
+    public BpmnModelInstance getBpmnModel(final File file) {
+        return bpmnModels.computeIfAbsent(getKey(file), key -> Bpmn.readModelFromFile(file));
+    }
+
+    /**
+     * Returns the parsed DMN model of a file. The file is only parsed on first access.
+     *
+     * @param file DMN file
+     * @return model instance
+     */
+    public DmnModelInstance getDmnModel(final File file) {
+        return dmnModels.computeIfAbsent(getKey(file), key -> Dmn.readModelFromFile(file));
+    }
+
+    /**
+     * Removes the parsed model of a file, so that it is parsed again on next access
+     *
+     * @param file BPMN or DMN file
+     */
+    public void evict(final File file) {
+        bpmnModels.remove(getKey(file));
+        dmnModels.remove(getKey(file));
+    }
+
+    /**
+     * Returns the number of parsed models
+     *
+     * @return number of BPMN and DMN models
+     */
+    public int size() {
+        return bpmnModels.size() + dmnModels.size();
+    }
+
+    private static String getKey(final File file) {
+        return file.getAbsoluteFile().toPath().normalize().toString();
+    }
+}
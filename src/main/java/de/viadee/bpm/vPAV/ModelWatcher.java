@@ -0,0 +1,250 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the base path, the scan path and the rule set folder and validates the models again, whenever a BPMN, DMN, class, XML or
+ * Groovy file changes. Events are collected until no further change occurs for the debounce time (property
+ * {@code watchDebounce}), so that saving a model or compiling several classes only triggers one validation.
+ * <p>
+ * The validations are done by a {@link ValidatorSession}, which keeps the parsed models and the Soot scene and only
+ * validates the affected models again. {@link #run()} blocks until the watcher is closed.
+ */
+public class ModelWatcher implements Runnable, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ModelWatcher.class.getName());
+
+    private static final List<String> WATCHED_EXTENSIONS = Arrays.asList(".bpmn", ".dmn", ".class", ".java",
+            ".xml", ".groovy");
+
+    private final ValidatorSession session;
+
+    private final Consumer<Collection<CheckerIssue>> listener;
+
+    private final WatchService watchService;
+
+    private final Map<WatchKey, Path> watchedFolders = new HashMap<>();
+
+    private final Path basedir;
+
+    private final Path validationFolder;
+
+    /**
+     * Creates a watcher, which logs the number of issues after each validation
+     *
+     * @param session Session used for the validations
+     * @throws IOException If the file system can not be watched
+     */
+    public ModelWatcher(final ValidatorSession session) throws IOException {
+        this(session, issues -> LOGGER.info(String.format("Validation found %d issues", issues.size())));
+    }
+
+    /**
+     * Creates a watcher
+     *
+     * @param session  Session used for the validations
+     * @param listener Receives the issues after each validation
+     * @throws IOException If the file system can not be watched
+     */
+    public ModelWatcher(final ValidatorSession session, final Consumer<Collection<CheckerIssue>> listener)
+            throws IOException {
+        this.session = session;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.basedir = normalize(IncrementalValidationCache.resolve(""));
+        this.validationFolder = normalize(new File(RuntimeConfig.getInstance().getValidationFolder()));
+
+        register(basedir);
+        register(normalize(new File(RuntimeConfig.getInstance().getScanPath())));
+        final Path ruleSetFolder = normalize(new File(RuntimeConfig.getInstance().getRuleSetPath()));
+        if (Files.isDirectory(ruleSetFolder) && !watchedFolders.containsValue(ruleSetFolder)) {
+            // Only the rule set files are of interest, so sub folders are not watched
+            watchedFolders.put(ruleSetFolder.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE),
+                    ruleSetFolder);
+        }
+    }
+
+    /**
+     * Validates all models and afterwards each time files changed, until the watcher is closed
+     */
+    @Override
+    public void run() {
+        validate(Collections.emptyList());
+        final long debounce = RuntimeConfig.getInstance().getWatchDebounce();
+        try {
+            while (true) {
+                final Set<Path> changedFiles = new LinkedHashSet<>();
+                boolean overflow = collect(watchService.take(), changedFiles);
+                WatchKey key;
+                while ((key = watchService.poll(debounce, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, changedFiles);
+                }
+
+                if (overflow) {
+                    LOGGER.warning("Too many file changes, all models are validated again");
+                    validate(null);
+                } else {
+                    final Collection<String> changedPaths = toChangedPaths(changedFiles);
+                    if (!changedPaths.isEmpty()) {
+                        validate(changedPaths);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOGGER.fine("Model watcher stopped");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Validates the models again
+     *
+     * @param changedPaths Changed files or null, if all models have to be validated from scratch
+     */
+    private void validate(final Collection<String> changedPaths) {
+        final long start = System.currentTimeMillis();
+        try {
+            final Collection<CheckerIssue> issues = changedPaths == null ? session.validate()
+                    : session.revalidate(changedPaths);
+            LOGGER.fine(String.format("Validation of %s took %d ms", changedPaths,
+                    System.currentTimeMillis() - start));
+            listener.accept(issues);
+        } catch (RuntimeException e) {
+            // Models might be saved in an invalid state while they are edited, so the watcher keeps running
+            LOGGER.log(Level.WARNING, "Validation failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Collects the changed files of a watch key and registers new folders
+     *
+     * @param key          Signalled key
+     * @param changedFiles Changed files
+     * @return true, if events were lost
+     */
+    private boolean collect(final WatchKey key, final Set<Path> changedFiles) {
+        boolean overflow = false;
+        final Path folder = watchedFolders.get(key);
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow = true;
+            } else if (folder != null) {
+                final Path file = folder.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(file)) {
+                    // Files created together with the folder are not signalled
+                    register(file);
+                    try (java.util.stream.Stream<Path> files = Files.walk(file)) {
+                        files.filter(Files::isRegularFile).forEach(changedFiles::add);
+                    } catch (IOException e) {
+                        overflow = true;
+                    }
+                } else {
+                    changedFiles.add(file);
+                }
+            }
+        }
+        if (!key.reset()) {
+            watchedFolders.remove(key);
+        }
+        return overflow;
+    }
+
+    /**
+     * Converts changed files to the paths expected by {@link ValidatorSession#revalidate(Collection)}. Files of the
+     * validation folder and files, which can not affect the validation, are skipped.
+     *
+     * @param changedFiles Changed files
+     * @return Paths relative to the base path for models, absolute paths otherwise
+     */
+    Collection<String> toChangedPaths(final Collection<Path> changedFiles) {
+        final Collection<String> changedPaths = new ArrayList<>();
+        for (final Path changedFile : changedFiles) {
+            final Path file = changedFile.toAbsolutePath().normalize();
+            final String fileName = file.getFileName().toString().toLowerCase();
+            if (file.startsWith(validationFolder) || WATCHED_EXTENSIONS.stream().noneMatch(fileName::endsWith)) {
+                continue;
+            }
+            if (file.startsWith(basedir)) {
+                changedPaths.add(basedir.relativize(file).toString().replace(File.separatorChar, '/'));
+            } else {
+                changedPaths.add(file.toString());
+            }
+        }
+        return changedPaths;
+    }
+
+    private void register(final Path root) {
+        if (!Files.isDirectory(root)) {
+            LOGGER.warning("Folder can not be watched, because it does not exist: " + root);
+            return;
+        }
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                        throws IOException {
+                    if (dir.startsWith(validationFolder)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    watchedFolders.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Folder can not be watched: " + root, e);
+        }
+    }
+
+    private static Path normalize(final File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+}
@@ -39,7 +39,6 @@ import de.viadee.bpm.vPAV.processing.EntryPointScanner;
 import de.viadee.bpm.vPAV.processing.code.flow.FlowAnalysis;
 import de.viadee.bpm.vPAV.processing.model.data.ProcessVariable;
 import de.viadee.bpm.vPAV.processing.model.graph.Graph;
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.springframework.context.ApplicationContext;
 
@@ -60,7 +59,7 @@ public class ProcessApplicationVariableParser {
         // Retrieve BPMN elements
         FileScanner fileScanner = new FileScanner(new RuleSet());
         EntryPointScanner variableScanner = readOuterProcessVariables(fileScanner);
-        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(modelFile);
+        final BpmnModelInstance modelInstance = fileScanner.getModelRepository().getBpmnModel(modelFile);
 
         final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(fileScanner.getDecisionRefToPathMap(),
                 fileScanner.getProcessIdToPathMap(), variableScanner.getMessageIdToVariableMap(),
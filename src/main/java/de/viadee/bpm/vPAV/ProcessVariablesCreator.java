@@ -37,6 +37,7 @@ import de.viadee.bpm.vPAV.processing.ObjectReaderReceiver;
 import de.viadee.bpm.vPAV.processing.code.flow.BasicNode;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.code.flow.Node;
+import de.viadee.bpm.vPAV.processing.code.flow.ObjectVariable;
 import de.viadee.bpm.vPAV.processing.model.data.*;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import org.camunda.bpm.model.bpmn.instance.BpmnModelElementInstance;
@@ -47,6 +48,7 @@ import soot.toolkits.graph.Block;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProcessVariablesCreator extends ObjectReaderReceiver {
 
@@ -62,6 +64,8 @@ public class ProcessVariablesCreator extends ObjectReaderReceiver {
 
     private BasicNode predecessor;
 
+    private Map<String, ObjectVariable> staticObjectVariables;
+
     // Used for testing
     ProcessVariablesCreator(final BpmnElement element,
             final ElementChapter chapter, final KnownElementFieldType fieldType, String scopeId) {
@@ -73,9 +77,23 @@ public class ProcessVariablesCreator extends ObjectReaderReceiver {
 
     public ProcessVariablesCreator(final BpmnElement element,
             final ElementChapter chapter, final KnownElementFieldType fieldType, final BasicNode[] predecessor) {
+        this(element, chapter, fieldType, predecessor, null);
+    }
+
+    /**
+     * @param element               Bpmn element
+     * @param chapter               Element chapter
+     * @param fieldType             Known element field type
+     * @param predecessor           Predecessor
+     * @param staticObjectVariables Static fields of the scanned classes or null, if static fields are not known
+     */
+    public ProcessVariablesCreator(final BpmnElement element,
+            final ElementChapter chapter, final KnownElementFieldType fieldType, final BasicNode[] predecessor,
+            final Map<String, ObjectVariable> staticObjectVariables) {
         this.element = element;
         this.chapter = chapter;
         this.fieldType = fieldType;
+        this.staticObjectVariables = staticObjectVariables;
         determineScopeId();
         if (predecessor[0] != null) {
             this.predecessor = predecessor[0];
@@ -236,6 +254,11 @@ public class ProcessVariablesCreator extends ObjectReaderReceiver {
         predecessor = blockNode;
     }
 
+    @Override
+    public Map<String, ObjectVariable> getStaticObjectVariables() {
+        return staticObjectVariables;
+    }
+
     public List<Node> getNodes() {
         return nodes;
     }
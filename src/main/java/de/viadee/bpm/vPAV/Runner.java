@@ -31,6 +31,7 @@
  */
 package de.viadee.bpm.vPAV;
 
+import com.google.gson.JsonArray;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.config.model.RuleSet;
 import de.viadee.bpm.vPAV.config.reader.ConfigReaderException;
@@ -40,13 +41,15 @@ import de.viadee.bpm.vPAV.exceptions.InvalidPropertiesConfigurationException;
 import de.viadee.bpm.vPAV.exceptions.OutputWriterException;
 import de.viadee.bpm.vPAV.output.*;
 import de.viadee.bpm.vPAV.processing.BpmnModelDispatcher;
+import de.viadee.bpm.vPAV.processing.ClassDependencies;
+import de.viadee.bpm.vPAV.processing.EntryPointCache;
 import de.viadee.bpm.vPAV.processing.EntryPointScanner;
 import de.viadee.bpm.vPAV.processing.JavaReaderStatic;
-import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
+import de.viadee.bpm.vPAV.processing.MethodSummaryCache;
+import de.viadee.bpm.vPAV.processing.checker.ElementCheckerIndex;
 import de.viadee.bpm.vPAV.processing.dataflow.DataFlowRule;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.ModelDispatchResult;
-import de.viadee.bpm.vPAV.processing.model.data.ProcessVariable;
 import org.apache.commons.io.FileUtils;
 
 import java.io.*;
@@ -57,6 +60,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -78,35 +86,82 @@ public class Runner {
 
     private Map<String, String> wrongCheckersMap = new HashMap<>();
 
-    private final Collection<BpmnElement> elements = new ArrayList<>();
+    private final JsonArray elements = new JsonArray();
 
-    private final Collection<ProcessVariable> processVariables = new ArrayList<>();
+    private final JsonArray processVariables = new JsonArray();
+
+    private boolean dispatchWithVariables = false;
+
+    private IncrementalValidationCache incrementalValidationCache;
+
+    private EntryPointCache entryPointCache;
 
     private Collection<DataFlowRule> dataFlowRules = new ArrayList<>();
 
     private List<String> externalReportsPaths = new ArrayList<>();
 
+    private final IssueService issueService = new IssueService();
+
+    // State of a previous run, which is reused by a ValidatorSession
+    private boolean reuseRules = false;
+
+    private ModelRepository modelRepository = new ModelRepository();
+
+    private boolean reuseSoot = false;
+
+    private boolean keepOutput = false;
+
+    private ValidationMetrics metrics;
+
+    // Shared by the models, which are dispatched in parallel
+    private volatile ElementCheckerIndex elementCheckerIndex;
+
     /**
      * Main method which represents lifecycle of the validation process. Calls main
      * functions
      */
     public void viadeeProcessApplicationValidator() {
-        // 1
-        rules = readConfig();
-        // 2
-        setFileScanner(new FileScanner(rules));
-        // 3
-        JavaReaderStatic.setupSoot();
-        // 4
-        getProcessVariables(rules);
-        // 5
-        createIssues(rules, dataFlowRules);
-        // 6
-        removeIgnoredIssues();
-        // 7
-        writeOutput(filteredIssues, elements, processVariables);
-        // 8
-        copyFiles();
+        // Issues of this run are collected separately from other runs in the same JVM
+        final IssueService previousIssueService = IssueService.bind(issueService);
+        // Metrics are only collected, if they are written
+        metrics = RuntimeConfig.getInstance().isMetrics() ? new ValidationMetrics() : null;
+        final ValidationMetrics previousMetrics = ValidationMetrics.bind(metrics);
+        try {
+            // 1
+            try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("readConfig")) {
+                rules = readConfig();
+            }
+            // 2
+            try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("fileScanner")) {
+                setFileScanner(new FileScanner(rules, modelRepository));
+            }
+            // 3
+            if (!reuseSoot) {
+                try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("setupSoot")) {
+                    JavaReaderStatic.setupSoot();
+                }
+            }
+            // 4
+            getProcessVariables(rules);
+            // 5
+            try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("createIssues")) {
+                createIssues(rules, dataFlowRules);
+            }
+            // 6
+            removeIgnoredIssues();
+            // 7
+            try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("writeOutput")) {
+                writeOutput(filteredIssues, elements, processVariables);
+            }
+            // 8
+            try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("copyFiles")) {
+                copyFiles();
+            }
+            writeMetrics();
+        } finally {
+            ValidationMetrics.bind(previousMetrics);
+            IssueService.bind(previousIssueService);
+        }
         logger.info("BPMN validation successfully completed");
     }
 
@@ -139,13 +194,17 @@ public class Runner {
 
         prepareOutputFolder();
 
-        rules = new XmlConfigReader().getDeactivatedRuleSet();
+        if (!reuseRules) {
+            rules = new XmlConfigReader().getDeactivatedRuleSet();
+        }
 
         final RuleSetOutputWriter ruleSetOutputWriter = new RuleSetOutputWriter();
         try {
             String ruleSetPath =
                     RuntimeConfig.getInstance().getRuleSetPath() + RuntimeConfig.getInstance().getRuleSetFileName();
-            if (new File(ruleSetPath).exists()) {
+            if (reuseRules) {
+                logger.fine("Rule set of the previous run is reused");
+            } else if (new File(ruleSetPath).exists()) {
                 RuleSet localRules = new XmlConfigReader().read(RuntimeConfig.getInstance().getRuleSetFileName());
 
                 if (localRules.hasParentRuleSet()) {
@@ -174,18 +233,27 @@ public class Runner {
      */
     private void prepareOutputFolder() {
 
-        deleteFiles();
+        if (incrementalValidationCache == null && RuntimeConfig.getInstance().isIncrementalValidation()) {
+            // Read the results of the previous run before the output folder is deleted
+            incrementalValidationCache = IncrementalValidationCache
+                    .read(new File(RuntimeConfig.getInstance().getIncrementalValidationCache()));
+        }
+        if (RuntimeConfig.getInstance().isEntryPointCache()) {
+            entryPointCache = EntryPointCache.read(new File(RuntimeConfig.getInstance().getEntryPointCache()));
+        }
+        if (!keepOutput) {
+            deleteFiles();
+        }
         createvPAVFolder();
         try {
-            Files.createDirectory(Paths.get(RuntimeConfig.getInstance().getJsFolder()));
-            Files.createDirectory(Paths.get(RuntimeConfig.getInstance().getCssFolder()));
-            Files.createDirectory(Paths.get(RuntimeConfig.getInstance().getImgFolder()));
-            Files.createDirectory(Paths.get(RuntimeConfig.getInstance().getFontFolder()));
-            Files.createDirectory(Paths.get(RuntimeConfig.getInstance().getDataFolder()));
+            Files.createDirectories(Paths.get(RuntimeConfig.getInstance().getJsFolder()));
+            Files.createDirectories(Paths.get(RuntimeConfig.getInstance().getCssFolder()));
+            Files.createDirectories(Paths.get(RuntimeConfig.getInstance().getImgFolder()));
+            Files.createDirectories(Paths.get(RuntimeConfig.getInstance().getFontFolder()));
+            Files.createDirectories(Paths.get(RuntimeConfig.getInstance().getDataFolder()));
             if (RuntimeConfig.getInstance().isMultiProjectScan()) {
-                Files.createDirectory(Paths.get(RuntimeConfig.getInstance().getExternalReportsFolder()));
+                Files.createDirectories(Paths.get(RuntimeConfig.getInstance().getExternalReportsFolder()));
             }
-            Files.createDirectory(Paths.get(RuntimeConfig.getInstance().getDataFolder()));
         } catch (IOException e) {
             logger.warning("Could not create one of the resources output folders:" + e.getMessage());
         }
@@ -233,12 +301,26 @@ public class Runner {
     protected void getProcessVariables(final RuleSet rules) {
         if (oneCheckerIsActive(rules.getElementRules(), "ProcessVariablesNameConventionChecker")
                 || !rules.getActiveModelRules().isEmpty()) {
-            variableScanner = new EntryPointScanner(getFileScanner().getJavaResourcesFileInputStream());
-            readOuterProcessVariables(variableScanner);
+            dispatchWithVariables = true;
+            // In incremental mode, classes are only scanned if at least one model has to be dispatched
+            if (incrementalValidationCache == null && variableScanner == null) {
+                createVariableScanner();
+            }
         }
         setCheckProcessVariables();
     }
 
+    private void createVariableScanner() {
+        try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("entryPointScan")) {
+            variableScanner = new EntryPointScanner(getFileScanner().getJavaResourcesFileInputStream(),
+                    entryPointCache);
+            readOuterProcessVariables(variableScanner);
+        }
+        if (entryPointCache != null) {
+            entryPointCache.write(new File(RuntimeConfig.getInstance().getEntryPointCache()));
+        }
+    }
+
     private boolean oneCheckerIsActive(final Map<String, Map<String, Rule>> rules, String name) {
         if (!rules.isEmpty() && Objects.nonNull(rules.get(name))) {
             for (Rule r : rules.get(name).values()) {
@@ -258,14 +340,61 @@ public class Runner {
      * @param rules Map of rules
      */
     private void createIssues(RuleSet rules, Collection<DataFlowRule> dataFlowRules) {
-        checkModels(rules, getFileScanner(), variableScanner, dataFlowRules);
+        final Map<String, DispatchedModel> unchangedModels = restoreUnchangedModels(dataFlowRules);
+        if (dispatchWithVariables && variableScanner == null
+                && unchangedModels.size() < getFileScanner().getProcessDefinitions().size()) {
+            createVariableScanner();
+        }
+        checkModels(rules, getFileScanner(), variableScanner, dataFlowRules, unchangedModels);
+        if (incrementalValidationCache != null && dataFlowRules.isEmpty()
+                && RuntimeConfig.getInstance().isIncrementalValidation()) {
+            incrementalValidationCache.write(new File(RuntimeConfig.getInstance().getIncrementalValidationCache()));
+        }
+        logger.fine(String.format("Soot block cache: %d hits, %d misses", SootResolverSimplified.getCacheHits(),
+                SootResolverSimplified.getCacheMisses()));
+        logger.fine(String.format("Method summary cache: %d hits, %d misses", MethodSummaryCache.getCacheHits(),
+                MethodSummaryCache.getCacheMisses()));
+        logger.fine(String.format("Soot scene loaded %d times in %d ms", SootResolverSimplified.getSceneLoads(),
+                SootResolverSimplified.getSceneLoadMillis()));
+    }
+
+    /**
+     * Restores the results of models, which did not change since the previous run. Data flow rules can not be
+     * compared between runs, so no results are restored if data flow rules are defined.
+     *
+     * @param dataFlowRules dataFlowRules
+     * @return results of the unchanged models by process definition
+     */
+    private Map<String, DispatchedModel> restoreUnchangedModels(final Collection<DataFlowRule> dataFlowRules) {
+        final Map<String, DispatchedModel> unchangedModels = new HashMap<>();
+        if (incrementalValidationCache == null || !dataFlowRules.isEmpty()) {
+            return unchangedModels;
+        }
+
+        incrementalValidationCache.initialize(getFileScanner(), dispatchWithVariables);
+        if (dispatchWithVariables && variableScanner == null && incrementalValidationCache.hasChangedClasses()) {
+            // The entry points decide, which models are affected by the changed classes
+            createVariableScanner();
+        }
+        for (final String processDefinition : getFileScanner().getProcessDefinitions()) {
+            if (incrementalValidationCache.getFingerprint(processDefinition, getFileScanner()) != null) {
+                final DispatchedModel dispatchedModel = incrementalValidationCache.restore(processDefinition,
+                        getFileScanner().getModelRepository(), variableScanner);
+                if (dispatchedModel != null) {
+                    unchangedModels.put(processDefinition, dispatchedModel);
+                }
+            }
+        }
+        logger.info(String.format("Incremental validation: %d of %d models unchanged", unchangedModels.size(),
+                getFileScanner().getProcessDefinitions().size()));
+        return unchangedModels;
     }
 
     /**
      * Removes whitelisted issues from the list of issues found
      */
     private void removeIgnoredIssues() {
-        filteredIssues = filterIssues(IssueService.getInstance().getIssues());
+        filteredIssues = filterIssues(issueService.getIssues());
     }
 
     /**
@@ -275,8 +404,8 @@ public class Runner {
      * @param elements         List of BPMN element across all models
      * @param processVariables List of process variables across all models
      */
-    private void writeOutput(final Collection<CheckerIssue> filteredIssues, final Collection<BpmnElement> elements,
-            final Collection<ProcessVariable> processVariables) {
+    private void writeOutput(final Collection<CheckerIssue> filteredIssues, final JsonArray elements,
+            final JsonArray processVariables) {
         final IssueOutputWriter xmlOutputWriter = new XmlOutputWriter();
         final IssueOutputWriter jsonOutputWriter = new JsonOutputWriter();
         final JsOutputWriter jsOutputWriter = new JsOutputWriter();
@@ -291,6 +420,20 @@ public class Runner {
         }
     }
 
+    /**
+     * Writes the metrics of the validation run as JSON file and as JavaScript file for the HTML output. Without
+     * metrics, the files of a previous run into the same output folder are deleted.
+     */
+    private void writeMetrics() {
+        if (metrics == null) {
+            FileUtils.deleteQuietly(new File(RuntimeConfig.getInstance().getMetricsOutput()));
+            FileUtils.deleteQuietly(new File(RuntimeConfig.getInstance().getMetricsJsOutput()));
+            return;
+        }
+        metrics.write(new File(RuntimeConfig.getInstance().getMetricsOutput()));
+        new JsOutputWriter().writeMetrics(metrics.toJson());
+    }
+
     /**
      * Create vPAV folder
      */
@@ -331,6 +474,9 @@ public class Runner {
                     subStringIndex = 0;
                 }
                 Path destination = Paths.get(fileMapping.get(file) + file.substring(subStringIndex));
+                if (keepOutput && Files.exists(destination)) {
+                    return;
+                }
                 try {
                     Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
                 } catch (IOException | NullPointerException e) {
@@ -564,17 +710,62 @@ public class Runner {
     }
 
     /**
-     * Check consistency of all models
+     * Check consistency of all models. If more than one dispatch thread is configured, the models are dispatched
+     * in parallel and the results are merged in the order of the process definitions.
      *
      * @param rules           all rules of ruleSet.xml
      * @param fileScanner     fileScanner
      * @param variableScanner variableScanner
      * @param dataFlowRules   dataFlowRules
+     * @param unchangedModels results of unchanged models, which are not dispatched again
      */
     private void checkModels(final RuleSet rules, final FileScanner fileScanner,
-            final EntryPointScanner variableScanner, Collection<DataFlowRule> dataFlowRules) {
-        for (final String pathToModel : fileScanner.getProcessDefinitions()) {
-            checkModel(rules, pathToModel, fileScanner, variableScanner, dataFlowRules);
+            final EntryPointScanner variableScanner, Collection<DataFlowRule> dataFlowRules,
+            final Map<String, DispatchedModel> unchangedModels) {
+        final List<String> processDefinitions = new ArrayList<>(fileScanner.getProcessDefinitions());
+        final int dispatchThreads = Math.min(RuntimeConfig.getInstance().getDispatchThreads(),
+                processDefinitions.size() - unchangedModels.size());
+
+        if (dispatchThreads <= 1) {
+            for (final String pathToModel : processDefinitions) {
+                if (unchangedModels.containsKey(pathToModel)) {
+                    addDispatchResult(pathToModel, unchangedModels.get(pathToModel));
+                } else {
+                    // Issues of each model are kept separately, if they are stored for the next run
+                    addDispatchResult(pathToModel, checkModel(rules, pathToModel, fileScanner, variableScanner,
+                            dataFlowRules, incrementalValidationCache != null ? new IssueService() : issueService,
+                            metrics));
+                }
+            }
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(dispatchThreads);
+        try {
+            final List<Future<DispatchedModel>> dispatchedModels = new ArrayList<>();
+            for (final String pathToModel : processDefinitions) {
+                if (unchangedModels.containsKey(pathToModel)) {
+                    dispatchedModels.add(CompletableFuture.completedFuture(unchangedModels.get(pathToModel)));
+                    continue;
+                }
+                // Each model collects its issues separately, they are merged in the order of the process definitions
+                dispatchedModels.add(executor.submit(
+                        () -> checkModel(rules, pathToModel, fileScanner, variableScanner, dataFlowRules,
+                                new IssueService(), metrics)));
+            }
+            for (int i = 0; i < processDefinitions.size(); i++) {
+                addDispatchResult(processDefinitions.get(i), dispatchedModels.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dispatching of BPMN models was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("BPMN model could not be dispatched", e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -585,11 +776,26 @@ public class Runner {
      * @param processDefinition processDefinition
      * @param fileScanner       fileScanner
      * @param variableScanner   variableScanner
+     * @param modelIssues       IssueService collecting the issues of the model
+     * @param metrics           ValidationMetrics of the run or null, if no metrics are collected
+     * @return result, issues and incorrect checkers of the dispatched model
      */
-    private void checkModel(final RuleSet rules, final String processDefinition,
+    private DispatchedModel checkModel(final RuleSet rules, final String processDefinition,
+            final FileScanner fileScanner, final EntryPointScanner variableScanner,
+            Collection<DataFlowRule> dataFlowRules, final IssueService modelIssues, final ValidationMetrics metrics) {
+        final ValidationMetrics previousMetrics = ValidationMetrics.bind(metrics);
+        try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("modelDispatch")) {
+            return dispatchModel(rules, processDefinition, fileScanner, variableScanner, dataFlowRules,
+                    modelIssues);
+        } finally {
+            ValidationMetrics.bind(previousMetrics);
+        }
+    }
+
+    private DispatchedModel dispatchModel(final RuleSet rules, final String processDefinition,
             final FileScanner fileScanner, final EntryPointScanner variableScanner,
-            Collection<DataFlowRule> dataFlowRules) {
-        BpmnModelDispatcher bpmnModelDispatcher = new BpmnModelDispatcher();
+            Collection<DataFlowRule> dataFlowRules, final IssueService modelIssues) {
+        BpmnModelDispatcher bpmnModelDispatcher = new BpmnModelDispatcher(modelIssues, elementCheckerIndex);
         ModelDispatchResult dispatchResult;
         File bpmnfile = null;
         String basepath = RuntimeConfig.getInstance().getBasepath();
@@ -605,17 +811,43 @@ public class Runner {
             bpmnfile = new File(basepath + processDefinition);
         }
 
-        if (variableScanner != null) {
-            dispatchResult = bpmnModelDispatcher.dispatchWithVariables(fileScanner, bpmnfile, variableScanner,
-                    dataFlowRules, rules);
-        } else {
-            dispatchResult = bpmnModelDispatcher.dispatchWithoutVariables(bpmnfile,
-                    fileScanner.getDecisionRefToPathMap(), fileScanner.getProcessIdToPathMap(),
-                    fileScanner.getResourcesNewestVersions(), rules);
+        // The classes read by the model are stored with its result for the incremental validation
+        final ClassDependencies classDependencies;
+        ClassDependencies.begin();
+        try {
+            if (variableScanner != null) {
+                dispatchResult = bpmnModelDispatcher.dispatchWithVariables(fileScanner, bpmnfile, variableScanner,
+                        dataFlowRules, rules);
+            } else {
+                dispatchResult = bpmnModelDispatcher.dispatchWithoutVariables(bpmnfile,
+                        fileScanner.getDecisionRefToPathMap(), fileScanner.getProcessIdToPathMap(),
+                        fileScanner.getResourcesNewestVersions(), rules);
+            }
+        } finally {
+            classDependencies = ClassDependencies.end();
+        }
+        elementCheckerIndex = bpmnModelDispatcher.getElementCheckerIndex();
+        return new DispatchedModel(bpmnModelDispatcher.getIncorrectCheckers(), modelIssues,
+                JsOutputWriter.transformElementsToJson(dispatchResult.getBpmnElements()),
+                JsOutputWriter.transformVariablesToJson(dispatchResult.getProcessVariables()), classDependencies);
+    }
+
+    /**
+     * Merges the result of a dispatched model into the overall result
+     *
+     * @param processDefinition processDefinition
+     * @param dispatchedModel   result of a dispatched model
+     */
+    private void addDispatchResult(final String processDefinition, final DispatchedModel dispatchedModel) {
+        if (dispatchedModel.getModelIssues() != issueService) {
+            issueService.merge(dispatchedModel.getModelIssues());
+        }
+        elements.addAll(dispatchedModel.getElements());
+        processVariables.addAll(dispatchedModel.getProcessVariables());
+        setWrongCheckersMap(dispatchedModel.getIncorrectCheckers());
+        if (incrementalValidationCache != null) {
+            incrementalValidationCache.store(processDefinition, dispatchedModel, variableScanner);
         }
-        elements.addAll(dispatchResult.getBpmnElements());
-        processVariables.addAll(dispatchResult.getProcessVariables());
-        setWrongCheckersMap(bpmnModelDispatcher.getIncorrectCheckers());
     }
 
     /**
@@ -667,6 +899,10 @@ public class Runner {
         return filteredIssues;
     }
 
+    public IssueService getIssueService() {
+        return issueService;
+    }
+
     public Map<String, String> getIgnoredIssuesMap() {
         return ignoredIssuesMap;
     }
@@ -687,6 +923,64 @@ public class Runner {
         RuntimeConfig.getInstance().setFileScanner(fileScanner);
     }
 
+    RuleSet getRules() {
+        return rules;
+    }
+
+    /**
+     * Reuses the rule set of a previous run instead of reading the rule set files again
+     *
+     * @param rules RuleSet of the previous run
+     */
+    void reuseRules(final RuleSet rules) {
+        this.rules = rules;
+        this.reuseRules = true;
+    }
+
+    /**
+     * Reuses the models, which were parsed in a previous run
+     *
+     * @param modelRepository repository of the previous run
+     */
+    void reuseModels(final ModelRepository modelRepository) {
+        this.modelRepository = modelRepository;
+    }
+
+    EntryPointScanner getVariableScanner() {
+        return variableScanner;
+    }
+
+    /**
+     * Reuses the Soot scene and the process entry points of a previous run, if no class changed since then
+     *
+     * @param variableScanner EntryPointScanner of the previous run, null if the classes were not scanned
+     */
+    void reuseClasses(final EntryPointScanner variableScanner) {
+        this.variableScanner = variableScanner;
+        this.reuseSoot = true;
+    }
+
+    /**
+     * Keeps the output folder of a previous run. Static files of the HTML report are not copied again and
+     * generated files are only written if their content changed.
+     */
+    void keepOutput() {
+        this.keepOutput = true;
+    }
+
+    IncrementalValidationCache getIncrementalValidationCache() {
+        return incrementalValidationCache;
+    }
+
+    /**
+     * Restores unchanged models from the given cache instead of reading the cache file
+     *
+     * @param incrementalValidationCache Cache with the results of a previous run
+     */
+    void setIncrementalValidationCache(final IncrementalValidationCache incrementalValidationCache) {
+        this.incrementalValidationCache = incrementalValidationCache;
+    }
+
     public Map<String, String> getWrongCheckersMap() {
         return wrongCheckersMap;
     }
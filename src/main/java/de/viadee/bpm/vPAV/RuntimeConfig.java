@@ -405,6 +405,95 @@ public class RuntimeConfig {
         return properties.getProperty("generatedReports", "").split(",");
     }
 
+    /**
+     * Returns the number of worker threads used to dispatch the BPMN models
+     *
+     * @return 1 (default, models are validated sequentially) or the number defined in the properties file
+     */
+    public int getDispatchThreads() {
+        return Integer.parseInt(properties.getProperty("dispatchThreads", "1").trim());
+    }
+
+    /**
+     * Returns the number of threads, which scan classes for process entry points in parallel
+     *
+     * @return 1 (default, classes are scanned sequentially) or the number defined in the properties file
+     */
+    public int getScanThreads() {
+        return Integer.parseInt(properties.getProperty("scanThreads", "1").trim());
+    }
+
+    /**
+     * Returns the number of threads, which validate the embedded groovy scripts of a model in parallel
+     *
+     * @return 1 (default, scripts are validated sequentially) or the number defined in the properties file
+     */
+    public int getScriptThreads() {
+        return Integer.parseInt(properties.getProperty("scriptThreads", "1").trim());
+    }
+
+    /**
+     * Returns whether classes are only scanned for process entry points, if their constant pool refers to the
+     * entry point APIs directly or through other classes of the scan path
+     *
+     * @return false (default) or the value defined in the properties file
+     */
+    public boolean isEntryPointPrefilter() {
+        return Boolean.parseBoolean(properties.getProperty("entryPointPrefilter", "false"));
+    }
+
+    /**
+     * Returns the time, for which the model watcher waits for further file changes before it validates again
+     *
+     * @return 300 ms (default) or the number of milliseconds defined in the properties file
+     */
+    public long getWatchDebounce() {
+        return Long.parseLong(properties.getProperty("watchDebounce", "300").trim());
+    }
+
+    /**
+     * Returns whether results of unchanged models are reused from the previous validation run
+     *
+     * @return false (default) or the value defined in the properties file
+     */
+    public boolean isIncrementalValidation() {
+        return Boolean.parseBoolean(properties.getProperty("incrementalValidation", "false"));
+    }
+
+    public String getIncrementalValidationCache() {
+        return getValidationFolder() + "cache/validationCache.json";
+    }
+
+    /**
+     * Returns whether entry points found in class files are reused from the previous validation run
+     *
+     * @return false (default) or the value defined in the properties file
+     */
+    public boolean isEntryPointCache() {
+        return Boolean.parseBoolean(properties.getProperty("entryPointCache", "false"));
+    }
+
+    public String getEntryPointCache() {
+        return getValidationFolder() + "cache/entryPointCache.json";
+    }
+
+    /**
+     * Returns whether timing and allocation metrics of the validation phases are written to the validation folder
+     *
+     * @return false (default) or the value defined in the properties file
+     */
+    public boolean isMetrics() {
+        return Boolean.parseBoolean(properties.getProperty("metrics", "false"));
+    }
+
+    public String getMetricsOutput() {
+        return getValidationFolder() + "metrics.json";
+    }
+
+    public String getMetricsJsOutput() {
+        return getDataFolder() + "metrics.js";
+    }
+
     public String getProjectSummaryJsOutput() {
         return getDataFolder() + "summary.js";
     }
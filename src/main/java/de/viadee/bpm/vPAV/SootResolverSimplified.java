@@ -33,16 +33,29 @@ package de.viadee.bpm.vPAV;
 
 import de.viadee.bpm.vPAV.constants.CamundaMethodServices;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.ClassDependencies;
 import de.viadee.bpm.vPAV.processing.EntryPointScanner;
+import de.viadee.bpm.vPAV.processing.JavaReaderStatic;
 import soot.*;
+import soot.jimple.NewExpr;
+import soot.jimple.Stmt;
 import soot.jimple.internal.JimpleLocal;
 import soot.toolkits.graph.Block;
 import soot.toolkits.graph.BlockGraph;
 import soot.toolkits.graph.ClassicCompleteBlockGraph;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 import static de.viadee.bpm.vPAV.constants.CamundaMethodServices.NOTIFY;
@@ -58,6 +71,17 @@ public class SootResolverSimplified {
 
     private static final Logger LOGGER = Logger.getLogger(SootResolverSimplified.class.getName());
 
+    // Bodies and block graphs of already resolved methods, keyed by method signature. Valid until Soot is reset.
+    private static final Map<String, MethodBlocks> methodBlocksCache = new ConcurrentHashMap<>();
+
+    private static final AtomicLong cacheHits = new AtomicLong();
+
+    private static final AtomicLong cacheMisses = new AtomicLong();
+
+    private static final AtomicLong sceneLoads = new AtomicLong();
+
+    private static final AtomicLong sceneLoadNanos = new AtomicLong();
+
     public static Block getBlockFromClass(String className, String methodName, List<Type> parameterTypes,
             Type returnType) {
         SootClass sootClass = setupSootClass(className);
@@ -126,29 +150,195 @@ public class SootResolverSimplified {
         return method;
     }
 
+    /**
+     * Returns the head block of a method. Body and block graph of a method are only built once and cached until
+     * the cache is cleared.
+     *
+     * @param method SootMethod
+     * @return head block or null, if the method could not be resolved
+     */
     public static Block getBlockFromMethod(SootMethod method) {
-        try {
-            if (!method.isPhantom()) {
-                Body body = method.retrieveActiveBody();
-                BlockGraph graph = new ClassicCompleteBlockGraph(body);
-                List<Block> graphHeads = graph.getHeads();
-                assert (graphHeads.size() == 1);
+        if (method == null) {
+            return null;
+        }
+        ClassDependencies.recordClass(method.getDeclaringClass().getName());
+        if (method.isPhantom()) {
+            return null;
+        }
+
+        final MethodBlocks cachedBlocks = methodBlocksCache.get(method.getSignature());
+        // Soot creates new method objects after a reset, entries of previous runs are not reused
+        if (cachedBlocks != null && cachedBlocks.method == method) {
+            cacheHits.incrementAndGet();
+            return cachedBlocks.head;
+        }
+        // Classes might be scanned in parallel, only one body is built at a time
+        synchronized (JavaReaderStatic.SOOT_LOCK) {
+            final MethodBlocks existingBlocks = methodBlocksCache.get(method.getSignature());
+            if (existingBlocks != null && existingBlocks.method == method) {
+                cacheHits.incrementAndGet();
+                return existingBlocks.head;
+            }
+            cacheMisses.incrementAndGet();
+            final MethodBlocks methodBlocks = createMethodBlocks(method);
+            methodBlocksCache.put(method.getSignature(), methodBlocks);
+            return methodBlocks.head;
+        }
+    }
 
-                return graphHeads.get(0);
+    /**
+     * Builds the bodies of all methods of the given classes and of all methods invoked by them and resolves the
+     * invoked methods. Afterwards, the classes can be read without changing the scene.
+     *
+     * @param sootClasses Resolved classes
+     */
+    public static void preloadBodies(Collection<SootClass> sootClasses) {
+        final long start = System.nanoTime();
+        final Deque<SootMethod> methods = new ArrayDeque<>();
+        for (final SootClass sootClass : sootClasses) {
+            if (!sootClass.isInterface()) {
+                methods.addAll(sootClass.getMethods());
             }
+        }
+
+        final Set<SootMethod> visitedMethods = new HashSet<>();
+        while (!methods.isEmpty()) {
+            final SootMethod method = methods.poll();
+            if (method.isAbstract() || !visitedMethods.add(method)) {
+                continue;
+            }
+            final Block head = getBlockFromMethod(method);
+            if (head == null) {
+                continue;
+            }
+            for (final Unit unit : head.getBody().getUnits()) {
+                preloadUnit((Stmt) unit, methods);
+            }
+        }
+        LOGGER.fine(String.format("Preloaded %d methods in %d ms", visitedMethods.size(),
+                (System.nanoTime() - start) / 1_000_000));
+    }
+
+    private static void preloadUnit(Stmt stmt, Deque<SootMethod> methods) {
+        try {
+            for (final ValueBox valueBox : stmt.getUseAndDefBoxes()) {
+                if (valueBox.getValue() instanceof NewExpr) {
+                    ((NewExpr) valueBox.getValue()).getBaseType().getSootClass().getInterfaces();
+                }
+            }
+            if (stmt.containsInvokeExpr()) {
+                final SootMethod invokedMethod = stmt.getInvokeExpr().getMethod();
+                final String packageName = invokedMethod.getDeclaringClass().getPackageName();
+                // Native java and Camunda classes are not interpreted
+                if (!packageName.startsWith("java.") && !packageName.startsWith("org.camunda.")) {
+                    methods.add(invokedMethod);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Is reported when the unit is interpreted
+            LOGGER.fine("Unit could not be preloaded: " + e.getMessage());
+        }
+    }
+
+    private static MethodBlocks createMethodBlocks(SootMethod method) {
+        try {
+            Body body = method.retrieveActiveBody();
+            BlockGraph graph = new ClassicCompleteBlockGraph(body);
+            List<Block> graphHeads = graph.getHeads();
+            assert (graphHeads.size() == 1);
+
+            return new MethodBlocks(method, body, graph, graphHeads.get(0));
         } catch (Exception e) {
             LOGGER.warning(method.getName() + " could not be resolved and was skipped.");
-            return null;
+            return new MethodBlocks(method, null, null, null);
         }
-        return null;
+    }
+
+    /**
+     * Removes all cached bodies and block graphs. Has to be called whenever Soot is reset.
+     */
+    public static void clearCache() {
+        methodBlocksCache.clear();
+        cacheHits.set(0);
+        cacheMisses.set(0);
+        sceneLoads.set(0);
+        sceneLoadNanos.set(0);
+    }
+
+    /**
+     * Resolves classes and marks them as application classes. The scene is prepared only once for all classes
+     * instead of once per class.
+     *
+     * @param classFiles Class files relative to the scan path
+     * @return resolved classes by class file. Classes that could not be resolved are missing.
+     */
+    public static Map<String, SootClass> setupSootClasses(Collection<String> classFiles) {
+        final long start = System.nanoTime();
+        final Map<String, SootClass> sootClasses = new HashMap<>();
+        for (final String classFile : classFiles) {
+            final SootClass sootClass = Scene.v()
+                    .forceResolve(fixClassPathForSoot(EntryPointScanner.cleanString(classFile)),
+                            SootClass.SIGNATURES);
+            if (sootClass != null) {
+                // Interfaces are not analyzed and remain library classes
+                if (!sootClass.isInterface()) {
+                    sootClass.setApplicationClass();
+                }
+                sootClasses.put(classFile, sootClass);
+            }
+        }
+        loadNecessaryClasses();
+        LOGGER.fine(String.format("Resolved %d classes in %d ms", sootClasses.size(),
+                (System.nanoTime() - start) / 1_000_000));
+        return sootClasses;
+    }
+
+    /**
+     * Marks a resolved class as application class. The scene is only prepared again if the class was not already
+     * set up, e.g. by {@link #setupSootClasses(Collection)}.
+     *
+     * @param sootClass Resolved class
+     */
+    public static void setupApplicationClass(SootClass sootClass) {
+        if (!sootClass.isApplicationClass()) {
+            sootClass.setApplicationClass();
+            loadNecessaryClasses();
+        }
+    }
+
+    /**
+     * Loads all classes that are necessary for the analysis. Every call iterates over all classes of the scene, so
+     * the number of calls and their duration are recorded.
+     */
+    public static void loadNecessaryClasses() {
+        final long start = System.nanoTime();
+        Scene.v().loadNecessaryClasses();
+        sceneLoadNanos.addAndGet(System.nanoTime() - start);
+        sceneLoads.incrementAndGet();
+    }
+
+    public static long getSceneLoads() {
+        return sceneLoads.get();
+    }
+
+    public static long getSceneLoadMillis() {
+        return sceneLoadNanos.get() / 1_000_000;
+    }
+
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.get();
     }
 
     public static SootClass setupSootClass(String className) {
         className = EntryPointScanner.cleanString(className);
         SootClass sootClass = Scene.v().forceResolve(fixClassPathForSoot(className), SootClass.SIGNATURES);
         if (sootClass != null) {
-            sootClass.setApplicationClass();
-            Scene.v().loadNecessaryClasses();
+            ClassDependencies.recordClass(sootClass.getName());
+            setupApplicationClass(sootClass);
             return sootClass;
         } else {
             LOGGER.warning(String.format("Class %s was not found by Soot", className));
@@ -230,4 +420,25 @@ public class SootResolverSimplified {
         return classFile;
     }
 
+    /**
+     * Body, block graph and head block of a resolved method
+     */
+    private static class MethodBlocks {
+
+        private final SootMethod method;
+
+        private final Body body;
+
+        private final BlockGraph graph;
+
+        private final Block head;
+
+        private MethodBlocks(final SootMethod method, final Body body, final BlockGraph graph, final Block head) {
+            this.method = method;
+            this.body = body;
+            this.graph = graph;
+            this.head = head;
+        }
+    }
+
 }
@@ -0,0 +1,308 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Collects timing and allocation metrics of the phases of a validation run.
+ * <p>
+ * Like the IssueService, the metrics of a run are bound to the threads doing the work. Each measured phase records
+ * its wall time, the CPU time and the bytes allocated by the measuring thread, and how often it was executed.
+ * Phases executed by several dispatch threads are summed up, so their wall time may exceed the one of the run.
+ * If no metrics are bound, measurements are not recorded.
+ */
+public class ValidationMetrics {
+
+    private static final Logger LOGGER = Logger.getLogger(ValidationMetrics.class.getName());
+
+    private static final ThreadLocal<ValidationMetrics> BOUND_INSTANCE = new ThreadLocal<>();
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_BEAN.isCurrentThreadCpuTimeSupported();
+
+    private static final boolean ALLOCATED_BYTES_SUPPORTED = THREAD_BEAN instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) THREAD_BEAN).isThreadAllocatedMemorySupported()
+            && ((com.sun.management.ThreadMXBean) THREAD_BEAN).isThreadAllocatedMemoryEnabled();
+
+    private static final Measurement NO_MEASUREMENT = () -> {
+    };
+
+    private final long started = System.nanoTime();
+
+    // Phases are kept in the order in which they were executed first
+    private final Map<String, PhaseMetrics> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final Map<String, PhaseMetrics> checkers = new ConcurrentHashMap<>();
+
+    /**
+     * Binds metrics to the current thread. All phases measured on this thread are added to the bound metrics.
+     *
+     * @param metrics ValidationMetrics to be bound, null removes the binding
+     * @return previously bound metrics or null, if none were bound
+     */
+    public static ValidationMetrics bind(final ValidationMetrics metrics) {
+        final ValidationMetrics previous = BOUND_INSTANCE.get();
+        if (metrics == null) {
+            BOUND_INSTANCE.remove();
+        } else {
+            BOUND_INSTANCE.set(metrics);
+        }
+        return previous;
+    }
+
+    /**
+     * Starts measuring a phase with the metrics bound to the current thread
+     *
+     * @param phase Name of the phase
+     * @return Measurement, which records the phase when it is closed
+     */
+    public static Measurement measure(final String phase) {
+        final ValidationMetrics metrics = BOUND_INSTANCE.get();
+        return metrics != null ? metrics.start(metrics.phases, phase) : NO_MEASUREMENT;
+    }
+
+    /**
+     * Starts measuring a checker, which checks a whole model, with the metrics bound to the current thread
+     *
+     * @param checker Checker class
+     * @return Measurement, which records the checker when it is closed
+     */
+    public static Measurement measureChecker(final Class<?> checker) {
+        final ValidationMetrics metrics = BOUND_INSTANCE.get();
+        return metrics != null ? metrics.start(metrics.checkers, checker.getSimpleName()) : NO_MEASUREMENT;
+    }
+
+    /**
+     * Creates a timer for the element checkers of a model with the metrics bound to the current thread
+     *
+     * @return CheckerTimer, which adds the times to the metrics when it is closed
+     */
+    public static CheckerTimer timeCheckers() {
+        return new CheckerTimer(BOUND_INSTANCE.get());
+    }
+
+    private Measurement start(final Map<String, PhaseMetrics> target, final String name) {
+        final PhaseMetrics metrics = target.computeIfAbsent(name, k -> new PhaseMetrics());
+        final long wallStart = System.nanoTime();
+        final long cpuStart = cpuTime();
+        final long allocatedStart = allocatedBytes();
+        return () -> metrics.add(System.nanoTime() - wallStart, cpuTime() - cpuStart,
+                allocatedBytes() - allocatedStart);
+    }
+
+    public Map<String, PhaseMetrics> getPhases() {
+        return phases;
+    }
+
+    public Map<String, PhaseMetrics> getCheckers() {
+        return checkers;
+    }
+
+    /**
+     * Transforms the metrics to JSON. Times are given in milliseconds, checkers are sorted by their wall time.
+     *
+     * @return JSON object of the metrics
+     */
+    public JsonObject toJson() {
+        final JsonObject json = new JsonObject();
+        json.addProperty("wallMillis", toMillis(System.nanoTime() - started));
+        json.addProperty("cpuTimeSupported", CPU_TIME_SUPPORTED);
+        json.addProperty("allocatedBytesSupported", ALLOCATED_BYTES_SUPPORTED);
+        synchronized (phases) {
+            json.add("phases", toJson(phases));
+        }
+        final Map<String, PhaseMetrics> sortedCheckers = new LinkedHashMap<>();
+        checkers.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().getWallNanos(), a.getValue().getWallNanos()))
+                .forEach(entry -> sortedCheckers.put(entry.getKey(), entry.getValue()));
+        json.add("checkers", toJson(sortedCheckers));
+        return json;
+    }
+
+    private static JsonArray toJson(final Map<String, PhaseMetrics> metrics) {
+        final JsonArray array = new JsonArray();
+        metrics.forEach((name, phase) -> {
+            final JsonObject entry = new JsonObject();
+            entry.addProperty("name", name);
+            entry.addProperty("count", phase.getCount());
+            entry.addProperty("wallMillis", toMillis(phase.getWallNanos()));
+            entry.addProperty("cpuMillis", toMillis(phase.getCpuNanos()));
+            entry.addProperty("allocatedBytes", phase.getAllocatedBytes());
+            array.add(entry);
+        });
+        return array;
+    }
+
+    /**
+     * Writes the metrics as JSON file
+     *
+     * @param file Metrics file
+     */
+    public void write(final File file) {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(toJson(), writer);
+        } catch (IOException e) {
+            LOGGER.warning("Metrics of validation run couldn't be written: " + e.getMessage());
+        }
+    }
+
+    private static double toMillis(final long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long allocatedBytes() {
+        if (!ALLOCATED_BYTES_SUPPORTED) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) THREAD_BEAN)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Measurement of a running phase, which is recorded when it is closed
+     */
+    @FunctionalInterface
+    public interface Measurement extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Accumulates the wall time of the element checkers of a model. The checkers run alternately on each element,
+     * so only the wall time of a check is taken. Reading the CPU time and the allocated bytes of every check would
+     * cost more than most checks. The times are added to the metrics once per model, when the timer is closed.
+     */
+    public static final class CheckerTimer implements AutoCloseable {
+
+        private final ValidationMetrics metrics;
+
+        // [checker] -> [wall nanos, checks]
+        private final Map<Class<?>, long[]> times = new HashMap<>();
+
+        private CheckerTimer(final ValidationMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        /**
+         * @return Start of a check, which is passed to {@link #stop(Class, long)}
+         */
+        public long start() {
+            return metrics != null ? System.nanoTime() : 0;
+        }
+
+        /**
+         * @param checker Checker class
+         * @param start   Start of the check
+         */
+        public void stop(final Class<?> checker, final long start) {
+            if (metrics != null) {
+                final long[] time = times.computeIfAbsent(checker, k -> new long[2]);
+                time[0] += System.nanoTime() - start;
+                time[1]++;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (metrics != null) {
+                times.forEach((checker, time) -> metrics.checkers
+                        .computeIfAbsent(checker.getSimpleName(), k -> new PhaseMetrics())
+                        .add(time[1], time[0], 0, 0));
+            }
+        }
+    }
+
+    /**
+     * Accumulated metrics of a phase
+     */
+    public static class PhaseMetrics {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder wallNanos = new LongAdder();
+
+        private final LongAdder cpuNanos = new LongAdder();
+
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        void add(final long wall, final long cpu, final long allocated) {
+            add(1, wall, cpu, allocated);
+        }
+
+        void add(final long executions, final long wall, final long cpu, final long allocated) {
+            count.add(executions);
+            wallNanos.add(wall);
+            cpuNanos.add(cpu);
+            allocatedBytes.add(allocated);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getWallNanos() {
+            return wallNanos.sum();
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos.sum();
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import de.viadee.bpm.vPAV.beans.BeanMappingGenerator;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.processing.EntryPointScanner;
+import de.viadee.bpm.vPAV.processing.dataflow.DataFlowRule;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import org.springframework.context.ApplicationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Validates the models of a project repeatedly, e.g. from an IDE plugin or from several tests of a test suite.
+ * <p>
+ * In contrast to {@link ProcessApplicationValidator}, the session keeps the parsed models, the Soot scene, the
+ * scanned process entry points, the bean mapping, the rule set and the results of each model between validations.
+ * {@link #revalidate(Collection)} only reloads what is affected by the changed files:
+ * <ul>
+ * <li>changed BPMN and DMN files are parsed again,</li>
+ * <li>changed XML files reload the rule set,</li>
+ * <li>changed class or Java files set up Soot again and rescan the classes,</li>
+ * <li>changed Groovy files need no reload, they are read again by the models referencing them,</li>
+ * <li>only models whose files, called processes, decisions, external scripts or classes changed are validated
+ * again.</li>
+ * </ul>
+ * The output folder is kept between validations and only generated files with a changed content are written.
+ * A session must only be used by one thread at a time, because Soot can not be used in parallel.
+ */
+public class ValidatorSession {
+
+    private static final Logger LOGGER = Logger.getLogger(ValidatorSession.class.getName());
+
+    private final Map<String, String> beanMap;
+
+    private final ApplicationContext ctx;
+
+    private Collection<DataFlowRule> dataFlowRules = new ArrayList<>();
+
+    private RuleSet rules;
+
+    private ModelRepository modelRepository;
+
+    private boolean sootLoaded = false;
+
+    private EntryPointScanner variableScanner;
+
+    private IncrementalValidationCache validationCache;
+
+    private Collection<CheckerIssue> issues = new ArrayList<>();
+
+    /**
+     * Creates a session without spring context
+     */
+    public ValidatorSession() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a session without spring context but manual bean map
+     *
+     * @param beanMap Map to resolve beans
+     */
+    public ValidatorSession(final Map<String, String> beanMap) {
+        this(beanMap, null);
+    }
+
+    /**
+     * Creates a session with given ApplicationContext (Spring). The bean mapping is only generated once.
+     *
+     * @param ctx Spring context
+     */
+    public ValidatorSession(final ApplicationContext ctx) {
+        this(BeanMappingGenerator.generateBeanMappingFile(ctx), ctx);
+    }
+
+    private ValidatorSession(final Map<String, String> beanMap, final ApplicationContext ctx) {
+        this.beanMap = beanMap;
+        this.ctx = ctx;
+    }
+
+    public void setDataFlowRules(final Collection<DataFlowRule> dataFlowRules) {
+        this.dataFlowRules = dataFlowRules;
+    }
+
+    /**
+     * Validates all models from scratch and discards the state of previous validations
+     *
+     * @return all issues
+     */
+    public Collection<CheckerIssue> validate() {
+        rules = null;
+        modelRepository = null;
+        sootLoaded = false;
+        variableScanner = null;
+        validationCache = null;
+        return run();
+    }
+
+    /**
+     * Validates the models again after files of the project changed. The first call validates all models.
+     *
+     * @param changedPaths Paths of the added, changed or deleted files, either absolute or relative to the base
+     *                     path. BPMN and DMN files, which are not listed, are not parsed again.
+     * @return all issues
+     */
+    public Collection<CheckerIssue> revalidate(final Collection<String> changedPaths) {
+        for (final String changedPath : changedPaths) {
+            final String path = changedPath.toLowerCase();
+            if (path.endsWith(".class") || path.endsWith(".java")) {
+                sootLoaded = false;
+                variableScanner = null;
+            } else if (path.endsWith(".xml")) {
+                rules = null;
+            } else if (modelRepository != null && (path.endsWith(".bpmn") || path.endsWith(".dmn"))) {
+                modelRepository.evict(resolve(changedPath));
+            }
+        }
+        return run();
+    }
+
+    /**
+     * Returns the issues of the last validation
+     *
+     * @return all issues
+     */
+    public Collection<CheckerIssue> getIssues() {
+        return Collections.unmodifiableCollection(issues);
+    }
+
+    private Collection<CheckerIssue> run() {
+        final RuntimeConfig config = RuntimeConfig.getInstance();
+        config.setClassLoader(ValidatorSession.class.getClassLoader());
+        if (ctx != null) {
+            config.setApplicationContext(ctx);
+        }
+        if (beanMap != null) {
+            config.setBeanMapping(beanMap);
+        }
+
+        final Runner runner = new Runner();
+        runner.setDataFlowRules(dataFlowRules);
+        if (rules != null) {
+            runner.reuseRules(rules);
+        }
+        if (modelRepository != null) {
+            runner.reuseModels(modelRepository);
+        }
+        if (sootLoaded) {
+            runner.reuseClasses(variableScanner);
+        }
+        if (validationCache != null) {
+            // The report of the previous validation might be open, so only changed files are written
+            runner.keepOutput();
+        }
+        runner.setIncrementalValidationCache(
+                validationCache != null ? validationCache : IncrementalValidationCache.empty());
+        runner.viadeeProcessApplicationValidator();
+
+        rules = runner.getRules();
+        modelRepository = runner.getFileScanner().getModelRepository();
+        sootLoaded = true;
+        variableScanner = runner.getVariableScanner();
+        validationCache = runner.getIncrementalValidationCache().next();
+        issues = runner.getFilteredIssues();
+        LOGGER.fine(String.format("Session keeps %d parsed models", modelRepository.size()));
+        return issues;
+    }
+
+    private static File resolve(final String path) {
+        final File file = new File(path);
+        if (file.isAbsolute()) {
+            return file;
+        }
+        return IncrementalValidationCache.resolve(path);
+    }
+}
@@ -31,6 +31,8 @@
  */
 package de.viadee.bpm.vPAV.config.model;
 
+import java.util.regex.Pattern;
+
 public class ElementConvention {
 
     private final String name;
@@ -41,6 +43,10 @@ public class ElementConvention {
 
     private final String pattern;
 
+    private final Pattern compiledPattern;
+
+    private final Pattern trimmedPattern;
+
     public ElementConvention(final String name, final ElementFieldTypes elementFieldTypes, final String description,
             final String pattern) {
         super();
@@ -48,6 +54,10 @@ public class ElementConvention {
         this.description = description;
         this.elementFieldTypes = elementFieldTypes;
         this.pattern = pattern;
+        this.compiledPattern = pattern != null ? Pattern.compile(pattern) : null;
+        this.trimmedPattern = pattern != null && !pattern.trim().equals(pattern)
+                ? Pattern.compile(pattern.trim())
+                : compiledPattern;
     }
 
     public String getName() {
@@ -65,4 +75,23 @@ public class ElementConvention {
     public String getPattern() {
         return pattern;
     }
+
+    /**
+     * Returns the pattern as it is defined in the rule set. It is compiled with the convention and then shared by
+     * all checkers.
+     *
+     * @return compiled pattern or null, if no pattern is defined
+     */
+    public Pattern getCompiledPattern() {
+        return compiledPattern;
+    }
+
+    /**
+     * Returns the pattern without surrounding whitespace, as it is used for element ids and gateways
+     *
+     * @return compiled pattern or null, if no pattern is defined
+     */
+    public Pattern getTrimmedPattern() {
+        return trimmedPattern;
+    }
 }
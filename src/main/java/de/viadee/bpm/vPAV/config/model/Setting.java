@@ -33,6 +33,8 @@ package de.viadee.bpm.vPAV.config.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class Setting {
 
@@ -48,6 +50,9 @@ public class Setting {
 
     private final boolean required;
 
+    // compiled with the setting, null if the value is no valid regular expression
+    private final Pattern valuePattern;
+
     /**
      *
      * @param name
@@ -73,6 +78,19 @@ public class Setting {
         this.required = required;
         if (scriptPlace != null)
             scriptPlaces.add(scriptPlace);
+        this.valuePattern = compile(value);
+    }
+
+    private static Pattern compile(final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Pattern.compile(value);
+        } catch (PatternSyntaxException e) {
+            // not all settings contain regular expressions
+            return null;
+        }
     }
 
     public String getName() {
@@ -95,6 +113,16 @@ public class Setting {
         return required;
     }
 
+    /**
+     * Returns the value as regular expression, which was compiled with the setting and is shared by all checkers
+     *
+     * @return compiled value
+     * @throws PatternSyntaxException if the value is no valid regular expression
+     */
+    public Pattern getValuePattern() {
+        return valuePattern != null ? valuePattern : Pattern.compile(value);
+    }
+
     public List<String> getScriptPlaces() {
         return scriptPlaces;
     }
@@ -108,7 +108,9 @@ public class PropertiesReader {
 
     void validateProperties(Properties properties) {
         List<String> allowedProperties = Arrays.asList("outputhtml", "language", "basepath", "parentRuleSet", "ruleSet",
-                "scanpath", "userVariablesFilePath", "validationFolder", "multiProjectReport", "generatedReports");
+                "scanpath", "userVariablesFilePath", "validationFolder", "multiProjectReport", "generatedReports",
+                "dispatchThreads", "incrementalValidation", "entryPointCache", "scanThreads",
+                "entryPointPrefilter", "watchDebounce", "metrics", "scriptThreads");
         properties.keySet().forEach(key -> {
             if (!allowedProperties.contains(key)) {
                 throw new InvalidPropertiesParameterException("Not allowed property: " + key);
@@ -119,6 +121,18 @@ public class PropertiesReader {
             }
         });
 
+        if (properties.containsKey("dispatchThreads")) {
+            try {
+                if (Integer.parseInt(properties.getProperty("dispatchThreads").trim()) < 1) {
+                    throw new InvalidPropertiesParameterException("At least one dispatch thread must be defined");
+                }
+            } catch (NumberFormatException e) {
+                throw new InvalidPropertiesParameterException(
+                        "Number of dispatch threads is not a valid number: " + properties
+                                .getProperty("dispatchThreads"));
+            }
+        }
+
         //Validate properties regarding multi project report support
         if (properties.containsKey("multiProjectReport")) {
             if (properties.get("multiProjectReport").equals("true")) {
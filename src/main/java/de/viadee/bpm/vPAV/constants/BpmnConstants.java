@@ -157,6 +157,12 @@ public class BpmnConstants {
 
 	public static final String PROCESS_VARIABLE_MODEL_CHECKER = "ProcessVariablesModelChecker";
 
+	public static final String INVALID_PATHS = "invalidPaths";
+
+	public static final String MAX_INVALID_PATHS = "maxInvalidPaths";
+
+	public static final String MAX_INVALID_PATH_LENGTH = "maxInvalidPathLength";
+
 	private BpmnConstants() {
 	}
 
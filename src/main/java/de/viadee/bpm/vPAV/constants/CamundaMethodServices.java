@@ -48,6 +48,8 @@ public class CamundaMethodServices {
 
     public static final String RUNTIME = "org.camunda.bpm.engine.RuntimeService";
 
+    public static final String PROCESS_INSTANTIATION_BUILDER = "org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder";
+
     public static final String SCOPE = "org.camunda.bpm.engine.delegate.VariableScope";
 
     public static final String MAP = "java.util.Map";
@@ -57,6 +57,7 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import static de.viadee.bpm.vPAV.constants.BpmnConstants.VPAV_ELEMENT_ID;
 
@@ -133,10 +134,8 @@ public class JsOutputWriter implements IssueOutputWriter {
 		final String errorMessage = "JS output couldn't be written";
 		for (Map.Entry<String, String> entry : files.entrySet()) {
 			if (!StringUtils.isEmpty(entry.getValue())) {
-				try (OutputStreamWriter streamWriter = new OutputStreamWriter(
-						new FileOutputStream(entry.getKey()),
-						StandardCharsets.UTF_8)) {
-					streamWriter.write(entry.getValue());
+				try {
+					writeIfChanged(entry.getKey(), entry.getValue());
 				} catch (IOException e) {
 					throw new OutputWriterException(errorMessage, e);
 				}
@@ -144,6 +143,26 @@ public class JsOutputWriter implements IssueOutputWriter {
 		}
 	}
 
+	/**
+	 * Writes a file only if its content changed, so that a report, which is already open, only reloads the
+	 * changed parts after a validation in watch mode
+	 *
+	 * @param fileName
+	 *            Name of the file
+	 * @param content
+	 *            New content of the file
+	 * @throws IOException
+	 *             If the file could not be read or written
+	 */
+	private static void writeIfChanged(final String fileName, final String content) throws IOException {
+		final java.nio.file.Path file = Paths.get(fileName);
+		final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), bytes)) {
+			return;
+		}
+		Files.write(file, bytes);
+	}
+
 	/**
 	 * Write javascript file with elements which have variables
 	 *
@@ -153,24 +172,71 @@ public class JsOutputWriter implements IssueOutputWriter {
 	 *            Collection of process variables
 	 */
 	public void writeVars(final Collection<BpmnElement> elements, final Collection<ProcessVariable> processVariables) {
+		writeVars(transformElementsToJson(elements), transformVariablesToJson(processVariables));
+	}
 
-		try (FileWriter writer = new FileWriter(RuntimeConfig.getInstance().getValidationJsProcessVariables(), true)) {
+	/**
+	 * Write javascript file with elements which have variables
+	 *
+	 * @param jsonElements
+	 *            JSON representation of the BPMN elements, see
+	 *            {@link #transformElementsToJson(Collection)}
+	 * @param jsonVariables
+	 *            JSON representation of the process variables, see
+	 *            {@link #transformVariablesToJson(Collection)}
+	 */
+	public void writeVars(final JsonArray jsonElements, final JsonArray jsonVariables) {
 
+		try {
 			// write elements containing operations
-			JsonArray jsonElements = elements.stream()
-					.map(JsOutputWriter::transformElementToJsonIncludingProcessVariables)
-					.filter(o -> o.has(VPAV_ELEMENT_ID)).collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
 			StringBuilder jsFile = new StringBuilder();
 			jsFile.append(transformJsonToJs("proz_vars", jsonElements)).append(";\n\n");
-			JsonArray jsonVariables = processVariables.stream().map(JsOutputWriter::transformProcessVariablesToJson)
-					.collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
 			jsFile.append(transformJsonToJs("processVariables", jsonVariables));
-			writer.write(jsFile.toString());
+			writeIfChanged(RuntimeConfig.getInstance().getValidationJsProcessVariables(), jsFile.toString());
 		} catch (IOException e1) {
 			logger.warning("Processvariables couldn't be written");
 		}
 	}
 
+	/**
+	 * Write javascript file with the metrics of the validation run
+	 *
+	 * @param metrics
+	 *            Metrics of the validation run as JSON object
+	 */
+	public void writeMetrics(final JsonObject metrics) {
+		try {
+			writeIfChanged(RuntimeConfig.getInstance().getMetricsJsOutput(),
+					transformJsonToJs("validationMetrics", metrics));
+		} catch (IOException e) {
+			logger.warning("Metrics couldn't be written");
+		}
+	}
+
+	/**
+	 * Transforms the bpmn elements containing operations to json objects
+	 *
+	 * @param elements
+	 *            Collection of BPMN elements
+	 * @return JSON array of the elements with process variables
+	 */
+	public static JsonArray transformElementsToJson(final Collection<BpmnElement> elements) {
+		return elements.stream().map(JsOutputWriter::transformElementToJsonIncludingProcessVariables)
+				.filter(o -> o.has(VPAV_ELEMENT_ID)).collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
+	}
+
+	/**
+	 * Transforms the process variables to json objects
+	 *
+	 * @param processVariables
+	 *            Collection of process variables
+	 * @return JSON array of the process variables
+	 */
+	public static JsonArray transformVariablesToJson(final Collection<? extends ProcessVariable> processVariables) {
+		return processVariables.stream().map(JsOutputWriter::transformProcessVariablesToJson)
+				.collect(JsonArray::new, JsonArray::add, JsonArray::addAll);
+	}
+
 	/**
 	 * Transforms a bpmn element to json object
 	 *
@@ -462,14 +528,19 @@ public class JsOutputWriter implements IssueOutputWriter {
 		final JsonObject projectSummary = new JsonObject();
 
 		//Total statics for project
+		final IssueService issueService = IssueService.getInstance();
+		//Ignored issues of the unfiltered issue collection, grouped by model
+		final Map<String, List<CheckerIssue>> ignoredIssuesByModel = issueService.getIssues().stream()
+				.filter(issue -> getIgnoredIssuesMap().containsKey(issue.getId()))
+				.collect(Collectors.groupingBy(
+						issue -> Objects.toString(FilenameUtils.separatorsToUnix(issue.getBpmnFile()), "")));
 		final Integer ignoredIssuesTotal = getIgnoredIssuesMap().size();
 		final Integer elementsCountTotal =
-				IssueService.getInstance().getElementIdToBpmnFileMap().values().stream()
+				issueService.getElementIdToBpmnFileMap().values().stream()
 						.mapToInt(Set::size)
 						.sum();
-		final Long ignoredElementsTotal = IssueService.getInstance().getIssues().stream()
-				.filter(issue -> getIgnoredIssuesMap()
-						.containsKey(issue.getId()))  //Retrieve the unfiltered issue collection
+		final Long ignoredElementsTotal = ignoredIssuesByModel.values().stream()
+				.flatMap(List::stream)
 				.map(CheckerIssue::getElementId)
 				.distinct()
 				.count();
@@ -520,22 +591,18 @@ public class JsOutputWriter implements IssueOutputWriter {
 		//Statistics per BPMN model
 		final JsonArray modelsStats = new JsonArray();
 		final List<String> modelsList = new ArrayList<>(
-				IssueService.getInstance().getElementIdToBpmnFileMap().keySet());
+				issueService.getElementIdToBpmnFileMap().keySet());
 		modelsList.forEach(model -> {
 			final JsonObject modelSummary = new JsonObject();
-			final Long ignoredIssuesModelCount = IssueService.getInstance().getIssues()
-					.stream()//Retrieve the unfiltered issue collection
-					.filter(issue -> FilenameUtils.separatorsToUnix(issue.getBpmnFile()).equals(model))
-					.filter(issue -> getIgnoredIssuesMap().containsKey(issue.getId()))
+			final List<CheckerIssue> ignoredModelIssues = ignoredIssuesByModel
+					.getOrDefault(model, Collections.emptyList());
+			final Long ignoredIssuesModelCount = ignoredModelIssues.stream()
 					.distinct() //Some types of issues can be multiple times in the collection
 					.count();
-			final Integer elementsModelCount = IssueService.getInstance().getElementIdToBpmnFileMap()
+			final Integer elementsModelCount = issueService.getElementIdToBpmnFileMap()
 					.get(model)
 					.size();
-			final Long ignoredElementsModelCount = IssueService.getInstance().getIssues().stream()
-					.filter(issue -> FilenameUtils.separatorsToUnix(issue.getBpmnFile()).equals(model))
-					.filter(issue -> getIgnoredIssuesMap()
-							.containsKey(issue.getId()))  //Retrieve the unfiltered issue collection
+			final Long ignoredElementsModelCount = ignoredModelIssues.stream()
 					.map(CheckerIssue::getElementId)
 					.distinct()
 					.count();
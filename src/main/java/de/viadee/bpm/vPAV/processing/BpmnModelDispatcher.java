@@ -35,11 +35,15 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import de.viadee.bpm.vPAV.FileScanner;
 import de.viadee.bpm.vPAV.IssueService;
+import de.viadee.bpm.vPAV.ModelRepository;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.ValidationMetrics;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.config.model.RuleSet;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.processing.checker.CheckerFactory;
 import de.viadee.bpm.vPAV.processing.checker.ElementChecker;
+import de.viadee.bpm.vPAV.processing.checker.ElementCheckerIndex;
 import de.viadee.bpm.vPAV.processing.checker.ModelChecker;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.code.flow.ControlFlowGraph;
@@ -49,7 +53,6 @@ import de.viadee.bpm.vPAV.processing.model.data.*;
 import de.viadee.bpm.vPAV.processing.model.graph.Graph;
 import de.viadee.bpm.vPAV.processing.model.graph.Path;
 import org.apache.commons.io.FilenameUtils;
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import org.camunda.bpm.model.bpmn.instance.Process;
@@ -63,16 +66,51 @@ import java.util.stream.Collectors;
  */
 public class BpmnModelDispatcher {
 
+    private final IssueService issueService;
+
     private Map<String, String> incorrectCheckers = new HashMap<>();
 
     private BpmnModelInstance modelInstance;
 
+    private ElementCheckerIndex elementCheckerIndex;
+
     Collection<BaseElement> baseElements;
 
-    private void prepareDispatcher(final File processDefinition) {
+    /**
+     * Creates a dispatcher, which adds issues to the IssueService of the current thread
+     *
+     * @deprecated Use {@link #BpmnModelDispatcher(IssueService)} with the IssueService of the validation run
+     */
+    @Deprecated
+    public BpmnModelDispatcher() {
+        this(IssueService.getInstance());
+    }
+
+    /**
+     * Creates a dispatcher, which adds issues to the given IssueService
+     *
+     * @param issueService IssueService collecting the issues of the dispatched models
+     */
+    public BpmnModelDispatcher(final IssueService issueService) {
+        this(issueService, null);
+    }
+
+    /**
+     * Creates a dispatcher, which adds issues to the given IssueService and reuses the index of the element checkers
+     * of previously dispatched models
+     *
+     * @param issueService        IssueService collecting the issues of the dispatched models
+     * @param elementCheckerIndex Index of the element checkers of the validation run or null, if none was built yet
+     */
+    public BpmnModelDispatcher(final IssueService issueService, final ElementCheckerIndex elementCheckerIndex) {
+        this.issueService = issueService;
+        this.elementCheckerIndex = elementCheckerIndex;
+    }
+
+    private void prepareDispatcher(final File processDefinition, final ModelRepository modelRepository) {
         final String key = FilenameUtils.separatorsToUnix(processDefinition.getPath());
-        // parse bpmn model
-        modelInstance = Bpmn.readModelFromFile(processDefinition);
+        // parse bpmn model (or reuse it, if it was already parsed)
+        modelInstance = modelRepository.getBpmnModel(processDefinition);
         // hold bpmn elements
         baseElements = modelInstance.getModelElementsByType(BaseElement.class);
 
@@ -81,11 +119,7 @@ public class BpmnModelDispatcher {
                         .equals((Process.class))))
                 .map(BaseElement::getId)
                 .collect(Collectors.toSet()));
-        if (IssueService.getInstance().getElementIdToBpmnFileMap().containsKey(key)) {
-            IssueService.getInstance().getElementIdToBpmnFileMap().get(key).addAll(elementIdsSet);
-        } else {
-            IssueService.getInstance().getElementIdToBpmnFileMap().put(key, new HashSet<String>(elementIdsSet));
-        }
+        issueService.addElementIds(key, elementIdsSet);
     }
 
     /**
@@ -102,12 +136,23 @@ public class BpmnModelDispatcher {
      */
     public ModelDispatchResult dispatchWithVariables(final FileScanner fileScanner, final File processDefinition,
             final EntryPointScanner scanner, final Collection<DataFlowRule> dataFlowRules, final RuleSet conf) {
+        final IssueService previousIssueService = IssueService.bind(issueService);
+        try {
+            return dispatchModelWithVariables(fileScanner, processDefinition, scanner, dataFlowRules, conf);
+        } finally {
+            IssueService.bind(previousIssueService);
+        }
+    }
+
+    private ModelDispatchResult dispatchModelWithVariables(final FileScanner fileScanner,
+            final File processDefinition, final EntryPointScanner scanner,
+            final Collection<DataFlowRule> dataFlowRules, final RuleSet conf) {
         final Map<String, String> decisionRefToPathMap = fileScanner.getDecisionRefToPathMap();
         final Map<String, String> processIdToPathMap = fileScanner.getProcessIdToPathMap();
         final Collection<String> resourcesNewestVersions = fileScanner.getResourcesNewestVersions();
         FlowAnalysis flowAnalysis = new FlowAnalysis();
 
-        prepareDispatcher(processDefinition);
+        prepareDispatcher(processDefinition, fileScanner.getModelRepository());
 
         Rule rule = null;
         if (conf.getModelRules().containsKey(BpmnConstants.PROCESS_VARIABLE_MODEL_CHECKER)) {
@@ -119,14 +164,22 @@ public class BpmnModelDispatcher {
                 scanner.getMessageIdToVariableMap(), scanner.getProcessIdToVariableMap(), rule);
 
         // create data flow graphs for bpmn model
-        final Collection<Graph> graphCollection = graphBuilder.createProcessGraph(fileScanner, modelInstance,
-                processDefinition.getPath(), new ArrayList<>(), scanner, flowAnalysis);
+        final Collection<Graph> graphCollection;
+        try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("graphBuild")) {
+            graphCollection = graphBuilder.createProcessGraph(fileScanner, modelInstance,
+                    processDefinition.getPath(), new ArrayList<>(), scanner, flowAnalysis);
+        }
 
         // analyze data flows
-        flowAnalysis.analyze(graphCollection);
+        try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("flowAnalysis")) {
+            flowAnalysis.analyze(graphCollection);
+        }
 
         // calculate invalid paths
-        final Map<AnomalyContainer, List<Path>> invalidPathMap = graphBuilder.createInvalidPaths(graphCollection);
+        final Map<AnomalyContainer, List<Path>> invalidPathMap;
+        try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("invalidPaths")) {
+            invalidPathMap = graphBuilder.createInvalidPaths(graphCollection);
+        }
 
         final Collection<BpmnElement> bpmnElements = getBpmnElements(processDefinition, baseElements, graphBuilder,
                 flowAnalysis);
@@ -139,11 +192,13 @@ public class BpmnModelDispatcher {
 
         // Execute model checkers.
         for (ModelChecker checker : (Collection<ModelChecker>) checkers[1]) {
-            issues.addAll(checker.check());
+            try (ValidationMetrics.Measurement ignored = ValidationMetrics.measureChecker(checker.getClass())) {
+                issues.addAll(checker.check());
+            }
         }
 
         // Execute element checkers.
-        executeCheckers(processDefinition, baseElements, graphBuilder, (Collection<ElementChecker>) checkers[0],
+        executeCheckers(processDefinition, baseElements, graphBuilder, (List<ElementChecker>) checkers[0],
                 flowAnalysis);
 
         return new ModelDispatchResult(issues, bpmnElements, processVariables);
@@ -164,11 +219,23 @@ public class BpmnModelDispatcher {
     public ModelDispatchResult dispatchWithoutVariables(final File processDefinition,
             final Map<String, String> decisionRefToPathMap, final Map<String, String> processIdToPathMap,
             final Collection<String> resourcesNewestVersions, final RuleSet conf) {
-        FlowAnalysis flowAnalysis = new FlowAnalysis();
+        final IssueService previousIssueService = IssueService.bind(issueService);
+        try {
+            return dispatchModelWithoutVariables(processDefinition, decisionRefToPathMap, processIdToPathMap,
+                    resourcesNewestVersions, conf);
+        } finally {
+            IssueService.bind(previousIssueService);
+        }
+    }
 
-        JavaReaderStatic.setupSoot();
+    private ModelDispatchResult dispatchModelWithoutVariables(final File processDefinition,
+            final Map<String, String> decisionRefToPathMap, final Map<String, String> processIdToPathMap,
+            final Collection<String> resourcesNewestVersions, final RuleSet conf) {
+        FlowAnalysis flowAnalysis = new FlowAnalysis();
 
-        prepareDispatcher(processDefinition);
+        final FileScanner fileScanner = RuntimeConfig.getInstance().getFileScanner();
+        prepareDispatcher(processDefinition,
+                fileScanner != null ? fileScanner.getModelRepository() : new ModelRepository());
 
         final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(decisionRefToPathMap, processIdToPathMap);
 
@@ -178,7 +245,7 @@ public class BpmnModelDispatcher {
                 null, null, null);
 
         // Execute element checkers.
-        executeCheckers(processDefinition, baseElements, graphBuilder, (Collection<ElementChecker>) checkers[0],
+        executeCheckers(processDefinition, baseElements, graphBuilder, (List<ElementChecker>) checkers[0],
                 flowAnalysis);
 
         return new ModelDispatchResult(issues,
@@ -251,18 +318,28 @@ public class BpmnModelDispatcher {
      * @param flowAnalysis      FlowAnalysis
      */
     private void executeCheckers(final File processDefinition, final Collection<BaseElement> baseElements,
-            final ElementGraphBuilder graphBuilder, final Collection<ElementChecker> checkerInstances,
+            final ElementGraphBuilder graphBuilder, final List<ElementChecker> checkerInstances,
             final FlowAnalysis flowAnalysis) {
-        // execute element checkers
-        for (final BaseElement baseElement : baseElements) {
-            BpmnElement element = graphBuilder.getElement(baseElement.getId());
-            if (element == null) {
-                // if element is not in the data flow graph, create it.
-                ControlFlowGraph controlFlowGraph = new ControlFlowGraph();
-                element = new BpmnElement(processDefinition.getPath(), baseElement, controlFlowGraph, flowAnalysis);
-            }
-            for (final ElementChecker checker : checkerInstances) {
-                checker.check(element);
+        // execute element checkers, each element is only passed to the checkers of its type
+        try (ValidationMetrics.CheckerTimer timer = ValidationMetrics.timeCheckers()) {
+            for (final BaseElement baseElement : baseElements) {
+                final int[] positions = elementCheckerIndex.getPositions(baseElement);
+                if (positions.length == 0) {
+                    continue;
+                }
+                BpmnElement element = graphBuilder.getElement(baseElement.getId());
+                if (element == null) {
+                    // if element is not in the data flow graph, create it.
+                    ControlFlowGraph controlFlowGraph = new ControlFlowGraph();
+                    element = new BpmnElement(processDefinition.getPath(), baseElement, controlFlowGraph,
+                            flowAnalysis);
+                }
+                for (final int position : positions) {
+                    final ElementChecker checker = checkerInstances.get(position);
+                    final long start = timer.start();
+                    checker.check(element);
+                    timer.stop(checker.getClass(), start);
+                }
             }
         }
     }
@@ -288,6 +365,12 @@ public class BpmnModelDispatcher {
 
         setIncorrectCheckers(checkerFactory.getIncorrectCheckers());
 
+        // the index only depends on the checker classes, so it is rebuilt only if a model gets other checkers
+        final List<ElementChecker> elementCheckers = (List<ElementChecker>) checkerCollection[0];
+        if (elementCheckerIndex == null || !elementCheckerIndex.isIndexOf(elementCheckers)) {
+            elementCheckerIndex = new ElementCheckerIndex(elementCheckers);
+        }
+
         return checkerCollection;
     }
 
@@ -295,6 +378,13 @@ public class BpmnModelDispatcher {
         return incorrectCheckers;
     }
 
+    /**
+     * @return Index of the element checkers, which can be reused for the next model of the validation run
+     */
+    public ElementCheckerIndex getElementCheckerIndex() {
+        return elementCheckerIndex;
+    }
+
     private void setIncorrectCheckers(Map<String, String> incorrectCheckers) {
         this.incorrectCheckers = incorrectCheckers;
     }
@@ -0,0 +1,154 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import de.viadee.bpm.vPAV.processing.code.flow.ElementCopier;
+import de.viadee.bpm.vPAV.processing.code.flow.FlowAnalysis;
+import de.viadee.bpm.vPAV.processing.model.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the data flow graphs of called processes, so that a process called from several models is only transformed
+ * once. Each call site receives its own copy of the cached graphs.
+ * <p>
+ * Cached graphs reference the model instances of the current thread, so a cache must only be used by a single thread,
+ * see {@link de.viadee.bpm.vPAV.FileScanner#getCallActivityGraphCache()}.
+ */
+public class CallActivityGraphCache {
+
+    private final Map<String, Template> templates = new HashMap<>();
+
+    /**
+     * Returns the cached graphs of a called process, if they were created in the same context
+     *
+     * @param callActivityPath Path of the called process
+     * @param context          Objects the graphs were created from, compared by identity
+     * @return Cached graphs or null
+     */
+    Template get(final String callActivityPath, final List<Object> context) {
+        final Template template = templates.get(callActivityPath);
+        if (template != null && template.isCreatedFrom(context)) {
+            return template;
+        }
+        return null;
+    }
+
+    void put(final String callActivityPath, final Template template) {
+        templates.put(callActivityPath, template);
+    }
+
+    /**
+     * Returns the number of cached called processes
+     *
+     * @return number of cached processes
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Graphs of a called process, created with a flow analysis of their own. The graphs are never connected to other
+     * graphs and only used to create copies.
+     */
+    static class Template {
+
+        private final List<Object> context;
+
+        private final Collection<Graph> graphs;
+
+        private final FlowAnalysis flowAnalysis;
+
+        private final Collection<String> calledElements;
+
+        private final ClassDependencies dependencies;
+
+        /**
+         * @param context        Objects the graphs were created from
+         * @param graphs         Graphs of the called process
+         * @param flowAnalysis   Flow analysis the graphs were created with, its operation counter starts at one
+         * @param calledElements Called elements added to the call hierarchy while creating the graphs
+         * @param dependencies   Classes read while creating the graphs
+         */
+        Template(final List<Object> context, final Collection<Graph> graphs, final FlowAnalysis flowAnalysis,
+                final Collection<String> calledElements, final ClassDependencies dependencies) {
+            this.context = context;
+            this.graphs = graphs;
+            this.flowAnalysis = flowAnalysis;
+            this.calledElements = calledElements;
+            this.dependencies = dependencies;
+        }
+
+        private boolean isCreatedFrom(final List<Object> otherContext) {
+            if (context.size() != otherContext.size()) {
+                return false;
+            }
+            for (int i = 0; i < context.size(); i++) {
+                if (context.get(i) != otherContext.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Collection<String> getCalledElements() {
+            return calledElements;
+        }
+
+        /**
+         * Copies the graphs into another flow analysis. Operation indices continue the operation counter of the
+         * target flow analysis, as if the graphs had been created with it. The classes read while creating the graphs
+         * are recorded again for the call site.
+         *
+         * @param target Flow analysis of the call site
+         * @return Copied graphs
+         */
+        Collection<Graph> copyInto(final FlowAnalysis target) {
+            ClassDependencies.record(dependencies);
+            final ElementCopier copier = new ElementCopier(target, target.getOperationCounter() - 1);
+            final Collection<Graph> copies = new ArrayList<>();
+            for (final Graph graph : graphs) {
+                copies.add(graph.copy(copier::copy));
+            }
+            for (int i = 1; i < flowAnalysis.getOperationCounter(); i++) {
+                target.incrementOperationCounter();
+            }
+            flowAnalysis.getCallActivitiesInMapping().forEach(target::addCallActivityAllInMapping);
+            flowAnalysis.getCallActivitiesOutMapping().forEach(target::addCallActivityAllOutMapping);
+            return copies;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the classes whose byte code is read while a class is scanned or a model is dispatched. Recordings are per thread and can be
+ * nested, the classes of a nested recording are also added to the enclosing one.
+ * <p>
+ * Besides the classes, a recording notes whether static fields were read or written. Static fields are shared
+ * between all scanned classes, so the result of such a scan depends on the order in which classes are scanned.
+ */
+public final class ClassDependencies {
+
+    private static final ThreadLocal<Deque<ClassDependencies>> recordings = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final Set<String> classes = new HashSet<>();
+
+    private boolean staticFieldAccess;
+
+    private ClassDependencies() {
+
+    }
+
+    /**
+     * Starts a new recording for the current thread
+     */
+    public static void begin() {
+        recordings.get().push(new ClassDependencies());
+    }
+
+    /**
+     * Ends the innermost recording of the current thread and adds its dependencies to the enclosing recording.
+     *
+     * @return dependencies of the ended recording
+     */
+    public static ClassDependencies end() {
+        final Deque<ClassDependencies> stack = recordings.get();
+        final ClassDependencies dependencies = stack.pop();
+        final ClassDependencies parent = stack.peek();
+        if (parent != null) {
+            parent.classes.addAll(dependencies.classes);
+            parent.staticFieldAccess |= dependencies.staticFieldAccess;
+        }
+        return dependencies;
+    }
+
+    /**
+     * Adds a class to the innermost recording of the current thread. Does nothing if no recording is active.
+     *
+     * @param className Fully qualified name of the class
+     */
+    public static void recordClass(final String className) {
+        final ClassDependencies dependencies = recordings.get().peek();
+        if (dependencies != null) {
+            dependencies.classes.add(className);
+        }
+    }
+
+    /**
+     * Adds classes to the innermost recording of the current thread, e.g. the recorded classes of a reused method
+     * summary
+     *
+     * @param classNames Fully qualified names of the classes
+     */
+    static void recordClasses(final Collection<String> classNames) {
+        final ClassDependencies dependencies = recordings.get().peek();
+        if (dependencies != null) {
+            dependencies.classes.addAll(classNames);
+        }
+    }
+
+    /**
+     * Adds the classes and the static field access of a previous recording to the innermost recording of the current
+     * thread, e.g. of reused graphs of a called process
+     *
+     * @param previous Previous recording
+     */
+    static void record(final ClassDependencies previous) {
+        recordClasses(previous.classes);
+        if (previous.staticFieldAccess) {
+            recordStaticFieldAccess();
+        }
+    }
+
+    /**
+     * Notes that a static field was read or written in the innermost recording of the current thread
+     */
+    static void recordStaticFieldAccess() {
+        final ClassDependencies dependencies = recordings.get().peek();
+        if (dependencies != null) {
+            dependencies.staticFieldAccess = true;
+        }
+    }
+
+    public Set<String> getClasses() {
+        return Collections.unmodifiableSet(classes);
+    }
+
+    public boolean hasStaticFieldAccess() {
+        return staticFieldAccess;
+    }
+}
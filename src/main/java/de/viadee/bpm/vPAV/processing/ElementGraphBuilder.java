@@ -44,8 +44,8 @@ import de.viadee.bpm.vPAV.processing.code.flow.*;
 import de.viadee.bpm.vPAV.processing.model.data.*;
 import de.viadee.bpm.vPAV.processing.model.graph.Edge;
 import de.viadee.bpm.vPAV.processing.model.graph.Graph;
+import de.viadee.bpm.vPAV.processing.model.graph.InvalidPathSearch;
 import de.viadee.bpm.vPAV.processing.model.graph.Path;
-import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
 import org.camunda.bpm.model.bpmn.instance.Process;
 import org.camunda.bpm.model.bpmn.instance.*;
@@ -193,7 +193,7 @@ public class ElementGraphBuilder {
                 if (element instanceof SubProcess) {
                     final SubProcess subprocess = (SubProcess) element;
                     addElementsSubprocess(subProcesses, flows, boundaryEvents, graph, subprocess, node,
-                            processDefinition, flowAnalysis);
+                            processDefinition, scanner, flowAnalysis);
                 }
             }
             // add edges into the graph
@@ -307,7 +307,8 @@ public class ElementGraphBuilder {
         }
 
         // examine process variables and save it with access operation
-        final ProcessVariableReader reader = new ProcessVariableReader(decisionRefToPathMap, rule);
+        final ProcessVariableReader reader = new ProcessVariableReader(decisionRefToPathMap, rule,
+                scanner.getStaticObjectVariables());
         reader.getVariablesFromElement(bpmnElement, predecessor);
     }
 
@@ -323,6 +324,7 @@ public class ElementGraphBuilder {
      */
     public Map<AnomalyContainer, List<Path>> createInvalidPaths(final Collection<Graph> graphCollection) {
         final Map<AnomalyContainer, List<Path>> invalidPathMap = new HashMap<>();
+        final InvalidPathSearch search = InvalidPathSearch.fromRule(rule);
 
         for (final Graph g : graphCollection) {
             // get nodes with data anomalies
@@ -331,7 +333,7 @@ public class ElementGraphBuilder {
             for (final Map.Entry<BpmnElement, List<AnomalyContainer>> element : anomalies.entrySet()) {
                 for (AnomalyContainer anomaly : element.getValue()) {
                     // create paths for data flow anomalies
-                    final List<Path> paths = g.getAllInvalidPaths(element.getKey(), anomaly);
+                    final List<Path> paths = g.getInvalidPaths(element.getKey(), anomaly, search);
                     for (final Path path : paths) {
                         // reverse order for a better readability
                         Collections.reverse(path.getElements());
@@ -466,12 +468,13 @@ public class ElementGraphBuilder {
      * @param graph             Current Graph
      * @param process           Current Process
      * @param processDefinition Current Path to process
+     * @param scanner           OuterProcessVariablesScanner
      * @param flowAnalysis      FlowAnalysis
      */
     private void addElementsSubprocess(final Collection<SubProcess> subProcesses,
             final Collection<SequenceFlow> flows, final Collection<BoundaryEvent> events, final Graph graph,
             final SubProcess process, final BpmnElement element, final String processDefinition,
-            final FlowAnalysis flowAnalysis) {
+            final EntryPointScanner scanner, final FlowAnalysis flowAnalysis) {
         subProcesses.add(process);
         BpmnElement secondElement = null;
 
@@ -489,7 +492,7 @@ public class ElementGraphBuilder {
             // add elements of the sub process as nodes
             final BpmnElement node = new BpmnElement(processDefinition, subElement, new ControlFlowGraph(),
                     flowAnalysis);
-            new ProcessVariableReader(decisionRefToPathMap, rule)
+            new ProcessVariableReader(decisionRefToPathMap, rule, scanner.getStaticObjectVariables())
                     .getVariablesFromElement(node, new BasicNode[1]);
             // mention the element
             elementMap.put(subElement.getId(), node);
@@ -499,7 +502,7 @@ public class ElementGraphBuilder {
             if (subElement instanceof SubProcess) {
                 final SubProcess subProcess = (SubProcess) subElement;
                 addElementsSubprocess(subProcesses, flows, events, graph, subProcess, node, processDefinition,
-                        flowAnalysis);
+                        scanner, flowAnalysis);
             } else if (subElement instanceof SequenceFlow) {
                 final SequenceFlow flow = (SequenceFlow) subElement;
                 flows.add(flow);
@@ -678,15 +681,46 @@ public class ElementGraphBuilder {
     private Collection<Graph> createSubDataFlowsFromCallActivity(final FileScanner fileScanner,
             final Collection<String> calledElementHierarchy, final String callActivityPath,
             final EntryPointScanner scanner, final FlowAnalysis flowAnalysis) {
-        // read called process
-        final BpmnModelInstance subModel = Bpmn
-                .readModelFromFile(new File(RuntimeConfig.getInstance().getBasepath() + callActivityPath));
+        final CallActivityGraphCache cache = fileScanner.getCallActivityGraphCache();
+        final List<Object> context = Arrays.asList(scanner, rule, decisionRefToPathMap, processIdToPathMap,
+                messageIdToVariables, processIdToVariables);
+        CallActivityGraphCache.Template template = cache.get(callActivityPath, context);
+
+        if (template == null) {
+            // read called process
+            final BpmnModelInstance subModel = fileScanner.getModelRepository()
+                    .getBpmnModel(new File(RuntimeConfig.getInstance().getBasepath() + callActivityPath));
+
+            // transform process into data flow with an analysis of its own, operation indices start at one
+            final FlowAnalysis templateAnalysis = new FlowAnalysis();
+            templateAnalysis.incrementOperationCounter();
+            final Collection<String> templateHierarchy = new ArrayList<>(calledElementHierarchy);
+            final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(decisionRefToPathMap, processIdToPathMap,
+                    messageIdToVariables, processIdToVariables, rule);
+            final Collection<Graph> graphs;
+            final ClassDependencies dependencies;
+            ClassDependencies.begin();
+            try {
+                graphs = graphBuilder.createProcessGraph(fileScanner, subModel, callActivityPath, templateHierarchy,
+                        scanner, templateAnalysis);
+            } finally {
+                dependencies = ClassDependencies.end();
+            }
+            templateHierarchy.removeAll(calledElementHierarchy);
 
-        // transform process into data flow
-        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(decisionRefToPathMap, processIdToPathMap,
-                messageIdToVariables, processIdToVariables, rule);
-        return graphBuilder.createProcessGraph(fileScanner, subModel, callActivityPath, calledElementHierarchy, scanner,
-                flowAnalysis);
+            template = new CallActivityGraphCache.Template(context, graphs, templateAnalysis, templateHierarchy,
+                    dependencies);
+            cache.put(callActivityPath, template);
+        }
+
+        // nested call activities must not cause a deadlock in the current hierarchy
+        if (!Collections.disjoint(calledElementHierarchy, template.getCalledElements())) {
+            throw new RuntimeException("call activity hierarchy causes a deadlock (see " + callActivityPath
+                    + "). please avoid loops.");
+        }
+        calledElementHierarchy.addAll(template.getCalledElements());
+
+        return template.copyInto(flowAnalysis);
     }
 
     // Used for testing
@@ -0,0 +1,237 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import org.springframework.util.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Stores the entry points found in each scanned class file, so that unchanged classes don't have to be resolved
+ * and interpreted by Soot again in the next validation run.
+ * <p>
+ * An entry is keyed by the hash of the class file and the hashes of all classes whose byte code was read while the
+ * class was scanned (see {@link ClassDependencies}). Classes outside of the scan path, e.g. libraries, are only
+ * identified by their name. Scans that read or write static fields depend on previously scanned classes and are
+ * never stored.
+ * <p>
+ * Only the entry point scan is cached. Process variable operations of delegates are attached to the Soot blocks of
+ * the control flow graph and are read with Soot for every dispatched model.
+ */
+public class EntryPointCache {
+
+    private static final Logger LOGGER = Logger.getLogger(EntryPointCache.class.getName());
+
+    // Increase when the format of the cache or the results of the entry point scan change
+    private static final int VERSION = 1;
+
+    private static final String MISSING = "missing";
+
+    private static final String EXTERNAL = "external";
+
+    private final JsonObject cachedClasses;
+
+    private final JsonObject classes = new JsonObject();
+
+    private final Map<String, String> hashes = new HashMap<>();
+
+    private int hits;
+
+    private int misses;
+
+    private EntryPointCache(final JsonObject cachedClasses) {
+        this.cachedClasses = cachedClasses;
+    }
+
+    /**
+     * Reads the cache of the previous validation run. If the cache does not exist, can not be read or was created
+     * for another scan path, an empty cache is returned.
+     *
+     * @param file Cache file
+     * @return cache
+     */
+    public static EntryPointCache read(final File file) {
+        if (file.exists()) {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                final JsonObject cache = JsonParser.parseReader(reader).getAsJsonObject();
+                if (cache.has("version") && cache.get("version").getAsInt() == VERSION
+                        && RuntimeConfig.getInstance().getScanPath().equals(cache.get("scanPath").getAsString())) {
+                    return new EntryPointCache(cache.getAsJsonObject("classes"));
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warning("Entry point cache of previous validation run couldn't be read: " + e.getMessage());
+            }
+        }
+        return new EntryPointCache(new JsonObject());
+    }
+
+    /**
+     * Writes the entry points of all classes scanned in the current validation run
+     *
+     * @param file Cache file
+     */
+    public void write(final File file) {
+        final JsonObject cache = new JsonObject();
+        cache.addProperty("version", VERSION);
+        cache.addProperty("scanPath", RuntimeConfig.getInstance().getScanPath());
+        cache.add("classes", classes);
+
+        final File folder = file.getParentFile();
+        if (folder != null && !folder.exists() && !folder.mkdirs()) {
+            LOGGER.warning("Cache folder couldn't be created: " + folder);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            new Gson().toJson(cache, writer);
+        } catch (IOException e) {
+            LOGGER.warning("Entry point cache couldn't be written: " + e.getMessage());
+        }
+        LOGGER.fine(String.format("Entry point cache: %d hits, %d misses", hits, misses));
+    }
+
+    /**
+     * Returns the entry points of a class file found in the previous validation run
+     *
+     * @param classFile Path of the class file relative to the scan path
+     * @return entry points or null, if the class file or one of its dependencies changed
+     */
+    List<EntryPoint> get(final String classFile) {
+        final JsonElement cached = cachedClasses.get(classFile);
+        if (cached == null || !isUpToDate(classFile, cached.getAsJsonObject())) {
+            misses++;
+            return null;
+        }
+        hits++;
+        classes.add(classFile, cached);
+
+        final List<EntryPoint> entryPoints = new ArrayList<>();
+        for (final JsonElement element : cached.getAsJsonObject().getAsJsonArray("entryPoints")) {
+            final JsonObject json = element.getAsJsonObject();
+            final Set<String> processVariables = new LinkedHashSet<>();
+            json.getAsJsonArray("processVariables").forEach(variable -> processVariables.add(variable.getAsString()));
+            entryPoints.add(new EntryPoint(getString(json, "className"), getString(json, "methodName"),
+                    getString(json, "messageName"), getString(json, "entryPointName"),
+                    getString(json, "processDefinitionKey"), processVariables));
+        }
+        return entryPoints;
+    }
+
+    /**
+     * Stores the entry points found in a class file
+     *
+     * @param classFile    Path of the class file relative to the scan path
+     * @param entryPoints  Entry points found in the class file
+     * @param dependencies Dependencies recorded while the class file was scanned
+     */
+    void put(final String classFile, final Collection<EntryPoint> entryPoints,
+            final ClassDependencies dependencies) {
+        if (dependencies.hasStaticFieldAccess()) {
+            return;
+        }
+        final JsonObject dependencyHashes = new JsonObject();
+        for (final String className : new TreeSet<>(dependencies.getClasses())) {
+            dependencyHashes.addProperty(className, getClassHash(className));
+        }
+        final JsonArray entryPointsJson = new JsonArray();
+        for (final EntryPoint entryPoint : entryPoints) {
+            final JsonObject json = new JsonObject();
+            json.addProperty("className", entryPoint.getClassName());
+            json.addProperty("methodName", entryPoint.getMethodName());
+            json.addProperty("messageName", entryPoint.getMessageName());
+            json.addProperty("entryPointName", entryPoint.getEntryPointName());
+            json.addProperty("processDefinitionKey", entryPoint.getProcessDefinitionKey());
+            final JsonArray processVariables = new JsonArray();
+            entryPoint.getProcessVariables().forEach(processVariables::add);
+            json.add("processVariables", processVariables);
+            entryPointsJson.add(json);
+        }
+
+        final JsonObject json = new JsonObject();
+        json.addProperty("hash", getFileHash(classFile));
+        json.add("dependencies", dependencyHashes);
+        json.add("entryPoints", entryPointsJson);
+        classes.add(classFile, json);
+    }
+
+    private boolean isUpToDate(final String classFile, final JsonObject cached) {
+        if (!getFileHash(classFile).equals(getString(cached, "hash"))) {
+            return false;
+        }
+        for (final Map.Entry<String, JsonElement> dependency : cached.getAsJsonObject("dependencies").entrySet()) {
+            if (!getClassHash(dependency.getKey()).equals(dependency.getValue().getAsString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getClassHash(final String className) {
+        final String hash = getFileHash(className.replace('.', '/') + ".class");
+        return hash.equals(MISSING) ? EXTERNAL : hash;
+    }
+
+    private String getFileHash(final String classFile) {
+        return hashes.computeIfAbsent(classFile, path -> {
+            try {
+                return DigestUtils.md5DigestAsHex(Files.readAllBytes(FileScanner.getClassFile(path).toPath()));
+            } catch (IOException e) {
+                return MISSING;
+            }
+        });
+    }
+
+    private static String getString(final JsonObject json, final String key) {
+        final JsonElement value = json.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+}
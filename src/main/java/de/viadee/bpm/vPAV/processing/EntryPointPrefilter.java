@@ -0,0 +1,220 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.constants.CamundaMethodServices;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Selects the classes that have to be scanned for process entry points by reading the constant pools of the class
+ * files, without loading them into Soot.
+ * <p>
+ * Entry points are calls of the RuntimeService or the ProcessInstantiationBuilder. A class is scanned if it refers
+ * to one of these classes, or if it can reach such a class through the classes it refers to. Classes referred to
+ * by a scanned class are scanned as well, as their static initializers might provide values for the entry points.
+ * Classes that can't be read are always scanned.
+ */
+public final class EntryPointPrefilter {
+
+    private static final Logger LOGGER = Logger.getLogger(EntryPointPrefilter.class.getName());
+
+    private static final List<String> ENTRY_POINT_CLASSES = Arrays.asList(
+            CamundaMethodServices.RUNTIME, CamundaMethodServices.PROCESS_INSTANTIATION_BUILDER,
+            "org.camunda.bpm.engine.impl.RuntimeServiceImpl",
+            "org.camunda.bpm.engine.impl.ProcessInstantiationBuilderImpl");
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    private EntryPointPrefilter() {
+
+    }
+
+    /**
+     * Selects the classes that might contain entry points
+     *
+     * @param classFiles Class files relative to the scan path
+     * @return class files that have to be scanned
+     */
+    public static Set<String> filter(final Collection<String> classFiles) {
+        final long start = System.nanoTime();
+        final Map<String, String> classFilesByName = new HashMap<>();
+        for (final String classFile : classFiles) {
+            classFilesByName.put(EntryPointScanner.cleanString(classFile), classFile);
+        }
+
+        final Set<String> selectedClasses = new HashSet<>();
+        final Map<String, Set<String>> referencedClasses = new HashMap<>();
+        final Map<String, Set<String>> referencingClasses = new HashMap<>();
+        for (final Map.Entry<String, String> classFile : classFilesByName.entrySet()) {
+            final Set<String> references = readReferencedClasses(classFile.getValue());
+            if (references == null || references.stream().anyMatch(ENTRY_POINT_CLASSES::contains)) {
+                selectedClasses.add(classFile.getKey());
+            }
+            if (references != null) {
+                references.retainAll(classFilesByName.keySet());
+                referencedClasses.put(classFile.getKey(), references);
+                for (final String reference : references) {
+                    referencingClasses.computeIfAbsent(reference, name -> new HashSet<>()).add(classFile.getKey());
+                }
+            }
+        }
+
+        // Classes that can reach an entry point, then all classes reachable from them
+        addReachableClasses(selectedClasses, referencingClasses);
+        addReachableClasses(selectedClasses, referencedClasses);
+
+        final Set<String> selectedClassFiles = new HashSet<>();
+        selectedClasses.forEach(className -> selectedClassFiles.add(classFilesByName.get(className)));
+        LOGGER.fine(String.format("Selected %d of %d classes for entry point scan in %d ms",
+                selectedClassFiles.size(), classFiles.size(), (System.nanoTime() - start) / 1_000_000));
+        return selectedClassFiles;
+    }
+
+    private static void addReachableClasses(final Set<String> classes, final Map<String, Set<String>> edges) {
+        final Deque<String> worklist = new ArrayDeque<>(classes);
+        while (!worklist.isEmpty()) {
+            for (final String next : edges.getOrDefault(worklist.poll(), Collections.emptySet())) {
+                if (classes.add(next)) {
+                    worklist.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the names of all classes in the constant pool of a class file
+     *
+     * @param classFile Class file relative to the scan path
+     * @return fully qualified class names or null, if the class file can't be read
+     */
+    static Set<String> readReferencedClasses(final String classFile) {
+        final File file = FileScanner.getClassFile(classFile);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readReferencedClasses(buffer);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.fine("Constant pool of " + classFile + " couldn't be read: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Set<String> readReferencedClasses(final ByteBuffer buffer) {
+        if (buffer.getInt() != CLASS_FILE_MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        // Skip minor and major version
+        buffer.position(buffer.position() + 4);
+
+        final int constantPoolCount = buffer.getShort() & 0xFFFF;
+        final String[] utf8Constants = new String[constantPoolCount];
+        final int[] classNameIndices = new int[constantPoolCount];
+        int classCount = 0;
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = buffer.get();
+            switch (tag) {
+                case 1: // Utf8
+                    final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                    buffer.get(bytes);
+                    // Class names don't contain characters that differ between modified and standard UTF-8
+                    utf8Constants[i] = new String(bytes, StandardCharsets.UTF_8);
+                    break;
+                case 7: // Class
+                    classNameIndices[classCount++] = buffer.getShort() & 0xFFFF;
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    buffer.position(buffer.position() + 2);
+                    break;
+                case 15: // MethodHandle
+                    buffer.position(buffer.position() + 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    buffer.position(buffer.position() + 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    buffer.position(buffer.position() + 8);
+                    // Takes two entries
+                    i++;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        final Set<String> classNames = new HashSet<>();
+        for (int i = 0; i < classCount; i++) {
+            String name = utf8Constants[classNameIndices[i]];
+            if (name.startsWith("[")) {
+                // Array types are referenced by their descriptor
+                final int objectType = name.indexOf('L');
+                if (objectType < 0) {
+                    continue;
+                }
+                name = name.substring(objectType + 1, name.length() - 1);
+            }
+            classNames.add(name.replace('/', '.'));
+        }
+        return classNames;
+    }
+}
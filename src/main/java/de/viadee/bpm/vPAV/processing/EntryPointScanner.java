@@ -31,19 +31,25 @@
  */
 package de.viadee.bpm.vPAV.processing;
 
+import de.viadee.bpm.vPAV.RuntimeConfig;
 import de.viadee.bpm.vPAV.SootResolverSimplified;
 import de.viadee.bpm.vPAV.processing.code.flow.FluentBuilderVariable;
 import de.viadee.bpm.vPAV.processing.code.flow.MapVariable;
+import de.viadee.bpm.vPAV.processing.code.flow.ObjectVariable;
 import de.viadee.bpm.vPAV.processing.model.data.CamundaEntryPointFunctions;
-import soot.Scene;
 import soot.SootClass;
 import soot.SootMethod;
 import soot.jimple.InvokeExpr;
 import soot.toolkits.graph.Block;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
-import static de.viadee.bpm.vPAV.SootResolverSimplified.fixClassPathForSoot;
 import static de.viadee.bpm.vPAV.constants.ConfigConstants.JAVA_FILE_ENDING;
 
 public class EntryPointScanner extends ObjectReaderReceiver {
@@ -56,32 +62,168 @@ public class EntryPointScanner extends ObjectReaderReceiver {
 
     private final List<EntryPoint> entryPoints = new ArrayList<>();
 
+    private final EntryPointCache entryPointCache;
+
+    // Values of static fields written by the scanned classes, shared by all readers of a scan
+    private final Map<String, ObjectVariable> staticObjectVariables;
+
     public EntryPointScanner(final Set<String> javaResources) {
+        this(javaResources, null);
+    }
+
+    /**
+     * @param javaResources   Class files relative to the scan path
+     * @param entryPointCache Entry points of the previous validation run or null, if all classes are scanned
+     */
+    public EntryPointScanner(final Set<String> javaResources, final EntryPointCache entryPointCache) {
+        this(javaResources, entryPointCache, new ConcurrentHashMap<>());
+    }
+
+    private EntryPointScanner(final Set<String> javaResources, final EntryPointCache entryPointCache,
+            final Map<String, ObjectVariable> staticObjectVariables) {
         this.javaResources = javaResources;
+        this.entryPointCache = entryPointCache;
+        this.staticObjectVariables = staticObjectVariables;
     }
 
     /**
      * scan java resources for variables and retrieve important information such as message ids and entry points
      */
     public void scanProcessVariables() {
+        staticObjectVariables.clear();
+        final List<String> classFiles = new ArrayList<>();
+        final Map<String, List<EntryPoint>> cachedEntryPoints = new HashMap<>();
         for (final String filePath : javaResources) {
             if (!filePath.startsWith("javax")) {
-                retrieveMethod(filePath);
+                classFiles.add(filePath);
+                if (entryPointCache != null) {
+                    final List<EntryPoint> cached = entryPointCache.get(filePath);
+                    if (cached != null) {
+                        cachedEntryPoints.put(filePath, cached);
+                    }
+                }
+            }
+        }
+
+        // Resolve all classes up front, so that the scene is only prepared once
+        final List<String> scannedClassFiles = classFiles.stream()
+                .filter(filePath -> !cachedEntryPoints.containsKey(filePath)).collect(Collectors.toList());
+        final Map<String, SootClass> sootClasses = SootResolverSimplified.setupSootClasses(scannedClassFiles);
+
+        // Classes that can't reach an entry point are resolved, but not scanned
+        if (RuntimeConfig.getInstance().isEntryPointPrefilter()) {
+            scannedClassFiles.retainAll(EntryPointPrefilter.filter(classFiles));
+        }
+
+        final int scanThreads = Math.min(RuntimeConfig.getInstance().getScanThreads(), scannedClassFiles.size());
+        final Map<String, ClassScan> classScans = scanThreads <= 1 ?
+                scanClasses(scannedClassFiles, sootClasses) :
+                scanClassesInParallel(scannedClassFiles, sootClasses, scanThreads);
+
+        // Results are merged in the order of the class files
+        for (final String filePath : classFiles) {
+            if (cachedEntryPoints.containsKey(filePath)) {
+                entryPoints.addAll(cachedEntryPoints.get(filePath));
+            } else if (classScans.containsKey(filePath)) {
+                final ClassScan classScan = classScans.get(filePath);
+                entryPoints.addAll(classScan.entryPoints);
+                if (entryPointCache != null) {
+                    entryPointCache.put(filePath, classScan.entryPoints, classScan.dependencies);
+                }
             }
         }
     }
 
+    private Map<String, ClassScan> scanClasses(final List<String> classFiles,
+            final Map<String, SootClass> sootClasses) {
+        final Map<String, ClassScan> classScans = new HashMap<>();
+        for (final String filePath : classFiles) {
+            classScans.put(filePath, scanClass(sootClasses.get(filePath)));
+        }
+        return classScans;
+    }
+
     /**
-     * Retrieve the method name which contains the entry point (e.g. "startProcessByXYZ")
+     * Scans classes with several threads. Soot is not thread-safe, so all bodies are built and all invoked methods
+     * are resolved before the classes are scanned.
+     * <p>
+     * Static fields written by one class may be read by another one. Their values depend on the order of the scan, so
+     * all classes that accessed static fields are scanned again one after another in the order of the class files,
+     * like in a sequential scan.
      *
-     * @param filePath fully qualified path to the java class
+     * @param classFiles  paths to the java classes
+     * @param sootClasses resolved classes
+     * @param scanThreads number of threads
+     * @return results by path
      */
-    private void retrieveMethod(final String filePath) {
-        SootClass sootClass = Scene.v().forceResolve(fixClassPathForSoot(cleanString(filePath)), SootClass.SIGNATURES);
+    private Map<String, ClassScan> scanClassesInParallel(final List<String> classFiles,
+            final Map<String, SootClass> sootClasses, final int scanThreads) {
+        synchronized (JavaReaderStatic.SOOT_LOCK) {
+            SootResolverSimplified.preloadBodies(classFiles.stream().map(sootClasses::get)
+                    .filter(Objects::nonNull).collect(Collectors.toList()));
+        }
 
+        final ExecutorService executor = Executors.newFixedThreadPool(scanThreads);
+        try {
+            final List<Future<ClassScan>> futures = new ArrayList<>();
+            for (final String filePath : classFiles) {
+                futures.add(executor.submit(() -> scanClass(sootClasses.get(filePath))));
+            }
+            final Map<String, ClassScan> classScans = new HashMap<>();
+            final List<String> staticFieldClassFiles = new ArrayList<>();
+            for (int i = 0; i < classFiles.size(); i++) {
+                final ClassScan classScan = futures.get(i).get();
+                classScans.put(classFiles.get(i), classScan);
+                if (classScan.dependencies.hasStaticFieldAccess()) {
+                    staticFieldClassFiles.add(classFiles.get(i));
+                }
+            }
+
+            if (!staticFieldClassFiles.isEmpty()) {
+                staticObjectVariables.clear();
+                classScans.putAll(scanClasses(staticFieldClassFiles, sootClasses));
+            }
+            return classScans;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Scanning of classes was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Class could not be scanned", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Scans a class with a separate scanner, so that classes can be scanned independently of each other. Only the
+     * static fields are shared with this scanner.
+     *
+     * @param sootClass resolved class
+     * @return entry points and dependencies of the class
+     */
+    private ClassScan scanClass(final SootClass sootClass) {
+        final EntryPointScanner classScanner = new EntryPointScanner(Collections.emptySet(), null,
+                staticObjectVariables);
+        final ClassDependencies dependencies;
+        ClassDependencies.begin();
+        try {
+            classScanner.retrieveMethod(sootClass);
+        } finally {
+            dependencies = ClassDependencies.end();
+        }
+        return new ClassScan(classScanner.entryPoints, dependencies);
+    }
+
+    /**
+     * Retrieve the method name which contains the entry point (e.g. "startProcessByXYZ")
+     *
+     * @param sootClass resolved java class or null, if the class could not be resolved
+     */
+    private void retrieveMethod(final SootClass sootClass) {
         if (sootClass != null && !sootClass.isInterface()) {
-            sootClass.setApplicationClass();
-            Scene.v().loadNecessaryClasses();
             for (SootMethod method : sootClass.getMethods()) {
                 if (!method.isPhantom() && !method.isAbstract()) {
                     ObjectReader objectReader = new ObjectReader(this, sootClass, method.getName());
@@ -135,6 +277,16 @@ public class EntryPointScanner extends ObjectReaderReceiver {
         return processIdToVariableMap;
     }
 
+    /**
+     * get values of static fields written by the scanned classes
+     *
+     * @return static fields by class name
+     */
+    @Override
+    public Map<String, ObjectVariable> getStaticObjectVariables() {
+        return staticObjectVariables;
+    }
+
     @Override
     public void addEntryPoint(CamundaEntryPointFunctions function, String className, String methodName, InvokeExpr expr,
             List<Object> args) {
@@ -186,4 +338,19 @@ public class EntryPointScanner extends ObjectReaderReceiver {
 
         this.entryPoints.add(ep);
     }
+
+    /**
+     * Entry points and dependencies found in a single class
+     */
+    private static class ClassScan {
+
+        private final List<EntryPoint> entryPoints;
+
+        private final ClassDependencies dependencies;
+
+        private ClassScan(final List<EntryPoint> entryPoints, final ClassDependencies dependencies) {
+            this.entryPoints = entryPoints;
+            this.dependencies = dependencies;
+        }
+    }
 }
@@ -37,6 +37,7 @@ import de.viadee.bpm.vPAV.SootResolverSimplified;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.processing.code.flow.BasicNode;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
+import de.viadee.bpm.vPAV.processing.code.flow.ObjectVariable;
 import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
 import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
@@ -45,6 +46,7 @@ import soot.options.Options;
 import soot.toolkits.graph.Block;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import static de.viadee.bpm.vPAV.SootResolverSimplified.*;
@@ -55,6 +57,12 @@ public class JavaReaderStatic {
 
     private static final Logger LOGGER = Logger.getLogger(JavaReaderStatic.class.getName());
 
+    /**
+     * Soot holds its state in global singletons (G, Scene), which are not thread-safe.
+     * Every access to Soot has to be synchronized on this lock.
+     */
+    public static final Object SOOT_LOCK = new Object();
+
     private JavaReaderStatic() {
 
     }
@@ -67,64 +75,70 @@ public class JavaReaderStatic {
      * @param element   Bpmn element
      * @param chapter   ElementChapter
      * @param fieldType KnownElementFieldType
+     * @param staticObjectVariables Static fields of the scanned classes
      */
     static void getVariablesFromJavaDelegate(final String classFile, final BpmnElement element,
             final ElementChapter chapter,
-            final KnownElementFieldType fieldType, BasicNode[] predecessor) {
+            final KnownElementFieldType fieldType, BasicNode[] predecessor,
+            final Map<String, ObjectVariable> staticObjectVariables) {
 
         if (classFile != null && classFile.trim().length() > 0) {
-
-            if (element.getBaseElement().getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
-                    BpmnConstants.ATTR_VAR_MAPPING_CLASS) != null
-                    || element.getBaseElement().getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
-                    BpmnConstants.ATTR_VAR_MAPPING_DELEGATE) != null) {
-
-                // Delegate Variable Mapping
-                classFetcherNew(classFile, "mapInputVariables", element,
-                        ElementChapter.INPUT_IMPLEMENTATION, fieldType, predecessor);
-
-                classFetcherNew(classFile, "mapOutputVariables", element,
-                        ElementChapter.OUTPUT_IMPLEMENTATION, fieldType, predecessor);
-            } else {
-                // Java Delegate or Listener
-                SootClass sootClass = Scene.v()
-                        .forceResolve(fixClassPathForSoot(EntryPointScanner.cleanString(classFile)),
-                                SootClass.SIGNATURES);
-                SootClass implementingClass = findClassWithDelegateMethod(sootClass);
-                if (implementingClass == null) {
-                    LOGGER.warning("No supported (execute/notify) method in " + classFile + " found.");
-                } else if (implementingClass.declaresMethodByName(NOTIFY)) {
-                    if (implementingClass != sootClass) {
-                        SootMethod method = getSootMethod(implementingClass, NOTIFY,
-                                getParametersForDefaultMethods(NOTIFY),
-                                VoidType.v());
-
-                        // Pull method from super class to child class
-                        method.setDeclared(false);
-                        sootClass.addMethod(method);
-                    }
-
-                    classFetcherNew(sootClass, NOTIFY, element, chapter, fieldType, predecessor);
-                } else if (implementingClass.declaresMethodByName(EXECUTE)) {
-                    if (implementingClass != sootClass) {
-                        SootMethod method = getSootMethod(implementingClass, EXECUTE,
-                                getParametersForDefaultMethods(EXECUTE),
-                                VoidType.v());
-
-                        // Pull method from super class to child class
-                        method.setDeclared(false);
-                        sootClass.addMethod(method);
-                    }
-
-                    classFetcherNew(sootClass, EXECUTE, element, chapter, fieldType, predecessor);
+            synchronized (SOOT_LOCK) {
+                if (element.getBaseElement().getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
+                        BpmnConstants.ATTR_VAR_MAPPING_CLASS) != null
+                        || element.getBaseElement().getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
+                        BpmnConstants.ATTR_VAR_MAPPING_DELEGATE) != null) {
+
+                    // Delegate Variable Mapping
+                    classFetcherNew(classFile, "mapInputVariables", element,
+                            ElementChapter.INPUT_IMPLEMENTATION, fieldType, predecessor, staticObjectVariables);
+
+                    classFetcherNew(classFile, "mapOutputVariables", element,
+                            ElementChapter.OUTPUT_IMPLEMENTATION, fieldType, predecessor, staticObjectVariables);
                 } else {
-                    LOGGER.warning("No supported (execute/notify) method in " + classFile + " found.");
+                    // Java Delegate or Listener
+                    SootClass sootClass = Scene.v()
+                            .forceResolve(fixClassPathForSoot(EntryPointScanner.cleanString(classFile)),
+                                    SootClass.SIGNATURES);
+                    SootClass implementingClass = findClassWithDelegateMethod(sootClass);
+                    if (implementingClass == null) {
+                        LOGGER.warning("No supported (execute/notify) method in " + classFile + " found.");
+                    } else if (implementingClass.declaresMethodByName(NOTIFY)) {
+                        if (implementingClass != sootClass) {
+                            SootMethod method = getSootMethod(implementingClass, NOTIFY,
+                                    getParametersForDefaultMethods(NOTIFY),
+                                    VoidType.v());
+
+                            // Pull method from super class to child class
+                            method.setDeclared(false);
+                            sootClass.addMethod(method);
+                        }
+
+                        classFetcherNew(sootClass, NOTIFY, element, chapter, fieldType, predecessor,
+                                staticObjectVariables);
+                    } else if (implementingClass.declaresMethodByName(EXECUTE)) {
+                        if (implementingClass != sootClass) {
+                            SootMethod method = getSootMethod(implementingClass, EXECUTE,
+                                    getParametersForDefaultMethods(EXECUTE),
+                                    VoidType.v());
+
+                            // Pull method from super class to child class
+                            method.setDeclared(false);
+                            sootClass.addMethod(method);
+                        }
+
+                        classFetcherNew(sootClass, EXECUTE, element, chapter, fieldType, predecessor,
+                                staticObjectVariables);
+                    } else {
+                        LOGGER.warning("No supported (execute/notify) method in " + classFile + " found.");
+                    }
                 }
             }
         }
     }
 
     public static SootClass findClassWithDelegateMethod(SootClass currentClass) {
+        ClassDependencies.recordClass(currentClass.getName());
         if (currentClass.declaresMethodByName(NOTIFY) || currentClass.declaresMethodByName(EXECUTE)) {
             return currentClass;
         } else {
@@ -145,26 +159,29 @@ public class JavaReaderStatic {
      * @param fieldType   Known element field type
      * @param entryPoint  Current entry point
      * @param predecessor Predecessor
+     * @param staticObjectVariables Static fields of the scanned classes
      */
     static void getVariablesFromClass(String className, final BpmnElement element,
             ElementChapter chapter, KnownElementFieldType fieldType,
-            final EntryPoint entryPoint, BasicNode[] predecessor) {
+            final EntryPoint entryPoint, BasicNode[] predecessor,
+            final Map<String, ObjectVariable> staticObjectVariables) {
 
         if (className != null && className.trim().length() > 0) {
             className = EntryPointScanner.cleanString(className);
-            SootClass sootClass = Scene.v().forceResolve(fixClassPathForSoot(className), SootClass.SIGNATURES);
-
-            if (sootClass != null) {
-                sootClass.setApplicationClass();
-                Scene.v().loadNecessaryClasses();
-                for (SootMethod method : sootClass.getMethods()) {
-                    if (method.getName().equals(entryPoint.getMethodName())) {
-                        Block block = SootResolverSimplified.getBlockFromMethod(method);
-                        ProcessVariablesCreator pvc = new ProcessVariablesCreator(element,
-                                chapter, fieldType,
-                                predecessor);
-                        pvc.startBlockProcessing(block,
-                                method.getDeclaringClass(), method.getName());
+            synchronized (SOOT_LOCK) {
+                SootClass sootClass = Scene.v().forceResolve(fixClassPathForSoot(className), SootClass.SIGNATURES);
+
+                if (sootClass != null) {
+                    setupApplicationClass(sootClass);
+                    for (SootMethod method : sootClass.getMethods()) {
+                        if (method.getName().equals(entryPoint.getMethodName())) {
+                            Block block = SootResolverSimplified.getBlockFromMethod(method);
+                            ProcessVariablesCreator pvc = new ProcessVariablesCreator(element,
+                                    chapter, fieldType,
+                                    predecessor, staticObjectVariables);
+                            pvc.startBlockProcessing(block,
+                                    method.getDeclaringClass(), method.getName());
+                        }
                     }
                 }
             }
@@ -173,11 +190,12 @@ public class JavaReaderStatic {
 
     private static void classFetcherNew(SootClass sootClass,
             final String methodName, final BpmnElement element,
-            final ElementChapter chapter, final KnownElementFieldType fieldType, BasicNode[] predecessor) {
+            final ElementChapter chapter, final KnownElementFieldType fieldType, BasicNode[] predecessor,
+            final Map<String, ObjectVariable> staticObjectVariables) {
 
         Block block = SootResolverSimplified.getBlockFromClass(sootClass, methodName, null, null);
         ProcessVariablesCreator processVariablesCreator = new ProcessVariablesCreator(element, chapter, fieldType,
-                predecessor);
+                predecessor, staticObjectVariables);
         BasicNode lastNode = processVariablesCreator
                 .startBlockProcessing(block,
                         sootClass, methodName);
@@ -188,7 +206,8 @@ public class JavaReaderStatic {
 
     private static void classFetcherNew(final String className,
             final String methodName, final BpmnElement element,
-            final ElementChapter chapter, final KnownElementFieldType fieldType, BasicNode[] predecessor) {
+            final ElementChapter chapter, final KnownElementFieldType fieldType, BasicNode[] predecessor,
+            final Map<String, ObjectVariable> staticObjectVariables) {
         SootClass sootClass = setupSootClass(className);
         if (sootClass == null) {
             LOGGER.warning("Class " + className + " could not be loaded.");
@@ -197,7 +216,7 @@ public class JavaReaderStatic {
 
         Block block = SootResolverSimplified.getBlockFromClass(sootClass, methodName, null, null);
         ProcessVariablesCreator processVariablesCreator = new ProcessVariablesCreator(element, chapter, fieldType,
-                predecessor);
+                predecessor, staticObjectVariables);
         BasicNode lastNode = processVariablesCreator
                 .startBlockProcessing(block, sootClass, methodName);
         if (lastNode != null) {
@@ -206,15 +225,19 @@ public class JavaReaderStatic {
     }
 
     public static void setupSoot() {
-        G.reset();
-        final String sootPath = FileScanner.getSootPath();
-        System.setProperty("soot.class.path", sootPath);
-        Options.v().set_whole_program(true);
-        Options.v().set_allow_phantom_refs(true);
-        String[] exClasses = new String[] { "java.*", "sun.*", "jdk.*", "javax.*" };
-        Options.v().set_exclude(Arrays.asList(exClasses));
-        Options.v().set_no_bodies_for_excluded(true);
-        Scene.v().extendSootClassPath(Scene.v().defaultClassPath());
-        Scene.v().loadNecessaryClasses();
+        synchronized (SOOT_LOCK) {
+            G.reset();
+            SootResolverSimplified.clearCache();
+            MethodSummaryCache.clearCache();
+            final String sootPath = FileScanner.getSootPath();
+            System.setProperty("soot.class.path", sootPath);
+            Options.v().set_whole_program(true);
+            Options.v().set_allow_phantom_refs(true);
+            String[] exClasses = new String[] { "java.*", "sun.*", "jdk.*", "javax.*" };
+            Options.v().set_exclude(Arrays.asList(exClasses));
+            Options.v().set_no_bodies_for_excluded(true);
+            Scene.v().extendSootClassPath(Scene.v().defaultClassPath());
+            SootResolverSimplified.loadNecessaryClasses();
+        }
     }
 }
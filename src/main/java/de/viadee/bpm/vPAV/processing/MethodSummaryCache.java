@@ -0,0 +1,348 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import de.viadee.bpm.vPAV.processing.code.flow.BasicNode;
+import de.viadee.bpm.vPAV.processing.code.flow.FluentBuilderVariable;
+import de.viadee.bpm.vPAV.processing.code.flow.Node;
+import de.viadee.bpm.vPAV.processing.model.data.CamundaEntryPointFunctions;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.data.VariableOperation;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.jimple.InvokeExpr;
+import soot.toolkits.graph.Block;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches the effects of method invocations that are interpreted by the ObjectReader.
+ * <p>
+ * A summary records all callbacks a method made to the receiver (process variable operations and created nodes)
+ * together with its return value. It is keyed by the method signature, the receiver type and the argument values.
+ * Summaries are only created for invocations that cannot depend on or change state outside of the method, i.e. the
+ * invoked object is unknown to the caller, all arguments are strings and no static fields or entry points are
+ * involved. All other invocations are always fully interpreted.
+ * <p>
+ * When a summary is reused, the recorded callbacks are replayed against the current receiver, so that nodes and
+ * operations are created exactly as if the method was interpreted again. The classes read while the method was
+ * interpreted are recorded again as {@link ClassDependencies}.
+ */
+public final class MethodSummaryCache {
+
+    // Summaries refer to Soot blocks and are valid until Soot is reset
+    private static final Map<List<Object>, MethodSummary> summaries = new ConcurrentHashMap<>();
+
+    private static final AtomicLong cacheHits = new AtomicLong();
+
+    private static final AtomicLong cacheMisses = new AtomicLong();
+
+    private MethodSummaryCache() {
+
+    }
+
+    /**
+     * Checks whether an invocation with the given argument values can be summarized.
+     *
+     * @param argValues Resolved argument values
+     * @return true, if all arguments are strings or unknown
+     */
+    static boolean isSummarizable(List<Object> argValues) {
+        for (Object arg : argValues) {
+            if (arg != null && !(arg instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invokes a method by either replaying an existing summary or interpreting it and recording a new summary.
+     *
+     * @param receiver    Receiver of the invoking ObjectReader
+     * @param method      Invoked method
+     * @param argValues   Resolved argument values (strings or null)
+     * @param interpreter Interprets the method with the given receiver and returns its return value
+     * @return Return value of the method
+     */
+    static Object invoke(ObjectReaderReceiver receiver, SootMethod method, List<Object> argValues,
+            Function<ObjectReaderReceiver, Object> interpreter) {
+        final List<Object> key = Arrays.asList(receiver.getClass(), method.getSignature(),
+                new ArrayList<>(argValues));
+        final MethodSummary summary = summaries.get(key);
+        // Soot creates new method objects after a reset, summaries of previous runs are not reused
+        if (summary != null && summary.method == method) {
+            cacheHits.incrementAndGet();
+            return summary.replay(receiver);
+        }
+
+        cacheMisses.incrementAndGet();
+        final Recorder recorder = new Recorder(receiver);
+        final Object returnValue;
+        final ClassDependencies dependencies;
+        ClassDependencies.begin();
+        try {
+            returnValue = interpreter.apply(recorder);
+        } finally {
+            dependencies = ClassDependencies.end();
+        }
+        if (!recorder.contextDependent && (returnValue == null || returnValue instanceof String)) {
+            summaries.put(key, new MethodSummary(method, recorder.events, dependencies.getClasses(), returnValue));
+        }
+        return returnValue;
+    }
+
+    /**
+     * Marks the currently recorded invocations as dependent on state outside of the invoked methods, e.g. static
+     * fields. Such invocations are not summarized.
+     *
+     * @param receiver Receiver of the ObjectReader
+     */
+    static void markContextDependent(ObjectReaderReceiver receiver) {
+        if (receiver instanceof Recorder) {
+            ((Recorder) receiver).markContextDependent();
+        }
+    }
+
+    /**
+     * Removes all summaries. Has to be called whenever Soot is reset.
+     */
+    public static void clearCache() {
+        summaries.clear();
+        cacheHits.set(0);
+        cacheMisses.set(0);
+    }
+
+    public static long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private enum EventType {
+        PROCESS_VARIABLE_OPERATION, ADD_NODE, VISIT_BLOCK_AGAIN, GET_NODE, PUSH_NODE
+    }
+
+    private static class Event {
+
+        private final EventType type;
+
+        private final Block block;
+
+        private final SootClass javaClass;
+
+        private final String variableName;
+
+        private final VariableOperation operation;
+
+        private final boolean childScope;
+
+        // Index of the event whose returned node is pushed, -1 if no node was pushed
+        private final int nodeRef;
+
+        private Event(EventType type, Block block, SootClass javaClass, String variableName,
+                VariableOperation operation, boolean childScope, int nodeRef) {
+            this.type = type;
+            this.block = block;
+            this.javaClass = javaClass;
+            this.variableName = variableName;
+            this.operation = operation;
+            this.childScope = childScope;
+            this.nodeRef = nodeRef;
+        }
+    }
+
+    private static class MethodSummary {
+
+        private final SootMethod method;
+
+        private final List<Event> events;
+
+        // Classes read while the method was interpreted
+        private final Set<String> classes;
+
+        private final Object returnValue;
+
+        private MethodSummary(SootMethod method, List<Event> events, Set<String> classes, Object returnValue) {
+            this.method = method;
+            this.events = events;
+            this.classes = classes;
+            this.returnValue = returnValue;
+        }
+
+        private Object replay(ObjectReaderReceiver receiver) {
+            ClassDependencies.recordClasses(classes);
+            final BasicNode[] nodes = new BasicNode[events.size()];
+            for (int i = 0; i < events.size(); i++) {
+                final Event event = events.get(i);
+                switch (event.type) {
+                    case PROCESS_VARIABLE_OPERATION:
+                        final ProcessVariableOperation pvo = new ProcessVariableOperation(event.variableName,
+                                event.operation,
+                                event.childScope ? receiver.getScopeIdOfChild() : receiver.getScopeId());
+                        receiver.handleProcessVariableManipulation(event.block, pvo, event.javaClass);
+                        break;
+                    case ADD_NODE:
+                        nodes[i] = receiver.addNodeIfNotExisting(event.block, event.javaClass);
+                        break;
+                    case VISIT_BLOCK_AGAIN:
+                        receiver.visitBlockAgain(event.block);
+                        break;
+                    case GET_NODE:
+                        nodes[i] = receiver.getNodeOfBlock(event.block, event.javaClass);
+                        break;
+                    case PUSH_NODE:
+                        receiver.pushNodeToStack(event.nodeRef < 0 ? null : nodes[event.nodeRef]);
+                        break;
+                }
+            }
+            return returnValue;
+        }
+    }
+
+    /**
+     * Forwards all callbacks to the actual receiver and records them. Nested invocations use the recorder as their
+     * receiver, so their callbacks are recorded as well.
+     */
+    private static class Recorder extends ObjectReaderReceiver {
+
+        private final ObjectReaderReceiver delegate;
+
+        private final List<Event> events = new ArrayList<>();
+
+        private final Map<BasicNode, Integer> nodeRefs = new IdentityHashMap<>();
+
+        private boolean childScopeRequested;
+
+        private boolean contextDependent;
+
+        private Recorder(ObjectReaderReceiver delegate) {
+            this.delegate = delegate;
+        }
+
+        private void markContextDependent() {
+            contextDependent = true;
+            MethodSummaryCache.markContextDependent(delegate);
+        }
+
+        private void record(EventType type, Block block, SootClass javaClass) {
+            events.add(new Event(type, block, javaClass, null, null, false, -1));
+        }
+
+        private void recordNode(BasicNode node) {
+            if (node != null) {
+                nodeRefs.put(node, events.size() - 1);
+            }
+        }
+
+        @Override
+        public void handleProcessVariableManipulation(Block block, ProcessVariableOperation pvo,
+                SootClass javaClass) {
+            events.add(new Event(EventType.PROCESS_VARIABLE_OPERATION, block, javaClass, pvo.getName(),
+                    pvo.getOperation(), childScopeRequested, -1));
+            delegate.handleProcessVariableManipulation(block, pvo, javaClass);
+        }
+
+        @Override
+        public BasicNode addNodeIfNotExisting(Block block, SootClass javaClass) {
+            record(EventType.ADD_NODE, block, javaClass);
+            final BasicNode node = delegate.addNodeIfNotExisting(block, javaClass);
+            recordNode(node);
+            return node;
+        }
+
+        @Override
+        public void visitBlockAgain(Block block) {
+            record(EventType.VISIT_BLOCK_AGAIN, block, null);
+            delegate.visitBlockAgain(block);
+        }
+
+        @Override
+        public Node getNodeOfBlock(Block block, SootClass javaClass) {
+            record(EventType.GET_NODE, block, javaClass);
+            final Node node = delegate.getNodeOfBlock(block, javaClass);
+            recordNode(node);
+            return node;
+        }
+
+        @Override
+        public String getScopeId() {
+            childScopeRequested = false;
+            return delegate.getScopeId();
+        }
+
+        @Override
+        public String getScopeIdOfChild() {
+            childScopeRequested = true;
+            return delegate.getScopeIdOfChild();
+        }
+
+        @Override
+        public void pushNodeToStack(BasicNode blockNode) {
+            int nodeRef = -1;
+            if (blockNode != null) {
+                final Integer ref = nodeRefs.get(blockNode);
+                if (ref == null) {
+                    // Node was not created during this invocation and can not be replayed
+                    markContextDependent();
+                } else {
+                    nodeRef = ref;
+                }
+            }
+            events.add(new Event(EventType.PUSH_NODE, null, null, null, null, false, nodeRef));
+            delegate.pushNodeToStack(blockNode);
+        }
+
+        @Override
+        public void addEntryPoint(CamundaEntryPointFunctions func, String className, String methodName,
+                InvokeExpr expr, List<Object> args) {
+            markContextDependent();
+            delegate.addEntryPoint(func, className, methodName, expr, args);
+        }
+
+        @Override
+        public void addEntryPoint(FluentBuilderVariable fb, String className, String methodName) {
+            markContextDependent();
+            delegate.addEntryPoint(fb, className, methodName);
+        }
+    }
+}
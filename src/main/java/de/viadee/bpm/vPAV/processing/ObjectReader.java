@@ -44,6 +44,8 @@ import soot.jimple.internal.*;
 import soot.toolkits.graph.Block;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static de.viadee.bpm.vPAV.processing.model.data.CamundaProcessVariableFunctions.FCT_PUT_VALUE;
 import static de.viadee.bpm.vPAV.processing.model.data.CamundaProcessVariableFunctions.FCT_PUT_VALUE_TYPED;
@@ -54,7 +56,8 @@ public class ObjectReader {
 
     private ObjectVariable thisObject = new ObjectVariable();
 
-    private static final HashMap<String, ObjectVariable> staticObjectVariables = new HashMap<>();
+    // Static fields are shared by all readers of a scan, classes may be scanned in parallel
+    private final Map<String, ObjectVariable> staticObjectVariables;
 
     private static final RefType StringType = RefType.v("java.lang.String");
 
@@ -72,6 +75,7 @@ public class ObjectReader {
         this.thisObject = thisObject;
         this.objectReaderReceiver = objectReaderReceiver;
         this.currentJavaClass = currentJavaClass;
+        this.staticObjectVariables = getStaticObjectVariables(objectReaderReceiver);
     }
 
     /**
@@ -83,6 +87,7 @@ public class ObjectReader {
     public ObjectReader(ObjectReaderReceiver objectReaderReceiver, SootClass currentJavaClass) {
         this.objectReaderReceiver = objectReaderReceiver;
         this.currentJavaClass = currentJavaClass;
+        this.staticObjectVariables = getStaticObjectVariables(objectReaderReceiver);
     }
 
     /**
@@ -97,6 +102,7 @@ public class ObjectReader {
         this.objectReaderReceiver = objectReaderReceiver;
         this.currentJavaClass = currentJavaClass;
         this.currentMethod = currentMethod;
+        this.staticObjectVariables = getStaticObjectVariables(objectReaderReceiver);
     }
 
     /**
@@ -104,13 +110,22 @@ public class ObjectReader {
      *
      * @param objectReaderReceiver that is used for creating the data flow graph
      * @param thisObject           ObjectVariable that refers to the object that contains the block
+     * @param staticObjectVariables Static fields of the invoking reader
      */
     private ObjectReader(ObjectReaderReceiver objectReaderReceiver, ObjectVariable thisObject,
-            SootClass currentJavaClass, String sootMethod) {
+            SootClass currentJavaClass, String sootMethod, Map<String, ObjectVariable> staticObjectVariables) {
         this.objectReaderReceiver = objectReaderReceiver;
         this.thisObject = thisObject;
         this.currentJavaClass = currentJavaClass;
         this.currentMethod = sootMethod;
+        this.staticObjectVariables = staticObjectVariables;
+    }
+
+    private static Map<String, ObjectVariable> getStaticObjectVariables(ObjectReaderReceiver objectReaderReceiver) {
+        final Map<String, ObjectVariable> staticObjectVariables = objectReaderReceiver != null ?
+                objectReaderReceiver.getStaticObjectVariables() :
+                null;
+        return staticObjectVariables != null ? staticObjectVariables : new ConcurrentHashMap<>();
     }
 
     /**
@@ -315,6 +330,9 @@ public class ObjectReader {
     Object handleInvokeExpr(Block block, InvokeExpr expr, String thisName,
             Map<String, StringVariable> localStringVariables,
             Map<String, ObjectVariable> localObjectVariables) {
+        // The invoked method is resolved in the hierarchy of the referenced class
+        ClassDependencies.recordClass(expr.getMethodRef().getDeclaringClass().getName());
+
         CamundaProcessVariableFunctions foundMethod = CamundaProcessVariableFunctions
                 .findByNameAndNumberOfBoxes(expr.getMethodRef().getName(),
                         expr.getMethodRef().getDeclaringClass().getName(), expr.getArgCount());
@@ -348,6 +366,8 @@ public class ObjectReader {
         }
 
         ObjectVariable targetObj;
+        // Objects that are unknown to the caller can not be observed after the invocation
+        boolean unknownTarget = false;
         SootMethod method = expr.getMethod();
 
         if (expr instanceof AbstractInstanceInvokeExpr) {
@@ -361,7 +381,7 @@ public class ObjectReader {
 
                     if (nextBlock != null) {
                         return this
-                                .processBlock(SootResolverSimplified.getBlockFromMethod(expr.getMethod()),
+                                .processBlock(nextBlock,
                                         argValues,
                                         null, new HashMap<>(), new HashMap<>());
                     }
@@ -380,6 +400,7 @@ public class ObjectReader {
 
                 if (targetObj == null) {
                     targetObj = new ObjectVariable();
+                    unknownTarget = true;
                 } else if (targetObj instanceof MapVariable) {
                     // Handle operation on map variable
                     handleMapOperation((MapVariable) targetObj, method, expr, block, thisName, localStringVariables,
@@ -401,6 +422,7 @@ public class ObjectReader {
             } else {
                 // Static method is called -> create phantom variable
                 targetObj = new ObjectVariable();
+                unknownTarget = true;
             }
         }
 
@@ -414,10 +436,15 @@ public class ObjectReader {
         if (nextBlock == null) {
             return null;
         }
-        ObjectReader or = new ObjectReader(objectReaderReceiver, targetObj,
-                method.getDeclaringClass(), method.getName());
-        return or.processBlock(SootResolverSimplified.getBlockFromMethod(method), argValues, null, new HashMap<>(),
-                new HashMap<>());
+        final ObjectVariable invokedObj = targetObj;
+        final SootMethod invokedMethod = method;
+        final Function<ObjectReaderReceiver, Object> interpreter = receiver -> new ObjectReader(receiver,
+                invokedObj, invokedMethod.getDeclaringClass(), invokedMethod.getName(), staticObjectVariables)
+                .processBlock(nextBlock, argValues, null, new HashMap<>(), new HashMap<>());
+        if (unknownTarget && MethodSummaryCache.isSummarizable(argValues)) {
+            return MethodSummaryCache.invoke(objectReaderReceiver, method, argValues, interpreter);
+        }
+        return interpreter.apply(objectReaderReceiver);
     }
 
     /**
@@ -446,6 +473,7 @@ public class ObjectReader {
     }
 
     SootMethod findMethodInHierachy(SootClass currentClass, SootMethodRef methodRef) {
+        ClassDependencies.recordClass(currentClass.getName());
         if (currentClass
                 .declaresMethod(methodRef.getName(), methodRef.getParameterTypes(), methodRef.getReturnType())) {
             return currentClass
@@ -555,18 +583,19 @@ public class ObjectReader {
             Map<String, StringVariable> localStringVariables,
             Map<String, ObjectVariable> localObjectVariables) {
         String classname = leftValue.getFieldRef().declaringClass().getName();
+        MethodSummaryCache.markContextDependent(objectReaderReceiver);
+        ClassDependencies.recordStaticFieldAccess();
 
-        if (!staticObjectVariables.containsKey(classname)) {
-            staticObjectVariables.put(classname, new ObjectVariable());
-        }
-        ObjectVariable staticClass = staticObjectVariables.get(classname);
+        ObjectVariable staticClass = staticObjectVariables.computeIfAbsent(classname, name -> new ObjectVariable());
 
         // String field of object is updated
         if (leftValue.getType().equals(StringType)) {
             String newValue = resolveStringValue(block, rightValue, thisName, localStringVariables,
                     localObjectVariables);
             String varName = getVarNameFromFieldRef(leftValue);
-            staticClass.updateStringField(varName, newValue);
+            synchronized (staticClass) {
+                staticClass.updateStringField(varName, newValue);
+            }
         }
         // Object field is updated
         else {
@@ -574,7 +603,9 @@ public class ObjectReader {
             ObjectVariable objectVar = resolveObjectVariable(block, rightValue, thisName, localStringVariables,
                     localObjectVariables);
             if (objectVar != null) {
-                staticClass.putObjectField(varName, objectVar);
+                synchronized (staticClass) {
+                    staticClass.putObjectField(varName, objectVar);
+                }
             }
         }
     }
@@ -611,11 +642,16 @@ public class ObjectReader {
         } else if (rightValue instanceof StaticFieldRef) {
             String className = ((StaticFieldRef) rightValue).getFieldRef().declaringClass().getName();
             String varName = ((StaticFieldRef) rightValue).getFieldRef().name();
+            MethodSummaryCache.markContextDependent(objectReaderReceiver);
+            ClassDependencies.recordStaticFieldAccess();
             ObjectVariable staticClass = staticObjectVariables.get(className);
             if (staticClass == null) {
                 return null;
             }
-            StringVariable field = staticClass.getStringField(varName);
+            StringVariable field;
+            synchronized (staticClass) {
+                field = staticClass.getStringField(varName);
+            }
             if (field != null) {
                 return field.getValue();
             }
@@ -656,18 +692,23 @@ public class ObjectReader {
         } else if (rightValue instanceof StaticFieldRef) {
             String className = ((StaticFieldRef) rightValue).getFieldRef().declaringClass().getName();
             String varName = ((StaticFieldRef) rightValue).getFieldRef().name();
-            if (staticObjectVariables.containsKey(className)) {
-                return staticObjectVariables.get(className).getObjectField(varName);
-            } else {
+            MethodSummaryCache.markContextDependent(objectReaderReceiver);
+            ClassDependencies.recordStaticFieldAccess();
+            ObjectVariable staticClass = staticObjectVariables.get(className);
+            if (staticClass == null) {
                 return null;
             }
+            synchronized (staticClass) {
+                return staticClass.getObjectField(varName);
+            }
         } else if (rightValue instanceof NewExpr) {
             // New object is instantiated, we add an empty object as constructors are not resolved yet
 
             // If Map is created, created map variable, otherwise normal object variable
+            ClassDependencies.recordClass(((RefType) rightValue.getType()).getClassName());
             ObjectVariable ob;
-            if (((RefType) rightValue.getType()).getSootClass().getInterfaces()
-                    .contains(Scene.v().forceResolve("java.util.Map", 0))) {
+            if (((RefType) rightValue.getType()).getSootClass().getInterfaces().stream()
+                    .anyMatch(sootInterface -> sootInterface.getName().equals(CamundaMethodServices.MAP))) {
                 ob = new MapVariable();
             } else {
                 ob = new ObjectVariable();
@@ -821,7 +862,7 @@ public class ObjectReader {
         return thisObject;
     }
 
-    HashMap<String, ObjectVariable> getStaticObjectVariables() {
+    Map<String, ObjectVariable> getStaticObjectVariables() {
         return staticObjectVariables;
     }
 }
\ No newline at end of file
@@ -34,6 +34,7 @@ package de.viadee.bpm.vPAV.processing;
 import de.viadee.bpm.vPAV.processing.code.flow.BasicNode;
 import de.viadee.bpm.vPAV.processing.code.flow.FluentBuilderVariable;
 import de.viadee.bpm.vPAV.processing.code.flow.Node;
+import de.viadee.bpm.vPAV.processing.code.flow.ObjectVariable;
 import de.viadee.bpm.vPAV.processing.model.data.CamundaEntryPointFunctions;
 import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
 import soot.SootClass;
@@ -41,6 +42,7 @@ import soot.jimple.InvokeExpr;
 import soot.toolkits.graph.Block;
 
 import java.util.List;
+import java.util.Map;
 
 public abstract class ObjectReaderReceiver {
 
@@ -76,4 +78,13 @@ public abstract class ObjectReaderReceiver {
     public void addEntryPoint(FluentBuilderVariable fb, String className, String methodName) {
     }
 
+    /**
+     * Returns the values of static fields that are shared by all readers of this receiver
+     *
+     * @return static fields by class name or null, if each reader keeps its own static fields
+     */
+    public Map<String, ObjectVariable> getStaticObjectVariables() {
+        return null;
+    }
+
 }
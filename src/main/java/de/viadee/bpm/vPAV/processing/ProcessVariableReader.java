@@ -44,6 +44,7 @@ import de.viadee.bpm.vPAV.processing.code.flow.BasicNode;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.code.flow.ControlFlowGraph;
 import de.viadee.bpm.vPAV.processing.code.flow.ExpressionNode;
+import de.viadee.bpm.vPAV.processing.code.flow.ObjectVariable;
 import de.viadee.bpm.vPAV.processing.model.data.*;
 import org.camunda.bpm.engine.impl.juel.*;
 import org.camunda.bpm.model.bpmn.Query;
@@ -78,9 +79,22 @@ public final class ProcessVariableReader {
 
     private final Rule rule;
 
+    private final Map<String, ObjectVariable> staticObjectVariables;
+
     public ProcessVariableReader(final Map<String, String> decisionRefToPathMap, final Rule rule) {
+        this(decisionRefToPathMap, rule, null);
+    }
+
+    /**
+     * @param decisionRefToPathMap  Paths of the DMN files by decision reference
+     * @param rule                  Rule
+     * @param staticObjectVariables Static fields of the scanned classes or null, if static fields are not known
+     */
+    public ProcessVariableReader(final Map<String, String> decisionRefToPathMap, final Rule rule,
+            final Map<String, ObjectVariable> staticObjectVariables) {
         this.decisionRefToPathMap = decisionRefToPathMap;
         this.rule = rule;
+        this.staticObjectVariables = staticObjectVariables;
     }
 
     /**
@@ -393,7 +407,7 @@ public final class ProcessVariableReader {
                 final String l_class = listener.getCamundaClass();
                 if (l_class != null) {
                     JavaReaderStatic.getVariablesFromJavaDelegate(listener.getCamundaClass(), element, listenerChapter,
-                            KnownElementFieldType.Class, predecessor);
+                            KnownElementFieldType.Class, predecessor, staticObjectVariables);
                 }
                 final CamundaScript script = listener.getCamundaScript();
                 if (script != null && script.getCamundaScriptFormat() != null
@@ -698,7 +712,7 @@ public final class ProcessVariableReader {
                         .getVariablesFromJavaDelegate(baseElement.getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
                                 BpmnConstants.ATTR_CLASS),
                                 element, ElementChapter.IMPLEMENTATION, KnownElementFieldType.Class,
-                                predecessor);
+                                predecessor, staticObjectVariables);
             }
 
             if (baseElement instanceof BusinessRuleTask) {
@@ -778,7 +792,8 @@ public final class ProcessVariableReader {
                 JavaReaderStatic
                         .getVariablesFromJavaDelegate(baseElement.getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
                                 BpmnConstants.ATTR_VAR_MAPPING_CLASS),
-                                element, ElementChapter.GENERAL, KnownElementFieldType.Class, predecessor);
+                                element, ElementChapter.GENERAL, KnownElementFieldType.Class, predecessor,
+                                staticObjectVariables);
             } else if (baseElement.getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
                     BpmnConstants.ATTR_VAR_MAPPING_DELEGATE) != null) {
                 parseJuelExpression(element, ElementChapter.GENERAL, KnownElementFieldType.Class,
@@ -977,11 +992,10 @@ public final class ProcessVariableReader {
             String expression, String scopeId, BasicNode[] predecessor) {
         ExpressionNode expNode = new ExpressionNode(element, expression, elementChapter, fieldType);
 
-        TreeStore store = new TreeStore(new Builder(Builder.Feature.METHOD_INVOCATIONS), null);
         if (Objects.isNull(expression)) {
             return;
         }
-        Tree tree = store.get(expression);
+        Tree tree = JuelExpressionCache.getTree(expression);
 
         // Only support simple expressions at the moment (only one method call or only simple reads)
         if (tree.getRoot().getChild(0) instanceof AstMethod) {
@@ -1007,7 +1021,7 @@ public final class ProcessVariableReader {
                 if (className != null) {
                     // read variables in class file (bean)
                     JavaReaderStatic.getVariablesFromJavaDelegate(className, element,
-                            elementChapter, fieldType, predecessor);
+                            elementChapter, fieldType, predecessor, staticObjectVariables);
                 } else {
                     // Read operation
                     expNode.addOperation(new ProcessVariableOperation(varName,
@@ -1077,7 +1091,7 @@ public final class ProcessVariableReader {
                 // read variables in class file (bean)
                 JavaReaderStatic
                         .getVariablesFromClass(className, element, elementChapter, fieldType, entryPoint,
-                                predecessor);
+                                predecessor, staticObjectVariables);
             }
         }
     }
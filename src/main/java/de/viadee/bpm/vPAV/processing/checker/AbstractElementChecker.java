@@ -33,13 +33,32 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import de.viadee.bpm.vPAV.BpmnScanner;
 import de.viadee.bpm.vPAV.config.model.Rule;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 
 public abstract class AbstractElementChecker implements ElementChecker {
 
     protected final Rule rule;
 
+    private final Collection<Class<? extends BaseElement>> elementTypes;
+
     public AbstractElementChecker(final Rule rule) {
         this.rule = rule;
+        this.elementTypes = Collections.singletonList(BaseElement.class);
+    }
+
+    /**
+     * Creates a new element checker, which only checks elements of the given types.
+     * @param rule Corresponding rule
+     * @param elementTypes Types of the checked elements
+     */
+    @SafeVarargs
+    protected AbstractElementChecker(final Rule rule, final Class<? extends BaseElement>... elementTypes) {
+        this.rule = rule;
+        this.elementTypes = Collections.unmodifiableList(Arrays.asList(elementTypes));
     }
 
     /**
@@ -50,6 +69,11 @@ public abstract class AbstractElementChecker implements ElementChecker {
      */
     @Deprecated(since = "3.0.5")
     public AbstractElementChecker(final Rule rule, final BpmnScanner bpmnScanner) {
-        this.rule = rule;
+        this(rule);
+    }
+
+    @Override
+    public Collection<Class<? extends BaseElement>> getElementTypes() {
+        return elementTypes;
     }
 }
@@ -43,6 +43,7 @@ import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
 import de.viadee.bpm.vPAV.processing.CheckName;
+import de.viadee.bpm.vPAV.processing.ClassDependencies;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
@@ -70,7 +71,7 @@ public class BoundaryErrorChecker extends AbstractElementChecker {
     private static final Logger logger = Logger.getLogger(BoundaryErrorChecker.class.getName());
 
     public BoundaryErrorChecker(final Rule rule) {
-        super(rule);
+        super(rule, BoundaryEvent.class);
     }
 
     @Override
@@ -313,7 +314,7 @@ public class BoundaryErrorChecker extends AbstractElementChecker {
      * @return boolean
      */
     private boolean checkClassFile(final String className) {
-
+        ClassDependencies.recordClass(className);
         try {
             RuntimeConfig.getInstance().getClassLoader().loadClass(className);
         } catch (final ClassNotFoundException e) {
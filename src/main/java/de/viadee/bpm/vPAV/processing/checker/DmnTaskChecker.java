@@ -55,7 +55,7 @@ import java.util.Map;
 public class DmnTaskChecker extends AbstractElementChecker {
 
     public DmnTaskChecker(final Rule rule) {
-        super(rule);
+        super(rule, BusinessRuleTask.class);
     }
 
     /**
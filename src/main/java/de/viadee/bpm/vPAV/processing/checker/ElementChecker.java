@@ -33,8 +33,10 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Checks bpmn models for defined characteristics
@@ -42,4 +44,14 @@ import java.util.Collection;
 public interface ElementChecker extends Checker {
 
     Collection<CheckerIssue> check(final BpmnElement element);
+
+    /**
+     * Returns the types of the elements, which are checked by this checker. Elements of other types are not passed
+     * to {@link #check(BpmnElement)}.
+     *
+     * @return Element types, by default all elements
+     */
+    default Collection<Class<? extends BaseElement>> getElementTypes() {
+        return Collections.singletonList(BaseElement.class);
+    }
 }
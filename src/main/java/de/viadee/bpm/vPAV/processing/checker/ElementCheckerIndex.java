@@ -0,0 +1,99 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.checker;
+
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes elements only to the element checkers, which declare the type of the element.
+ * The index is built once per validation run from the checker classes of the rule set and is shared by the
+ * dispatched models, which create their own checker instances in the same order. The checkers of an element class
+ * are determined once and keep the order of the given checkers.
+ */
+public class ElementCheckerIndex {
+
+    private final List<Class<?>> checkerClasses = new ArrayList<>();
+
+    private final List<Collection<Class<? extends BaseElement>>> elementTypes = new ArrayList<>();
+
+    private final Map<Class<?>, int[]> positionsByClass = new ConcurrentHashMap<>();
+
+    public ElementCheckerIndex(final List<? extends ElementChecker> checkers) {
+        for (final ElementChecker checker : checkers) {
+            checkerClasses.add(checker.getClass());
+            elementTypes.add(checker.getElementTypes());
+        }
+    }
+
+    /**
+     * @param checkers Checker instances of a model
+     * @return true, if the checkers are instances of the indexed checker classes in the same order
+     */
+    public boolean isIndexOf(final List<? extends ElementChecker> checkers) {
+        if (checkers.size() != checkerClasses.size()) {
+            return false;
+        }
+        for (int i = 0; i < checkers.size(); i++) {
+            if (checkers.get(i).getClass() != checkerClasses.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param element BPMN element
+     * @return Positions of the checkers, which check elements of this type
+     */
+    public int[] getPositions(final BaseElement element) {
+        return positionsByClass.computeIfAbsent(element.getClass(), this::findPositions);
+    }
+
+    private int[] findPositions(final Class<?> elementClass) {
+        final List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < elementTypes.size(); i++) {
+            for (final Class<? extends BaseElement> type : elementTypes.get(i)) {
+                if (type.isAssignableFrom(elementClass)) {
+                    positions.add(i);
+                    break;
+                }
+            }
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
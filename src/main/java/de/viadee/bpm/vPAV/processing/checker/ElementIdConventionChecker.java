@@ -44,7 +44,6 @@ import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ElementIdConventionChecker extends AbstractElementChecker {
 
@@ -68,8 +67,7 @@ public class ElementIdConventionChecker extends AbstractElementChecker {
 
         if (elementConventions != null && !elementConventions.isEmpty() && elementId != null) {
             for (final ElementConvention convention : elementConventions) {
-                final Pattern pattern = Pattern.compile(convention.getPattern().trim());
-                Matcher matcher = pattern.matcher(elementId);
+                Matcher matcher = convention.getTrimmedPattern().matcher(elementId);
                 String bpmnInstance = convention.getName();
                 if (!matcher.matches() && baseElement.getElementType().getInstanceType().getSimpleName()
                         .equalsIgnoreCase(bpmnInstance)) {
@@ -32,22 +32,20 @@
 package de.viadee.bpm.vPAV.processing.checker;
 
 import de.viadee.bpm.vPAV.Messages;
+import de.viadee.bpm.vPAV.RuntimeConfig;
 import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
-import groovy.lang.GroovyShell;
-import groovy.lang.MissingMethodException;
-import groovy.lang.MissingPropertyException;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
 import org.camunda.bpm.model.bpmn.instance.Script;
 import org.camunda.bpm.model.bpmn.instance.ScriptTask;
 import org.camunda.bpm.model.bpmn.instance.camunda.*;
+import org.camunda.bpm.model.xml.ModelInstance;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
-import org.codehaus.groovy.control.CompilationFailedException;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -61,6 +59,8 @@ import java.util.List;
  */
 public class EmbeddedGroovyScriptChecker extends AbstractElementChecker {
 
+    private ModelInstance validatedModel;
+
     public EmbeddedGroovyScriptChecker(final Rule rule) {
         super(rule);
     }
@@ -75,6 +75,11 @@ public class EmbeddedGroovyScriptChecker extends AbstractElementChecker {
     public Collection<CheckerIssue> check(final BpmnElement element) {
 
         final BaseElement baseElement = element.getBaseElement();
+        if (baseElement.getModelInstance() != validatedModel) {
+            validatedModel = baseElement.getModelInstance();
+            validateGroovyScripts(validatedModel);
+        }
+
         final Collection<CheckerIssue> issues = new ArrayList<>(
                 checkScriptTask(element.getProcessDefinition(), element));
 
@@ -88,6 +93,34 @@ public class EmbeddedGroovyScriptChecker extends AbstractElementChecker {
         return issues;
     }
 
+    /**
+     * Validates all embedded groovy scripts of a model in parallel, if several script threads are configured.
+     * The results are cached, so the checks of the single elements do not compile the scripts again.
+     *
+     * @param modelInstance BPMN model
+     */
+    private void validateGroovyScripts(final ModelInstance modelInstance) {
+        final int scriptThreads = RuntimeConfig.getInstance().getScriptThreads();
+        if (scriptThreads <= 1) {
+            return;
+        }
+
+        final List<String> scripts = new ArrayList<>();
+        for (final ScriptTask scriptTask : modelInstance.getModelElementsByType(ScriptTask.class)) {
+            if (scriptTask.getScript() != null && scriptTask.getCamundaResource() == null
+                    && isGroovyScript(scriptTask.getScriptFormat(), scriptTask.getScript().getTextContent())) {
+                scripts.add(scriptTask.getScript().getTextContent());
+            }
+        }
+        for (final CamundaScript script : modelInstance.getModelElementsByType(CamundaScript.class)) {
+            if (script.getCamundaResource() == null
+                    && isGroovyScript(script.getCamundaScriptFormat(), script.getTextContent())) {
+                scripts.add(script.getTextContent());
+            }
+        }
+        GroovyScriptValidator.validateAll(scripts, scriptThreads);
+    }
+
     /**
      * Checks the input/output mapping for script content
      *
@@ -261,7 +294,7 @@ public class EmbeddedGroovyScriptChecker extends AbstractElementChecker {
     }
 
     /**
-     * Check if groovy code is valid
+     * Check if groovy code is valid. The script is only compiled, it is not executed.
      *
      * @param bpmnFile   Path to bpmn model
      * @param element    Element that is analyzed
@@ -269,15 +302,9 @@ public class EmbeddedGroovyScriptChecker extends AbstractElementChecker {
      * @return CheckerIssue or null
      */
     private CheckerIssue parseGroovyCode(final String bpmnFile, final BpmnElement element, final String scriptText) {
-        final GroovyShell shell = new GroovyShell();
-        try {
-            shell.evaluate(scriptText);
-        } catch (CompilationFailedException ex) {
-            return IssueWriter.createSingleIssue(rule, CriticalityEnum.ERROR, element, bpmnFile, ex.getMessage());
-        } catch (MissingPropertyException | MissingMethodException ex) {
-            return IssueWriter.createSingleIssue(rule, CriticalityEnum.ERROR, element, bpmnFile,
-                    String.format(Messages.getString("EmbeddedGroovyScriptChecker.1"),
-                            ex.getMessage())); //$NON-NLS-1$
+        final String message = GroovyScriptValidator.validate(scriptText);
+        if (message != null) {
+            return IssueWriter.createSingleIssue(rule, CriticalityEnum.ERROR, element, bpmnFile, message);
         }
         return null;
     }
@@ -332,9 +359,13 @@ public class EmbeddedGroovyScriptChecker extends AbstractElementChecker {
     private CheckerIssue checkInvalidScriptContent(final String bpmnFile, final BpmnElement element,
             final String scriptFormat, final String script) {
 
-        if (scriptFormat != null && scriptFormat.equalsIgnoreCase(ConfigConstants.GROOVY) && script != null) {
+        if (isGroovyScript(scriptFormat, script)) {
             return parseGroovyCode(bpmnFile, element, script);
         }
         return null;
     }
+
+    private static boolean isGroovyScript(final String scriptFormat, final String script) {
+        return scriptFormat != null && scriptFormat.equalsIgnoreCase(ConfigConstants.GROOVY) && script != null;
+    }
 }
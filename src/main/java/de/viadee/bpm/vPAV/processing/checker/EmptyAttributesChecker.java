@@ -57,7 +57,8 @@ import static de.viadee.bpm.vPAV.constants.BpmnConstants.NAMESPACE_URI;
 public class EmptyAttributesChecker extends AbstractElementChecker {
 
     public EmptyAttributesChecker(final Rule rule) {
-        super(rule);
+        super(rule, ServiceTask.class, BusinessRuleTask.class, SendTask.class, Event.class,
+                TimerEventDefinition.class);
     }
 
     @Override
@@ -46,7 +46,6 @@ import org.camunda.bpm.model.bpmn.instance.BaseElement;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ExtensionChecker extends AbstractElementChecker {
 
@@ -54,32 +53,35 @@ public class ExtensionChecker extends AbstractElementChecker {
 
     private boolean isMisconfigured = false;
 
+    private final ArrayList<Setting> optionalSettings = new ArrayList<>();
+
+    private final ArrayList<Setting> mandatorySettings = new ArrayList<>();
+
+    private final List<String> whiteList;
+
     public ExtensionChecker(Rule rule) {
         super(rule);
+        whiteList = rule.getWhiteList();
+        // Split the settings once instead of for every element
+        if (rule.getSettings() != null) {
+            for (Setting setting : rule.getSettings().values()) {
+                if (setting.getRequired()) {
+                    mandatorySettings.add(setting);
+                } else {
+                    optionalSettings.add(setting);
+                }
+            }
+        }
     }
 
     @Override
     public Collection<CheckerIssue> check(BpmnElement element) {
         final Collection<CheckerIssue> issues = new ArrayList<>();
         final BaseElement bpmnElement = element.getBaseElement();
-        final Map<String, Setting> settings = rule.getSettings();
-        final List<String> whiteList = rule.getWhiteList();
-
-        final ArrayList<Setting> optionalSettings = new ArrayList<>();
-        final ArrayList<Setting> mandatorySettings = new ArrayList<>();
 
         // Retrieve extension key pair from bpmn model
         final Map<String, String> keyPairs = new HashMap<>(BpmnScanner.getProperties(bpmnElement));
 
-        // Create ArrayList for easier manipulation
-        for (Map.Entry<String, Setting> settingsEntry : settings.entrySet()) {
-            if (settingsEntry.getValue().getRequired()) {
-                mandatorySettings.add(settingsEntry.getValue());
-            } else {
-                optionalSettings.add(settingsEntry.getValue());
-            }
-        }
-
         if (whiteList.contains(bpmnElement.getElementType().getInstanceType().getSimpleName())) {
             // Check for all mandatory extension pairs according to ruleset
             issues.addAll(checkManExtension(mandatorySettings, keyPairs, bpmnElement, element));
@@ -232,9 +234,7 @@ public class ExtensionChecker extends AbstractElementChecker {
             final boolean check) {
         if (keyPairs.get(setting.getName()) != null && !keyPairs.get(setting.getName()).isEmpty()) {
 
-            final String patternString = setting.getValue();
-            final Pattern pattern = Pattern.compile(patternString);
-            Matcher matcher = pattern.matcher(keyPairs.get(setting.getName()));
+            Matcher matcher = setting.getValuePattern().matcher(keyPairs.get(setting.getName()));
 
             // if predefined value of a key-value pair does not fit a given regex (e.g.
             // digits for
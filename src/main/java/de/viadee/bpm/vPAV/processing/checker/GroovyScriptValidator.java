@@ -0,0 +1,137 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.checker;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Validates groovy scripts without executing them. A script is only compiled up to the semantic analysis, so no
+ * classes are generated or loaded. The results are cached by the hash of the script content, so scripts that occur
+ * several times are only compiled once per JVM.
+ */
+public final class GroovyScriptValidator {
+
+    // Scripts are named like in a GroovyShell, so the messages do not depend on the number of validated scripts
+    private static final String SCRIPT_NAME = "Script1.groovy";
+
+    private static final int MAX_CACHED_RESULTS = 10000;
+
+    private static final CompilerConfiguration COMPILER_CONFIGURATION = new CompilerConfiguration();
+
+    private static final Map<String, Optional<String>> RESULTS = new ConcurrentHashMap<>();
+
+    private GroovyScriptValidator() {
+    }
+
+    /**
+     * Validates a groovy script
+     *
+     * @param script Content of script
+     * @return Message of the compiler or null, if the script is valid
+     */
+    public static String validate(final String script) {
+        final String hash = DigestUtils.md5DigestAsHex(script.getBytes(StandardCharsets.UTF_8));
+        Optional<String> result = RESULTS.get(hash);
+        if (result == null) {
+            result = Optional.ofNullable(compile(script));
+            if (RESULTS.size() >= MAX_CACHED_RESULTS) {
+                RESULTS.clear();
+            }
+            RESULTS.putIfAbsent(hash, result);
+        }
+        return result.orElse(null);
+    }
+
+    /**
+     * Validates several scripts in parallel, so that the results of later calls of {@link #validate(String)} are
+     * already cached
+     *
+     * @param scripts Contents of scripts
+     * @param threads Number of threads
+     */
+    public static void validateAll(final Collection<String> scripts, final int threads) {
+        final List<String> distinctScripts = new ArrayList<>(new LinkedHashSet<>(scripts));
+        if (threads <= 1 || distinctScripts.size() <= 1) {
+            distinctScripts.forEach(GroovyScriptValidator::validate);
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, distinctScripts.size()));
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (final String script : distinctScripts) {
+                futures.add(executor.submit(() -> validate(script)));
+            }
+            for (final Future<String> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Validation of groovy scripts was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Groovy script could not be validated", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String compile(final String script) {
+        final CompilationUnit compilationUnit = new CompilationUnit(COMPILER_CONFIGURATION);
+        compilationUnit.addSource(SCRIPT_NAME, script);
+        try {
+            compilationUnit.compile(Phases.SEMANTIC_ANALYSIS);
+        } catch (CompilationFailedException ex) {
+            return ex.getMessage();
+        }
+        return null;
+    }
+}
@@ -42,6 +42,8 @@ import de.viadee.bpm.vPAV.config.model.Rule;
 import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
 import de.viadee.bpm.vPAV.processing.CheckName;
+import de.viadee.bpm.vPAV.processing.ClassDependencies;
+import de.viadee.bpm.vPAV.processing.JavaReaderStatic;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
@@ -370,18 +372,22 @@ public class JavaDelegateChecker extends AbstractElementChecker {
 
         // If a class path has been found, check the correctness
         try {
-            // Checks, whether the correct interface was implemented
-            SootClass sClass = Scene.v()
-                    .forceResolve(fixClassPathForSoot(className), SootClass.SIGNATURES);
+            synchronized (JavaReaderStatic.SOOT_LOCK) {
+                // Checks, whether the correct interface was implemented
+                final String sootClassName = fixClassPathForSoot(className);
+                // The issues also depend on classes that don't exist yet
+                ClassDependencies.recordClass(sootClassName);
+                SootClass sClass = Scene.v().forceResolve(sootClassName, SootClass.SIGNATURES);
+
+                if (sClass.isPhantom()) {
+                    throw new ClassNotFoundException("Soot class is phantom and does probably not exist.");
+                }
 
-            if (sClass.isPhantom()) {
-                throw new ClassNotFoundException("Soot class is phantom and does probably not exist.");
+                // Checks, whether the correct interface was implemented
+                checkImplementsInterface(sClass, listener, taskListener, issues, classPath, element,
+                        location.getKey(), sClass);
             }
 
-            // Checks, whether the correct interface was implemented
-            checkImplementsInterface(sClass, listener, taskListener, issues, classPath, element, location.getKey(),
-                    sClass);
-
         } catch (SootClassNotFoundException | AssertionError | ClassNotFoundException e) {
             // Throws an error, if the class was not found
             if (!className.isEmpty()) {
@@ -401,6 +407,7 @@ public class JavaDelegateChecker extends AbstractElementChecker {
     private void checkImplementsInterface(SootClass sootClass, boolean listener, boolean taskListener,
             Collection<CheckerIssue> issues, String classPath,
             BpmnElement element, String locationKey, SootClass initialClass) {
+        ClassDependencies.recordClass(sootClass.getName());
         Set<String> interfaces = sootClass.getInterfaces().stream().map(SootClass::getShortName)
                 .collect(Collectors.toSet());
 
@@ -455,6 +462,7 @@ public class JavaDelegateChecker extends AbstractElementChecker {
      * @return True/false
      */
     private boolean checkTransitiveInterfaces(SootClass implInterface) {
+        ClassDependencies.recordClass(implInterface.getName());
         if (implInterface.getShortName().equals(BpmnConstants.INTERFACE_DEL)) {
             return true;
         } else {
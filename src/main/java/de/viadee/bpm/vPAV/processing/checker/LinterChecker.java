@@ -51,7 +51,7 @@ import java.util.Map;
 public class LinterChecker extends AbstractElementChecker {
 
     public LinterChecker(Rule rule) {
-        super(rule);
+        super(rule, ExclusiveGateway.class);
     }
 
     @Override
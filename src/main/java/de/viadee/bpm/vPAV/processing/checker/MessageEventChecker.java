@@ -48,7 +48,7 @@ import java.util.Collection;
 public class MessageEventChecker extends AbstractElementChecker {
 
     public MessageEventChecker(final Rule rule) {
-        super(rule);
+        super(rule, Event.class, ReceiveTask.class);
     }
 
     /**
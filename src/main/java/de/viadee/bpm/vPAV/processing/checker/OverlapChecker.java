@@ -46,7 +46,7 @@ import java.util.*;
 public class OverlapChecker extends AbstractElementChecker {
 
     public OverlapChecker(final Rule rule) {
-        super(rule);
+        super(rule, SequenceFlow.class);
     }
 
     private final Map<String, List<String>> sequenceFlowList = new HashMap<>();
@@ -57,7 +57,6 @@ public class OverlapChecker extends AbstractElementChecker {
      *
      * @return issues
      */
-
     @Override
     public Collection<CheckerIssue> check(BpmnElement element) {
         final Collection<CheckerIssue> issues = new ArrayList<>();
@@ -81,7 +81,7 @@ public class ProcessVariablesNameConventionChecker extends AbstractElementChecke
         final Collection<ElementConvention> elementConventions = rule.getElementConventions();
         if (elementConventions != null) {
             for (final ElementConvention convention : elementConventions) {
-                final Pattern pattern = Pattern.compile(convention.getPattern());
+                final Pattern pattern = convention.getCompiledPattern();
                 final ElementFieldTypes fieldTypes = convention.getElementFieldTypes();
                 final Collection<String> fieldTypeItems = fieldTypes.getElementFieldTypes();
                 for (final ProcessVariableOperation variable : element.getProcessVariables().values()) {
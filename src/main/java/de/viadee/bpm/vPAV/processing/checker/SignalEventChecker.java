@@ -51,7 +51,7 @@ public class SignalEventChecker extends AbstractElementChecker {
     private final Map<String, BaseElement> signalNames = new HashMap<>();
 
     public SignalEventChecker(Rule rule) {
-        super(rule);
+        super(rule, Event.class);
     }
 
     @Override
@@ -51,7 +51,7 @@ import java.util.regex.Pattern;
 public class TaskNamingConventionChecker extends AbstractElementChecker {
 
 	public TaskNamingConventionChecker(final Rule rule) {
-		super(rule);
+		super(rule, Task.class);
 	}
 
 	/**
@@ -69,10 +69,9 @@ public class TaskNamingConventionChecker extends AbstractElementChecker {
 			if (elementConventions == null || elementConventions.size() != 1) {
 				throw new ProcessingException("task naming convention checker must have one element convention!"); //$NON-NLS-1$
 			}
-			final String patternString = elementConventions.iterator().next().getPattern();
+			final Pattern pattern = elementConventions.iterator().next().getCompiledPattern();
 			final String taskName = baseElement.getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME);
 			if (taskName != null && taskName.trim().length() > 0) {
-				final Pattern pattern = Pattern.compile(patternString);
 				Matcher matcher = pattern.matcher(taskName);
 				if (!matcher.matches()) {
 					issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.WARNING, element,
@@ -33,7 +33,6 @@ package de.viadee.bpm.vPAV.processing.checker;
 
 import com.cronutils.model.Cron;
 import com.cronutils.model.CronType;
-import com.cronutils.model.definition.CronDefinition;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.parser.CronParser;
 import de.viadee.bpm.vPAV.BpmnScanner;
@@ -49,6 +48,7 @@ import org.camunda.bpm.engine.impl.calendar.DurationHelper;
 import org.camunda.bpm.model.bpmn.instance.*;
 
 import javax.xml.bind.DatatypeConverter;
+import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -57,8 +57,15 @@ import java.util.List;
 
 public class TimerExpressionChecker extends AbstractElementChecker {
 
+    // The parser only holds the immutable QUARTZ definition and can be shared by all checker instances
+    private static final CronParser CRON_PARSER = new CronParser(
+            CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
+
+    // DatatypeFactory is not guaranteed to be thread-safe, so each checker instance keeps its own
+    private DatatypeFactory datatypeFactory;
+
     public TimerExpressionChecker(final Rule rule) {
-        super(rule);
+        super(rule, IntermediateCatchEvent.class, StartEvent.class, BoundaryEvent.class);
     }
 
     /**
@@ -92,7 +99,7 @@ public class TimerExpressionChecker extends AbstractElementChecker {
                 }
                 if (timer.getTimeDuration() != null) {
                     try {
-                        DatatypeFactory.newInstance().newDuration(timer.getTimeDuration().getTextContent());
+                        getDatatypeFactory().newDuration(timer.getTimeDuration().getTextContent());
                     } catch (Exception e) {
                         issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.ERROR, element, timer.getId(),
                                 Messages.getString("TimerExpressionChecker.2")));
@@ -127,9 +134,7 @@ public class TimerExpressionChecker extends AbstractElementChecker {
 
                     if (isCron) {
                         try {
-                            CronDefinition cronDef = CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ);
-                            CronParser cronParser = new CronParser(cronDef);
-                            Cron cronJob = cronParser.parse(timerCycleDefinition);
+                            Cron cronJob = CRON_PARSER.parse(timerCycleDefinition);
                             cronJob.validate();
                         } catch (IllegalArgumentException e) {
                             issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.ERROR, element, timer.getId(),
@@ -166,7 +171,7 @@ public class TimerExpressionChecker extends AbstractElementChecker {
 
                     if (isDur && !isCron && !hasRepeatingIntervals) {
                         try {
-                            DatatypeFactory.newInstance().newDuration(timerCycleDefinition);
+                            getDatatypeFactory().newDuration(timerCycleDefinition);
                         } catch (Exception ex) {
                             issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.ERROR, element, timer.getId(),
                                     Messages.getString("TimerExpressionChecker.13")));
@@ -182,4 +187,11 @@ public class TimerExpressionChecker extends AbstractElementChecker {
 
         return issues;
     }
+
+    private DatatypeFactory getDatatypeFactory() throws DatatypeConfigurationException {
+        if (datatypeFactory == null) {
+            datatypeFactory = DatatypeFactory.newInstance();
+        }
+        return datatypeFactory;
+    }
 }
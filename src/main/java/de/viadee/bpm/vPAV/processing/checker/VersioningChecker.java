@@ -31,10 +31,6 @@
  */
 package de.viadee.bpm.vPAV.processing.checker;
 
-import de.odysseus.el.tree.IdentifierNode;
-import de.odysseus.el.tree.Tree;
-import de.odysseus.el.tree.TreeBuilder;
-import de.odysseus.el.tree.impl.Builder;
 import de.viadee.bpm.vPAV.FileScanner;
 import de.viadee.bpm.vPAV.Messages;
 import de.viadee.bpm.vPAV.RuntimeConfig;
@@ -43,16 +39,19 @@ import de.viadee.bpm.vPAV.constants.BpmnConstants;
 import de.viadee.bpm.vPAV.constants.ConfigConstants;
 import de.viadee.bpm.vPAV.output.IssueWriter;
 import de.viadee.bpm.vPAV.exceptions.ProcessingException;
+import de.viadee.bpm.vPAV.processing.JuelExpressionCache;
 import de.viadee.bpm.vPAV.processing.code.flow.BpmnElement;
 import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
 import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
+import org.camunda.bpm.engine.impl.juel.IdentifierNode;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TreeBuilderException;
 import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.*;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaExecutionListener;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaScript;
 import org.camunda.bpm.model.bpmn.instance.camunda.CamundaTaskListener;
 
-import javax.el.ELException;
 import java.util.*;
 
 /**
@@ -313,8 +312,7 @@ public class VersioningChecker extends AbstractElementChecker {
 
         try {
             final String filteredExpression = expression.replaceAll("[\\w]+\\.", ""); //$NON-NLS-1$ //$NON-NLS-2$
-            final TreeBuilder treeBuilder = new Builder();
-            final Tree tree = treeBuilder.build(filteredExpression);
+            final Tree tree = JuelExpressionCache.getTree(filteredExpression);
 
             final Iterable<IdentifierNode> identifierNodes = tree.getIdentifierNodes();
             final Set<String> paths = new HashSet<>();
@@ -329,7 +327,7 @@ public class VersioningChecker extends AbstractElementChecker {
             if (!paths.isEmpty()) {
                 return getClassReference(paths.iterator().next());
             }
-        } catch (final ELException e) {
+        } catch (final TreeBuilderException e) {
             throw new ProcessingException(
                     "el expression " + expression + " in " + element.getProcessDefinition() + ", element ID: "
                             //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -56,7 +56,7 @@ import java.util.regex.Pattern;
 public class XorConventionChecker extends AbstractElementChecker {
 
     public XorConventionChecker(final Rule rule) {
-        super(rule);
+        super(rule, ExclusiveGateway.class);
     }
 
     /**
@@ -89,10 +89,9 @@ public class XorConventionChecker extends AbstractElementChecker {
                         "xor naming convention checker must have one element convention!"); //$NON-NLS-1$
             }
 
-            final String patternString = elementConventions.get(0).getPattern().trim();
+            final Pattern pattern = elementConventions.get(0).getTrimmedPattern();
             final String taskName = bpmnElement.getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME);
             if (taskName != null && taskName.trim().length() > 0) {
-                final Pattern pattern = Pattern.compile(patternString);
                 final String taskNameClean = taskName.replaceAll("\n", "")
                         .replaceAll("\r", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
                 Matcher matcher = pattern.matcher(taskNameClean);
@@ -110,15 +109,14 @@ public class XorConventionChecker extends AbstractElementChecker {
             }
 
             final Collection<SequenceFlow> edges = ((ExclusiveGateway) bpmnElement).getOutgoing();
-            final String patternStringEdge = elementConventions.get(1).getPattern().trim();
+            final Pattern patternEdge = elementConventions.get(1).getTrimmedPattern();
 
             for (SequenceFlow flow : edges) {
                 final String edgeName = flow.getName();
                 if (edgeName != null && edgeName.trim().length() > 0) {
-                    final Pattern pattern = Pattern.compile(patternStringEdge);
                     final String edgeNameClean = edgeName.replaceAll("\n", "")
                             .replaceAll("\r", ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
-                    Matcher matcher = pattern.matcher(edgeNameClean);
+                    Matcher matcher = patternEdge.matcher(edgeNameClean);
                     if (!matcher.matches()) {
                         issues.addAll(IssueWriter.createIssue(rule, CriticalityEnum.WARNING, element,
                                 String.format(Messages.getString("XorConventionChecker.13"), //$NON-NLS-1$
@@ -35,6 +35,7 @@ import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
 import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
 
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -89,6 +90,42 @@ public interface AnalysisElement {
 
     void addDefined(LinkedHashMap<String, ProcessVariableOperation> defined);
 
+    /**
+     * The sets of operations are stored as bit sets over this index. The map getters create views for reporting.
+     *
+     * @return Index of the operations in the sets of this element
+     */
+    OperationIndex getOperationIndex();
+
+    /**
+     * Encodes the sets of this element in another index, e.g. when it is analyzed by another flow analysis
+     *
+     * @param operationIndex Index of the flow analysis
+     */
+    void setOperationIndex(OperationIndex operationIndex);
+
+    BitSet getDefinedBits();
+
+    BitSet getUsedBits();
+
+    BitSet getKilledBits();
+
+    BitSet getInUsedBits();
+
+    BitSet getInUnusedBits();
+
+    BitSet getOutUsedBits();
+
+    BitSet getOutUnusedBits();
+
+    void setInUsedBits(BitSet inUsed);
+
+    void setInUnusedBits(BitSet inUnused);
+
+    void setOutUsedBits(BitSet outUsed);
+
+    void setOutUnusedBits(BitSet outUnused);
+
     void addSourceCodeAnomaly(AnomalyContainer anomalyContainer);
 
     void clearPredecessors();
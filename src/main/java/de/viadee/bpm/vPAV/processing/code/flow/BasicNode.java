@@ -38,6 +38,7 @@ import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
 import org.camunda.bpm.model.bpmn.instance.BaseElement;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,19 +47,22 @@ public class BasicNode implements AnalysisElement{
 
     protected LinkedHashMap<String, ProcessVariableOperation> operations;
 
-    protected LinkedHashMap<String, ProcessVariableOperation> defined;
+    // Sets of operations over the index of the flow analysis
+    protected BitSet defined;
 
-    protected LinkedHashMap<String, ProcessVariableOperation> used;
+    protected BitSet used;
 
-    LinkedHashMap<String, ProcessVariableOperation> killed;
+    BitSet killed;
 
-    LinkedHashMap<String, ProcessVariableOperation> inUsed;
+    BitSet inUsed;
 
-    LinkedHashMap<String, ProcessVariableOperation> inUnused;
+    BitSet inUnused;
 
-    LinkedHashMap<String, ProcessVariableOperation> outUsed;
+    BitSet outUsed;
 
-    LinkedHashMap<String, ProcessVariableOperation> outUnused;
+    BitSet outUnused;
+
+    private OperationIndex operationIndex;
 
     protected BpmnElement parentElement;
 
@@ -81,13 +85,14 @@ public class BasicNode implements AnalysisElement{
         this.successors = new LinkedHashMap<>();
 
         this.operations = new LinkedHashMap<>();
-        this.defined = new LinkedHashMap<>();
-        this.used = new LinkedHashMap<>();
-        this.killed = new LinkedHashMap<>();
-        this.inUsed = new LinkedHashMap<>();
-        this.inUnused = new LinkedHashMap<>();
-        this.outUsed = new LinkedHashMap<>();
-        this.outUnused = new LinkedHashMap<>();
+        this.defined = new BitSet();
+        this.used = new BitSet();
+        this.killed = new BitSet();
+        this.inUsed = new BitSet();
+        this.inUnused = new BitSet();
+        this.outUsed = new BitSet();
+        this.outUnused = new BitSet();
+        this.operationIndex = parentElement.getOperationIndex();
         this.fieldType = fieldType;
     }
 
@@ -105,13 +110,13 @@ public class BasicNode implements AnalysisElement{
         this.operations.put(variableOperationId, processVariableOperation);
         switch (processVariableOperation.getOperation()) {
             case WRITE:
-                defined.put(variableOperationId, processVariableOperation);
+                operationIndex.put(defined, processVariableOperation);
                 break;
             case READ:
-                used.put(variableOperationId, processVariableOperation);
+                operationIndex.put(used, processVariableOperation);
                 break;
             case DELETE:
-                killed.put(variableOperationId, processVariableOperation);
+                operationIndex.put(killed, processVariableOperation);
                 break;
         }
     }
@@ -138,7 +143,7 @@ public class BasicNode implements AnalysisElement{
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getDefined() {
-        return defined;
+        return operationIndex.toMap(defined);
     }
 
     public void addSourceCodeAnomaly(AnomalyContainer anomalyContainer) {
@@ -177,66 +182,138 @@ public class BasicNode implements AnalysisElement{
 
     @Override
     public void setDefined(LinkedHashMap<String, ProcessVariableOperation> defined) {
-        this.defined = defined;
+        this.defined = operationIndex.toBitSet(defined);
     }
 
     @Override
     public void addDefined(LinkedHashMap<String, ProcessVariableOperation> defined) {
-        this.defined.putAll(defined);
+        defined.values().forEach(operation -> operationIndex.put(this.defined, operation));
     }
 
     @Override
     public LinkedHashMap<String, ProcessVariableOperation> getUsed() {
-        return used;
+        return operationIndex.toMap(used);
     }
 
     @Override
     public void setUsed(LinkedHashMap<String, ProcessVariableOperation> used) {
-        this.used = used;
+        this.used = operationIndex.toBitSet(used);
     }
 
     @Override
     public LinkedHashMap<String, ProcessVariableOperation> getKilled() {
-        return killed;
+        return operationIndex.toMap(killed);
     }
 
     @Override
     public LinkedHashMap<String, ProcessVariableOperation> getInUsed() {
-        return inUsed;
+        return operationIndex.toMap(inUsed);
     }
 
     @Override
     public void setInUsed(LinkedHashMap<String, ProcessVariableOperation> inUsed) {
-        this.inUsed = inUsed;
+        this.inUsed = operationIndex.toBitSet(inUsed);
     }
 
     @Override
     public LinkedHashMap<String, ProcessVariableOperation> getInUnused() {
-        return inUnused;
+        return operationIndex.toMap(inUnused);
     }
 
     @Override
     public void setInUnused(LinkedHashMap<String, ProcessVariableOperation> inUnused) {
-        this.inUnused = inUnused;
+        this.inUnused = operationIndex.toBitSet(inUnused);
     }
 
     @Override
     public LinkedHashMap<String, ProcessVariableOperation> getOutUsed() {
-        return outUsed;
+        return operationIndex.toMap(outUsed);
     }
 
     @Override
     public void setOutUsed(LinkedHashMap<String, ProcessVariableOperation> outUsed) {
-        this.outUsed = outUsed;
+        this.outUsed = operationIndex.toBitSet(outUsed);
     }
 
     @Override
     public LinkedHashMap<String, ProcessVariableOperation> getOutUnused() {
-        return outUnused;
+        return operationIndex.toMap(outUnused);
     }
 
     @Override
     public void setOutUnused(LinkedHashMap<String, ProcessVariableOperation> outUnused) {
+        this.outUnused = operationIndex.toBitSet(outUnused);
+    }
+
+    @Override
+    public OperationIndex getOperationIndex() {
+        return operationIndex;
+    }
+
+    @Override
+    public void setOperationIndex(OperationIndex operationIndex) {
+        this.defined = operationIndex.reindex(defined, this.operationIndex);
+        this.used = operationIndex.reindex(used, this.operationIndex);
+        this.killed = operationIndex.reindex(killed, this.operationIndex);
+        this.inUsed = operationIndex.reindex(inUsed, this.operationIndex);
+        this.inUnused = operationIndex.reindex(inUnused, this.operationIndex);
+        this.outUsed = operationIndex.reindex(outUsed, this.operationIndex);
+        this.outUnused = operationIndex.reindex(outUnused, this.operationIndex);
+        this.operationIndex = operationIndex;
+    }
+
+    @Override
+    public BitSet getDefinedBits() {
+        return defined;
+    }
+
+    @Override
+    public BitSet getUsedBits() {
+        return used;
+    }
+
+    @Override
+    public BitSet getKilledBits() {
+        return killed;
+    }
+
+    @Override
+    public BitSet getInUsedBits() {
+        return inUsed;
+    }
+
+    @Override
+    public BitSet getInUnusedBits() {
+        return inUnused;
+    }
+
+    @Override
+    public BitSet getOutUsedBits() {
+        return outUsed;
+    }
+
+    @Override
+    public BitSet getOutUnusedBits() {
+        return outUnused;
+    }
+
+    @Override
+    public void setInUsedBits(BitSet inUsed) {
+        this.inUsed = inUsed;
+    }
+
+    @Override
+    public void setInUnusedBits(BitSet inUnused) {
+        this.inUnused = inUnused;
+    }
+
+    @Override
+    public void setOutUsedBits(BitSet outUsed) {
+        this.outUsed = outUsed;
+    }
+
+    @Override
+    public void setOutUnusedBits(BitSet outUnused) {
         this.outUnused = outUnused;
     }
 
@@ -292,4 +369,34 @@ public class BasicNode implements AnalysisElement{
     public KnownElementFieldType getFieldType() {
         return fieldType;
     }
+
+    /**
+     * Creates an empty node of the same type and chapter, which is filled by {@link #copyFrom}
+     *
+     * @param parentElement Parent element of the copy
+     * @return Empty node
+     */
+    BasicNode createCopy(final BpmnElement parentElement) {
+        return new BasicNode(parentElement, elementChapter, fieldType);
+    }
+
+    /**
+     * Copies id, operations, sets and relations of the original node
+     *
+     * @param original Original node
+     * @param copier   Copier that maps the referenced elements and operations to their copies
+     */
+    void copyFrom(final BasicNode original, final ElementCopier copier) {
+        this.id = original.id;
+        this.operations = copier.copyOperations(original.operations);
+        this.defined = operationIndex.toBitSet(copier.copyOperations(original.getDefined()));
+        this.used = operationIndex.toBitSet(copier.copyOperations(original.getUsed()));
+        this.killed = operationIndex.toBitSet(copier.copyOperations(original.getKilled()));
+        this.inUsed = operationIndex.toBitSet(copier.copyOperations(original.getInUsed()));
+        this.inUnused = operationIndex.toBitSet(copier.copyOperations(original.getInUnused()));
+        this.outUsed = operationIndex.toBitSet(copier.copyOperations(original.getOutUsed()));
+        this.outUnused = operationIndex.toBitSet(copier.copyOperations(original.getOutUnused()));
+        this.predecessors = copier.copyAnalysisElements(original.predecessors);
+        this.successors = copier.copyAnalysisElements(original.successors);
+    }
 }
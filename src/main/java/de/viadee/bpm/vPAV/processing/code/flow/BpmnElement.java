@@ -56,19 +56,22 @@ public class BpmnElement implements AnalysisElement {
 
     private LinkedHashMap<String, ProcessVariableOperation> operations;
 
-    private LinkedHashMap<String, ProcessVariableOperation> defined;
+    private OperationIndex operationIndex;
 
-    private LinkedHashMap<String, ProcessVariableOperation> used;
+    // Sets of operations over the operation index
+    private BitSet defined;
 
-    private final LinkedHashMap<String, ProcessVariableOperation> killed;
+    private BitSet used;
 
-    private LinkedHashMap<String, ProcessVariableOperation> inUsed;
+    private BitSet killed;
 
-    private LinkedHashMap<String, ProcessVariableOperation> inUnused;
+    private BitSet inUsed;
 
-    private LinkedHashMap<String, ProcessVariableOperation> outUsed;
+    private BitSet inUnused;
 
-    private LinkedHashMap<String, ProcessVariableOperation> outUnused;
+    private BitSet outUsed;
+
+    private BitSet outUnused;
 
     private LinkedHashMap<String, AnalysisElement> predecessors;
 
@@ -93,13 +96,14 @@ public class BpmnElement implements AnalysisElement {
         this.successors = new LinkedHashMap<>();
 
         this.processVariables = ArrayListMultimap.create();
-        this.defined = new LinkedHashMap<>();
-        this.used = new LinkedHashMap<>();
-        this.killed = new LinkedHashMap<>();
-        this.inUsed = new LinkedHashMap<>();
-        this.inUnused = new LinkedHashMap<>();
-        this.outUsed = new LinkedHashMap<>();
-        this.outUnused = new LinkedHashMap<>();
+        this.defined = new BitSet();
+        this.used = new BitSet();
+        this.killed = new BitSet();
+        this.inUsed = new BitSet();
+        this.inUnused = new BitSet();
+        this.outUsed = new BitSet();
+        this.outUnused = new BitSet();
+        this.operationIndex = flowAnalysis != null ? flowAnalysis.getOperationIndex() : new OperationIndex();
 
         this.sourceCodeAnomalies = new ArrayList<>();
         this.graphId = graphId;
@@ -124,13 +128,13 @@ public class BpmnElement implements AnalysisElement {
         this.operations.put(processVariableOperation.getId(), processVariableOperation);
         switch (processVariableOperation.getOperation()) {
             case WRITE:
-                defined.put(processVariableOperation.getId(), processVariableOperation);
+                operationIndex.put(defined, processVariableOperation);
                 break;
             case READ:
-                used.put(processVariableOperation.getId(), processVariableOperation);
+                operationIndex.put(used, processVariableOperation);
                 break;
             case DELETE:
-                killed.put(processVariableOperation.getId(), processVariableOperation);
+                operationIndex.put(killed, processVariableOperation);
                 break;
         }
     }
@@ -144,13 +148,13 @@ public class BpmnElement implements AnalysisElement {
         this.operations.remove(processVariableOperation.getId());
         switch (processVariableOperation.getOperation()) {
             case WRITE:
-                defined.remove(processVariableOperation.getId());
+                operationIndex.remove(defined, processVariableOperation.getId());
                 break;
             case READ:
-                used.remove(processVariableOperation.getId());
+                operationIndex.remove(used, processVariableOperation.getId());
                 break;
             case DELETE:
-                killed.remove(processVariableOperation.getId());
+                operationIndex.remove(killed, processVariableOperation.getId());
                 break;
         }
     }
@@ -201,6 +205,78 @@ public class BpmnElement implements AnalysisElement {
         return baseElement;
     }
 
+    @Override
+    public OperationIndex getOperationIndex() {
+        return operationIndex;
+    }
+
+    @Override
+    public void setOperationIndex(OperationIndex operationIndex) {
+        this.defined = operationIndex.reindex(defined, this.operationIndex);
+        this.used = operationIndex.reindex(used, this.operationIndex);
+        this.killed = operationIndex.reindex(killed, this.operationIndex);
+        this.inUsed = operationIndex.reindex(inUsed, this.operationIndex);
+        this.inUnused = operationIndex.reindex(inUnused, this.operationIndex);
+        this.outUsed = operationIndex.reindex(outUsed, this.operationIndex);
+        this.outUnused = operationIndex.reindex(outUnused, this.operationIndex);
+        this.operationIndex = operationIndex;
+    }
+
+    @Override
+    public BitSet getDefinedBits() {
+        return defined;
+    }
+
+    @Override
+    public BitSet getUsedBits() {
+        return used;
+    }
+
+    @Override
+    public BitSet getKilledBits() {
+        return killed;
+    }
+
+    @Override
+    public BitSet getInUsedBits() {
+        return inUsed;
+    }
+
+    @Override
+    public BitSet getInUnusedBits() {
+        return inUnused;
+    }
+
+    @Override
+    public BitSet getOutUsedBits() {
+        return outUsed;
+    }
+
+    @Override
+    public BitSet getOutUnusedBits() {
+        return outUnused;
+    }
+
+    @Override
+    public void setInUsedBits(BitSet inUsed) {
+        this.inUsed = inUsed;
+    }
+
+    @Override
+    public void setInUnusedBits(BitSet inUnused) {
+        this.inUnused = inUnused;
+    }
+
+    @Override
+    public void setOutUsedBits(BitSet outUsed) {
+        this.outUsed = outUsed;
+    }
+
+    @Override
+    public void setOutUnusedBits(BitSet outUnused) {
+        this.outUnused = outUnused;
+    }
+
     @Override
     public BpmnElement getParentElement() {
         return this;
@@ -224,47 +300,47 @@ public class BpmnElement implements AnalysisElement {
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getInUsed() {
-        return inUsed;
+        return operationIndex.toMap(inUsed);
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getInUnused() {
-        return inUnused;
+        return operationIndex.toMap(inUnused);
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getOutUsed() {
-        return outUsed;
+        return operationIndex.toMap(outUsed);
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getOutUnused() {
-        return outUnused;
+        return operationIndex.toMap(outUnused);
     }
 
     public void setInUsed(LinkedHashMap<String, ProcessVariableOperation> inUsedB) {
-        this.inUsed = inUsedB;
+        this.inUsed = operationIndex.toBitSet(inUsedB);
     }
 
     public void setInUnused(LinkedHashMap<String, ProcessVariableOperation> inUnusedB) {
-        this.inUnused = inUnusedB;
+        this.inUnused = operationIndex.toBitSet(inUnusedB);
     }
 
     public void setOutUsed(LinkedHashMap<String, ProcessVariableOperation> outUsed) {
-        this.outUsed = outUsed;
+        this.outUsed = operationIndex.toBitSet(outUsed);
     }
 
     public void setOutUnused(LinkedHashMap<String, ProcessVariableOperation> outUnused) {
-        this.outUnused = outUnused;
+        this.outUnused = operationIndex.toBitSet(outUnused);
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getUsed() {
-        return used;
+        return operationIndex.toMap(used);
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getKilled() {
-        return killed;
+        return operationIndex.toMap(killed);
     }
 
     public LinkedHashMap<String, ProcessVariableOperation> getDefined() {
-        return defined;
+        return operationIndex.toMap(defined);
     }
 
     @Override
@@ -274,17 +350,17 @@ public class BpmnElement implements AnalysisElement {
 
     @Override
     public void setUsed(LinkedHashMap<String, ProcessVariableOperation> used) {
-        this.used = used;
+        this.used = operationIndex.toBitSet(used);
     }
 
     @Override
     public void setDefined(LinkedHashMap<String, ProcessVariableOperation> defined) {
-        this.defined = defined;
+        this.defined = operationIndex.toBitSet(defined);
     }
 
     @Override
     public void addDefined(LinkedHashMap<String, ProcessVariableOperation> defined) {
-        this.defined.putAll(defined);
+        defined.values().forEach(operation -> operationIndex.put(this.defined, operation));
     }
 
     @Override
@@ -347,6 +423,29 @@ public class BpmnElement implements AnalysisElement {
         this.successors.remove(successor);
     }
 
+    /**
+     * Copies control flow graph, operations, sets and relations of the original element
+     *
+     * @param original Original element
+     * @param copier   Copier that maps the referenced elements and operations to their copies
+     */
+    void copyFrom(final BpmnElement original, final ElementCopier copier) {
+        this.controlFlowGraph = copier.copyControlFlowGraph(original.controlFlowGraph);
+        this.operations = copier.copyOperations(original.operations);
+        this.defined = operationIndex.toBitSet(copier.copyOperations(original.getDefined()));
+        this.used = operationIndex.toBitSet(copier.copyOperations(original.getUsed()));
+        this.killed = operationIndex.toBitSet(copier.copyOperations(original.getKilled()));
+        this.inUsed = operationIndex.toBitSet(copier.copyOperations(original.getInUsed()));
+        this.inUnused = operationIndex.toBitSet(copier.copyOperations(original.getInUnused()));
+        this.outUsed = operationIndex.toBitSet(copier.copyOperations(original.getOutUsed()));
+        this.outUnused = operationIndex.toBitSet(copier.copyOperations(original.getOutUnused()));
+        this.predecessors = copier.copyAnalysisElements(original.predecessors);
+        this.successors = copier.copyAnalysisElements(original.successors);
+        original.processVariables.entries().forEach(
+                entry -> this.processVariables.put(entry.getKey(), copier.copyOperation(entry.getValue())));
+        this.sourceCodeAnomalies.addAll(original.sourceCodeAnomalies);
+    }
+
     @Override
     public int hashCode() {
         return graphId.hashCode();
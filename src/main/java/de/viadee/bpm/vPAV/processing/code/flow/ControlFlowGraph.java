@@ -127,4 +127,15 @@ public class ControlFlowGraph {
     public void removeNode(BasicNode node) {
         nodes.remove(node.getId());
     }
+
+    /**
+     * Copies the nodes of the original control flow graph
+     *
+     * @param original Original control flow graph
+     * @param copier   Copier that maps the nodes to their copies
+     */
+    void copyFrom(final ControlFlowGraph original, final ElementCopier copier) {
+        this.nodeCounter = original.nodeCounter;
+        original.nodes.forEach((key, node) -> this.nodes.put(key, copier.copyNode(node)));
+    }
 }
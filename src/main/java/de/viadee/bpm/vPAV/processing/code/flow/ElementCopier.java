@@ -0,0 +1,168 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.code.flow;
+
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates deep copies of BPMN elements including their control flow graphs and process variable operations, e.g. to
+ * reuse the data flow of a called process in another flow analysis. All references between the copied elements,
+ * nodes and operations are replaced by references to their copies.
+ * <p>
+ * Operation indices assigned by the original flow analysis are shifted by the given offset, so that they continue
+ * the operation counter of the target flow analysis. Indices of zero were never assigned and are kept.
+ */
+public class ElementCopier {
+
+    private final FlowAnalysis flowAnalysis;
+
+    private final int operationOffset;
+
+    private final Map<AnalysisElement, AnalysisElement> elements = new IdentityHashMap<>();
+
+    private final Map<ControlFlowGraph, ControlFlowGraph> controlFlowGraphs = new IdentityHashMap<>();
+
+    private final Map<ProcessVariableOperation, ProcessVariableOperation> operations = new IdentityHashMap<>();
+
+    // Copies are created empty and filled afterwards, as elements and nodes reference each other
+    private final Deque<Runnable> pendingCopies = new ArrayDeque<>();
+
+    /**
+     * @param flowAnalysis    Flow analysis the copied elements belong to
+     * @param operationOffset Offset added to assigned operation indices
+     */
+    public ElementCopier(final FlowAnalysis flowAnalysis, final int operationOffset) {
+        this.flowAnalysis = flowAnalysis;
+        this.operationOffset = operationOffset;
+    }
+
+    /**
+     * Returns the copy of an element. Copies are only created once, so that each element is copied exactly once.
+     *
+     * @param element Original element
+     * @return Copied element
+     */
+    public BpmnElement copy(final BpmnElement element) {
+        final BpmnElement copy = copyElement(element);
+        while (!pendingCopies.isEmpty()) {
+            pendingCopies.poll().run();
+        }
+        return copy;
+    }
+
+    AnalysisElement copyAnalysisElement(final AnalysisElement analysisElement) {
+        if (analysisElement instanceof BpmnElement) {
+            return copyElement((BpmnElement) analysisElement);
+        } else if (analysisElement instanceof BasicNode) {
+            return copyNode((BasicNode) analysisElement);
+        }
+        return analysisElement;
+    }
+
+    BpmnElement copyElement(final BpmnElement element) {
+        if (element == null) {
+            return null;
+        }
+        BpmnElement copy = (BpmnElement) elements.get(element);
+        if (copy == null) {
+            final BpmnElement newCopy = new BpmnElement(element.getProcessDefinition(), element.getBaseElement(),
+                    null, flowAnalysis, element.getGraphId());
+            elements.put(element, newCopy);
+            pendingCopies.add(() -> newCopy.copyFrom(element, this));
+            copy = newCopy;
+        }
+        return copy;
+    }
+
+    BasicNode copyNode(final BasicNode node) {
+        if (node == null) {
+            return null;
+        }
+        BasicNode copy = (BasicNode) elements.get(node);
+        if (copy == null) {
+            final BasicNode newCopy = node.createCopy(copyElement(node.getParentElement()));
+            elements.put(node, newCopy);
+            pendingCopies.add(() -> newCopy.copyFrom(node, this));
+            copy = newCopy;
+        }
+        return copy;
+    }
+
+    ControlFlowGraph copyControlFlowGraph(final ControlFlowGraph controlFlowGraph) {
+        if (controlFlowGraph == null) {
+            return null;
+        }
+        ControlFlowGraph copy = controlFlowGraphs.get(controlFlowGraph);
+        if (copy == null) {
+            copy = new ControlFlowGraph();
+            controlFlowGraphs.put(controlFlowGraph, copy);
+            copy.copyFrom(controlFlowGraph, this);
+        }
+        return copy;
+    }
+
+    ProcessVariableOperation copyOperation(final ProcessVariableOperation operation) {
+        ProcessVariableOperation copy = operations.get(operation);
+        if (copy == null) {
+            copy = new ProcessVariableOperation(operation, operation.getScopeId());
+            copy.setNode(copyNode(operation.getNode()));
+            if (operation.getIndex() > 0) {
+                copy.setIndex(operation.getIndex() + operationOffset);
+            }
+            if (operation.getFlowOperationIndex() > 0) {
+                copy.setFlowOperationIndex(operation.getFlowOperationIndex() + operationOffset);
+            }
+            operations.put(operation, copy);
+        }
+        return copy;
+    }
+
+    LinkedHashMap<String, ProcessVariableOperation> copyOperations(
+            final LinkedHashMap<String, ProcessVariableOperation> original) {
+        final LinkedHashMap<String, ProcessVariableOperation> copy = new LinkedHashMap<>();
+        original.forEach((key, operation) -> copy.put(key, copyOperation(operation)));
+        return copy;
+    }
+
+    LinkedHashMap<String, AnalysisElement> copyAnalysisElements(
+            final LinkedHashMap<String, AnalysisElement> original) {
+        final LinkedHashMap<String, AnalysisElement> copy = new LinkedHashMap<>();
+        original.forEach((key, analysisElement) -> copy.put(key, copyAnalysisElement(analysisElement)));
+        return copy;
+    }
+}
@@ -47,4 +47,9 @@ public class ExpressionNode extends BasicNode {
 	public String getExpression() {
 		return this.expression;
 	}
+
+	@Override
+	BasicNode createCopy(final BpmnElement parentElement) {
+		return new ExpressionNode(parentElement, expression, elementChapter, getFieldType());
+	}
 }
@@ -64,6 +64,9 @@ public class FlowAnalysis {
 
     private final HashSet<String> callActivitiesOutMapping = new HashSet<>();
 
+    // Dense index of the operations in the data flow sets of the analyzed elements
+    private final OperationIndex operationIndex = new OperationIndex();
+
     /**
      * Given a collection of graphs, this method is the sole entrance to the
      * analysis of the graphs. First process model and control flow graph of
@@ -91,7 +94,9 @@ public class FlowAnalysis {
      */
     private void embedControlFlowGraph(final Graph graph) {
         // Add all elements on bpmn level
-        graph.getVertexInfo().keySet().forEach(element -> {
+        graph.getVertices().forEach(element -> {
+            element.setOperationIndex(operationIndex);
+            element.getControlFlowGraph().getNodes().values().forEach(node -> node.setOperationIndex(operationIndex));
             element.clearPredecessors();
             graph.getAdjacencyListPredecessor(element)
                     .forEach(element::addPredecessor);
@@ -289,7 +294,7 @@ public class FlowAnalysis {
                                     if (operation.getOperation().equals(READ)) {
                                         endEvent.getOperations().put(operation.getId(), operation);
                                     } else {
-                                        endEvent.getDefined().put(operation.getId(), operation);
+                                        operationIndex.put(endEvent.getDefinedBits(), operation);
                                     }
 
                                 } else if (operation.getFieldType().equals(KnownElementFieldType.OutputParameter)) {
@@ -341,7 +346,7 @@ public class FlowAnalysis {
                             if (operation.getOperation().equals(VariableOperation.READ)) {
                                 succ.getOperations().put(operation.getId(), operation);
                             } else {
-                                succ.getDefined().put(operation.getId(), operation);
+                                operationIndex.put(succ.getDefinedBits(), operation);
                             }
                             operationList.add(operation);
                         } else if (operation.getFieldType().equals(KnownElementFieldType.InputParameter)) {
@@ -387,107 +392,143 @@ public class FlowAnalysis {
 
     /**
      * Uses the approach from ALSU07 (Reaching Definitions) to compute data flow
-     * anomalies across the embedded CFG
+     * anomalies across the embedded CFG. Elements are visited in the order of the
+     * embedded CFG, but only re-evaluated if the out-sets of their predecessors changed
      */
     private void computeReachingDefinitions() {
+        final Map<AnalysisElement, List<AnalysisElement>> dependents = getDependentElements();
+        // Elements whose inputs changed since their last evaluation, all other elements would yield the same sets
+        final Set<AnalysisElement> worklist = Collections.newSetFromMap(new IdentityHashMap<>());
+        worklist.addAll(nodes.values());
+
         boolean change = true;
-        while (change) {
+        while (change && !worklist.isEmpty()) {
             change = false;
             for (AnalysisElement analysisElement : nodes.values()) {
+                if (!worklist.remove(analysisElement)) {
+                    continue;
+                }
+
                 // Calculate in-sets (intersection of predecessors)
-                final LinkedHashMap<String, ProcessVariableOperation> inUsed = new LinkedHashMap<>();
-                final LinkedHashMap<String, ProcessVariableOperation> inUnused = new LinkedHashMap<>();
-                final Set<ProcessVariableOperation> inUsedT = new HashSet<>(inUsed.values());
-                final Set<ProcessVariableOperation> inUnusedT = new HashSet<>(inUnused.values());
+                final BitSet inUsed;
+                final BitSet inUnused;
                 final List<AnalysisElement> predecessors = analysisElement.getPredecessors();
 
                 // If more than one predecessor, take intersection of operations (conservatism)
                 if (predecessors.size() > 1) {
-                    for (int i = 0; i < predecessors.size(); i++) {
-                        if (i == 0) {
-                            inUsedT.addAll(predecessors.get(i).getOutUsed().values());
-                            inUnusedT.addAll(predecessors.get(i).getOutUnused().values());
-                        } else {
-                            inUsedT.retainAll(predecessors.get(i).getOutUsed().values());
-                            inUnusedT.retainAll(predecessors.get(i).getOutUnused().values());
-                        }
+                    inUsed = (BitSet) predecessors.get(0).getOutUsedBits().clone();
+                    inUnused = (BitSet) predecessors.get(0).getOutUnusedBits().clone();
+                    for (int i = 1; i < predecessors.size(); i++) {
+                        retainVariables(inUsed, predecessors.get(i).getOutUsedBits());
+                        retainVariables(inUnused, predecessors.get(i).getOutUnusedBits());
                     }
-                    inUsedT.forEach(pvo -> inUsed.put(pvo.getId(), pvo));
-                    inUnusedT.forEach(pvo -> inUnused.put(pvo.getId(), pvo));
                     // Else take union to propagate operations
                 } else {
+                    inUsed = new BitSet();
+                    inUnused = new BitSet();
                     for (AnalysisElement pred : predecessors) {
-                        Map<String, ProcessVariableOperation>[] inSets = filterInputVariables(pred,
-                                analysisElement);
-                        inUsed.putAll(inSets[0]);
-                        inUnused.putAll(inSets[1]);
+                        final BitSet[] inSets = filterInputVariables(pred, analysisElement);
+                        operationIndex.putAll(inUsed, inSets[0]);
+                        operationIndex.putAll(inUnused, inSets[1]);
                     }
                 }
 
-                analysisElement.setInUsed(inUsed);
-                analysisElement.setInUnused(inUnused);
+                analysisElement.setInUsedBits(inUsed);
+                analysisElement.setInUnusedBits(inUnused);
 
                 // Get old values before calculating new values and later check for changes
-                final LinkedHashMap<String, ProcessVariableOperation> oldOutUnused = analysisElement.getOutUnused();
-                final LinkedHashMap<String, ProcessVariableOperation> oldOutUsed = analysisElement.getOutUsed();
+                final BitSet oldOutUnused = analysisElement.getOutUnusedBits();
+                final BitSet oldOutUsed = analysisElement.getOutUsedBits();
 
                 // Calculate out-sets for used definitions (transfer functions)
-                final LinkedHashMap<String, ProcessVariableOperation> inUsedTemp = new LinkedHashMap<>(
-                        analysisElement.getInUsed());
-                final LinkedHashMap<String, ProcessVariableOperation> internalUnion = new LinkedHashMap<>(
-                        analysisElement.getInUnused());
-                final LinkedHashMap<String, ProcessVariableOperation> tempUsed = new LinkedHashMap<>(
-                        analysisElement.getUsed());
-
-                Optional<Map.Entry<String, ProcessVariableOperation>> oldOperation;
+                final BitSet inUsedTemp = (BitSet) inUsed.clone();
+                final BitSet internalUnion = (BitSet) inUnused.clone();
+                final BitSet tempUsed = (BitSet) analysisElement.getUsedBits().clone();
+
                 // Variables are overwritten if new operation
-                for (Map.Entry<String, ProcessVariableOperation> operation : analysisElement.getDefined().entrySet()) {
-                    oldOperation = internalUnion.entrySet().stream()
-                            .filter(entry -> entry.getValue().getName().equals(operation.getValue().getName()))
-                            .findFirst();
+                final BitSet defined = analysisElement.getDefinedBits();
+                for (int operation = defined.nextSetBit(0); operation >= 0;
+                        operation = defined.nextSetBit(operation + 1)) {
+                    final int variable = operationIndex.getVariable(operation);
                     // Remove old operation from input set
-                    oldOperation.ifPresent(stringProcessVariableOperationEntry -> internalUnion
-                            .remove(stringProcessVariableOperationEntry.getKey()));
-                    internalUnion.put(operation.getKey(), operation.getValue());
+                    final int oldOperation = operationIndex.findVariable(internalUnion, variable);
+                    if (oldOperation >= 0) {
+                        internalUnion.clear(oldOperation);
+                    }
+                    operationIndex.put(internalUnion, operation);
 
                     // Add operation to used set if variable is defined again although it was used
                     // before
-                    oldOperation = inUsed.entrySet().stream()
-                            .filter(entry -> entry.getValue().getName().equals(operation.getValue().getName()))
-                            .findFirst();
-                    oldOperation.ifPresent(o -> tempUsed.put(o.getKey(), o.getValue()));
+                    final int usedOperation = operationIndex.findVariable(inUsed, variable);
+                    if (usedOperation >= 0) {
+                        operationIndex.put(tempUsed, usedOperation);
+                    }
                 }
 
-                final LinkedHashMap<String, ProcessVariableOperation> internalIntersection = new LinkedHashMap<>(
-                        getIntersection(internalUnion, analysisElement.getUsed()));
-                inUsedTemp.putAll(internalIntersection);
-                final LinkedHashMap<String, ProcessVariableOperation> outUsed = new LinkedHashMap<>(
-                        getSetDifference(inUsedTemp, analysisElement.getKilled()));
+                operationIndex.putAll(inUsedTemp, getIntersection(internalUnion, analysisElement.getUsedBits()));
+                final BitSet outUsed = getSetDifference(inUsedTemp, analysisElement.getKilledBits());
 
                 // Calculate out-sets for unused definitions (transfer functions)
-                final LinkedHashMap<String, ProcessVariableOperation> tempKillSet = new LinkedHashMap<>();
-                tempKillSet.putAll(analysisElement.getKilled());
-                tempKillSet.putAll(tempUsed);
+                final BitSet tempKillSet = (BitSet) analysisElement.getKilledBits().clone();
+                operationIndex.putAll(tempKillSet, tempUsed);
 
-                final LinkedHashMap<String, ProcessVariableOperation> outUnused = new LinkedHashMap<>(
-                        getSetDifference(internalUnion, tempKillSet));
+                final BitSet outUnused = getSetDifference(internalUnion, tempKillSet);
 
-                analysisElement.setOutUsed(outUsed);
-                analysisElement.setOutUnused(outUnused);
+                analysisElement.setOutUsedBits(outUsed);
+                analysisElement.setOutUnusedBits(outUnused);
 
-                if (!oldOutUnused.equals(outUnused) || !oldOutUsed.equals(outUsed)) {
+                if (!operationIndex.hasSameIds(oldOutUnused, outUnused)
+                        || !operationIndex.hasSameIds(oldOutUsed, outUsed)) {
                     change = true;
                 }
+                if (!oldOutUnused.equals(outUnused) || !oldOutUsed.equals(outUsed)) {
+                    worklist.addAll(dependents.getOrDefault(analysisElement, Collections.emptyList()));
+                }
             }
         }
     }
 
-    private Map<String, ProcessVariableOperation>[] filterInputVariables(AnalysisElement predecessor,
-            AnalysisElement analysisElement) {
+    /**
+     * Collects for each element the elements whose in-sets are calculated from its out-sets, i.e. its successors
+     * and the nodes following call activities.
+     *
+     * @return Map of elements and their dependent elements
+     */
+    private Map<AnalysisElement, List<AnalysisElement>> getDependentElements() {
+        final Map<AnalysisElement, List<AnalysisElement>> dependents = new IdentityHashMap<>();
+        for (AnalysisElement analysisElement : nodes.values()) {
+            for (AnalysisElement predecessor : analysisElement.getPredecessors()) {
+                dependents.computeIfAbsent(predecessor, key -> new ArrayList<>()).add(analysisElement);
+            }
+            final AnalysisElement predecessorCallActivity = nodesBeforeCallActivities
+                    .get(analysisElement.getGraphId());
+            if (predecessorCallActivity != null) {
+                dependents.computeIfAbsent(predecessorCallActivity, key -> new ArrayList<>()).add(analysisElement);
+            }
+        }
+        return dependents;
+    }
+
+    /**
+     * Keeps the operations on variables whose name also occurs in the other set
+     *
+     * @param set   Set of operations, which is modified
+     * @param other Other set of operations
+     */
+    private void retainVariables(final BitSet set, final BitSet other) {
+        final BitSet variables = operationIndex.getVariables(other);
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            if (!variables.get(operationIndex.getVariable(i))) {
+                set.clear(i);
+            }
+        }
+    }
+
+    private BitSet[] filterInputVariables(AnalysisElement predecessor, AnalysisElement analysisElement) {
         String scopePredecessor = predecessor.getBaseElement().getScope().getAttributeValue(BpmnConstants.ATTR_ID);
         String scopeElement = analysisElement.getBaseElement().getScope().getAttributeValue(BpmnConstants.ATTR_ID);
-        LinkedHashMap<String, ProcessVariableOperation> tempInUsed = new LinkedHashMap<>(predecessor.getOutUsed());
-        LinkedHashMap<String, ProcessVariableOperation> tempInUnused = new LinkedHashMap<>(predecessor.getOutUnused());
+        BitSet tempInUsed = (BitSet) predecessor.getOutUsedBits().clone();
+        BitSet tempInUnused = (BitSet) predecessor.getOutUnusedBits().clone();
 
         // Subprocess or call activity
         if (!isChildOrSiblingOfScope(analysisElement.getBaseElement(), scopePredecessor) &&
@@ -504,37 +545,27 @@ public class FlowAnalysis {
                 copyOperationsWithCallActivityScope(tempInUnused, tempInUsed,
                         ((Process) analysisElement.getBaseElement().getParentElement()).getId());
             } else {
-                filterVariablesWithoutScope(predecessor.getOutUnused(), tempInUnused, Arrays.asList(scopeElement,
+                filterVariablesWithoutScope(predecessor.getOutUnusedBits(), tempInUnused, Arrays.asList(scopeElement,
                         analysisElement.getParentElement().getGraphId()));
-                filterVariablesWithoutScope(predecessor.getOutUsed(), tempInUsed, Arrays.asList(scopeElement,
+                filterVariablesWithoutScope(predecessor.getOutUsedBits(), tempInUsed, Arrays.asList(scopeElement,
                         analysisElement.getParentElement().getGraphId()));
 
                 if (nodesBeforeCallActivities.containsKey(analysisElement.getGraphId())) {
                     AnalysisElement predecessorCallActivity = nodesBeforeCallActivities
                             .get(analysisElement.getGraphId());
                     // Pass Input parameters forward that are present before and after the call activity
-                    predecessorCallActivity.getOutUnused().forEach((key, value) -> {
-                        if (value.getScopeId().equals(analysisElement.getParentElement().getGraphId()) || value
-                                .getScopeId()
-                                .equals(scopeElement)) {
-                            tempInUnused.put(key, value);
-                        }
-                    });
-                    predecessorCallActivity.getOutUsed().forEach((key, value) -> {
-                        if (value.getScopeId().equals(analysisElement.getParentElement().getGraphId()) || value
-                                .getScopeId()
-                                .equals(scopeElement)) {
-                            tempInUnused.put(key, value);
-                        }
-                    });
+                    putVariablesWithScope(predecessorCallActivity.getOutUnusedBits(), tempInUnused,
+                            Arrays.asList(analysisElement.getParentElement().getGraphId(), scopeElement));
+                    putVariablesWithScope(predecessorCallActivity.getOutUsedBits(), tempInUnused,
+                            Arrays.asList(analysisElement.getParentElement().getGraphId(), scopeElement));
                 }
 
                 // Call Activity
                 if (predecessor.getBaseElement() instanceof EndEvent && analysisElement instanceof BasicNode
                         && ((BasicNode) analysisElement).getElementChapter()
                         .equals(ElementChapter.OUTPUT_DATA)) {
-                    predecessor.getOutUnused().forEach(tempInUnused::put);
-                    predecessor.getOutUsed().forEach(tempInUsed::put);
+                    operationIndex.putAll(tempInUnused, predecessor.getOutUnusedBits());
+                    operationIndex.putAll(tempInUsed, predecessor.getOutUsedBits());
                 }
             }
 
@@ -545,30 +576,33 @@ public class FlowAnalysis {
 
         } else if (predecessor instanceof BasicNode && ((BasicNode) predecessor).getElementChapter()
                 .equals(ElementChapter.OUTPUT_DATA)) {
-            filterVariablesWithoutScope(predecessor.getOutUnused(), tempInUnused, Arrays.asList(scopeElement,
+            filterVariablesWithoutScope(predecessor.getOutUnusedBits(), tempInUnused, Arrays.asList(scopeElement,
                     analysisElement.getParentElement().getGraphId()));
-            filterVariablesWithoutScope(predecessor.getOutUsed(), tempInUsed, Arrays.asList(scopeElement,
+            filterVariablesWithoutScope(predecessor.getOutUsedBits(), tempInUsed, Arrays.asList(scopeElement,
                     analysisElement.getParentElement().getGraphId()));
         }
 
-        return new LinkedHashMap[] { tempInUsed, tempInUnused };
+        return new BitSet[] { tempInUsed, tempInUnused };
     }
 
-    private void copyOperationsWithCallActivityScope(LinkedHashMap<String, ProcessVariableOperation> tempInUnused,
-            LinkedHashMap<String, ProcessVariableOperation> tempInUsed,
-            String newScope) {
-        LinkedHashMap<String, ProcessVariableOperation> tempInUsedNew = new LinkedHashMap<>();
-        LinkedHashMap<String, ProcessVariableOperation> tempInUnusedNew = new LinkedHashMap<>();
-
+    private void copyOperationsWithCallActivityScope(BitSet tempInUnused, BitSet tempInUsed, String newScope) {
         // Copy variables so that they keep the scope of the process
-        tempInUnused.forEach((key, value) -> tempInUnusedNew.put(key, new ProcessVariableOperation(value, newScope)));
-        tempInUsed.forEach((key, value) -> tempInUsedNew.put(key, new ProcessVariableOperation(value, newScope)));
+        final BitSet tempInUnusedNew = copyOperationsWithScope(tempInUnused, newScope);
+        final BitSet tempInUsedNew = copyOperationsWithScope(tempInUsed, newScope);
 
-        // Update input hash maps
+        // Update input sets
         tempInUnused.clear();
         tempInUsed.clear();
-        tempInUnusedNew.forEach(tempInUnused::put);
-        tempInUsedNew.forEach(tempInUsed::put);
+        tempInUnused.or(tempInUnusedNew);
+        tempInUsed.or(tempInUsedNew);
+    }
+
+    private BitSet copyOperationsWithScope(final BitSet set, final String newScope) {
+        final BitSet copies = new BitSet();
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            operationIndex.put(copies, operationIndex.copyWithScope(i, newScope));
+        }
+        return copies;
     }
 
     private boolean isCallActivityMappingInAll(AnalysisElement element) {
@@ -584,35 +618,36 @@ public class FlowAnalysis {
                 .contains(((Process) parentElement).getId());
     }
 
-    private void filterLocalVariables(AnalysisElement predecessor,
-            LinkedHashMap<String, ProcessVariableOperation> tempInUnused,
-            LinkedHashMap<String, ProcessVariableOperation> tempInUsed) {
-
+    private void filterLocalVariables(AnalysisElement predecessor, BitSet tempInUnused, BitSet tempInUsed) {
         // Check for local variables in element like input parameters
-        filterVariablesWithScope(predecessor.getOutUnused(), tempInUnused,
+        filterVariablesWithScope(predecessor.getOutUnusedBits(), tempInUnused,
                 Collections.singletonList(predecessor.getParentElement().getGraphId()));
-        filterVariablesWithScope(predecessor.getOutUsed(), tempInUsed,
+        filterVariablesWithScope(predecessor.getOutUsedBits(), tempInUsed,
                 Collections.singletonList(predecessor.getParentElement().getGraphId()));
     }
 
-    private void filterVariablesWithScope(LinkedHashMap<String, ProcessVariableOperation> sourceList,
-            LinkedHashMap<String, ProcessVariableOperation> targetList,
-            List<String> scopes) {
-        sourceList.forEach((key, value) -> {
-            if (scopes.contains(value.getScopeId())) {
-                targetList.remove(key);
+    private void filterVariablesWithScope(BitSet sourceList, BitSet targetList, List<String> scopes) {
+        for (int i = sourceList.nextSetBit(0); i >= 0; i = sourceList.nextSetBit(i + 1)) {
+            if (scopes.contains(operationIndex.get(i).getScopeId())) {
+                operationIndex.removeId(targetList, i);
             }
-        });
+        }
     }
 
-    private void filterVariablesWithoutScope(LinkedHashMap<String, ProcessVariableOperation> sourceList,
-            LinkedHashMap<String, ProcessVariableOperation> targetList,
-            List<String> scopes) {
-        sourceList.forEach((key, value) -> {
-            if (!scopes.contains(value.getScopeId())) {
-                targetList.remove(key);
+    private void filterVariablesWithoutScope(BitSet sourceList, BitSet targetList, List<String> scopes) {
+        for (int i = sourceList.nextSetBit(0); i >= 0; i = sourceList.nextSetBit(i + 1)) {
+            if (!scopes.contains(operationIndex.get(i).getScopeId())) {
+                operationIndex.removeId(targetList, i);
             }
-        });
+        }
+    }
+
+    private void putVariablesWithScope(BitSet sourceList, BitSet targetList, List<String> scopes) {
+        for (int i = sourceList.nextSetBit(0); i >= 0; i = sourceList.nextSetBit(i + 1)) {
+            if (scopes.contains(operationIndex.get(i).getScopeId())) {
+                operationIndex.put(targetList, i);
+            }
+        }
     }
 
     private boolean isChildOrSiblingOfScope(BaseElement element, String scopeId) {
@@ -698,19 +733,21 @@ public class FlowAnalysis {
         // Save original sets
         final LinkedHashMap<String, ProcessVariableOperation> originalOperations = new LinkedHashMap<>(
                 element.getOperations());
-        final LinkedHashMap<String, ProcessVariableOperation> originalDefined = new LinkedHashMap<>(
-                element.getDefined());
-        final LinkedHashMap<String, ProcessVariableOperation> originalUsed = new LinkedHashMap<>(element.getUsed());
-        final LinkedHashMap<String, ProcessVariableOperation> originalInUnused = new LinkedHashMap<>(
-                element.getInUnused());
-        final LinkedHashMap<String, ProcessVariableOperation> originalInUsed = new LinkedHashMap<>(element.getInUsed());
+        final BitSet originalDefined = (BitSet) element.getDefinedBits().clone();
+        final BitSet originalUsed = (BitSet) element.getUsedBits().clone();
+        final BitSet originalInUnused = (BitSet) element.getInUnusedBits().clone();
+        final BitSet originalInUsed = (BitSet) element.getInUsedBits().clone();
 
         // Delete variables that are only used in the child process
-        filterDelegateVariables(originalOperations, element.getOperations(), childProcessId);
-        filterDelegateVariables(originalDefined, element.getDefined(), childProcessId);
-        filterDelegateVariables(originalUsed, element.getUsed(), childProcessId);
-        filterDelegateVariables(originalInUnused, element.getInUnused(), childProcessId);
-        filterDelegateVariables(originalInUsed, element.getInUsed(), childProcessId);
+        originalOperations.forEach((key, value) -> {
+            if (value.getScopeId().equals(childProcessId)) {
+                element.getOperations().remove(key);
+            }
+        });
+        filterDelegateVariables(element.getDefinedBits(), childProcessId);
+        filterDelegateVariables(element.getUsedBits(), childProcessId);
+        filterDelegateVariables(element.getInUnusedBits(), childProcessId);
+        filterDelegateVariables(element.getInUsedBits(), childProcessId);
 
         // Run anomaly check
         ddAnomalies(element);
@@ -720,19 +757,18 @@ public class FlowAnalysis {
 
         // Restore original sets
         element.setOperations(originalOperations);
-        element.setDefined(originalDefined);
-        element.setUsed(originalUsed);
-        element.setInUnused(originalInUnused);
-        element.setInUsed(originalInUsed);
+        element.getDefinedBits().or(originalDefined);
+        element.getUsedBits().or(originalUsed);
+        element.setInUnusedBits(originalInUnused);
+        element.setInUsedBits(originalInUsed);
     }
 
-    private void filterDelegateVariables(final LinkedHashMap<String, ProcessVariableOperation> in,
-            final LinkedHashMap<String, ProcessVariableOperation> out, String childProcessId) {
-        in.forEach((key, value) -> {
-            if (value.getScopeId().equals(childProcessId)) {
-                out.remove(key);
+    private void filterDelegateVariables(final BitSet set, final String childProcessId) {
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            if (operationIndex.get(i).getScopeId().equals(childProcessId)) {
+                operationIndex.removeId(set, i);
             }
-        });
+        }
     }
 
     /**
@@ -741,14 +777,8 @@ public class FlowAnalysis {
      * @param node Current node
      */
     private void ddAnomalies(final AnalysisElement node) {
-        final LinkedHashMap<String, ProcessVariableOperation> ddAnomalies = new LinkedHashMap<>(
-                getIntersection(node.getInUnused(), node.getDefined()));
-        if (!ddAnomalies.isEmpty()) {
-            ddAnomalies.forEach((k,
-                    v) -> node.addSourceCodeAnomaly(new AnomalyContainer(v.getName(), Anomaly.DD, node.getGraphId(),
-                    node.getBaseElement().getId(),
-                    node.getBaseElement().getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME), v)));
-        }
+        final BitSet ddAnomalies = getIntersection(node.getInUnusedBits(), node.getDefinedBits());
+        addSourceCodeAnomalies(node, ddAnomalies, Anomaly.DD);
     }
 
     /**
@@ -757,14 +787,8 @@ public class FlowAnalysis {
      * @param node Current node
      */
     private void duAnomalies(final AnalysisElement node) {
-        final LinkedHashMap<String, ProcessVariableOperation> duAnomalies = new LinkedHashMap<>(
-                getIntersection(node.getInUnused(), node.getKilled()));
-        if (!duAnomalies.isEmpty()) {
-            duAnomalies.forEach((k,
-                    v) -> node.addSourceCodeAnomaly(new AnomalyContainer(v.getName(), Anomaly.DU, node.getGraphId(),
-                    node.getBaseElement().getId(),
-                    node.getBaseElement().getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME), v)));
-        }
+        final BitSet duAnomalies = getIntersection(node.getInUnusedBits(), node.getKilledBits());
+        addSourceCodeAnomalies(node, duAnomalies, Anomaly.DU);
     }
 
     /**
@@ -773,33 +797,8 @@ public class FlowAnalysis {
      * @param node Current node
      */
     private void urAnomalies(final AnalysisElement node) {
-        final LinkedHashMap<String, ProcessVariableOperation> urAnomaliesTemp = new LinkedHashMap<>(node.getUsed());
-        final LinkedHashMap<String, ProcessVariableOperation> urAnomalies = new LinkedHashMap<>(urAnomaliesTemp);
-
-        urAnomaliesTemp.forEach((key, value) -> node.getInUnused().forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName())) {
-                urAnomalies.remove(key);
-            }
-        }));
-
-        urAnomaliesTemp.forEach((key, value) -> node.getInUsed().forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName())) {
-                urAnomalies.remove(key);
-            }
-        }));
-
-        urAnomaliesTemp.forEach((key, value) -> node.getDefined().forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName()) && value.getIndex() > value2.getIndex()) {
-                urAnomalies.remove(key);
-            }
-        }));
-
-        if (!urAnomalies.isEmpty()) {
-            urAnomalies.forEach((k,
-                    v) -> node.addSourceCodeAnomaly(new AnomalyContainer(v.getName(), Anomaly.UR, node.getGraphId(),
-                    node.getBaseElement().getId(),
-                    node.getBaseElement().getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME), v)));
-        }
+        final BitSet urAnomalies = getUndefinedOperations(node, node.getUsedBits());
+        addSourceCodeAnomalies(node, urAnomalies, Anomaly.UR);
     }
 
     /**
@@ -808,32 +807,44 @@ public class FlowAnalysis {
      * @param node Current node
      */
     private void uuAnomalies(final AnalysisElement node) {
-        final LinkedHashMap<String, ProcessVariableOperation> uuAnomaliesTemp = new LinkedHashMap<>(node.getKilled());
-        final LinkedHashMap<String, ProcessVariableOperation> uuAnomalies = new LinkedHashMap<>(uuAnomaliesTemp);
-
-        uuAnomaliesTemp.forEach((key, value) -> node.getInUnused().forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName())) {
-                uuAnomalies.remove(key);
-            }
-        }));
+        final BitSet uuAnomalies = getUndefinedOperations(node, node.getKilledBits());
+        addSourceCodeAnomalies(node, uuAnomalies, Anomaly.UU);
+    }
 
-        uuAnomaliesTemp.forEach((key, value) -> node.getInUsed().forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName())) {
-                uuAnomalies.remove(key);
+    /**
+     * Collects the operations on variables that are neither contained in the in-sets of the node nor defined by an
+     * earlier operation of the node
+     *
+     * @param node       Current node
+     * @param operations Checked operations
+     * @return Operations on undefined variables
+     */
+    private BitSet getUndefinedOperations(final AnalysisElement node, final BitSet operations) {
+        final BitSet variables = operationIndex.getVariables(node.getInUnusedBits());
+        variables.or(operationIndex.getVariables(node.getInUsedBits()));
+        final BitSet defined = node.getDefinedBits();
+        final BitSet undefinedOperations = new BitSet();
+
+        for (int i = operations.nextSetBit(0); i >= 0; i = operations.nextSetBit(i + 1)) {
+            final int variable = operationIndex.getVariable(i);
+            boolean isDefined = variables.get(variable);
+            for (int d = defined.nextSetBit(0); d >= 0 && !isDefined; d = defined.nextSetBit(d + 1)) {
+                isDefined = operationIndex.getVariable(d) == variable
+                        && operationIndex.get(i).getIndex() > operationIndex.get(d).getIndex();
             }
-        }));
-
-        uuAnomaliesTemp.forEach((key, value) -> node.getDefined().forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName()) && value.getIndex() > value2.getIndex()) {
-                uuAnomalies.remove(key);
+            if (!isDefined) {
+                undefinedOperations.set(i);
             }
-        }));
+        }
+        return undefinedOperations;
+    }
 
-        if (!uuAnomalies.isEmpty()) {
-            uuAnomalies.forEach((k,
-                    v) -> node.addSourceCodeAnomaly(new AnomalyContainer(v.getName(), Anomaly.UU, node.getGraphId(),
+    private void addSourceCodeAnomalies(final AnalysisElement node, final BitSet operations, final Anomaly anomaly) {
+        for (int i = operations.nextSetBit(0); i >= 0; i = operations.nextSetBit(i + 1)) {
+            final ProcessVariableOperation operation = operationIndex.get(i);
+            node.addSourceCodeAnomaly(new AnomalyContainer(operation.getName(), anomaly, node.getGraphId(),
                     node.getBaseElement().getId(),
-                    node.getBaseElement().getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME), v)));
+                    node.getBaseElement().getAttributeValue(BpmnModelConstants.BPMN_ATTRIBUTE_NAME), operation));
         }
     }
 
@@ -914,50 +925,76 @@ public class FlowAnalysis {
     }
 
     /**
-     * Helper method to create the set difference of two given maps (based on
+     * Helper method to create the set difference of two given sets (based on
      * variable names)
      *
-     * @param mapOne First map
-     * @param mapTwo Second map
-     * @return Set difference of given maps
+     * @param setOne First set
+     * @param setTwo Second set
+     * @return Set difference of given sets
      */
-    private LinkedHashMap<String, ProcessVariableOperation> getSetDifference(
-            final LinkedHashMap<String, ProcessVariableOperation> mapOne,
-            final LinkedHashMap<String, ProcessVariableOperation> mapTwo) {
-        final LinkedHashMap<String, ProcessVariableOperation> setDifference = new LinkedHashMap<>(mapOne);
-
-        mapOne.forEach((key, value) -> mapTwo.forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName()) && isDelegateVariable(value) == isDelegateVariable(value2)) {
-                setDifference.remove(key);
-            }
-        }));
-        return setDifference;
+    private BitSet getSetDifference(final BitSet setOne, final BitSet setTwo) {
+        return filterVariables(setOne, setTwo, false);
     }
 
     /**
-     * Helper method to create the intersection of two given maps
+     * Helper method to create the intersection of two given sets
      *
-     * @param mapOne First map
-     * @param mapTwo Second map
-     * @return Intersection of given maps
+     * @param setOne First set
+     * @param setTwo Second set
+     * @return Intersection of given sets
      */
-    private LinkedHashMap<String, ProcessVariableOperation> getIntersection(
-            final LinkedHashMap<String, ProcessVariableOperation> mapOne,
-            final LinkedHashMap<String, ProcessVariableOperation> mapTwo) {
-        final LinkedHashMap<String, ProcessVariableOperation> intersection = new LinkedHashMap<>();
-
-        mapOne.forEach((key, value) -> mapTwo.forEach((key2, value2) -> {
-            if (value.getName().equals(value2.getName()) && isDelegateVariable(value) == isDelegateVariable(value2)) {
-                intersection.put(key, value);
+    private BitSet getIntersection(final BitSet setOne, final BitSet setTwo) {
+        return filterVariables(setOne, setTwo, true);
+    }
+
+    /**
+     * Keeps the operations of the first set whose variable is (or is not) contained in the second set. For names
+     * occurring in both sets, variables are additionally distinguished by whether they are process or delegate
+     * variables, so the kind of variable is only evaluated for these names.
+     *
+     * @param setOne    First set
+     * @param setTwo    Second set
+     * @param contained Whether the contained or the missing variables are kept
+     * @return Filtered operations of the first set
+     */
+    private BitSet filterVariables(final BitSet setOne, final BitSet setTwo, final boolean contained) {
+        final BitSet sharedVariables = operationIndex.getVariables(setTwo);
+        sharedVariables.and(operationIndex.getVariables(setOne));
+
+        final BitSet processVariables = new BitSet();
+        final BitSet delegateVariables = new BitSet();
+        for (int i = setTwo.nextSetBit(0); i >= 0; i = setTwo.nextSetBit(i + 1)) {
+            final int variable = operationIndex.getVariable(i);
+            if (sharedVariables.get(variable)) {
+                (isDelegateVariable(operationIndex.get(i)) ? delegateVariables : processVariables).set(variable);
+            }
+        }
+
+        final BitSet filtered = new BitSet();
+        for (int i = setOne.nextSetBit(0); i >= 0; i = setOne.nextSetBit(i + 1)) {
+            final int variable = operationIndex.getVariable(i);
+            final boolean containsVariable = sharedVariables.get(variable)
+                    && (isDelegateVariable(operationIndex.get(i)) ? delegateVariables : processVariables)
+                    .get(variable);
+            if (containsVariable == contained) {
+                filtered.set(i);
             }
-        }));
-        return intersection;
+        }
+        return filtered;
     }
 
     public Map<String, AnalysisElement> getNodes() {
         return nodes;
     }
 
+    public OperationIndex getOperationIndex() {
+        return operationIndex;
+    }
+
+    Map<String, AnalysisElement> getNodesBeforeCallActivities() {
+        return nodesBeforeCallActivities;
+    }
+
     public Set<String> getCallActivitiesInMapping() {
         return callActivitiesInMapping;
     }
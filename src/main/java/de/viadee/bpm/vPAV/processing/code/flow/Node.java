@@ -35,6 +35,7 @@ import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
 import de.viadee.bpm.vPAV.processing.model.data.KnownElementFieldType;
 import soot.toolkits.graph.Block;
 
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 
 public class Node extends BasicNode implements Cloneable {
@@ -57,6 +58,11 @@ public class Node extends BasicNode implements Cloneable {
 		return javaClass;
 	}
 
+	@Override
+	BasicNode createCopy(final BpmnElement parentElement) {
+		return new Node(parentElement, block, javaClass, elementChapter, getFieldType());
+	}
+
 
 	public Object clone() throws
 			CloneNotSupportedException
@@ -67,13 +73,13 @@ public class Node extends BasicNode implements Cloneable {
 		myClone.parentElement = parentElement;
 		myClone.elementChapter = elementChapter;
 		myClone.operations = new LinkedHashMap<>();
-		myClone.defined = new LinkedHashMap<>();
-		myClone.used = new LinkedHashMap<>();
-		myClone.killed = new LinkedHashMap<>();
-		myClone.outUnused = new LinkedHashMap<>();
-		myClone.outUsed = new LinkedHashMap<>();
-		myClone.inUnused = new LinkedHashMap<>();
-		myClone.inUsed = new LinkedHashMap<>();
+		myClone.defined = new BitSet();
+		myClone.used = new BitSet();
+		myClone.killed = new BitSet();
+		myClone.outUnused = new BitSet();
+		myClone.outUsed = new BitSet();
+		myClone.inUnused = new BitSet();
+		myClone.inUsed = new BitSet();
 		myClone.predecessors = new LinkedHashMap<>();
 		myClone.successors = new LinkedHashMap<>();
 
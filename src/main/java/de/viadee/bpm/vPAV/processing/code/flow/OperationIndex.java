@@ -0,0 +1,281 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.code.flow;
+
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a dense index to each process variable operation of a flow analysis, so that the data flow sets of the
+ * analysis elements can be stored as bit sets. Like the maps they replace, the sets contain at most one operation
+ * per operation id. Variable names and operation ids are indexed as well, so that set operations on names and ids
+ * do not need string comparisons.
+ * <p>
+ * Maps of operations are only created for reporting, their order is the order in which the operations were indexed.
+ */
+public class OperationIndex {
+
+    private final List<ProcessVariableOperation> operations = new ArrayList<>();
+
+    private final Map<ProcessVariableOperation, Integer> indices = new IdentityHashMap<>();
+
+    private final Map<String, Integer> variableIndices = new HashMap<>();
+
+    private final Map<String, Integer> idIndices = new HashMap<>();
+
+    // Operations by id index
+    private final List<BitSet> operationsById = new ArrayList<>();
+
+    // Variable and id index by operation index
+    private int[] variables = new int[64];
+
+    private int[] ids = new int[64];
+
+    // Copies of operations with another scope, so that repeated copies refer to the same index
+    private final Map<ProcessVariableOperation, Map<String, ProcessVariableOperation>> scopeCopies =
+            new IdentityHashMap<>();
+
+    /**
+     * Returns the index of an operation and indexes it if necessary. Operations are compared by identity.
+     *
+     * @param operation Process variable operation
+     * @return Index of the operation
+     */
+    public int indexOf(final ProcessVariableOperation operation) {
+        final Integer index = indices.get(operation);
+        if (index != null) {
+            return index;
+        }
+        final int newIndex = operations.size();
+        operations.add(operation);
+        indices.put(operation, newIndex);
+        if (newIndex == variables.length) {
+            variables = Arrays.copyOf(variables, newIndex * 2);
+            ids = Arrays.copyOf(ids, newIndex * 2);
+        }
+        variables[newIndex] = variableIndices.computeIfAbsent(operation.getName(), name -> variableIndices.size());
+        ids[newIndex] = getIdIndex(operation.getId());
+        operationsById.get(ids[newIndex]).set(newIndex);
+        return newIndex;
+    }
+
+    public ProcessVariableOperation get(final int index) {
+        return operations.get(index);
+    }
+
+    /**
+     * @param index Index of an operation
+     * @return Index of the variable name of the operation
+     */
+    int getVariable(final int index) {
+        return variables[index];
+    }
+
+    private int getIdIndex(final String id) {
+        final Integer index = idIndices.get(id);
+        if (index != null) {
+            return index;
+        }
+        idIndices.put(id, operationsById.size());
+        operationsById.add(new BitSet());
+        return operationsById.size() - 1;
+    }
+
+    /**
+     * Adds an operation to a set and replaces the operation with the same id, like putting it into a map by id
+     *
+     * @param set   Set of operations
+     * @param index Index of the added operation
+     */
+    void put(final BitSet set, final int index) {
+        set.andNot(operationsById.get(ids[index]));
+        set.set(index);
+    }
+
+    void put(final BitSet set, final ProcessVariableOperation operation) {
+        put(set, indexOf(operation));
+    }
+
+    /**
+     * Adds all operations of the source set to the target set, like putting them into a map by id
+     *
+     * @param target Target set
+     * @param source Added operations
+     */
+    void putAll(final BitSet target, final BitSet source) {
+        for (int i = source.nextSetBit(0); i >= 0; i = source.nextSetBit(i + 1)) {
+            put(target, i);
+        }
+    }
+
+    /**
+     * Removes the operation with the given id from a set
+     *
+     * @param set Set of operations
+     * @param id  Id of the operation
+     */
+    void remove(final BitSet set, final String id) {
+        final Integer index = idIndices.get(id);
+        if (index != null) {
+            set.andNot(operationsById.get(index));
+        }
+    }
+
+    /**
+     * Removes the operation with the id of the given operation from a set
+     *
+     * @param set   Set of operations
+     * @param index Index of an operation with the removed id
+     */
+    void removeId(final BitSet set, final int index) {
+        set.andNot(operationsById.get(ids[index]));
+    }
+
+    /**
+     * Returns the first operation in the set that refers to the given variable
+     *
+     * @param set      Set of operations
+     * @param variable Index of the variable name
+     * @return Index of the operation or -1, if the set contains no operation on the variable
+     */
+    int findVariable(final BitSet set, final int variable) {
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            if (variables[i] == variable) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param set Set of operations
+     * @return Indices of the variable names of the operations
+     */
+    BitSet getVariables(final BitSet set) {
+        final BitSet variableSet = new BitSet();
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            variableSet.set(variables[i]);
+        }
+        return variableSet;
+    }
+
+    /**
+     * Checks whether two sets contain operations with the same ids, which is how maps of operations were compared
+     *
+     * @param one First set
+     * @param two Second set
+     * @return true, if both sets contain the same operation ids
+     */
+    boolean hasSameIds(final BitSet one, final BitSet two) {
+        if (one.equals(two)) {
+            return true;
+        }
+        if (one.cardinality() != two.cardinality()) {
+            return false;
+        }
+        return getIds(one).equals(getIds(two));
+    }
+
+    private BitSet getIds(final BitSet set) {
+        final BitSet idSet = new BitSet();
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            idSet.set(ids[i]);
+        }
+        return idSet;
+    }
+
+    /**
+     * Returns a copy of the operation with the given scope. Copies are created once per operation and scope.
+     *
+     * @param index Index of the original operation
+     * @param scope Scope of the copy
+     * @return Index of the copy
+     */
+    int copyWithScope(final int index, final String scope) {
+        final ProcessVariableOperation operation = operations.get(index);
+        return indexOf(scopeCopies.computeIfAbsent(operation, key -> new HashMap<>())
+                .computeIfAbsent(scope, key -> new ProcessVariableOperation(operation, scope)));
+    }
+
+    /**
+     * Creates a bit set of the given operations. Operations are put by id, so later operations replace earlier ones.
+     *
+     * @param operationMap Map of operations
+     * @return Bit set of the operations
+     */
+    public BitSet toBitSet(final Map<String, ProcessVariableOperation> operationMap) {
+        final BitSet set = new BitSet();
+        operationMap.values().forEach(operation -> put(set, operation));
+        return set;
+    }
+
+    /**
+     * Creates a map of the operations in a set, keyed by operation id
+     *
+     * @param set Set of operations
+     * @return Map of operations in index order
+     */
+    public LinkedHashMap<String, ProcessVariableOperation> toMap(final BitSet set) {
+        final LinkedHashMap<String, ProcessVariableOperation> operationMap = new LinkedHashMap<>();
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            final ProcessVariableOperation operation = operations.get(i);
+            operationMap.put(operation.getId(), operation);
+        }
+        return operationMap;
+    }
+
+    /**
+     * Encodes a set of another index in this index
+     *
+     * @param set   Set of operations
+     * @param index Index the set refers to
+     * @return Set of the same operations in this index
+     */
+    BitSet reindex(final BitSet set, final OperationIndex index) {
+        if (index == this) {
+            return set;
+        }
+        final BitSet reindexed = new BitSet();
+        for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+            put(reindexed, index.get(i));
+        }
+        return reindexed;
+    }
+}
@@ -31,7 +31,6 @@
  */
 package de.viadee.bpm.vPAV.processing.model.data;
 
-import soot.Scene;
 import soot.SootClass;
 
 import static de.viadee.bpm.vPAV.constants.CamundaMethodServices.*;
@@ -91,10 +90,8 @@ public enum CamundaEntryPointFunctions {
     }
 
     public static CamundaEntryPointFunctions findEntryPoint(String name, SootClass sc, int argCount) {
-        SootClass rs = Scene.v().forceResolve("org.camunda.bpm.engine.RuntimeService", 0);
-        SootClass pib = Scene.v().forceResolve("org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder", 0);
-
-        if (!(sc.getInterfaces().contains(rs) || sc.equals(rs) || sc.getInterfaces().contains(pib) || sc.equals(pib))) {
+        // Compared by name, so that the scene is not modified while classes are scanned in parallel
+        if (!(isOrImplements(sc, RUNTIME) || isOrImplements(sc, PROCESS_INSTANTIATION_BUILDER))) {
             return null;
         }
 
@@ -106,6 +103,11 @@ public enum CamundaEntryPointFunctions {
         return null;
     }
 
+    private static boolean isOrImplements(SootClass sc, String interfaceName) {
+        return sc.getName().equals(interfaceName) || sc.getInterfaces().stream()
+                .anyMatch(sootInterface -> sootInterface.getName().equals(interfaceName));
+    }
+
     public int getMinArgs() {
         return minArgs;
     }
@@ -40,7 +40,8 @@ import de.viadee.bpm.vPAV.processing.code.flow.Node;
  */
 public class ProcessVariableOperation {
 
-    private static int id_counter;
+    // Models may be dispatched in parallel, therefore each thread keeps its own counter
+    private static final ThreadLocal<Integer> id_counter = ThreadLocal.withInitial(() -> 0);
 
     private String id;
 
@@ -114,11 +115,13 @@ public class ProcessVariableOperation {
     }
 
     private String createId() {
-        return name + "_" + id_counter++;
+        final int id = id_counter.get();
+        id_counter.set(id + 1);
+        return name + "_" + id;
     }
 
     public static void resetIdCounter() {
-        id_counter = 0;
+        id_counter.set(0);
     }
 
     public String getName() {
@@ -205,7 +208,7 @@ public class ProcessVariableOperation {
         this.fieldType = fieldType;
     }
 
-    private void setFlowOperationIndex(int flowOperationIndex) {
+    public void setFlowOperationIndex(int flowOperationIndex) {
         this.flowOperationIndex = flowOperationIndex;
     }
 
@@ -0,0 +1,140 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.graph;
+
+import java.util.Arrays;
+
+/**
+ * Edges of a graph with integer vertex ids. The edges of each vertex are stored in one int array of alternating
+ * targets and weights, in insertion order. Adding an edge appends it to the row of its source vertex and removing an
+ * edge only shifts the rest of this row, so the graph can be modified and read alternately while it is built.
+ */
+final class CompactAdjacency {
+
+	private static final int[] NO_EDGES = new int[0];
+
+	private static final int INITIAL_ROW_CAPACITY = 1;
+
+	// row of vertex v: target of edge i at rows[v][2 * i], weight at rows[v][2 * i + 1]
+	private int[][] rows;
+
+	private int[] degrees;
+
+	CompactAdjacency() {
+		this(16);
+	}
+
+	private CompactAdjacency(final int vertexCapacity) {
+		rows = new int[vertexCapacity][];
+		degrees = new int[vertexCapacity];
+	}
+
+	void add(final int source, final int target, final int weight) {
+		if (source >= rows.length) {
+			final int capacity = Math.max(source + 1, rows.length * 2);
+			rows = Arrays.copyOf(rows, capacity);
+			degrees = Arrays.copyOf(degrees, capacity);
+		}
+		int[] row = rows[source];
+		final int degree = degrees[source];
+		if (row == null || row.length == 2 * degree) {
+			row = Arrays.copyOf(row == null ? NO_EDGES : row, 2 * Math.max(INITIAL_ROW_CAPACITY, 2 * degree));
+			rows[source] = row;
+		}
+		row[2 * degree] = target;
+		row[2 * degree + 1] = weight;
+		degrees[source] = degree + 1;
+	}
+
+	/**
+	 * Removes an edge and keeps the order of the other edges of the vertex
+	 *
+	 * @param source
+	 *            Vertex id
+	 * @param index
+	 *            Index of the edge between 0 and {@link #degree(int)}
+	 */
+	void remove(final int source, final int index) {
+		final int[] row = rows[source];
+		final int degree = degrees[source];
+		System.arraycopy(row, 2 * (index + 1), row, 2 * index, 2 * (degree - index - 1));
+		degrees[source] = degree - 1;
+	}
+
+	/**
+	 * Removes all edges of a vertex
+	 *
+	 * @param source
+	 *            Vertex id
+	 */
+	void removeAll(final int source) {
+		if (source < degrees.length) {
+			degrees[source] = 0;
+			rows[source] = null;
+		}
+	}
+
+	/**
+	 * Returns the number of edges of a vertex
+	 *
+	 * @param source
+	 *            Vertex id
+	 * @return number of edges
+	 */
+	int degree(final int source) {
+		return source < degrees.length ? degrees[source] : 0;
+	}
+
+	int target(final int source, final int index) {
+		return rows[source][2 * index];
+	}
+
+	int weight(final int source, final int index) {
+		return rows[source][2 * index + 1];
+	}
+
+	/**
+	 * Creates a copy, in which each row only has the capacity for its edges
+	 *
+	 * @return copy
+	 */
+	CompactAdjacency copy() {
+		final CompactAdjacency copy = new CompactAdjacency(Math.max(rows.length, 1));
+		for (int v = 0; v < rows.length; v++) {
+			if (degrees[v] > 0) {
+				copy.rows[v] = Arrays.copyOf(rows[v], 2 * degrees[v]);
+				copy.degrees[v] = degrees[v];
+			}
+		}
+		return copy;
+	}
+}
@@ -38,23 +38,27 @@ import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
 import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  *
- * A class for a directed graph. Implemented by an adjacency list representation
- * of a graph.
+ * A class for a directed graph. Vertices get an integer id when they are added, the edges are stored in compact
+ * adjacency arrays of these ids (see {@link CompactAdjacency}). {@link Edge} objects are only created on request.
  */
 
 public class Graph {
 
 	private final String processId;
 
-	private final LinkedHashMap<BpmnElement, List<Edge>> adjacencyListSuccessor; // [vertices] -> [edge]
+	private final List<BpmnElement> vertices = new ArrayList<>(); // [id] -> [vertex]
 
-	private final LinkedHashMap<BpmnElement, List<Edge>> adjacencyListPredecessor; // [vertices] -> [edge]
+	private final Map<BpmnElement, Integer> vertexIds = new HashMap<>(); // [vertex] -> [id]
 
-	private final LinkedHashMap<BpmnElement, VertexInfo> vertexInfo; // [vertex] -> [info]
+	private CompactAdjacency successors = new CompactAdjacency(); // [id] -> [successor ids]
+
+	private CompactAdjacency predecessors = new CompactAdjacency(); // [id] -> [predecessor ids]
+
+	private LinkedHashMap<BpmnElement, VertexInfo> vertexInfo; // [vertex] -> [info], created on request
 
 	private final Collection<BpmnElement> startNodes = new ArrayList<>();
 
@@ -62,9 +66,6 @@ public class Graph {
 
 	public Graph(final String processId) {
 		this.processId = processId;
-		this.adjacencyListSuccessor = new LinkedHashMap<>();
-		this.adjacencyListPredecessor = new LinkedHashMap<>();
-		this.vertexInfo = new LinkedHashMap<>();
 	}
 
 	public String getProcessId() {
@@ -87,76 +88,114 @@ public class Graph {
 		return endNodes;
 	}
 
+	/**
+	 * Creates a copy of this graph with the same structure, in which each vertex
+	 * is replaced by its copy
+	 *
+	 * @param vertexCopier Function returning the copy of a vertex
+	 * @return Copied graph
+	 */
+	public Graph copy(final Function<BpmnElement, BpmnElement> vertexCopier) {
+		final Graph copy = new Graph(processId);
+		// The copies get the same ids as the original vertices, so the edges can be copied as they are
+		vertices.forEach(vertex -> copy.addVertex(vertexCopier.apply(vertex)));
+		copy.successors = successors.copy();
+		copy.predecessors = predecessors.copy();
+		startNodes.forEach(node -> copy.addStartNode(vertexCopier.apply(node)));
+		endNodes.forEach(node -> copy.addEndNode(vertexCopier.apply(node)));
+		return copy;
+	}
+
 	public void addVertex(final BpmnElement v) {
 		if (v == null) {
 			throw new IllegalArgumentException("null");
 		}
 
-		adjacencyListSuccessor.put(v, new ArrayList<>());
-		adjacencyListPredecessor.put(v, new ArrayList<>());
-		vertexInfo.put(v, new VertexInfo(v));
+		final Integer id = vertexIds.get(v);
+		if (id == null) {
+			vertexIds.put(v, vertices.size());
+			vertices.add(v);
+		} else {
+			// a vertex, which is added again, loses its edges
+			successors.removeAll(id);
+			predecessors.removeAll(id);
+		}
+		if (vertexInfo != null) {
+			vertexInfo.put(v, new VertexInfo(v));
+		}
 	}
 
 	public Map<BpmnElement, VertexInfo> getVertexInfo() {
+		if (vertexInfo == null) {
+			vertexInfo = new LinkedHashMap<>();
+			vertices.forEach(vertex -> vertexInfo.put(vertex, new VertexInfo(vertex)));
+		}
 		return vertexInfo;
 	}
 
 	public Collection<BpmnElement> getVertices() {
-		return vertexInfo.keySet();
+		return Collections.unmodifiableList(vertices);
 	}
 
 	public Collection<List<Edge>> getEdges() {
-		return adjacencyListSuccessor.values();
+		final List<List<Edge>> edges = new ArrayList<>(vertices.size());
+		for (int id = 0; id < vertices.size(); id++) {
+			final List<Edge> edgesOfVertex = new ArrayList<>();
+			for (int i = 0; i < successors.degree(id); i++) {
+				edgesOfVertex.add(new Edge(vertices.get(id), vertices.get(successors.target(id, i)),
+						successors.weight(id, i)));
+			}
+			edges.add(edgesOfVertex);
+		}
+		return edges;
 	}
 
 	public List<BpmnElement> getAdjacencyListPredecessor(final BpmnElement element) {
-		return adjacencyListPredecessor.get(element).stream().map(Edge::getTo).collect(Collectors.toList());
+		return getAdjacentVertices(predecessors, vertexIds.get(element));
 	}
 
 	public List<BpmnElement> getAdjacencyListSuccessor(final BpmnElement element) {
-		return adjacencyListSuccessor.get(element).stream().map(Edge::getTo).collect(Collectors.toList());
+		return getAdjacentVertices(successors, vertexIds.get(element));
+	}
+
+	private List<BpmnElement> getAdjacentVertices(final CompactAdjacency adjacency, final int id) {
+		final List<BpmnElement> adjacentVertices = new ArrayList<>(adjacency.degree(id));
+		for (int i = 0; i < adjacency.degree(id); i++) {
+			adjacentVertices.add(vertices.get(adjacency.target(id, i)));
+		}
+		return adjacentVertices;
 	}
 
 	public void addEdge(BpmnElement from, BpmnElement to, int weight) {
-		// add successor
-		List<Edge> edgeSuccessorList = adjacencyListSuccessor.get(from);
-		if (edgeSuccessorList == null) {
+		final Integer fromId = vertexIds.get(from);
+		final Integer toId = vertexIds.get(to);
+		if (fromId == null || toId == null) {
 			throw new IllegalArgumentException("source vertex not in graph");
 		}
 
-		Edge newSuccessorEdge = new Edge(from, to, weight);
-		edgeSuccessorList.add(newSuccessorEdge);
+		// add successor
+		successors.add(fromId, toId, weight);
 
 		// add predecessor
-		List<Edge> edgePredecessorList = adjacencyListPredecessor.get(to);
-		if (edgePredecessorList == null) {
-			throw new IllegalArgumentException("source vertex not in graph");
-		}
-
-		Edge newPredecessorEdge = new Edge(to, from, weight);
-		edgePredecessorList.add(newPredecessorEdge);
+		predecessors.add(toId, fromId, weight);
 	}
 
 	public void removeEdge(BpmnElement from, BpmnElement to) {
-		final List<Edge> edgeSuccessorList = adjacencyListSuccessor.get(from);
-		Edge foundEdge = null;
-		for (final Edge e : edgeSuccessorList) {
-			if (e.getFrom().toString().equals(from.toString()) && e.getTo().toString().equals(to.toString())) {
-				// delete
-				foundEdge = e;
+		removeLastEdge(successors, vertexIds.get(from), to);
+		removeLastEdge(predecessors, vertexIds.get(to), from);
+	}
+
+	private void removeLastEdge(final CompactAdjacency adjacency, final int id, final BpmnElement target) {
+		int foundEdge = -1;
+		for (int i = 0; i < adjacency.degree(id); i++) {
+			if (vertices.get(adjacency.target(id, i)).toString().equals(target.toString())) {
+				foundEdge = i;
 			}
 		}
-		edgeSuccessorList.remove(foundEdge);
-
-		final List<Edge> edgePredecessorList = adjacencyListPredecessor.get(to);
-		foundEdge = null;
-		for (final Edge e : edgePredecessorList) {
-			if (e.getTo().toString().equals(from.toString()) && e.getFrom().toString().equals(to.toString())) {
-				// delete
-				foundEdge = e;
-			}
+		if (foundEdge >= 0) {
+			// delete
+			adjacency.remove(id, foundEdge);
 		}
-		edgePredecessorList.remove(foundEdge);
 	}
 
 	public boolean hasEdge(BpmnElement from, BpmnElement to) {
@@ -164,14 +203,14 @@ public class Graph {
 	}
 
 	public Edge getEdge(BpmnElement from, BpmnElement to) {
-		List<Edge> edgeList = adjacencyListSuccessor.get(from);
-		if (edgeList == null) {
+		final Integer id = vertexIds.get(from);
+		if (id == null) {
 			throw new IllegalArgumentException("source vertex not in graph");
 		}
 
-		for (Edge e : edgeList) {
-			if (e.getTo().equals(to)) {
-				return e;
+		for (int i = 0; i < successors.degree(id); i++) {
+			if (vertices.get(successors.target(id, i)).equals(to)) {
+				return new Edge(vertices.get(id), vertices.get(successors.target(id, i)), successors.weight(id, i));
 			}
 		}
 
@@ -186,7 +225,7 @@ public class Graph {
 	public Map<BpmnElement, List<AnomalyContainer>> getNodesWithAnomalies() {
 
 		final Map<BpmnElement, List<AnomalyContainer>> anomalies = new HashMap<>();
-		adjacencyListPredecessor.keySet().forEach(bpmnElement -> {
+		vertices.forEach(bpmnElement -> {
 			if (!bpmnElement.getAnomalies().isEmpty()) {
 				anomalies.putAll(bpmnElement.getAnomalies());
 			}
@@ -208,87 +247,127 @@ public class Graph {
 	 * @return List of invalid paths
 	 */
 	public List<Path> getAllInvalidPaths(final BpmnElement source, final AnomalyContainer anomaly) {
-		return getAllInvalidPathsRecursive(source, anomaly, new LinkedList<>());
+		return getInvalidPaths(source, anomaly, InvalidPathSearch.ALL);
 	}
 
 	/**
-	 * search all paths with variables, which has not been set (backward)
+	 * Search paths with variables, which has not been set. Depending on the search, all paths, a bounded number of
+	 * paths or only the shortest path is returned.
 	 *
-	 * source:
-	 * http://codereview.stackexchange.com/questions/45678/find-all-paths-from-source-to-destination
+	 * @param source
+	 *            BpmnElement
+	 * @param anomaly
+	 *            AnomalyContainer
+	 * @param search
+	 *            Defines which paths are searched
 	 *
+	 * @return List of invalid paths
 	 */
-	private List<Path> getAllInvalidPathsRecursive(final BpmnElement startNode, final AnomalyContainer anomaly,
-			final LinkedList<BpmnElement> currentPath) {
-
+	public List<Path> getInvalidPaths(final BpmnElement source, final AnomalyContainer anomaly,
+			final InvalidPathSearch search) {
+		if (search.isShortest()) {
+			return getShortestInvalidPath(source, anomaly);
+		}
 		final List<Path> invalidPaths = new ArrayList<>();
-
-		currentPath.add(startNode);
-
-		final List<Edge> edges = this.adjacencyListPredecessor.get(startNode);
-
-		final List<Path> returnPathsUrAnomaly = exitConditionUrAnomaly(startNode, anomaly, currentPath, invalidPaths);
-		final List<Path> returnPathsDdDuAnomaly = exitConditionDdDuAnomaly(startNode, anomaly, currentPath,
+		getInvalidPathsRecursive(source, anomaly, new LinkedList<>(), new BitSet(vertices.size()), search,
 				invalidPaths);
+		return invalidPaths;
+	}
 
-		if (returnPathsUrAnomaly != null) {
-			return returnPathsUrAnomaly;
-		} else if (returnPathsDdDuAnomaly != null) {
-			return returnPathsDdDuAnomaly;
-		}
+	/**
+	 * search paths with variables, which has not been set (backward)
+	 *
+	 * source:
+	 * http://codereview.stackexchange.com/questions/45678/find-all-paths-from-source-to-destination
+	 *
+	 */
+	private void getInvalidPathsRecursive(final BpmnElement startNode, final AnomalyContainer anomaly,
+			final LinkedList<BpmnElement> currentPath, final BitSet visited, final InvalidPathSearch search,
+			final List<Path> invalidPaths) {
 
-		for (final Edge t : edges) {
-			if (!currentPath.contains(t.getTo()) || t.getTo() == anomaly.getVariable().getElement()) {
-				invalidPaths.addAll(getAllInvalidPathsRecursive(t.getTo(), anomaly, currentPath));
+		final int id = vertexIds.get(startNode);
+		currentPath.add(startNode);
+		visited.set(id);
+
+		if (isEndOfInvalidPath(startNode, anomaly, currentPath.size())) {
+			invalidPaths.add(new Path(new ArrayList<>(currentPath)));
+		} else if (currentPath.size() < search.getMaxPathLength()) {
+			for (int i = 0; i < predecessors.degree(id); i++) {
+				if (invalidPaths.size() >= search.getMaxPaths()) {
+					break;
+				}
+				final int predecessor = predecessors.target(id, i);
+				if (!visited.get(predecessor) || vertices.get(predecessor) == anomaly.getVariable().getElement()) {
+					getInvalidPathsRecursive(vertices.get(predecessor), anomaly, currentPath, visited, search,
+							invalidPaths);
+				}
 			}
 		}
 
 		currentPath.remove(startNode);
+		visited.clear(id);
+	}
 
-		return invalidPaths;
+	/**
+	 * Search the shortest path with variables, which has not been set (backward, breadth-first). Like in
+	 * {@link #getInvalidPathsRecursive}, the element of the anomaly may be reached again through a loop.
+	 *
+	 */
+	private List<Path> getShortestInvalidPath(final BpmnElement source, final AnomalyContainer anomaly) {
+		final BitSet visited = new BitSet(vertices.size());
+		final Deque<PathNode> queue = new ArrayDeque<>();
+		queue.add(new PathNode(source, null));
+		visited.set(vertexIds.get(source));
+		boolean anomalyElementReached = false;
+
+		while (!queue.isEmpty()) {
+			final PathNode node = queue.poll();
+			if (isEndOfInvalidPath(node.element, anomaly, node.length)) {
+				return Collections.singletonList(new Path(node.getElements()));
+			}
+			final int id = vertexIds.get(node.element);
+			for (int i = 0; i < predecessors.degree(id); i++) {
+				final int predecessor = predecessors.target(id, i);
+				if (!visited.get(predecessor)) {
+					visited.set(predecessor);
+					queue.add(new PathNode(vertices.get(predecessor), node));
+				} else if (vertices.get(predecessor) == anomaly.getVariable().getElement()
+						&& !anomalyElementReached) {
+					anomalyElementReached = true;
+					queue.add(new PathNode(vertices.get(predecessor), node));
+				}
+			}
+		}
+		return Collections.emptyList();
 	}
 
 	/**
-	 * Exit condition for path finding (ur anomaly)
+	 * Exit condition for path finding
 	 *
+	 * @param startNode
+	 *            Current element
+	 * @param anomaly
+	 *            Container of anomaly
+	 * @param pathLength
+	 *            Number of elements of the current path
+	 * @return true, if the current path is an invalid path
 	 */
-	private List<Path> exitConditionUrAnomaly(final BpmnElement startNode, final AnomalyContainer anomaly,
-			final LinkedList<BpmnElement> currentPath, final List<Path> invalidPaths) {
+	private boolean isEndOfInvalidPath(final BpmnElement startNode, final AnomalyContainer anomaly,
+			final int pathLength) {
 
-		// go back to the node, where the variable was deleted
+		// ur anomaly: go back to the node, where the variable was deleted
 		// or go back to the start
 		if (anomaly.getAnomaly() == Anomaly.UR
 				|| (startNode.getBaseElement().getElementType().getTypeName().equals(BpmnConstants.START_EVENT)
 						&& startNode.getBaseElement().getParentElement().getElementType().getTypeName()
 								.equals(BpmnConstants.PROCESS))) {
-
-			final List<BpmnElement> newPath = new ArrayList<>(currentPath);
-			invalidPaths.add(new Path(newPath));
-
-			currentPath.remove(startNode);
-			return invalidPaths;
+			return true;
 		}
-		return null;
-	}
 
-	/**
-	 * Exit condition for path finding (du / dd anomaly)
-	 *
-	 */
-	private List<Path> exitConditionDdDuAnomaly(final BpmnElement startNode, final AnomalyContainer anomaly,
-			final LinkedList<BpmnElement> currentPath, final List<Path> invalidPaths) {
-
-		// go back to the node where the element is defined
+		// du / dd anomaly: go back to the node where the element is defined
 		// skip the startpoint
-		if ((anomaly.getAnomaly() == Anomaly.DD || anomaly.getAnomaly() == Anomaly.DU) && currentPath.size() > 1
-				&& containsAnomaly(startNode, anomaly)) {
-			final List<BpmnElement> newPath = new ArrayList<>(currentPath);
-			invalidPaths.add(new Path(newPath));
-
-			currentPath.remove(startNode);
-			return invalidPaths;
-		}
-		return null;
+		return (anomaly.getAnomaly() == Anomaly.DD || anomaly.getAnomaly() == Anomaly.DU) && pathLength > 1
+				&& containsAnomaly(startNode, anomaly);
 	}
 
 	/**
@@ -310,16 +389,40 @@ public class Graph {
 		return false;
 	}
 
+	/**
+	 * Element of a path found by the breadth-first search, which refers to the rest of the path
+	 */
+	private static final class PathNode {
+
+		private final BpmnElement element;
+
+		private final PathNode next;
+
+		private final int length;
+
+		private PathNode(final BpmnElement element, final PathNode next) {
+			this.element = element;
+			this.next = next;
+			this.length = next == null ? 1 : next.length + 1;
+		}
+
+		private List<BpmnElement> getElements() {
+			final List<BpmnElement> elements = new ArrayList<>(length);
+			for (PathNode node = this; node != null; node = node.next) {
+				elements.add(node.element);
+			}
+			Collections.reverse(elements);
+			return elements;
+		}
+	}
+
 	@Override
 	public String toString() {
-		Set<BpmnElement> keys = adjacencyListSuccessor.keySet();
 		StringBuilder str = new StringBuilder("digraph G {\n");
 
-		for (BpmnElement v : keys) {
+		for (List<Edge> edgeList : getEdges()) {
 			str.append(" ");
 
-			List<Edge> edgeList = adjacencyListSuccessor.get(v);
-
 			for (Edge edge : edgeList) {
 				str.append(edge);
 				str.append("\n");
@@ -0,0 +1,151 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.graph;
+
+import de.viadee.bpm.vPAV.config.model.Rule;
+import de.viadee.bpm.vPAV.config.model.Setting;
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
+
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Defines which invalid paths are searched for a data flow anomaly. The search is configured by the settings of
+ * the ProcessVariablesModelChecker rule:
+ * <ul>
+ * <li>{@code invalidPaths=all} (default): all paths are searched,</li>
+ * <li>{@code invalidPaths=bounded}: at most {@code maxInvalidPaths} paths with at most
+ * {@code maxInvalidPathLength} elements are searched,</li>
+ * <li>{@code invalidPaths=shortest}: only the shortest path is searched.</li>
+ * </ul>
+ */
+public class InvalidPathSearch {
+
+	private static final Logger LOGGER = Logger.getLogger(InvalidPathSearch.class.getName());
+
+	public static final InvalidPathSearch ALL = new InvalidPathSearch(false, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+	private static final int DEFAULT_MAX_PATHS = 100;
+
+	private static final int DEFAULT_MAX_PATH_LENGTH = 100;
+
+	private final boolean shortest;
+
+	private final int maxPaths;
+
+	private final int maxPathLength;
+
+	private InvalidPathSearch(final boolean shortest, final int maxPaths, final int maxPathLength) {
+		this.shortest = shortest;
+		this.maxPaths = maxPaths;
+		this.maxPathLength = maxPathLength;
+	}
+
+	/**
+	 * Creates a bounded search
+	 *
+	 * @param maxPaths
+	 *            Maximum number of paths per anomaly
+	 * @param maxPathLength
+	 *            Maximum number of elements of a path
+	 * @return search
+	 */
+	public static InvalidPathSearch bounded(final int maxPaths, final int maxPathLength) {
+		return new InvalidPathSearch(false, maxPaths, maxPathLength);
+	}
+
+	/**
+	 * Creates a search for the shortest path
+	 *
+	 * @return search
+	 */
+	public static InvalidPathSearch shortest() {
+		return new InvalidPathSearch(true, 1, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Reads the search from the settings of the ProcessVariablesModelChecker rule
+	 *
+	 * @param rule
+	 *            ProcessVariablesModelChecker rule, might be null
+	 * @return search
+	 */
+	public static InvalidPathSearch fromRule(final Rule rule) {
+		if (rule == null || rule.getSettings() == null
+				|| !rule.getSettings().containsKey(BpmnConstants.INVALID_PATHS)) {
+			return ALL;
+		}
+		final Map<String, Setting> settings = rule.getSettings();
+		final String mode = settings.get(BpmnConstants.INVALID_PATHS).getValue().trim();
+		switch (mode) {
+			case "all":
+				return ALL;
+			case "bounded":
+				return bounded(getLimit(settings, BpmnConstants.MAX_INVALID_PATHS, DEFAULT_MAX_PATHS),
+						getLimit(settings, BpmnConstants.MAX_INVALID_PATH_LENGTH, DEFAULT_MAX_PATH_LENGTH));
+			case "shortest":
+				return shortest();
+			default:
+				LOGGER.warning(String.format("Unknown value '%s' of setting %s, all invalid paths are searched", mode,
+						BpmnConstants.INVALID_PATHS));
+				return ALL;
+		}
+	}
+
+	private static int getLimit(final Map<String, Setting> settings, final String name, final int defaultLimit) {
+		if (!settings.containsKey(name)) {
+			return defaultLimit;
+		}
+		try {
+			final int limit = Integer.parseInt(settings.get(name).getValue().trim());
+			if (limit > 0) {
+				return limit;
+			}
+		} catch (NumberFormatException e) {
+			// Reported below
+		}
+		LOGGER.warning(String.format("Setting %s must be a positive number, %d is used instead", name, defaultLimit));
+		return defaultLimit;
+	}
+
+	public boolean isShortest() {
+		return shortest;
+	}
+
+	public int getMaxPaths() {
+		return maxPaths;
+	}
+
+	public int getMaxPathLength() {
+		return maxPathLength;
+	}
+}
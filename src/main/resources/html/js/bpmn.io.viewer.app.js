@@ -1266,6 +1266,27 @@ function showUnlocatedCheckers() {
     });
 }
 
+// Show the metrics of the validation run, if they were written
+function showMetrics() {
+    if (typeof validationMetrics === "undefined") {
+        return;
+    }
+    const toRows = (entries) => entries.map(entry => `<tr>
+            <td>${entry.name}</td>
+            <td class="text-right">${entry.count}</td>
+            <td class="text-right">${entry.wallMillis.toFixed(1)}</td>
+            <td class="text-right">${entry.cpuMillis.toFixed(1)}</td>
+            <td class="text-right">${(entry.allocatedBytes / 1048576).toFixed(1)}</td>
+        </tr>`).join("");
+    const table = `<table class="table table-sm table-bordered mb-0">
+        <thead><tr><th>Phase / checker</th><th>Count</th><th>Wall time (ms)</th><th>CPU time (ms)</th><th>Allocated (MB)</th></tr></thead>
+        <tbody>${toRows(validationMetrics.phases)}${toRows(validationMetrics.checkers)}</tbody>
+    </table>`;
+    const card = createCard(`Metrics (${validationMetrics.wallMillis.toFixed(0)} ms)`, table);
+    card.setAttribute("id", "metrics");
+    document.getElementById("unlocatedCheckersContainer").insertAdjacentElement("afterEnd", card);
+}
+
 function toggleSideBar() {
     const iconToggleButton = document.querySelector("#navbar-toggle > span");
     iconToggleButton.classList.toggle("fa-chevron-left");
@@ -1330,6 +1351,7 @@ function initPage() {
         controller = createViewController();
         controller.init();
         showUnlocatedCheckers();
+        showMetrics();
     }
 }
 
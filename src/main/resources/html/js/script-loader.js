@@ -8,6 +8,7 @@ function generateScriptSourcesArray(sourcePath = 'data/') {
         "ignoredIssues.js",
         "processVariables.js",
         "properties.js",
+        "metrics.js",
         "summary.js"
     ]
     return srcFiles.map(file => sourcePath + file);
@@ -30,6 +31,7 @@ function unloadDataScriptTags() {
     proz_vars = undefined;
     processVariables = undefined;
     properties = undefined;
+    validationMetrics = undefined;
 }
 
 function createScriptTags(scriptSources, isDataScript = false) {
@@ -41,4 +41,8 @@ public class AnotherSimpleObject {
     public String getAnotherVariable() {
         return anotherVariable;
     }
+
+    public String echo(String value) {
+        return value;
+    }
 }
@@ -40,7 +40,9 @@ import org.camunda.bpm.model.bpmn.instance.ServiceTask;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -136,4 +138,25 @@ public class BpmnScannerTest {
 
         assertTrue("Get unexpected implementation", scripts.contains(scriptType));
     }
+
+    /**
+     * Case: Scripts are assigned to all of their ancestors
+     */
+    @Test
+    public void testGetScriptTypesOfAncestors() {
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(
+                new File(BASE_PATH + "NoScriptCheckerTest_ModelWithExecutionlistenerScript.bpmn"));
+
+        assertEquals(Collections.singletonList("executionListener"),
+                BpmnScanner.getScriptTypes(modelInstance.getModelElementById("ExclusiveGateway_0egbr5y")));
+        assertEquals(Collections.singletonList("executionListener"),
+                BpmnScanner.getScriptTypes(modelInstance.getModelElementById("SequenceFlow_1tixdti")));
+        assertTrue(BpmnScanner.getScriptTypes(modelInstance.getModelElementById("StartEvent_1")).isEmpty());
+
+        final List<String> processScripts = BpmnScanner.getScriptTypes(modelInstance.getModelElementById("Process_1"));
+        assertEquals(Arrays.asList("executionListener", "executionListener"), processScripts);
+        processScripts.clear();
+        assertEquals("Changing the result should not change the index.", 2,
+                BpmnScanner.getScriptTypes(modelInstance.getModelElementById("Process_1")).size());
+    }
 }
@@ -70,4 +70,13 @@ public class FileScannerTest {
 		Assert.assertTrue("SootPath should contain 'target/test-classes'.", contains);
 	}
 
+	@Test
+	public void testClassFilesAreResolved() {
+		final String classFile = "de/viadee/bpm/vPAV/delegates/TestDelegate.class";
+		Assert.assertEquals(new File(RuntimeConfig.getInstance().getScanPath(), classFile),
+				FileScanner.getClassFile(classFile));
+		Assert.assertEquals("Missing class files should be looked up in the generated sources.",
+				new File("target/generated-sources/", "Missing.class"), FileScanner.getClassFile("Missing.class"));
+	}
+
 }
@@ -0,0 +1,237 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import com.google.gson.JsonArray;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.processing.ClassDependencies;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
+import org.apache.commons.io.FileUtils;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+public class IncrementalValidationCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        RuntimeConfig.getInstance().setTest(true);
+    }
+
+    @Before
+    public void createModels() {
+        final Properties properties = new Properties();
+        properties.put("basepath", folder.getRoot().getPath() + "/");
+        RuntimeConfig.getInstance().setProperties(properties);
+
+        writeModel("parent.bpmn", Bpmn.createExecutableProcess("parent").startEvent().callActivity()
+                .calledElement("child").endEvent().done());
+        writeModel("child.bpmn", Bpmn.createExecutableProcess("child").startEvent().endEvent().done());
+        writeModel("other.bpmn", Bpmn.createExecutableProcess("other").startEvent().endEvent().done());
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        RuntimeConfig.getInstance().setProperties(new Properties());
+    }
+
+    @Test
+    public void testFingerprintChangesWithCalledProcess() {
+        final IncrementalValidationCache cache = IncrementalValidationCache
+                .read(new File(folder.getRoot(), "cache/validationCache.json"));
+        FileScanner fileScanner = new FileScanner(new RuleSet());
+        cache.initialize(fileScanner, false);
+        final String parentFingerprint = cache.getFingerprint("parent.bpmn", fileScanner);
+        final String otherFingerprint = cache.getFingerprint("other.bpmn", fileScanner);
+
+        writeModel("child.bpmn", Bpmn.createExecutableProcess("child").startEvent().userTask().endEvent().done());
+        fileScanner = new FileScanner(new RuleSet());
+        cache.initialize(fileScanner, false);
+
+        Assert.assertNotNull(parentFingerprint);
+        Assert.assertNotEquals("Change of called process should change fingerprint", parentFingerprint,
+                cache.getFingerprint("parent.bpmn", fileScanner));
+        Assert.assertEquals("Unrelated model should keep its fingerprint", otherFingerprint,
+                cache.getFingerprint("other.bpmn", fileScanner));
+    }
+
+    @Test
+    public void testFingerprintChangesWithContentOfScript() throws IOException {
+        writeModel("script.bpmn", Bpmn.createExecutableProcess("script").startEvent().scriptTask()
+                .scriptFormat("groovy").camundaResource("script.groovy").endEvent().done());
+        Files.write(new File(folder.getRoot(), "script.groovy").toPath(),
+                "execution.setVariable('a', 1)".getBytes(StandardCharsets.UTF_8));
+        final IncrementalValidationCache cache = IncrementalValidationCache
+                .read(new File(folder.getRoot(), "cache/validationCache.json"));
+        FileScanner fileScanner = new FileScanner(new RuleSet());
+        cache.initialize(fileScanner, false);
+        final String scriptFingerprint = cache.getFingerprint("script.bpmn", fileScanner);
+        final String otherFingerprint = cache.getFingerprint("other.bpmn", fileScanner);
+
+        Files.write(new File(folder.getRoot(), "script.groovy").toPath(),
+                "execution.setVariable('b', 1)".getBytes(StandardCharsets.UTF_8));
+        fileScanner = new FileScanner(new RuleSet());
+        cache.initialize(fileScanner, false);
+
+        Assert.assertNotNull(scriptFingerprint);
+        Assert.assertNotEquals("Change of referenced script should change fingerprint", scriptFingerprint,
+                cache.getFingerprint("script.bpmn", fileScanner));
+        Assert.assertEquals("Unrelated model should keep its fingerprint", otherFingerprint,
+                cache.getFingerprint("other.bpmn", fileScanner));
+    }
+
+    @Test
+    public void testResultOfUnchangedModelIsRestored() {
+        final File cacheFile = new File(folder.getRoot(), "cache/validationCache.json");
+        final FileScanner fileScanner = new FileScanner(new RuleSet());
+        final IncrementalValidationCache cache = IncrementalValidationCache.read(cacheFile);
+        cache.initialize(fileScanner, false);
+        cache.getFingerprint("other.bpmn", fileScanner);
+
+        final IssueService modelIssues = new IssueService();
+        final CheckerIssue issue = new CheckerIssue("TestChecker", "Description", CriticalityEnum.WARNING,
+                "other.bpmn", null, "StartEvent", null, null, null, null, "Message", null, null);
+        modelIssues.addIssue(issue);
+        cache.store("other.bpmn", new DispatchedModel(Collections.emptyMap(), modelIssues, new JsonArray(),
+                new JsonArray(), recordClasses()), null);
+        cache.write(cacheFile);
+
+        final IncrementalValidationCache nextCache = IncrementalValidationCache.read(cacheFile);
+        nextCache.initialize(fileScanner, false);
+        nextCache.getFingerprint("other.bpmn", fileScanner);
+        nextCache.getFingerprint("parent.bpmn", fileScanner);
+        final DispatchedModel restoredModel = nextCache.restore("other.bpmn", fileScanner.getModelRepository(),
+                null);
+
+        Assert.assertNotNull(restoredModel);
+        Assert.assertEquals(1, restoredModel.getModelIssues().getIssues().size());
+        Assert.assertEquals(issue.getId(), restoredModel.getModelIssues().getIssues().iterator().next().getId());
+        Assert.assertNull("Model without cached result should be dispatched",
+                nextCache.restore("parent.bpmn", fileScanner.getModelRepository(), null));
+    }
+
+    @Test
+    public void testOnlyModelsReadingChangedClassAreDispatched() throws IOException {
+        final File classes = folder.newFolder("classes");
+        writeClass(classes, "org/example/FirstDelegate.class", "first");
+        writeClass(classes, "org/example/SecondDelegate.class", "second");
+
+        final File cacheFile = new File(folder.getRoot(), "cache/validationCache.json");
+        FileScanner fileScanner = createFileScanner(classes);
+        final IncrementalValidationCache cache = IncrementalValidationCache.read(cacheFile);
+        cache.initialize(fileScanner, false);
+        cache.getFingerprint("other.bpmn", fileScanner);
+        cache.getFingerprint("child.bpmn", fileScanner);
+        cache.store("other.bpmn", new DispatchedModel(Collections.emptyMap(), new IssueService(), new JsonArray(),
+                new JsonArray(), recordClasses("org.example.FirstDelegate")), null);
+        cache.store("child.bpmn", new DispatchedModel(Collections.emptyMap(), new IssueService(), new JsonArray(),
+                new JsonArray(), recordClasses("org.example.SecondDelegate", "org.example.MissingDelegate")), null);
+        cache.write(cacheFile);
+
+        writeClass(classes, "org/example/SecondDelegate.class", "changed");
+        fileScanner = createFileScanner(classes);
+        IncrementalValidationCache nextCache = IncrementalValidationCache.read(cacheFile);
+        nextCache.initialize(fileScanner, false);
+        nextCache.getFingerprint("other.bpmn", fileScanner);
+        nextCache.getFingerprint("child.bpmn", fileScanner);
+
+        Assert.assertTrue(nextCache.hasChangedClasses());
+        Assert.assertNotNull("Model not reading the changed class should be restored",
+                nextCache.restore("other.bpmn", fileScanner.getModelRepository(), null));
+        Assert.assertNull("Model reading the changed class should be dispatched",
+                nextCache.restore("child.bpmn", fileScanner.getModelRepository(), null));
+
+        writeClass(classes, "org/example/SecondDelegate.class", "second");
+        writeClass(classes, "org/example/MissingDelegate.class", "added");
+        fileScanner = createFileScanner(classes);
+        nextCache = IncrementalValidationCache.read(cacheFile);
+        nextCache.initialize(fileScanner, false);
+        nextCache.getFingerprint("child.bpmn", fileScanner);
+
+        Assert.assertNull("Model referencing a class, which was added, should be dispatched",
+                nextCache.restore("child.bpmn", fileScanner.getModelRepository(), null));
+    }
+
+    /**
+     * Creates a file scanner, which lists the given class files. The scan path is only changed afterwards, so that
+     * the Soot class path of the other tests is not affected.
+     */
+    private FileScanner createFileScanner(final File classes) {
+        final Properties defaultProperties = new Properties();
+        defaultProperties.put("basepath", folder.getRoot().getPath() + "/");
+        RuntimeConfig.getInstance().setProperties(defaultProperties);
+        final FileScanner fileScanner = new FileScanner(new RuleSet());
+        final Set<String> classFiles = new HashSet<>();
+        FileUtils.listFiles(classes, new String[] { "class" }, true).forEach(
+                file -> classFiles.add(classes.toPath().relativize(file.toPath()).toString().replace('\\', '/')));
+        fileScanner.setJavaResourcesFileInputStream(classFiles);
+
+        final Properties properties = new Properties();
+        properties.put("basepath", folder.getRoot().getPath() + "/");
+        properties.put("scanpath", classes.getPath() + "/");
+        RuntimeConfig.getInstance().setProperties(properties);
+        return fileScanner;
+    }
+
+    private static ClassDependencies recordClasses(final String... classNames) {
+        ClassDependencies.begin();
+        for (final String className : classNames) {
+            ClassDependencies.recordClass(className);
+        }
+        return ClassDependencies.end();
+    }
+
+    private static void writeClass(final File classes, final String classFile, final String content)
+            throws IOException {
+        final File file = new File(classes, classFile);
+        Assert.assertTrue(file.getParentFile().exists() || file.getParentFile().mkdirs());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeModel(final String fileName, final BpmnModelInstance modelInstance) {
+        Bpmn.writeModelToFile(new File(folder.getRoot(), fileName), modelInstance);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import de.viadee.bpm.vPAV.processing.model.data.CriticalityEnum;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class IssueServiceTest {
+
+    @Test
+    public void testIssuesOfAllThreadsAreMerged() throws InterruptedException {
+        final IssueService issueService = new IssueService();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final String elementId = "Task_" + i;
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    issueService.addIssue(createIssue(elementId));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals("Issues of all threads should be collected.", 400, issueService.getIssues().size());
+    }
+
+    @Test
+    public void testBoundIssueServiceIsUsed() {
+        final IssueService issueService = new IssueService();
+        final IssueService previous = IssueService.bind(issueService);
+        try {
+            Assert.assertSame("Bound IssueService should be returned.", issueService, IssueService.getInstance());
+            IssueService.getInstance().addIssue(createIssue("Task_1"));
+        } finally {
+            IssueService.bind(previous);
+        }
+
+        Assert.assertNotSame("Binding should be removed.", issueService, IssueService.getInstance());
+        Assert.assertEquals("Issue should be added to the bound IssueService.", 1, issueService.getIssues().size());
+    }
+
+    @Test
+    public void testIssuesAreOnlyMergedAfterChanges() {
+        final IssueService issueService = new IssueService();
+        issueService.addIssue(createIssue("Task_1"));
+        final Collection<CheckerIssue> issues = issueService.getIssues();
+
+        Assert.assertSame("Issues should not be merged again.", issues, issueService.getIssues());
+        issueService.addIssue(createIssue("Task_2"));
+        Assert.assertEquals("Added issue should be merged.", 2, issueService.getIssues().size());
+    }
+
+    @Test
+    public void testMergeKeepsOrder() {
+        final IssueService issueService = new IssueService();
+        final IssueService modelIssues = new IssueService();
+        issueService.addIssue(createIssue("Task_1"));
+        modelIssues.addIssue(createIssue("Task_2"));
+        modelIssues.addElementIds("model.bpmn", Collections.singleton("Task_2"));
+
+        issueService.merge(modelIssues);
+
+        final List<CheckerIssue> issues = new ArrayList<>(issueService.getIssues());
+        Assert.assertEquals("Task_1", issues.get(0).getElementId());
+        Assert.assertEquals("Task_2", issues.get(1).getElementId());
+        Assert.assertTrue("Element ids should be merged.",
+                issueService.getElementIdToBpmnFileMap().get("model.bpmn").contains("Task_2"));
+    }
+
+    @Test
+    public void testClear() {
+        final IssueService issueService = new IssueService();
+        issueService.addIssue(createIssue("Task_1"));
+        issueService.clear();
+        Assert.assertTrue("Issues should be removed.", issueService.getIssues().isEmpty());
+        issueService.addIssue(createIssue("Task_2"));
+        Assert.assertEquals("Issues should be added after clearing.", 1, issueService.getIssues().size());
+    }
+
+    private CheckerIssue createIssue(final String elementId) {
+        return new CheckerIssue("TestChecker", null, CriticalityEnum.WARNING, "model.bpmn", elementId,
+                elementId, "message", null);
+    }
+}
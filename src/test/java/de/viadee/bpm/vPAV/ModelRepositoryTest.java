@@ -0,0 +1,67 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+
+public class ModelRepositoryTest {
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    @Test
+    public void testModelIsParsedOnce() {
+        final ModelRepository modelRepository = new ModelRepository();
+        final BpmnModelInstance model = modelRepository
+                .getBpmnModel(new File(BASE_PATH + "BPMN_Model_Version_V1.bpmn"));
+
+        Assert.assertNotNull(model);
+        Assert.assertSame("Parsed model should be reused.", model,
+                modelRepository.getBpmnModel(new File(BASE_PATH + "../resources/BPMN_Model_Version_V1.bpmn")));
+        Assert.assertEquals(1, modelRepository.size());
+    }
+
+    @Test
+    public void testDifferentModelsAreParsed() {
+        final ModelRepository modelRepository = new ModelRepository();
+        final BpmnModelInstance model1 = modelRepository
+                .getBpmnModel(new File(BASE_PATH + "BPMN_Model_Version_V1.bpmn"));
+        final BpmnModelInstance model2 = modelRepository
+                .getBpmnModel(new File(BASE_PATH + "BPMN_Model_Version_V2.bpmn"));
+
+        Assert.assertNotSame(model1, model2);
+        Assert.assertEquals(2, modelRepository.size());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import org.apache.commons.io.FileUtils;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ModelWatcherTest {
+
+    private static final String MODEL = "spring_test.bpmn";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        RuntimeConfig.getInstance().setTest(true);
+    }
+
+    @Before
+    public void copyModel() throws IOException {
+        FileUtils.copyFile(new File(ConfigConstants.BASE_PATH_TEST + "spring/" + MODEL),
+                new File(folder.getRoot(), MODEL));
+
+        final Properties properties = new Properties();
+        properties.put("scanpath", ConfigConstants.TARGET_TEST_PATH + "de/viadee/bpm/vPAV/spring/");
+        properties.put("basepath", folder.getRoot().getPath() + "/");
+        properties.put("ruleSetPath", ConfigConstants.BASE_PATH_TEST + "spring/");
+        properties.put("validationFolder", new File(folder.getRoot(), "vPAV").getPath());
+        properties.put("watchDebounce", "100");
+        RuntimeConfig.getInstance().setProperties(properties);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        RuntimeConfig.getInstance().setProperties(new Properties());
+        RuntimeConfig.getInstance().setBeanMapping(null);
+    }
+
+    @Test
+    public void testChangedPaths() throws IOException {
+        try (ModelWatcher watcher = new ModelWatcher(new ValidatorSession())) {
+            final Path root = folder.getRoot().toPath();
+            final Path classFile = new File(ConfigConstants.TARGET_TEST_PATH,
+                    "de/viadee/bpm/vPAV/spring/SayHelloDelegate.class").toPath().toAbsolutePath();
+            final Collection<String> changedPaths = watcher.toChangedPaths(Arrays.asList(root.resolve(MODEL),
+                    root.resolve("notes.txt"), root.resolve("vPAV/js/bpmn_validation.js"), classFile));
+
+            Assert.assertEquals(2, changedPaths.size());
+            Assert.assertTrue("Models should be relative to the base path", changedPaths.contains(MODEL));
+            Assert.assertTrue(changedPaths.contains(classFile.normalize().toString()));
+        }
+    }
+
+    @Test
+    public void testSavedModelIsValidatedAgain() throws Exception {
+        final Map<String, String> beanMapping = new HashMap<>();
+        beanMapping.put("sayHelloDelegate", "de.viadee.bpm.vPAV.spring.SayHelloDelegate");
+        final BlockingQueue<Collection<CheckerIssue>> results = new LinkedBlockingQueue<>();
+
+        try (ModelWatcher watcher = new ModelWatcher(new ValidatorSession(beanMapping), results::add)) {
+            final Thread thread = new Thread(watcher);
+            thread.start();
+
+            final Collection<CheckerIssue> issues = results.poll(60, TimeUnit.SECONDS);
+            Assert.assertNotNull("Models should be validated on start", issues);
+            Assert.assertEquals(1, issues.size());
+
+            Bpmn.writeModelToFile(new File(folder.getRoot(), MODEL),
+                    Bpmn.createExecutableProcess("spring_test").startEvent().endEvent().done());
+            final Collection<CheckerIssue> revalidatedIssues = results.poll(30, TimeUnit.SECONDS);
+            Assert.assertNotNull("Saved model should be validated again", revalidatedIssues);
+            Assert.assertTrue(revalidatedIssues.isEmpty());
+
+            watcher.close();
+            thread.join(10000);
+            Assert.assertFalse("Watcher should stop when closed", thread.isAlive());
+        }
+    }
+}
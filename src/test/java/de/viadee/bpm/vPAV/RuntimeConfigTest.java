@@ -94,6 +94,21 @@ public class RuntimeConfigTest {
                 RuntimeConfig.getInstance().isHtmlOutputEnabled());
     }
 
+    @Test
+    public void testDispatchThreadsPropertyExists() {
+        Properties myProperties = new Properties();
+        myProperties.put("dispatchThreads", "4");
+        RuntimeConfig.getInstance().setProperties(myProperties);
+        Assert.assertEquals("Dispatch threads were not correctly loaded.", 4,
+                RuntimeConfig.getInstance().getDispatchThreads());
+    }
+
+    @Test
+    public void testDispatchThreadsPropertyNotExists() {
+        Assert.assertEquals("Models should be dispatched sequentially by default.", 1,
+                RuntimeConfig.getInstance().getDispatchThreads());
+    }
+
     @Test
     public void testLanguagePropertyExists() {
         Properties myProperties = new Properties();
@@ -0,0 +1,108 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import com.google.gson.JsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ValidationMetricsTest {
+
+    @Test
+    public void testPhasesAreRecordedWithBoundMetrics() {
+        final ValidationMetrics metrics = new ValidationMetrics();
+        final ValidationMetrics previous = ValidationMetrics.bind(metrics);
+        try {
+            for (int i = 0; i < 3; i++) {
+                try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("graphBuild")) {
+                    final List<byte[]> garbage = new ArrayList<>();
+                    garbage.add(new byte[1024 * 1024]);
+                }
+            }
+            try (ValidationMetrics.Measurement ignored = ValidationMetrics.measureChecker(String.class)) {
+                Assert.assertNotNull(ignored);
+            }
+        } finally {
+            ValidationMetrics.bind(previous);
+        }
+
+        final ValidationMetrics.PhaseMetrics graphBuild = metrics.getPhases().get("graphBuild");
+        Assert.assertEquals("Each execution should be counted.", 3, graphBuild.getCount());
+        Assert.assertTrue("Wall time should be measured.", graphBuild.getWallNanos() > 0);
+        Assert.assertEquals(1, metrics.getCheckers().get("String").getCount());
+
+        final JsonObject json = metrics.toJson();
+        Assert.assertEquals("graphBuild",
+                json.getAsJsonArray("phases").get(0).getAsJsonObject().get("name").getAsString());
+        if (json.get("allocatedBytesSupported").getAsBoolean()) {
+            Assert.assertTrue("Allocated bytes should be measured.",
+                    graphBuild.getAllocatedBytes() >= 3 * 1024 * 1024);
+        }
+    }
+
+    @Test
+    public void testChecksAreAddedPerChecker() {
+        final ValidationMetrics metrics = new ValidationMetrics();
+        final ValidationMetrics previous = ValidationMetrics.bind(metrics);
+        try (ValidationMetrics.CheckerTimer timer = ValidationMetrics.timeCheckers()) {
+            for (int i = 0; i < 3; i++) {
+                timer.stop(String.class, timer.start());
+                timer.stop(Integer.class, timer.start());
+            }
+            Assert.assertTrue("Checks should only be added when the timer is closed.",
+                    metrics.getCheckers().isEmpty());
+        } finally {
+            ValidationMetrics.bind(previous);
+        }
+
+        Assert.assertEquals(3, metrics.getCheckers().get("String").getCount());
+        Assert.assertEquals(3, metrics.getCheckers().get("Integer").getCount());
+    }
+
+    @Test
+    public void testNothingIsRecordedWithoutBoundMetrics() {
+        final ValidationMetrics metrics = new ValidationMetrics();
+        final ValidationMetrics previous = ValidationMetrics.bind(null);
+        try (ValidationMetrics.Measurement ignored = ValidationMetrics.measure("graphBuild");
+                ValidationMetrics.CheckerTimer timer = ValidationMetrics.timeCheckers()) {
+            Assert.assertNotNull(ignored);
+            timer.stop(String.class, timer.start());
+        } finally {
+            ValidationMetrics.bind(previous);
+        }
+        Assert.assertTrue("Measurements without bound metrics should be ignored.", metrics.getPhases().isEmpty());
+        Assert.assertTrue(metrics.getCheckers().isEmpty());
+    }
+}
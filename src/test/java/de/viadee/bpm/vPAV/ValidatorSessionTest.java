@@ -0,0 +1,122 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV;
+
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import org.apache.commons.io.FileUtils;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class ValidatorSessionTest {
+
+    private static final String MODEL = "spring_test.bpmn";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ValidatorSession session;
+
+    private Properties properties;
+
+    @BeforeClass
+    public static void setup() {
+        RuntimeConfig.getInstance().setTest(true);
+    }
+
+    @Before
+    public void createSession() throws IOException {
+        FileUtils.copyFile(new File(ConfigConstants.BASE_PATH_TEST + "spring/" + MODEL),
+                new File(folder.getRoot(), MODEL));
+
+        properties = new Properties();
+        properties.put("scanpath", ConfigConstants.TARGET_TEST_PATH + "de/viadee/bpm/vPAV/spring/");
+        properties.put("basepath", folder.getRoot().getPath() + "/");
+        properties.put("ruleSetPath", ConfigConstants.BASE_PATH_TEST + "spring/");
+        properties.put("validationFolder", new File(folder.getRoot(), "vPAV").getPath());
+        RuntimeConfig.getInstance().setProperties(properties);
+
+        final Map<String, String> beanMapping = new HashMap<>();
+        beanMapping.put("sayHelloDelegate", "de.viadee.bpm.vPAV.spring.SayHelloDelegate");
+        session = new ValidatorSession(beanMapping);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        RuntimeConfig.getInstance().setProperties(new Properties());
+        RuntimeConfig.getInstance().setBeanMapping(null);
+    }
+
+    @Test
+    public void testUnchangedModelKeepsIssues() {
+        final Collection<CheckerIssue> issues = session.revalidate(Collections.emptyList());
+        Assert.assertEquals("There should be one UR issue.", 1, issues.size());
+
+        final Collection<CheckerIssue> revalidatedIssues = session.revalidate(Collections.emptyList());
+        Assert.assertEquals("Unchanged model should keep its issue.", 1, revalidatedIssues.size());
+        Assert.assertEquals(issues.iterator().next().getId(), revalidatedIssues.iterator().next().getId());
+    }
+
+    @Test
+    public void testChangedModelIsValidatedAgain() {
+        Assert.assertEquals(1, session.validate().size());
+
+        Bpmn.writeModelToFile(new File(folder.getRoot(), MODEL),
+                Bpmn.createExecutableProcess("spring_test").startEvent().endEvent().done());
+
+        Assert.assertTrue("Changed model should not have issues anymore.",
+                session.revalidate(Collections.singletonList(MODEL)).isEmpty());
+        Assert.assertTrue(session.getIssues().isEmpty());
+    }
+
+    @Test
+    public void testMetricsOfPreviousRunAreDeleted() {
+        properties.put("metrics", "true");
+        session.validate();
+        final File metricsJs = new File(RuntimeConfig.getInstance().getMetricsJsOutput());
+        Assert.assertTrue("Metrics should be written.", metricsJs.exists());
+
+        properties.remove("metrics");
+        session.revalidate(Collections.emptyList());
+        Assert.assertFalse("Metrics of the previous run should be deleted.", metricsJs.exists());
+        Assert.assertFalse(new File(RuntimeConfig.getInstance().getMetricsOutput()).exists());
+    }
+}
@@ -100,6 +100,22 @@ class PropertiesReaderTest {
         });
     }
 
+    @Test
+    void testInvalidDispatchThreads() {
+        properties.put("dispatchThreads", "many");
+        assertThrows(InvalidPropertiesParameterException.class, () -> {
+            testSubject.initProperties();
+        });
+    }
+
+    @Test
+    void testNonPositiveDispatchThreads() {
+        properties.put("dispatchThreads", "0");
+        assertThrows(InvalidPropertiesParameterException.class, () -> {
+            testSubject.initProperties();
+        });
+    }
+
     //TODO Static Mocking, maybe with Powermock?
     //    @Test
     //    void testValidationReportNotFound() {
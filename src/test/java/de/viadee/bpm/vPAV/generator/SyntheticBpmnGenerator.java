@@ -0,0 +1,604 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.generator;
+
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic BPMN models of configurable size, e.g. for benchmarks and scale tests.
+ * <p>
+ * Each model is a sequence of service tasks, which read and write process variables through input and output
+ * parameters or through generated java delegates. Tasks are replaced by exclusive or parallel gateways with one task
+ * per branch according to the gateway density. Every model above the configured call activity depth calls the model
+ * of the next level and contains embedded sub-processes nested up to the configured depth.
+ * The same settings always create the same models. The XML is written directly, because the fluent model builder
+ * slows down considerably with the size of the model.
+ */
+public class SyntheticBpmnGenerator {
+
+    public static final String DELEGATE_PACKAGE = "de.viadee.bpm.vPAV.synthetic";
+
+    private int tasks = 50;
+
+    private double gatewayDensity = 0.1;
+
+    private int gatewayFanOut = 2;
+
+    private int callActivityDepth = 0;
+
+    private int subProcessDepth = 0;
+
+    private int subProcessTasks = 5;
+
+    private int variables = 10;
+
+    private int delegates = 0;
+
+    private int delegateVariables = 2;
+
+    private long seed = 42;
+
+    /**
+     * @param tasks Number of tasks or gateways in the sequence of each model
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator tasks(final int tasks) {
+        this.tasks = tasks;
+        return this;
+    }
+
+    /**
+     * @param gatewayDensity Probability between 0 and 1, with which a task of the sequence is replaced by a gateway
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator gatewayDensity(final double gatewayDensity) {
+        this.gatewayDensity = gatewayDensity;
+        return this;
+    }
+
+    /**
+     * @param gatewayFanOut Number of branches of each gateway
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator gatewayFanOut(final int gatewayFanOut) {
+        this.gatewayFanOut = gatewayFanOut;
+        return this;
+    }
+
+    /**
+     * @param callActivityDepth Number of models, which are called by a call activity of the previous model
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator callActivityDepth(final int callActivityDepth) {
+        this.callActivityDepth = callActivityDepth;
+        return this;
+    }
+
+    /**
+     * @param subProcessDepth Number of embedded sub-processes, which are nested into each other in every model
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator subProcessDepth(final int subProcessDepth) {
+        this.subProcessDepth = subProcessDepth;
+        return this;
+    }
+
+    /**
+     * @param subProcessTasks Number of tasks in the sequence of each sub-process
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator subProcessTasks(final int subProcessTasks) {
+        this.subProcessTasks = subProcessTasks;
+        return this;
+    }
+
+    /**
+     * @param variables Number of distinct process variables used by the tasks
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator variables(final int variables) {
+        this.variables = variables;
+        return this;
+    }
+
+    /**
+     * @param delegates Number of distinct java delegates, which are referenced by the tasks instead of expressions.
+     *                  0 (default) creates tasks with expressions.
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator delegates(final int delegates) {
+        this.delegates = delegates;
+        return this;
+    }
+
+    /**
+     * @param delegateVariables Number of process variables, which are read and written by each delegate
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator delegateVariables(final int delegateVariables) {
+        this.delegateVariables = delegateVariables;
+        return this;
+    }
+
+    /**
+     * @param seed Seed of the random placement of gateways
+     * @return this generator
+     */
+    public SyntheticBpmnGenerator seed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public static String processId(final int level) {
+        return "SyntheticProcess_" + level;
+    }
+
+    public static String fileName(final int level) {
+        return processId(level) + ".bpmn";
+    }
+
+    public static String delegateClassName(final int index) {
+        return DELEGATE_PACKAGE + ".SyntheticDelegate" + index;
+    }
+
+    /**
+     * Generates the root model and all models called by it
+     *
+     * @return Models by process id, starting with the root model
+     */
+    public Map<String, BpmnModelInstance> generate() {
+        final Map<String, BpmnModelInstance> models = new LinkedHashMap<>();
+        for (int level = 0; level <= callActivityDepth; level++) {
+            models.put(processId(level), generateModel(level));
+        }
+        return models;
+    }
+
+    /**
+     * Writes the generated models to a folder
+     *
+     * @param folder Target folder, which has to exist
+     * @return Files of the models, starting with the root model
+     * @throws IOException If a model could not be written
+     */
+    public List<File> write(final File folder) throws IOException {
+        final List<File> files = new ArrayList<>();
+        for (int level = 0; level <= callActivityDepth; level++) {
+            final File file = new File(folder, fileName(level));
+            Files.write(file.toPath(), generateXml(level).getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Generates the model of a level of the call activity hierarchy
+     *
+     * @param level Level, 0 is the root model
+     * @return Model
+     */
+    public BpmnModelInstance generateModel(final int level) {
+        return Bpmn.readModelFromStream(new ByteArrayInputStream(generateXml(level).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Generates the XML of the model of a level of the call activity hierarchy
+     *
+     * @param level Level, 0 is the root model
+     * @return BPMN XML including the diagram
+     */
+    public String generateXml(final int level) {
+        final Random random = new Random(seed + level);
+        final int callActivityPosition = level < callActivityDepth ? tasks / 2 : -1;
+        final int subProcessPosition = subProcessDepth > 0 ? tasks / 3 : -1;
+        final ModelBuilder model = new ModelBuilder(processId(level));
+        final Scope process = model.process;
+
+        String last = model.addNode(process, "startEvent", "StartEvent_" + level, 0, 0).id;
+        int column = 1;
+        for (int i = 0; i < tasks; i++) {
+            if (i == callActivityPosition) {
+                final FlowNode callActivity = model.addNode(process, "callActivity", "CallActivity_" + level,
+                        column++, 0);
+                callActivity.attributes.append(" calledElement=\"").append(processId(level + 1)).append('"');
+                model.connect(process, last, callActivity.id, null);
+                last = callActivity.id;
+            }
+            if (i == subProcessPosition) {
+                final FlowNode subProcess = addSubProcess(model, process, level, 1, i, column++);
+                model.connect(process, last, subProcess.id, null);
+                last = subProcess.id;
+            }
+            if (random.nextDouble() < gatewayDensity) {
+                last = addGateway(model, last, level, i, column, random.nextBoolean());
+                column += 3;
+            } else {
+                final FlowNode task = addTask(model, process, "Task_" + level + "_" + i, i, column++, 0);
+                model.connect(process, last, task.id, null);
+                last = task.id;
+            }
+        }
+        model.connect(process, last, model.addNode(process, "endEvent", "EndEvent_" + level, column, 0).id, null);
+        return model.toXml();
+    }
+
+    /**
+     * Generates the source of a delegate, which reads and writes process variables in the same way as a task with
+     * input and output parameters
+     *
+     * @param index Index of the delegate
+     * @return Java source
+     */
+    public String generateDelegateSource(final int index) {
+        final String className = delegateClassName(index);
+        final StringBuilder source = new StringBuilder();
+        source.append("package ").append(DELEGATE_PACKAGE).append(";\n\n")
+                .append("import org.camunda.bpm.engine.delegate.DelegateExecution;\n")
+                .append("import org.camunda.bpm.engine.delegate.JavaDelegate;\n\n")
+                .append("public class ").append(className.substring(DELEGATE_PACKAGE.length() + 1))
+                .append(" implements JavaDelegate {\n\n")
+                .append("    @Override\n")
+                .append("    public void execute(DelegateExecution execution) {\n");
+        for (int i = 0; i < delegateVariables; i++) {
+            source.append("        Object value").append(i).append(" = execution.getVariable(\"")
+                    .append(variable(index + i)).append("\");\n");
+        }
+        for (int i = 0; i < delegateVariables; i++) {
+            source.append("        execution.setVariable(\"").append(variable(index + i + 1)).append("\", value")
+                    .append(i).append(");\n");
+        }
+        source.append("    }\n}\n");
+        return source.toString();
+    }
+
+    /**
+     * Compiles the delegates referenced by the generated models with the classes of the current class path
+     *
+     * @param folder Target folder of the class files, which has to exist
+     * @return Names of the compiled classes
+     */
+    public List<String> compileDelegates(final File folder) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new RuntimeException("Delegates can only be compiled with a JDK");
+        }
+        final List<String> classNames = new ArrayList<>();
+        final List<JavaFileObject> sources = new ArrayList<>();
+        for (int i = 0; i < delegates; i++) {
+            classNames.add(delegateClassName(i));
+            sources.add(new DelegateSource(delegateClassName(i), generateDelegateSource(i)));
+        }
+        // Soot has to be able to read the classes, so they are compiled for the release of the project
+        final List<String> options = Arrays.asList("-d", folder.getPath(), "-classpath",
+                System.getProperty("java.class.path"), "--release", "11");
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        if (!compiler.getTask(null, null, diagnostics, options, null, sources).call()) {
+            throw new RuntimeException("Delegates could not be compiled: " + diagnostics.getDiagnostics());
+        }
+        return classNames;
+    }
+
+    /**
+     * Adds a sub-process with a sequence of tasks, which contains the sub-process of the next nesting level
+     */
+    private FlowNode addSubProcess(final ModelBuilder model, final Scope scope, final int level, final int nesting,
+            final int position, final int column) {
+        final FlowNode subProcess = model.addNode(scope, "subProcess", "SubProcess_" + level + "_" + nesting,
+                column, 0);
+        final Scope inner = subProcess.scope = new Scope(subProcess.id);
+        final int nestedPosition = nesting < subProcessDepth ? subProcessTasks / 2 : -1;
+
+        String last = model.addNode(inner, "startEvent", "StartEvent_" + level + "_" + nesting, 0, 0).id;
+        int innerColumn = 1;
+        for (int i = 0; i < subProcessTasks; i++) {
+            if (i == nestedPosition) {
+                final FlowNode nested = addSubProcess(model, inner, level, nesting + 1, position + i,
+                        innerColumn++);
+                model.connect(inner, last, nested.id, null);
+                last = nested.id;
+            }
+            final FlowNode task = addTask(model, inner, "Task_" + level + "_s" + nesting + "_" + i, position + i,
+                    innerColumn++, 0);
+            model.connect(inner, last, task.id, null);
+            last = task.id;
+        }
+        model.connect(inner, last,
+                model.addNode(inner, "endEvent", "EndEvent_" + level + "_" + nesting, innerColumn, 0).id, null);
+        return subProcess;
+    }
+
+    /**
+     * Adds a task, which reads the variable of its position and writes the variable of the next position.
+     * With delegates, the task calls the delegate of its position instead.
+     */
+    private FlowNode addTask(final ModelBuilder model, final Scope scope, final String id, final int position,
+            final int column, final int row) {
+        final FlowNode task = model.addNode(scope, "serviceTask", id, column, row);
+        task.attributes.append(" name=\"").append(id).append('"');
+        if (delegates > 0) {
+            task.attributes.append(" camunda:class=\"").append(delegateClassName(position % delegates)).append('"');
+            return task;
+        }
+        task.attributes.append(" camunda:expression=\"${true}\"");
+        task.extensions.append("<camunda:inputOutput>")
+                .append("<camunda:inputParameter name=\"input_").append(id).append("\">${")
+                .append(variable(position)).append("}</camunda:inputParameter>")
+                .append("<camunda:outputParameter name=\"").append(variable(position + 1)).append("\">${input_")
+                .append(id).append("}</camunda:outputParameter>")
+                .append("</camunda:inputOutput>");
+        return task;
+    }
+
+    private String addGateway(final ModelBuilder model, final String predecessor, final int level,
+            final int position, final int column, final boolean exclusive) {
+        final Scope process = model.process;
+        final String type = exclusive ? "exclusiveGateway" : "parallelGateway";
+        final FlowNode split = model.addNode(process, type, "Split_" + level + "_" + position, column, 0);
+        final FlowNode join = model.addNode(process, type, "Join_" + level + "_" + position, column + 2, 0);
+        model.connect(process, predecessor, split.id, null);
+        for (int branch = 0; branch < gatewayFanOut; branch++) {
+            final FlowNode task = addTask(model, process, "Task_" + level + "_" + position + "_" + branch,
+                    position + branch, column + 1, branch);
+            model.connect(process, split.id, task.id,
+                    exclusive ? "${" + variable(position) + " == " + branch + "}" : null);
+            model.connect(process, task.id, join.id, null);
+        }
+        return join.id;
+    }
+
+    private String variable(final int position) {
+        return "var_" + (position % variables);
+    }
+
+    /**
+     * Source of a generated delegate, which is compiled from memory
+     */
+    private static class DelegateSource extends SimpleJavaFileObject {
+
+        private final String source;
+
+        DelegateSource(final String className, final String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * Flow node of a generated model
+     */
+    private static class FlowNode {
+
+        private final String type;
+
+        private final String id;
+
+        private final int column;
+
+        private final int row;
+
+        private final StringBuilder attributes = new StringBuilder();
+
+        private final StringBuilder extensions = new StringBuilder();
+
+        private final List<String> incoming = new ArrayList<>();
+
+        private final List<String> outgoing = new ArrayList<>();
+
+        /**
+         * Contained flow nodes of a sub-process
+         */
+        private Scope scope;
+
+        FlowNode(final String type, final String id, final int column, final int row) {
+            this.type = type;
+            this.id = id;
+            this.column = column;
+            this.row = row;
+        }
+
+        int getWidth() {
+            return type.endsWith("Event") ? 36 : type.endsWith("Gateway") ? 50 : 100;
+        }
+
+        int getHeight() {
+            return type.endsWith("Event") ? 36 : type.endsWith("Gateway") ? 50 : 80;
+        }
+
+        int getCenterX() {
+            return 100 + 150 * column;
+        }
+
+        int getCenterY() {
+            return 100 + 120 * row;
+        }
+    }
+
+    /**
+     * Flow nodes and sequence flows of a process or sub-process, which are drawn on their own plane
+     */
+    private static class Scope {
+
+        private final String id;
+
+        private final List<FlowNode> nodes = new ArrayList<>();
+
+        private final List<String[]> sequenceFlows = new ArrayList<>();
+
+        Scope(final String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Collects the flow nodes and sequence flows of a model and writes them together with a simple diagram
+     */
+    private static class ModelBuilder {
+
+        private final String processId;
+
+        private final Scope process;
+
+        private final Map<String, FlowNode> nodes = new LinkedHashMap<>();
+
+        private int sequenceFlows;
+
+        ModelBuilder(final String processId) {
+            this.processId = processId;
+            this.process = new Scope(processId);
+        }
+
+        FlowNode addNode(final Scope scope, final String type, final String id, final int column, final int row) {
+            final FlowNode node = new FlowNode(type, id, column, row);
+            nodes.put(id, node);
+            scope.nodes.add(node);
+            return node;
+        }
+
+        void connect(final Scope scope, final String source, final String target, final String condition) {
+            final String id = "Flow_" + processId + "_" + sequenceFlows++;
+            nodes.get(source).outgoing.add(id);
+            nodes.get(target).incoming.add(id);
+            scope.sequenceFlows.add(new String[] { id, source, target, condition });
+        }
+
+        String toXml() {
+            final StringBuilder xml = new StringBuilder();
+            xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                    .append("<bpmn:definitions xmlns:bpmn=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" ")
+                    .append("xmlns:bpmndi=\"http://www.omg.org/spec/BPMN/20100524/DI\" ")
+                    .append("xmlns:dc=\"http://www.omg.org/spec/DD/20100524/DC\" ")
+                    .append("xmlns:di=\"http://www.omg.org/spec/DD/20100524/DI\" ")
+                    .append("xmlns:camunda=\"http://camunda.org/schema/1.0/bpmn\" ")
+                    .append("xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" ")
+                    .append("id=\"Definitions_").append(processId)
+                    .append("\" targetNamespace=\"http://bpmn.io/schema/bpmn\">\n");
+            xml.append("  <bpmn:process id=\"").append(processId).append("\" isExecutable=\"true\">\n");
+            appendElements(xml, process, "    ");
+            xml.append("  </bpmn:process>\n");
+            appendDiagram(xml, process);
+            xml.append("</bpmn:definitions>\n");
+            return xml.toString();
+        }
+
+        private void appendElements(final StringBuilder xml, final Scope scope, final String indent) {
+            for (final FlowNode node : scope.nodes) {
+                xml.append(indent).append("<bpmn:").append(node.type).append(" id=\"").append(node.id).append('"')
+                        .append(node.attributes).append(">\n");
+                if (node.extensions.length() > 0) {
+                    xml.append(indent).append("  <bpmn:extensionElements>").append(node.extensions)
+                            .append("</bpmn:extensionElements>\n");
+                }
+                node.incoming.forEach(flow -> xml.append(indent).append("  <bpmn:incoming>").append(flow)
+                        .append("</bpmn:incoming>\n"));
+                node.outgoing.forEach(flow -> xml.append(indent).append("  <bpmn:outgoing>").append(flow)
+                        .append("</bpmn:outgoing>\n"));
+                if (node.scope != null) {
+                    appendElements(xml, node.scope, indent + "  ");
+                }
+                xml.append(indent).append("</bpmn:").append(node.type).append(">\n");
+            }
+            for (final String[] flow : scope.sequenceFlows) {
+                xml.append(indent).append("<bpmn:sequenceFlow id=\"").append(flow[0]).append("\" sourceRef=\"")
+                        .append(flow[1]).append("\" targetRef=\"").append(flow[2]).append('"');
+                if (flow[3] == null) {
+                    xml.append(" />\n");
+                } else {
+                    xml.append(">\n").append(indent)
+                            .append("  <bpmn:conditionExpression xsi:type=\"bpmn:tFormalExpression\">")
+                            .append(flow[3]).append("</bpmn:conditionExpression>\n").append(indent)
+                            .append("</bpmn:sequenceFlow>\n");
+                }
+            }
+        }
+
+        /**
+         * Draws a scope on its own plane. Sub-processes are collapsed and drawn on the planes following the plane of
+         * the scope.
+         */
+        private void appendDiagram(final StringBuilder xml, final Scope scope) {
+            xml.append("  <bpmndi:BPMNDiagram id=\"BPMNDiagram_").append(scope.id).append("\">\n")
+                    .append("    <bpmndi:BPMNPlane id=\"BPMNPlane_").append(scope.id).append("\" bpmnElement=\"")
+                    .append(scope.id).append("\">\n");
+            for (final FlowNode node : scope.nodes) {
+                xml.append("      <bpmndi:BPMNShape id=\"").append(node.id).append("_di\" bpmnElement=\"")
+                        .append(node.id).append('"');
+                if (node.scope != null) {
+                    xml.append(" isExpanded=\"false\"");
+                }
+                xml.append("><dc:Bounds x=\"").append(node.getCenterX() - node.getWidth() / 2)
+                        .append("\" y=\"").append(node.getCenterY() - node.getHeight() / 2).append("\" width=\"")
+                        .append(node.getWidth()).append("\" height=\"").append(node.getHeight())
+                        .append("\" /></bpmndi:BPMNShape>\n");
+            }
+            for (final String[] flow : scope.sequenceFlows) {
+                final FlowNode source = nodes.get(flow[1]);
+                final FlowNode target = nodes.get(flow[2]);
+                xml.append("      <bpmndi:BPMNEdge id=\"").append(flow[0]).append("_di\" bpmnElement=\"")
+                        .append(flow[0]).append("\">")
+                        .append("<di:waypoint x=\"").append(source.getCenterX()).append("\" y=\"")
+                        .append(source.getCenterY()).append("\" />")
+                        .append("<di:waypoint x=\"").append(target.getCenterX()).append("\" y=\"")
+                        .append(target.getCenterY()).append("\" /></bpmndi:BPMNEdge>\n");
+            }
+            xml.append("    </bpmndi:BPMNPlane>\n  </bpmndi:BPMNDiagram>\n");
+            for (final FlowNode node : scope.nodes) {
+                if (node.scope != null) {
+                    appendDiagram(xml, node.scope);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.generator;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.processing.ElementGraphBuilder;
+import de.viadee.bpm.vPAV.processing.EntryPointScanner;
+import de.viadee.bpm.vPAV.processing.code.flow.FlowAnalysis;
+import de.viadee.bpm.vPAV.processing.model.graph.Graph;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.CallActivity;
+import org.camunda.bpm.model.bpmn.instance.Gateway;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.SubProcess;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class SyntheticBpmnGeneratorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        RuntimeConfig.getInstance().setTest(true);
+        RuntimeConfig.getInstance().setClassLoader(SyntheticBpmnGeneratorTest.class.getClassLoader());
+    }
+
+    @Test
+    public void testModelsAreWritten() throws IOException {
+        final File folder = temporaryFolder.newFolder();
+        final List<File> files = new SyntheticBpmnGenerator().tasks(20).gatewayDensity(0.3).gatewayFanOut(3)
+                .callActivityDepth(2).write(folder);
+
+        Assert.assertEquals("Root model and two called models should be written.", 3, files.size());
+        final BpmnModelInstance root = Bpmn.readModelFromFile(files.get(0));
+        final Collection<CallActivity> callActivities = root.getModelElementsByType(CallActivity.class);
+        Assert.assertEquals(1, callActivities.size());
+        Assert.assertEquals(SyntheticBpmnGenerator.processId(1), callActivities.iterator().next().getCalledElement());
+
+        final int gateways = root.getModelElementsByType(Gateway.class).size();
+        Assert.assertTrue("Gateways should be placed.", gateways > 0 && gateways % 2 == 0);
+        Assert.assertEquals("Each pair of gateways should replace one task by three.",
+                20 - gateways / 2 + gateways / 2 * 3, root.getModelElementsByType(ServiceTask.class).size());
+        Assert.assertTrue("Leaf model should not call other models.",
+                Bpmn.readModelFromFile(files.get(2)).getModelElementsByType(CallActivity.class).isEmpty());
+    }
+
+    @Test
+    public void testCalledModelsAreIncludedInGraph() {
+        final Map<String, BpmnModelInstance> models = new SyntheticBpmnGenerator().tasks(10).gatewayDensity(0.2)
+                .callActivityDepth(1).generate();
+        final BpmnModelInstance root = models.get(SyntheticBpmnGenerator.processId(0));
+
+        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(models);
+        final FlowAnalysis flowAnalysis = new FlowAnalysis();
+        final Collection<Graph> graphs = graphBuilder.createProcessGraph(new FileScanner(new RuleSet()), root,
+                SyntheticBpmnGenerator.fileName(0), new ArrayList<>(), new EntryPointScanner(null), flowAnalysis);
+        flowAnalysis.analyze(graphs);
+
+        Assert.assertNotNull("Tasks of the called model should be part of the flow analysis.",
+                flowAnalysis.getNodes().get("Task_1_0__0"));
+        Assert.assertEquals("The same settings should create the same models.",
+                new SyntheticBpmnGenerator().tasks(10).gatewayDensity(0.2).callActivityDepth(1).generateXml(0),
+                new SyntheticBpmnGenerator().tasks(10).gatewayDensity(0.2).callActivityDepth(1).generateXml(0));
+    }
+
+    @Test
+    public void testSubProcessesAreNested() {
+        final BpmnModelInstance model = new SyntheticBpmnGenerator().tasks(10).gatewayDensity(0).subProcessDepth(2)
+                .subProcessTasks(4).generateModel(0);
+
+        final SubProcess outer = model.getModelElementById("SubProcess_0_1");
+        final SubProcess inner = model.getModelElementById("SubProcess_0_2");
+        Assert.assertEquals("Outer sub-process should contain the inner one.", outer, inner.getParentElement());
+        Assert.assertEquals(4, inner.getChildElementsByType(ServiceTask.class).size());
+        Assert.assertEquals("Tasks of the process and both sub-processes should be generated.", 18,
+                model.getModelElementsByType(ServiceTask.class).size());
+    }
+
+    @Test
+    public void testDelegatesAreCompiled() throws Exception {
+        final File folder = temporaryFolder.newFolder();
+        final SyntheticBpmnGenerator generator = new SyntheticBpmnGenerator().tasks(6).gatewayDensity(0)
+                .delegates(3).delegateVariables(2);
+        final List<String> classNames = generator.compileDelegates(folder);
+
+        Assert.assertEquals(3, classNames.size());
+        Assert.assertTrue(generator.generateDelegateSource(1).contains("execution.setVariable(\"var_3\""));
+        Assert.assertEquals("Tasks should reference the delegates.", SyntheticBpmnGenerator.delegateClassName(1),
+                generator.generateModel(0).<ServiceTask>getModelElementById("Task_0_4").getCamundaClass());
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { folder.toURI().toURL() },
+                getClass().getClassLoader())) {
+            for (final String className : classNames) {
+                Assert.assertTrue(JavaDelegate.class.isAssignableFrom(classLoader.loadClass(className)));
+            }
+        }
+    }
+}
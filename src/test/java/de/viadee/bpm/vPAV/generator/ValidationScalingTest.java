@@ -0,0 +1,237 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.generator;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import de.viadee.bpm.vPAV.ProcessApplicationValidator;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.model.data.CheckerIssue;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Validates generated projects of growing size and asserts, that time and heap grow at most polynomially with the
+ * number of flow nodes. The results are written to target/vPAV-scaling.json, so that they can be tracked across
+ * builds.
+ * <p>
+ * The test runs for about a minute, so it is skipped unless it is enabled with -Dvpav.scaleTests=true, e.g. by the
+ * scale-tests profile. The sizes and the maximum exponents can be set with the system properties
+ * vpav.scaleTests.sizes, vpav.scaleTests.maxTimeExponent and vpav.scaleTests.maxHeapExponent.
+ */
+public class ValidationScalingTest {
+
+    private static final String ENABLED = "vpav.scaleTests";
+
+    private static final String RULE_SET = "generator/ruleSetScaling.xml";
+
+    private static final File REPORT = new File("target/vPAV-scaling.json");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        Assume.assumeTrue("Scale tests are enabled with -D" + ENABLED + "=true", Boolean.getBoolean(ENABLED));
+        RuntimeConfig.getInstance().setTest(true);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        RuntimeConfig.getInstance().setProperties(new Properties());
+        RuntimeConfig.getInstance().setClassLoader(ValidationScalingTest.class.getClassLoader());
+    }
+
+    @Test
+    public void testValidationScales() throws IOException {
+        final List<Integer> sizes = new ArrayList<>();
+        Arrays.stream(System.getProperty(ENABLED + ".sizes", "25,50,100,200,400").split(","))
+                .forEach(size -> sizes.add(Integer.parseInt(size.trim())));
+        final double maxTimeExponent = Double.parseDouble(System.getProperty(ENABLED + ".maxTimeExponent", "2"));
+        final double maxHeapExponent = Double.parseDouble(System.getProperty(ENABLED + ".maxHeapExponent", "2"));
+
+        // Soot and the JIT are warmed up by the smallest project, so that its time is comparable
+        validate(sizes.get(0));
+        final List<Sample> samples = new ArrayList<>();
+        for (final int size : sizes) {
+            samples.add(validate(size));
+        }
+        writeReport(samples, maxTimeExponent, maxHeapExponent);
+
+        final Sample smallest = samples.get(0);
+        final Sample largest = samples.get(samples.size() - 1);
+        final double timeExponent = exponent(smallest.flowNodes, largest.flowNodes, smallest.millis, largest.millis);
+        final double heapExponent = exponent(smallest.flowNodes, largest.flowNodes, smallest.allocatedBytes,
+                largest.allocatedBytes);
+        Assert.assertTrue(String.format("Time grows with exponent %.2f, see %s", timeExponent, REPORT),
+                timeExponent <= maxTimeExponent);
+        Assert.assertTrue(String.format("Allocated heap grows with exponent %.2f, see %s", heapExponent, REPORT),
+                heapExponent <= maxHeapExponent);
+    }
+
+    /**
+     * Generates a project with models, delegates and rule set and validates it in the current thread
+     */
+    private Sample validate(final int tasks) throws IOException {
+        final File project = temporaryFolder.newFolder();
+        final File models = new File(project, "models");
+        final File classes = new File(project, "classes");
+        if (!models.mkdir() || !classes.mkdir()) {
+            throw new IOException("Project folders could not be created");
+        }
+        final SyntheticBpmnGenerator generator = new SyntheticBpmnGenerator().tasks(tasks).gatewayDensity(0.1)
+                .gatewayFanOut(3).callActivityDepth(2).subProcessDepth(2).variables(20).delegates(10)
+                .delegateVariables(3);
+        int flowNodes = 0;
+        for (final File file : generator.write(models)) {
+            flowNodes += Bpmn.readModelFromFile(file).getModelElementsByType(FlowNode.class).size();
+        }
+        generator.compileDelegates(classes);
+
+        final Properties properties = new Properties();
+        properties.put("basepath", models.getPath() + "/");
+        properties.put("scanpath", classes.getPath() + "/");
+        properties.put("ruleSetPath", ConfigConstants.BASE_PATH_TEST);
+        properties.put("ruleSet", RULE_SET);
+        properties.put("validationFolder", new File(project, "vPAV").getPath());
+        RuntimeConfig.getInstance().setProperties(properties);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toURI().toURL() },
+                ValidationScalingTest.class.getClassLoader())) {
+            RuntimeConfig.getInstance().setClassLoader(classLoader);
+            System.gc();
+            final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+            for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                    heapPools.add(pool);
+                }
+            }
+            final long allocatedBytes = allocatedBytes();
+            final long start = System.nanoTime();
+
+            final Collection<CheckerIssue> issues = ProcessApplicationValidator.findModelInconsistencies();
+
+            final Sample sample = new Sample(tasks, flowNodes, (System.nanoTime() - start) / 1_000_000,
+                    allocatedBytes() - allocatedBytes,
+                    heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum(), issues.size());
+            Assert.assertTrue("The variables read by the first delegate should be undefined.",
+                    issues.stream().anyMatch(issue -> "Task_0_0".equals(issue.getElementId())
+                            && "var_0".equals(issue.getVariable())));
+            return sample;
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the exponent k, for which the measured value grows like size^k between two sizes
+     */
+    private static double exponent(final int smallSize, final int largeSize, final long smallValue,
+            final long largeValue) {
+        return Math.log((double) Math.max(largeValue, 1) / Math.max(smallValue, 1))
+                / Math.log((double) largeSize / smallSize);
+    }
+
+    private static void writeReport(final List<Sample> samples, final double maxTimeExponent,
+            final double maxHeapExponent) throws IOException {
+        final JsonObject report = new JsonObject();
+        report.addProperty("maxTimeExponent", maxTimeExponent);
+        report.addProperty("maxHeapExponent", maxHeapExponent);
+        final JsonArray results = new JsonArray();
+        for (final Sample sample : samples) {
+            final JsonObject result = new JsonObject();
+            result.addProperty("tasks", sample.tasks);
+            result.addProperty("flowNodes", sample.flowNodes);
+            result.addProperty("millis", sample.millis);
+            result.addProperty("allocatedBytes", sample.allocatedBytes);
+            result.addProperty("peakHeapBytes", sample.peakHeapBytes);
+            result.addProperty("issues", sample.issues);
+            results.add(result);
+        }
+        report.add("results", results);
+        Files.write(REPORT.toPath(),
+                new GsonBuilder().setPrettyPrinting().create().toJson(report).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class Sample {
+
+        private final int tasks;
+
+        private final int flowNodes;
+
+        private final long millis;
+
+        private final long allocatedBytes;
+
+        private final long peakHeapBytes;
+
+        private final int issues;
+
+        Sample(final int tasks, final int flowNodes, final long millis, final long allocatedBytes,
+                final long peakHeapBytes, final int issues) {
+            this.tasks = tasks;
+            this.flowNodes = flowNodes;
+            this.millis = millis;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+            this.issues = issues;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import soot.Scene;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+public class EntryPointCacheTest {
+
+    private static final String CLASS_FILE = "de/viadee/bpm/vPAV/processing/EntryPointRuntimeService";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        RuntimeConfig.getInstance().setTest(true);
+        FileScanner.setupSootClassPaths(new LinkedList<>());
+        JavaReaderStatic.setupSoot();
+        Scene.v().loadNecessaryClasses();
+        String currentPath = (new File(".")).toURI().getPath();
+        Scene.v().extendSootClassPath(currentPath + "src/test/java");
+        Scene.v().defaultClassPath();
+    }
+
+    @Test
+    public void testEntryPointsAreReused() {
+        final File file = new File(folder.getRoot(), "cache/entryPointCache.json");
+        final EntryPointCache cache = EntryPointCache.read(file);
+        final EntryPointScanner scanner = new EntryPointScanner(Collections.singleton(CLASS_FILE), cache);
+        scanner.scanProcessVariables();
+        cache.write(file);
+
+        final EntryPointCache nextCache = EntryPointCache.read(file);
+        final List<EntryPoint> cachedEntryPoints = nextCache.get(CLASS_FILE);
+        Assert.assertNotNull("Entry points of unchanged class should be reused.", cachedEntryPoints);
+        Assert.assertEquals(scanner.getEntryPoints().size(), cachedEntryPoints.size());
+        for (int i = 0; i < cachedEntryPoints.size(); i++) {
+            final EntryPoint expected = scanner.getEntryPoints().get(i);
+            final EntryPoint actual = cachedEntryPoints.get(i);
+            Assert.assertEquals(expected.getMethodName(), actual.getMethodName());
+            Assert.assertEquals(expected.getEntryPointName(), actual.getEntryPointName());
+            Assert.assertEquals(expected.getMessageName(), actual.getMessageName());
+            Assert.assertEquals(expected.getProcessDefinitionKey(), actual.getProcessDefinitionKey());
+            Assert.assertEquals(expected.getProcessVariables(), actual.getProcessVariables());
+        }
+    }
+
+    @Test
+    public void testChangedDependencyInvalidatesEntryPoints() throws IOException {
+        final File file = new File(folder.getRoot(), "cache/entryPointCache.json");
+        final EntryPointCache cache = EntryPointCache.read(file);
+        new EntryPointScanner(Collections.singleton(CLASS_FILE), cache).scanProcessVariables();
+        cache.write(file);
+
+        // Simulate a changed class that was read during the scan
+        final JsonObject json = JsonParser.parseString(new String(Files.readAllBytes(file.toPath()),
+                StandardCharsets.UTF_8)).getAsJsonObject();
+        final JsonObject dependencies = json.getAsJsonObject("classes").getAsJsonObject(CLASS_FILE)
+                .getAsJsonObject("dependencies");
+        final Set<String> classNames = dependencies.keySet();
+        Assert.assertTrue("Scanned class should be recorded as dependency.",
+                classNames.contains("de.viadee.bpm.vPAV.processing.EntryPointRuntimeService"));
+        dependencies.addProperty("de.viadee.bpm.vPAV.processing.EntryPointRuntimeService", "changed");
+        Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertNull("Entry points should be scanned again.", EntryPointCache.read(file).get(CLASS_FILE));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Set;
+
+public class EntryPointPrefilterTest {
+
+    private static final String ENTRY_POINT_CLASS = "de/viadee/bpm/vPAV/processing/EntryPointRuntimeService.class";
+
+    private static final String SIMPLE_CLASS = "de/viadee/bpm/vPAV/processing/SimpleObject.class";
+
+    @BeforeClass
+    public static void setup() {
+        RuntimeConfig.getInstance().setTest(true);
+        final Properties properties = new Properties();
+        properties.put("scanpath", ConfigConstants.TARGET_TEST_PATH);
+        RuntimeConfig.getInstance().setProperties(properties);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        RuntimeConfig.getInstance().setProperties(new Properties());
+    }
+
+    @Test
+    public void testReadReferencedClasses() {
+        final Set<String> classes = EntryPointPrefilter.readReferencedClasses(ENTRY_POINT_CLASS);
+        Assert.assertNotNull(classes);
+        Assert.assertTrue(classes.contains("org.camunda.bpm.engine.RuntimeService"));
+        Assert.assertTrue(classes.contains("org.camunda.bpm.engine.runtime.ProcessInstantiationBuilder"));
+        Assert.assertTrue(classes.contains("java.util.HashMap"));
+        Assert.assertNull("Missing class files can't be read.",
+                EntryPointPrefilter.readReferencedClasses("de/viadee/bpm/vPAV/Missing.class"));
+    }
+
+    @Test
+    public void testFilter() {
+        final Set<String> classFiles = EntryPointPrefilter.filter(
+                Arrays.asList(ENTRY_POINT_CLASS, SIMPLE_CLASS, "de/viadee/bpm/vPAV/AnotherSimpleObject.class",
+                        "de/viadee/bpm/vPAV/Missing.class"));
+        Assert.assertTrue("Class with entry points should be scanned.", classFiles.contains(ENTRY_POINT_CLASS));
+        Assert.assertTrue("Class that can't be read should be scanned.",
+                classFiles.contains("de/viadee/bpm/vPAV/Missing.class"));
+        Assert.assertFalse("Class without entry points should not be scanned.", classFiles.contains(SIMPLE_CLASS));
+        Assert.assertEquals(2, classFiles.size());
+    }
+}
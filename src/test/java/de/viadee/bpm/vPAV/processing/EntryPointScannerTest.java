@@ -124,6 +124,84 @@ public class EntryPointScannerTest {
                 iter.next());
     }
 
+    @Test
+    public void testParallelScan() {
+        final Set<String> javaResources = new LinkedHashSet<>();
+        javaResources.add("de/viadee/bpm/vPAV/processing/SimpleObject");
+        javaResources.add("de/viadee/bpm/vPAV/processing/EntryPointRuntimeService");
+        final Properties properties = new Properties();
+        properties.put("scanThreads", "2");
+        RuntimeConfig.getInstance().setProperties(properties);
+        final EntryPointScanner parallelScanner = new EntryPointScanner(javaResources);
+        try {
+            parallelScanner.scanProcessVariables();
+        } finally {
+            RuntimeConfig.getInstance().setProperties(new Properties());
+        }
+
+        Assert.assertEquals("Same entry points should be found in the same order.",
+                scanner.getEntryPoints().stream().map(ep -> ep.getMethodName() + ":" + ep.getEntryPointName())
+                        .collect(Collectors.toList()),
+                parallelScanner.getEntryPoints().stream().map(ep -> ep.getMethodName() + ":" + ep.getEntryPointName())
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testParallelScanWithStaticFields() {
+        final Set<String> javaResources = new LinkedHashSet<>();
+        javaResources.add("de/viadee/bpm/vPAV/processing/StaticFieldWriter");
+        javaResources.add("de/viadee/bpm/vPAV/processing/StaticFieldReader");
+        javaResources.add("de/viadee/bpm/vPAV/processing/EntryPointRuntimeService");
+        final EntryPointScanner sequentialScanner = new EntryPointScanner(javaResources);
+        sequentialScanner.scanProcessVariables();
+
+        final Properties properties = new Properties();
+        properties.put("scanThreads", "3");
+        RuntimeConfig.getInstance().setProperties(properties);
+        final EntryPointScanner parallelScanner = new EntryPointScanner(javaResources);
+        try {
+            parallelScanner.scanProcessVariables();
+        } finally {
+            RuntimeConfig.getInstance().setProperties(new Properties());
+        }
+
+        Assert.assertEquals("Static field should be read after it was written.", "staticKey",
+                getProcessDefinitionKey(sequentialScanner, "StaticFieldReader"));
+        Assert.assertEquals("Same entry points should be found in the same order.",
+                sequentialScanner.getEntryPoints().stream()
+                        .map(ep -> ep.getMethodName() + ":" + ep.getProcessDefinitionKey())
+                        .collect(Collectors.toList()),
+                parallelScanner.getEntryPoints().stream()
+                        .map(ep -> ep.getMethodName() + ":" + ep.getProcessDefinitionKey())
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testStaticFieldsAreClearedForEachScan() {
+        final Set<String> javaResources = new LinkedHashSet<>();
+        javaResources.add("de/viadee/bpm/vPAV/processing/StaticFieldReader");
+        javaResources.add("de/viadee/bpm/vPAV/processing/StaticFieldWriter");
+        final EntryPointScanner staticFieldScanner = new EntryPointScanner(javaResources);
+        staticFieldScanner.scanProcessVariables();
+        Assert.assertNull("Static field should not be known before it was written.",
+                getProcessDefinitionKey(staticFieldScanner, "StaticFieldReader"));
+        Assert.assertEquals("staticKey",
+                staticFieldScanner.getStaticObjectVariables().get("de.viadee.bpm.vPAV.processing.StaticFieldWriter")
+                        .getStringField("processKey").getValue());
+
+        // Another scan doesn't see the static fields of the previous one
+        final EntryPointScanner nextScanner = new EntryPointScanner(javaResources);
+        nextScanner.scanProcessVariables();
+        Assert.assertNull(getProcessDefinitionKey(nextScanner, "StaticFieldReader"));
+    }
+
+    private static String getProcessDefinitionKey(final EntryPointScanner scanner, final String className) {
+        final List<EntryPoint> entryPoints = scanner.getEntryPoints().stream()
+                .filter(ep -> ep.getClassName().endsWith("." + className)).collect(Collectors.toList());
+        Assert.assertEquals("One entry point should be found.", 1, entryPoints.size());
+        return entryPoints.get(0).getProcessDefinitionKey();
+    }
+
     @Test
     public void testCamundaVariableMap() {
         List<EntryPoint> entryPoints = scanner.getEntryPoints().stream()
@@ -76,7 +76,7 @@ public class JavaReaderStaticTest {
         BasicNode[] pred = new BasicNode[] { predecessor };
 
         JavaReaderStatic.getVariablesFromJavaDelegate("de.viadee.bpm.vPAV.delegates.SimpleDelegate",
-                element, ElementChapter.IMPLEMENTATION, KnownElementFieldType.Class, pred);
+                element, ElementChapter.IMPLEMENTATION, KnownElementFieldType.Class, pred, null);
 
         Assert.assertEquals(1, predecessor.getSuccessors().size());
         Assert.assertEquals("ServiceTask__3", pred[0].getId());
@@ -95,7 +95,7 @@ public class JavaReaderStaticTest {
         when(baseElement.getAttributeValueNs(BpmnModelConstants.CAMUNDA_NS,
                 BpmnConstants.ATTR_VAR_MAPPING_DELEGATE)).thenReturn("something");
         JavaReaderStatic.getVariablesFromJavaDelegate("de.viadee.bpm.vPAV.delegates.DelegatedVarMapping",
-                element, ElementChapter.IMPLEMENTATION, KnownElementFieldType.Class, pred);
+                element, ElementChapter.IMPLEMENTATION, KnownElementFieldType.Class, pred, null);
 
         Assert.assertEquals(1, predecessor.getSuccessors().size());
         Assert.assertEquals("ServiceTask__1", pred[0].getId());
@@ -118,7 +118,8 @@ public class JavaReaderStaticTest {
 
         JavaReaderStatic
                 .getVariablesFromClass("de.viadee.bpm.vPAV.delegates.TestDelegateStaticInitialProcessVariables",
-                        element, ElementChapter.IMPLEMENTATION, KnownElementFieldType.Class, entry, new BasicNode[1]);
+                        element, ElementChapter.IMPLEMENTATION, KnownElementFieldType.Class, entry, new BasicNode[1],
+                        null);
 
         assertEquals(3, element.getControlFlowGraph().getOperations().size());
         Set<String> variables = element.getControlFlowGraph().getVariablesOfOperations();
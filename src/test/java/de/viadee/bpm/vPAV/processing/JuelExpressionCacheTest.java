@@ -0,0 +1,77 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing;
+
+import org.camunda.bpm.engine.impl.juel.IdentifierNode;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TreeBuilderException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class JuelExpressionCacheTest {
+
+    @Test
+    public void testExpressionIsParsedOnce() {
+        final Tree tree = JuelExpressionCache.getTree("${myBean.doIt(execution)}");
+
+        assertSame("Expression was parsed again", tree,
+                JuelExpressionCache.getTree(new String("${myBean.doIt(execution)}")));
+
+        final List<String> identifiers = new ArrayList<>();
+        for (final IdentifierNode node : JuelExpressionCache.getTree("${a && b}").getIdentifierNodes()) {
+            identifiers.add(node.getName());
+        }
+        assertEquals("[a, b]", identifiers.toString());
+    }
+
+    @Test
+    public void testTreesAreSharedBetweenThreads() throws InterruptedException {
+        final String expression = "${execution.getVariable('sharedVariable')}";
+        final Tree[] trees = new Tree[2];
+        final Thread thread = new Thread(() -> trees[1] = JuelExpressionCache.getTree(expression));
+        trees[0] = JuelExpressionCache.getTree(expression);
+        thread.start();
+        thread.join();
+
+        assertSame("Threads got different trees", trees[0], trees[1]);
+    }
+
+    @Test(expected = TreeBuilderException.class)
+    public void testInvalidExpression() {
+        JuelExpressionCache.getTree("${a +}");
+    }
+}
@@ -366,6 +366,34 @@ public class ObjectReaderTest {
         Assert.assertEquals("stringValue", objectReader.getThisObject().getStringField("parameterString").getValue());
     }
 
+    @Test
+    public void testHandleInvokeExprUsesMethodSummary() {
+        ProcessVariablesCreator processVariablesCreator = mock(ProcessVariablesCreator.class);
+        ObjectReader reader = new ObjectReader(new ObjectVariable(), processVariablesCreator, thisSootClass);
+        SootMethod method = anotherSootClass.getMethodByName("echo");
+        Block block = SootResolverSimplified.getBlockFromMethod(method);
+        MethodSummaryCache.clearCache();
+
+        // First invocation is interpreted, second one replays the summary
+        Local unknownObject = new JimpleLocal("$r9", RefType.v("de.viadee.bpm.vPAV.AnotherSimpleObject"));
+        InvokeExpr invokeExpr = new JVirtualInvokeExpr(unknownObject, method.makeRef(),
+                Collections.singletonList(StringConstant.v("echoed")));
+        Assert.assertEquals("echoed", reader.handleInvokeExpr(null, invokeExpr, "this", localStringVariables,
+                localObjectVariables));
+        Assert.assertEquals("echoed", reader.handleInvokeExpr(null, invokeExpr, "this", localStringVariables,
+                localObjectVariables));
+        Assert.assertEquals(1, MethodSummaryCache.getCacheMisses());
+        Assert.assertEquals(1, MethodSummaryCache.getCacheHits());
+        verify(processVariablesCreator, times(2)).addNodeIfNotExisting(block, anotherSootClass);
+
+        // Different arguments are not answered by the summary
+        invokeExpr = new JVirtualInvokeExpr(unknownObject, method.makeRef(),
+                Collections.singletonList(StringConstant.v("other")));
+        Assert.assertEquals("other", reader.handleInvokeExpr(null, invokeExpr, "this", localStringVariables,
+                localObjectVariables));
+        Assert.assertEquals(2, MethodSummaryCache.getCacheMisses());
+    }
+
     @Test
     public void testHandleReturnStmt() {
         // Test String return
@@ -79,7 +79,7 @@ public class ReachingDefinitionTest {
 		final Collection<ServiceTask> tasks = modelInstance.getModelElementsByType(ServiceTask.class);
 		final BpmnElement element = new BpmnElement(PATH, tasks.iterator().next(), new ControlFlowGraph(), new FlowAnalysis());
 		final FileScanner fileScanner = new FileScanner(new RuleSet());
-		JavaReaderStatic.getVariablesFromJavaDelegate("de.viadee.bpm.vPAV.delegates.TestDelegateReachingDef", element, null, null,  new BasicNode[1]);
+		JavaReaderStatic.getVariablesFromJavaDelegate("de.viadee.bpm.vPAV.delegates.TestDelegateReachingDef", element, null, null,  new BasicNode[1], null);
 		ListMultimap<String, ProcessVariableOperation> operations = element.getControlFlowGraph().getOperations();
 
 		assertEquals(5, operations.size());
@@ -44,7 +44,9 @@ import soot.SootMethod;
 import soot.toolkits.graph.Block;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.Map;
 
 public class SootResolverSimplifiedTest {
 
@@ -67,6 +69,38 @@ public class SootResolverSimplifiedTest {
         Assert.assertEquals(3, block.getBody().getUnits().size());
     }
 
+    @Test
+    public void testGetBlockFromMethodIsCached() {
+        SootClass sc = Scene.v().forceResolve("de.viadee.bpm.vPAV.processing.SimpleObject", SootClass.SIGNATURES);
+        SootMethod method = sc.getMethodByName("method");
+        Block block = SootResolverSimplified.getBlockFromMethod(method);
+        long hits = SootResolverSimplified.getCacheHits();
+        Assert.assertSame("Block should be taken from cache.", block,
+                SootResolverSimplified.getBlockFromMethod(method));
+        Assert.assertEquals(hits + 1, SootResolverSimplified.getCacheHits());
+
+        SootResolverSimplified.clearCache();
+        Assert.assertNotSame("Block should be created again after clearing the cache.", block,
+                SootResolverSimplified.getBlockFromMethod(method));
+        Assert.assertEquals(1, SootResolverSimplified.getCacheMisses());
+    }
+
+    @Test
+    public void testClassesAreSetUpInOneBatch() {
+        long sceneLoads = SootResolverSimplified.getSceneLoads();
+        Map<String, SootClass> sootClasses = SootResolverSimplified.setupSootClasses(
+                Arrays.asList("de/viadee/bpm/vPAV/processing/SimpleObject",
+                        "de/viadee/bpm/vPAV/processing/EntryPointRuntimeService"));
+        Assert.assertEquals(2, sootClasses.size());
+        Assert.assertTrue(sootClasses.get("de/viadee/bpm/vPAV/processing/SimpleObject").isApplicationClass());
+        Assert.assertEquals("Scene should be loaded once for all classes.", sceneLoads + 1,
+                SootResolverSimplified.getSceneLoads());
+
+        SootResolverSimplified.setupSootClass("de/viadee/bpm/vPAV/processing/SimpleObject");
+        Assert.assertEquals("Scene should not be loaded again for a class that is already set up.", sceneLoads + 1,
+                SootResolverSimplified.getSceneLoads());
+    }
+
     @Test
     public void testGetParametersForDefaultMethods() {
         // Test execute
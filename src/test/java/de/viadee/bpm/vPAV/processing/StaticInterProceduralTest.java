@@ -79,7 +79,7 @@ public class StaticInterProceduralTest {
         final FileScanner fileScanner = new FileScanner(new RuleSet());
         JavaReaderStatic
                 .getVariablesFromJavaDelegate("de.viadee.bpm.vPAV.delegates.TestDelegateStaticInterProc", element, null,
-                        null, new BasicNode[1]);
+                        null, new BasicNode[1], null);
         ListMultimap<String, ProcessVariableOperation> variables = element.getControlFlowGraph().getOperations();
 
         // Then
@@ -0,0 +1,111 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.checker;
+
+import de.viadee.bpm.vPAV.config.model.Rule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.BoundaryEvent;
+import org.camunda.bpm.model.bpmn.instance.IntermediateCatchEvent;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.camunda.bpm.model.bpmn.instance.StartEvent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ElementCheckerIndexTest {
+
+    private final BpmnModelInstance model = Bpmn.createExecutableProcess("Process")
+            .startEvent("StartEvent")
+            .serviceTask("ServiceTask")
+            .exclusiveGateway("Gateway")
+            .endEvent("EndEvent")
+            .done();
+
+    private final ElementChecker overlapChecker = new OverlapChecker(
+            new Rule("OverlapChecker", true, null, null, null, null));
+
+    private final ElementChecker timerChecker = new TimerExpressionChecker(
+            new Rule("TimerExpressionChecker", true, null, null, null, null));
+
+    private final ElementChecker allElementsChecker = element -> new ArrayList<>();
+
+    private final ElementCheckerIndex index = new ElementCheckerIndex(
+            Arrays.asList(overlapChecker, timerChecker, allElementsChecker));
+
+    @Test
+    public void testElementsAreRoutedByType() {
+        Assert.assertArrayEquals(new int[] { 2 }, index.getPositions(model.getModelElementById("ServiceTask")));
+        Assert.assertArrayEquals(new int[] { 1, 2 }, index.getPositions(model.getModelElementById("StartEvent")));
+        Assert.assertArrayEquals("End events have no timers.", new int[] { 2 },
+                index.getPositions(model.getModelElementById("EndEvent")));
+    }
+
+    @Test
+    public void testOrderOfCheckersIsKept() {
+        final String flowId = model.<ServiceTask>getModelElementById("ServiceTask").getIncoming().iterator().next().getId();
+        Assert.assertArrayEquals(new int[] { 0, 2 }, index.getPositions(model.getModelElementById(flowId)));
+        Assert.assertSame("Checkers of an element class should be determined once.",
+                index.getPositions(model.getModelElementById("ServiceTask")),
+                index.getPositions(model.getModelElementById("ServiceTask")));
+    }
+
+    @Test
+    public void testIndexIsReusedForCheckersOfTheSameClasses() {
+        final ElementChecker otherOverlapChecker = new OverlapChecker(
+                new Rule("OverlapChecker", true, null, null, null, null));
+        final ElementChecker otherTimerChecker = new TimerExpressionChecker(
+                new Rule("TimerExpressionChecker", true, null, null, null, null));
+
+        Assert.assertTrue("Checkers of the next model should use the same index.",
+                index.isIndexOf(Arrays.asList(otherOverlapChecker, otherTimerChecker, allElementsChecker)));
+        Assert.assertFalse(index.isIndexOf(Arrays.asList(otherTimerChecker, otherOverlapChecker, allElementsChecker)));
+        Assert.assertFalse(index.isIndexOf(Arrays.asList(otherOverlapChecker, otherTimerChecker)));
+    }
+
+    @Test
+    public void testElementTypesAreDeclaredInConstructor() {
+        Assert.assertEquals(Collections.singletonList(SequenceFlow.class), overlapChecker.getElementTypes());
+        Assert.assertEquals(Arrays.asList(IntermediateCatchEvent.class, StartEvent.class, BoundaryEvent.class),
+                timerChecker.getElementTypes());
+
+        final ElementChecker defaultChecker = new NoScriptChecker(
+                new Rule("NoScriptChecker", true, null, null, null, null));
+        Assert.assertEquals("Checkers without types should check all elements.",
+                Collections.singletonList(BaseElement.class), defaultChecker.getElementTypes());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.checker;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GroovyScriptValidatorTest {
+
+    /**
+     * Case: Scripts are compiled, but not executed, so unknown variables are not reported
+     */
+    @Test
+    public void testValidScriptIsNotExecuted() {
+        assertNull("Script must not be executed",
+                GroovyScriptValidator.validate("execution.setVariable('a', 1); System.exit(1)"));
+    }
+
+    /**
+     * Case: Syntax errors are reported and cached by the content of the script
+     */
+    @Test
+    public void testInvalidScriptIsCached() {
+        final String message = GroovyScriptValidator.validate("def a = (1 + ");
+
+        assertTrue(message.startsWith("startup failed:"));
+        assertSame("Script was compiled again", message, GroovyScriptValidator.validate("def a = (1 " + "+ "));
+    }
+
+    /**
+     * Case: Scripts validated in parallel are cached for later checks
+     */
+    @Test
+    public void testValidateAllInParallel() {
+        GroovyScriptValidator.validateAll(Arrays.asList("def b = 2", "§%&", "def b = 2", "println 'c'"), 2);
+
+        final String message = GroovyScriptValidator.validate("§%&");
+        assertTrue(message.startsWith("startup failed:"));
+        assertSame("Script was compiled again", message, GroovyScriptValidator.validate("§%&"));
+        assertNull(GroovyScriptValidator.validate("def b = 2"));
+    }
+}
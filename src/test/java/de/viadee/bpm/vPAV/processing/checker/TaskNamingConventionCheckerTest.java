@@ -50,9 +50,13 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class TaskNamingConventionCheckerTest {
@@ -117,6 +121,43 @@ public class TaskNamingConventionCheckerTest {
         assertEquals("The issue wasn't recognised", 1, IssueService.getInstance().getIssues().size());
 	}
 
+	/**
+	 * Case 3: Checkers of the same rule share the compiled convention, surrounding whitespace is part of the pattern
+	 */
+	@Test
+	public void testConventionIsCompiledOnce() {
+		final String PATH = BASE_PATH + "TaskNamingConventionCheckerTest_CorrectTaskNamingConvention.bpmn";
+		final Rule rule = createRule();
+		final ElementConvention convention = rule.getElementConventions().iterator().next();
+
+		final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(new File(PATH));
+		final Collection<BaseElement> baseElements = modelInstance.getModelElementsByType(BaseElement.class);
+		for (final ElementChecker ruleChecker : Arrays.asList(new TaskNamingConventionChecker(rule),
+				new TaskNamingConventionChecker(rule))) {
+			for (final BaseElement baseElement : baseElements) {
+				ruleChecker.check(new BpmnElement(PATH, baseElement, new ControlFlowGraph(), new FlowAnalysis()));
+			}
+		}
+
+		assertEquals("There are issues, although the convention is correct.", 0,
+				IssueService.getInstance().getIssues().size());
+		assertSame("Convention was compiled more than once", convention.getCompiledPattern(),
+				convention.getCompiledPattern());
+
+		final ElementConvention paddedConvention = new ElementConvention("convention", null, null,
+				" " + convention.getPattern() + "\n");
+		final ElementChecker paddedChecker = new TaskNamingConventionChecker(new Rule("TaskNamingConventionChecker",
+				true, null, null, Collections.singletonList(paddedConvention), null));
+		for (final BaseElement baseElement : baseElements) {
+			paddedChecker.check(new BpmnElement(PATH, baseElement, new ControlFlowGraph(), new FlowAnalysis()));
+		}
+
+		assertTrue("Surrounding whitespace should not be removed from task naming conventions.",
+				IssueService.getInstance().getIssues().size() > 0);
+		assertEquals(" " + convention.getPattern() + "\n", paddedConvention.getCompiledPattern().pattern());
+		assertEquals(convention.getPattern(), paddedConvention.getTrimmedPattern().pattern());
+	}
+
 	/**
 	 * Creates rule configuration
 	 *
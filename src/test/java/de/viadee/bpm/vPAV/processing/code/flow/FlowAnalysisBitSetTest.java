@@ -0,0 +1,539 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.code.flow;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
+import de.viadee.bpm.vPAV.constants.ConfigConstants;
+import de.viadee.bpm.vPAV.processing.ElementGraphBuilder;
+import de.viadee.bpm.vPAV.processing.EntryPointScanner;
+import de.viadee.bpm.vPAV.processing.JavaReaderStatic;
+import de.viadee.bpm.vPAV.processing.model.data.Anomaly;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import de.viadee.bpm.vPAV.processing.model.data.ElementChapter;
+import de.viadee.bpm.vPAV.processing.model.data.ProcessVariableOperation;
+import de.viadee.bpm.vPAV.processing.model.graph.Graph;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.*;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import soot.Scene;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.*;
+
+import static de.viadee.bpm.vPAV.processing.model.data.VariableOperation.*;
+
+/**
+ * Compares the data flow sets and anomalies of the bit set based flow analysis with a map based reference
+ * implementation of the reaching definitions, as it was used before the sets were stored as bit sets.
+ */
+public class FlowAnalysisBitSetTest {
+
+    private static final String BASE_PATH = "src/test/resources/";
+
+    // Sets of the reference implementation
+    private final Map<AnalysisElement, LinkedHashMap<String, ProcessVariableOperation>> inUsed =
+            new IdentityHashMap<>();
+
+    private final Map<AnalysisElement, LinkedHashMap<String, ProcessVariableOperation>> inUnused =
+            new IdentityHashMap<>();
+
+    private final Map<AnalysisElement, LinkedHashMap<String, ProcessVariableOperation>> outUsed =
+            new IdentityHashMap<>();
+
+    private final Map<AnalysisElement, LinkedHashMap<String, ProcessVariableOperation>> outUnused =
+            new IdentityHashMap<>();
+
+    private final List<String> anomalies = new ArrayList<>();
+
+    private FlowAnalysis flowAnalysis;
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException {
+        final File file = new File(".");
+        final String currentPath = file.toURI().toURL().toString();
+        final URL classUrl = new URL(currentPath + "src/test/java");
+        final URL[] classUrls = { classUrl };
+        ClassLoader cl = new URLClassLoader(classUrls);
+        RuntimeConfig.getInstance().setClassLoader(cl);
+        RuntimeConfig.getInstance().setTest(true);
+        FileScanner.setupSootClassPaths(new LinkedList<>());
+        JavaReaderStatic.setupSoot();
+        Scene.v().loadNecessaryClasses();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        RuntimeConfig.getInstance().setProperties(new Properties());
+    }
+
+    @Test
+    public void testInitialProcessVariables() {
+        assertSameResults("ProcessVariablesModelCheckerTest_InitialProcessVariables.bpmn", new HashMap<>());
+    }
+
+    @Test
+    public void testAnomaliesCreationModel() {
+        assertSameResults("ProcessVariablesModelCheckerTest_AnomaliesCreationModel.bpmn", new HashMap<>());
+    }
+
+    @Test
+    public void testMultiInstanceActivity() {
+        assertSameResults("MultiInstanceActivityTest.bpmn", new HashMap<>());
+        assertSameResults("MultiInstanceActivityTest_Collection.bpmn", new HashMap<>());
+    }
+
+    @Test
+    public void testEmbeddedCallActivities() {
+        final Map<String, String> processIdToPathMap = new HashMap<>();
+        processIdToPathMap.put("calledProcess", "CallActivityTest/CallActivityTest_calledProcess.bpmn");
+        processIdToPathMap.put("calledcalledProcess", "CallActivityTest/CallActivityTest_calledcalledProcess.bpmn");
+        assertSameResults("CallActivityTest/CallActivityTest_embeddingCallActivity.bpmn", processIdToPathMap);
+        assertSameResults("CallActivityTest/CallActivityTest_TwoLevels.bpmn", processIdToPathMap);
+    }
+
+    @Test
+    public void testCallActivityWithDelegateVariableMapping() {
+        final Map<String, String> processIdToPathMap = new HashMap<>();
+        processIdToPathMap.put("calledElement", "CallActivityTest/CallActivityTest_calledElement.bpmn");
+        assertSameResults("CallActivityTest/CallActivityTest_SingleCallActivity.bpmn", processIdToPathMap);
+    }
+
+    @Test
+    public void testCallActivityWithListenersAndParameters() {
+        final Map<String, String> processIdToPathMap = new HashMap<>();
+        processIdToPathMap.put("calledProcess", "ProcessVariablesLifecycleOrderTest_CalledProcess.bpmn");
+        assertSameResults("ProcessVariablesLifecycleOrderTest_WithCallActivity.bpmn", processIdToPathMap);
+    }
+
+    private void assertSameResults(final String path, final Map<String, String> processIdToPathMap) {
+        final Properties myProperties = new Properties();
+        myProperties.put("scanpath", ConfigConstants.TARGET_TEST_PATH);
+        RuntimeConfig.getInstance().setProperties(myProperties);
+        final FileScanner fileScanner = new FileScanner(new RuleSet());
+        final File processDefinition = new File(BASE_PATH + path);
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(processDefinition);
+        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(null, processIdToPathMap, null, null);
+
+        flowAnalysis = new FlowAnalysis();
+        final Collection<Graph> graphCollection = graphBuilder.createProcessGraph(fileScanner, modelInstance,
+                processDefinition.getPath(), new ArrayList<>(), new EntryPointScanner(null), flowAnalysis);
+        Assert.assertEquals(1, graphCollection.size());
+        flowAnalysis.analyze(graphCollection);
+
+        inUsed.clear();
+        inUnused.clear();
+        outUsed.clear();
+        outUnused.clear();
+        anomalies.clear();
+        computeReachingDefinitions();
+        computeLineByLine();
+        extractAnomalies();
+
+        for (AnalysisElement node : flowAnalysis.getNodes().values()) {
+            final String message = path + ": " + node.getGraphId();
+            Assert.assertEquals(message, getOperations(inUsed.get(node)), getOperations(node.getInUsed()));
+            Assert.assertEquals(message, getOperations(inUnused.get(node)), getOperations(node.getInUnused()));
+            Assert.assertEquals(message, getOperations(outUsed.get(node)), getOperations(node.getOutUsed()));
+            Assert.assertEquals(message, getOperations(outUnused.get(node)), getOperations(node.getOutUnused()));
+        }
+        Assert.assertEquals(path, sorted(anomalies), sorted(getAnomalies()));
+    }
+
+    private Set<String> getOperations(final Map<String, ProcessVariableOperation> operations) {
+        final Set<String> ids = new HashSet<>();
+        operations.forEach((key, operation) -> ids.add(key + " " + operation.getScopeId()));
+        return ids;
+    }
+
+    private List<String> getAnomalies() {
+        final Set<BpmnElement> elements = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AnalysisElement node : flowAnalysis.getNodes().values()) {
+            elements.add(node.getParentElement());
+            node.getOperations().values().forEach(operation -> elements.add(operation.getElement()));
+        }
+        final List<String> elementAnomalies = new ArrayList<>();
+        for (BpmnElement element : elements) {
+            element.getAnomalies().values()
+                    .forEach(containers -> containers.forEach(anomaly -> elementAnomalies.add(toString(anomaly))));
+        }
+        return elementAnomalies;
+    }
+
+    private List<String> sorted(final List<String> list) {
+        final List<String> sortedList = new ArrayList<>(list);
+        Collections.sort(sortedList);
+        return sortedList;
+    }
+
+    private String toString(final AnomalyContainer anomaly) {
+        return anomaly.getAnomaly() + " " + anomaly.getName() + " " + anomaly.getNodeId() + " "
+                + anomaly.getElementId() + " " + anomaly.getVariable().getId();
+    }
+
+    private void addAnomaly(final Anomaly anomaly, final String nodeId, final String elementId,
+            final ProcessVariableOperation operation) {
+        anomalies.add(anomaly + " " + operation.getName() + " " + nodeId + " " + elementId + " " + operation.getId());
+    }
+
+    private LinkedHashMap<String, ProcessVariableOperation> get(
+            final Map<AnalysisElement, LinkedHashMap<String, ProcessVariableOperation>> sets,
+            final AnalysisElement element) {
+        return sets.computeIfAbsent(element, key -> new LinkedHashMap<>());
+    }
+
+    // Map based reference implementation
+
+    private void computeReachingDefinitions() {
+        boolean change = true;
+        while (change) {
+            change = false;
+            for (AnalysisElement analysisElement : flowAnalysis.getNodes().values()) {
+                final LinkedHashMap<String, ProcessVariableOperation> elementInUsed = new LinkedHashMap<>();
+                final LinkedHashMap<String, ProcessVariableOperation> elementInUnused = new LinkedHashMap<>();
+                final List<AnalysisElement> predecessors = analysisElement.getPredecessors();
+
+                if (predecessors.size() > 1) {
+                    final List<ProcessVariableOperation> inUsedT = new ArrayList<>(
+                            get(outUsed, predecessors.get(0)).values());
+                    final List<ProcessVariableOperation> inUnusedT = new ArrayList<>(
+                            get(outUnused, predecessors.get(0)).values());
+                    for (int i = 1; i < predecessors.size(); i++) {
+                        inUsedT.retainAll(get(outUsed, predecessors.get(i)).values());
+                        inUnusedT.retainAll(get(outUnused, predecessors.get(i)).values());
+                    }
+                    inUsedT.forEach(pvo -> elementInUsed.put(pvo.getId(), pvo));
+                    inUnusedT.forEach(pvo -> elementInUnused.put(pvo.getId(), pvo));
+                } else {
+                    for (AnalysisElement pred : predecessors) {
+                        final List<LinkedHashMap<String, ProcessVariableOperation>> inSets = filterInputVariables(
+                                pred, analysisElement);
+                        elementInUsed.putAll(inSets.get(0));
+                        elementInUnused.putAll(inSets.get(1));
+                    }
+                }
+                inUsed.put(analysisElement, elementInUsed);
+                inUnused.put(analysisElement, elementInUnused);
+
+                final LinkedHashMap<String, ProcessVariableOperation> oldOutUnused = get(outUnused, analysisElement);
+                final LinkedHashMap<String, ProcessVariableOperation> oldOutUsed = get(outUsed, analysisElement);
+
+                final LinkedHashMap<String, ProcessVariableOperation> inUsedTemp = new LinkedHashMap<>(
+                        elementInUsed);
+                final LinkedHashMap<String, ProcessVariableOperation> internalUnion = new LinkedHashMap<>(
+                        elementInUnused);
+                final LinkedHashMap<String, ProcessVariableOperation> tempUsed = new LinkedHashMap<>(
+                        analysisElement.getUsed());
+
+                for (ProcessVariableOperation operation : analysisElement.getDefined().values()) {
+                    internalUnion.values().stream()
+                            .filter(old -> old.getName().equals(operation.getName())).findFirst()
+                            .ifPresent(old -> internalUnion.remove(old.getId()));
+                    internalUnion.put(operation.getId(), operation);
+                    elementInUsed.values().stream()
+                            .filter(old -> old.getName().equals(operation.getName())).findFirst()
+                            .ifPresent(old -> tempUsed.put(old.getId(), old));
+                }
+
+                inUsedTemp.putAll(getIntersection(internalUnion, analysisElement.getUsed()));
+                final LinkedHashMap<String, ProcessVariableOperation> elementOutUsed = getSetDifference(inUsedTemp,
+                        analysisElement.getKilled());
+
+                final LinkedHashMap<String, ProcessVariableOperation> tempKillSet = new LinkedHashMap<>(
+                        analysisElement.getKilled());
+                tempKillSet.putAll(tempUsed);
+                final LinkedHashMap<String, ProcessVariableOperation> elementOutUnused = getSetDifference(
+                        internalUnion, tempKillSet);
+
+                outUsed.put(analysisElement, elementOutUsed);
+                outUnused.put(analysisElement, elementOutUnused);
+
+                if (!oldOutUnused.equals(elementOutUnused) || !oldOutUsed.equals(elementOutUsed)) {
+                    change = true;
+                }
+            }
+        }
+    }
+
+    private List<LinkedHashMap<String, ProcessVariableOperation>> filterInputVariables(
+            final AnalysisElement predecessor, final AnalysisElement analysisElement) {
+        final String scopePredecessor = predecessor.getBaseElement().getScope()
+                .getAttributeValue(BpmnConstants.ATTR_ID);
+        final String scopeElement = analysisElement.getBaseElement().getScope()
+                .getAttributeValue(BpmnConstants.ATTR_ID);
+        final List<String> scopes = Arrays.asList(scopeElement, analysisElement.getParentElement().getGraphId());
+        final LinkedHashMap<String, ProcessVariableOperation> tempInUsed = new LinkedHashMap<>(
+                get(outUsed, predecessor));
+        final LinkedHashMap<String, ProcessVariableOperation> tempInUnused = new LinkedHashMap<>(
+                get(outUnused, predecessor));
+
+        if (!isChildOrSiblingOfScope(analysisElement.getBaseElement(), scopePredecessor) &&
+                !predecessor.getBaseElement().getScope().getElementType().getTypeName().equals("subProcess")) {
+            filterLocalVariables(predecessor, tempInUnused, tempInUsed);
+
+            if (isCallActivityMapping(analysisElement, flowAnalysis.getCallActivitiesInMapping())
+                    || isCallActivityMapping(predecessor, flowAnalysis.getCallActivitiesOutMapping())) {
+                final String newScope = ((Process) analysisElement.getBaseElement().getParentElement()).getId();
+                copyOperationsWithScope(tempInUnused, newScope);
+                copyOperationsWithScope(tempInUsed, newScope);
+            } else {
+                filterVariables(get(outUnused, predecessor), tempInUnused, scopes, false);
+                filterVariables(get(outUsed, predecessor), tempInUsed, scopes, false);
+
+                final AnalysisElement predecessorCallActivity = flowAnalysis.getNodesBeforeCallActivities()
+                        .get(analysisElement.getGraphId());
+                if (predecessorCallActivity != null) {
+                    get(outUnused, predecessorCallActivity).forEach((key, value) -> {
+                        if (scopes.contains(value.getScopeId())) {
+                            tempInUnused.put(key, value);
+                        }
+                    });
+                    get(outUsed, predecessorCallActivity).forEach((key, value) -> {
+                        if (scopes.contains(value.getScopeId())) {
+                            tempInUnused.put(key, value);
+                        }
+                    });
+                }
+
+                if (predecessor.getBaseElement() instanceof EndEvent && analysisElement instanceof BasicNode
+                        && ((BasicNode) analysisElement).getElementChapter().equals(ElementChapter.OUTPUT_DATA)) {
+                    tempInUnused.putAll(get(outUnused, predecessor));
+                    tempInUsed.putAll(get(outUsed, predecessor));
+                }
+            }
+        } else if (!predecessor.getParentElement().getGraphId()
+                .equals(analysisElement.getParentElement().getGraphId())) {
+            filterLocalVariables(predecessor, tempInUnused, tempInUsed);
+        } else if (predecessor instanceof BasicNode && ((BasicNode) predecessor).getElementChapter()
+                .equals(ElementChapter.OUTPUT_DATA)) {
+            filterVariables(get(outUnused, predecessor), tempInUnused, scopes, false);
+            filterVariables(get(outUsed, predecessor), tempInUsed, scopes, false);
+        }
+        return Arrays.asList(tempInUsed, tempInUnused);
+    }
+
+    private void copyOperationsWithScope(final LinkedHashMap<String, ProcessVariableOperation> operations,
+            final String newScope) {
+        operations.replaceAll((key, value) -> new ProcessVariableOperation(value, newScope));
+    }
+
+    private boolean isCallActivityMapping(final AnalysisElement element, final Set<String> mappings) {
+        final ModelElementInstance parentElement = element.getBaseElement().getParentElement();
+        return (parentElement instanceof Process) && mappings.contains(((Process) parentElement).getId());
+    }
+
+    private void filterLocalVariables(final AnalysisElement predecessor,
+            final LinkedHashMap<String, ProcessVariableOperation> tempInUnused,
+            final LinkedHashMap<String, ProcessVariableOperation> tempInUsed) {
+        final List<String> scopes = Collections.singletonList(predecessor.getParentElement().getGraphId());
+        filterVariables(get(outUnused, predecessor), tempInUnused, scopes, true);
+        filterVariables(get(outUsed, predecessor), tempInUsed, scopes, true);
+    }
+
+    private void filterVariables(final LinkedHashMap<String, ProcessVariableOperation> sourceList,
+            final LinkedHashMap<String, ProcessVariableOperation> targetList, final List<String> scopes,
+            final boolean withScope) {
+        sourceList.forEach((key, value) -> {
+            if (scopes.contains(value.getScopeId()) == withScope) {
+                targetList.remove(key);
+            }
+        });
+    }
+
+    private boolean isChildOrSiblingOfScope(final BaseElement element, final String scopeId) {
+        if (element == null) {
+            return false;
+        }
+        if (element.getId().equals(scopeId)) {
+            return true;
+        }
+        if (!(element.getParentElement() instanceof BaseElement)) {
+            return false;
+        }
+        return isChildOrSiblingOfScope((BaseElement) element.getParentElement(), scopeId);
+    }
+
+    private void computeLineByLine() {
+        for (AnalysisElement analysisElement : flowAnalysis.getNodes().values()) {
+            final List<ProcessVariableOperation> operations = new ArrayList<>();
+            final String childProcessId = getChildProcessId(analysisElement);
+            analysisElement.getOperations().values().forEach(operation -> {
+                if (!operation.getScopeId().equals(childProcessId)) {
+                    operations.add(operation);
+                }
+            });
+
+            for (int i = 1; i < operations.size(); i++) {
+                final ProcessVariableOperation prev = operations.get(i - 1);
+                final ProcessVariableOperation curr = operations.get(i);
+                final String nodeId = analysisElement.getGraphId();
+                final String elementId = curr.getElement().getBaseElement().getId();
+                if (curr.getOperation().equals(READ) && prev.getOperation().equals(DELETE)) {
+                    addAnomaly(Anomaly.UR, nodeId, elementId, curr);
+                }
+                if (curr.getOperation().equals(WRITE) && prev.getOperation().equals(WRITE)
+                        && curr.getName().equals(prev.getName())) {
+                    addAnomaly(Anomaly.DD, nodeId, elementId, curr);
+                }
+                if (curr.getOperation().equals(DELETE) && prev.getOperation().equals(WRITE)) {
+                    addAnomaly(Anomaly.DU, nodeId, elementId, curr);
+                }
+                if (curr.getOperation().equals(DELETE) && prev.getOperation().equals(DELETE)) {
+                    addAnomaly(Anomaly.UU, nodeId, elementId, curr);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param node Current node
+     * @return Called element, if the node maps delegate variables of a call activity
+     */
+    private String getChildProcessId(final AnalysisElement node) {
+        if (node.getParentElement().getBaseElement() instanceof CallActivity && node instanceof Node) {
+            final ElementChapter chapter = ((Node) node).getElementChapter();
+            if (chapter.equals(ElementChapter.INPUT_IMPLEMENTATION)
+                    || chapter.equals(ElementChapter.OUTPUT_IMPLEMENTATION)) {
+                return ((CallActivity) node.getParentElement().getBaseElement()).getCalledElement();
+            }
+        }
+        return null;
+    }
+
+    private void extractAnomalies() {
+        for (AnalysisElement node : flowAnalysis.getNodes().values()) {
+            LinkedHashMap<String, ProcessVariableOperation> defined = node.getDefined();
+            LinkedHashMap<String, ProcessVariableOperation> used = node.getUsed();
+            final LinkedHashMap<String, ProcessVariableOperation> killed = node.getKilled();
+            LinkedHashMap<String, ProcessVariableOperation> nodeInUnused = get(inUnused, node);
+            LinkedHashMap<String, ProcessVariableOperation> nodeInUsed = get(inUsed, node);
+
+            // Other nodes of call activities are not checked
+            final String childProcessId = getChildProcessId(node);
+            if (node.getParentElement().getBaseElement() instanceof CallActivity && node instanceof Node
+                    && childProcessId == null) {
+                continue;
+            } else if (childProcessId != null) {
+                defined = withoutScope(defined, childProcessId);
+                used = withoutScope(used, childProcessId);
+                nodeInUnused = withoutScope(nodeInUnused, childProcessId);
+                nodeInUsed = withoutScope(nodeInUsed, childProcessId);
+            }
+            final String nodeId = node.getGraphId();
+            final String elementId = node.getBaseElement().getId();
+
+            getIntersection(nodeInUnused, defined).values()
+                    .forEach(operation -> addAnomaly(Anomaly.DD, nodeId, elementId, operation));
+            getIntersection(nodeInUnused, killed).values()
+                    .forEach(operation -> addAnomaly(Anomaly.DU, nodeId, elementId, operation));
+            getUndefined(used, nodeInUnused, nodeInUsed, defined)
+                    .forEach(operation -> addAnomaly(Anomaly.UR, nodeId, elementId, operation));
+            getUndefined(killed, nodeInUnused, nodeInUsed, defined)
+                    .forEach(operation -> addAnomaly(Anomaly.UU, nodeId, elementId, operation));
+        }
+    }
+
+    private LinkedHashMap<String, ProcessVariableOperation> withoutScope(
+            final LinkedHashMap<String, ProcessVariableOperation> operations, final String scope) {
+        final LinkedHashMap<String, ProcessVariableOperation> filtered = new LinkedHashMap<>(operations);
+        operations.forEach((key, value) -> {
+            if (value.getScopeId().equals(scope)) {
+                filtered.remove(key);
+            }
+        });
+        return filtered;
+    }
+
+    private List<ProcessVariableOperation> getUndefined(final Map<String, ProcessVariableOperation> operations,
+            final Map<String, ProcessVariableOperation> nodeInUnused,
+            final Map<String, ProcessVariableOperation> nodeInUsed,
+            final Map<String, ProcessVariableOperation> defined) {
+        final List<ProcessVariableOperation> undefined = new ArrayList<>();
+        for (ProcessVariableOperation operation : operations.values()) {
+            if (nodeInUnused.values().stream().noneMatch(in -> in.getName().equals(operation.getName()))
+                    && nodeInUsed.values().stream().noneMatch(in -> in.getName().equals(operation.getName()))
+                    && defined.values().stream().noneMatch(def -> def.getName().equals(operation.getName())
+                    && operation.getIndex() > def.getIndex())) {
+                undefined.add(operation);
+            }
+        }
+        return undefined;
+    }
+
+    private LinkedHashMap<String, ProcessVariableOperation> getSetDifference(
+            final LinkedHashMap<String, ProcessVariableOperation> mapOne,
+            final LinkedHashMap<String, ProcessVariableOperation> mapTwo) {
+        final LinkedHashMap<String, ProcessVariableOperation> setDifference = new LinkedHashMap<>();
+        mapOne.forEach((key, value) -> {
+            if (!containsVariable(mapTwo, value)) {
+                setDifference.put(key, value);
+            }
+        });
+        return setDifference;
+    }
+
+    private LinkedHashMap<String, ProcessVariableOperation> getIntersection(
+            final LinkedHashMap<String, ProcessVariableOperation> mapOne,
+            final LinkedHashMap<String, ProcessVariableOperation> mapTwo) {
+        final LinkedHashMap<String, ProcessVariableOperation> intersection = new LinkedHashMap<>();
+        mapOne.forEach((key, value) -> {
+            if (containsVariable(mapTwo, value)) {
+                intersection.put(key, value);
+            }
+        });
+        return intersection;
+    }
+
+    private boolean containsVariable(final LinkedHashMap<String, ProcessVariableOperation> operations,
+            final ProcessVariableOperation operation) {
+        return operations.values().stream().anyMatch(other -> other.getName().equals(operation.getName())
+                && isDelegateVariable(other) == isDelegateVariable(operation));
+    }
+
+    private boolean isDelegateVariable(final ProcessVariableOperation operation) {
+        return (operation.getChapter().equals(ElementChapter.INPUT_IMPLEMENTATION)
+                || operation.getChapter().equals(ElementChapter.OUTPUT_IMPLEMENTATION))
+                && operation.getScopeId()
+                .equals(((CallActivity) operation.getElement().getBaseElement()).getCalledElement());
+    }
+}
@@ -150,6 +150,47 @@ public class CallActivityTest {
                 anomaly8.getAnomaly());
     }
 
+    @Test
+    public void testCalledProcessGraphsAreReused() {
+        final EntryPointScanner scanner = new EntryPointScanner(null);
+        final FileScanner fileScanner = new FileScanner(new RuleSet());
+        final String PATH = BASE_PATH + "CallActivityTest_embeddingCallActivity.bpmn";
+        final File processDefinition = new File(PATH);
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(processDefinition);
+
+        // add reference for called process
+        final Map<String, String> processIdToPathMap = new HashMap<>();
+        processIdToPathMap.put("calledProcess", "CallActivityTest/CallActivityTest_calledProcess.bpmn");
+        processIdToPathMap.put("calledcalledProcess", "CallActivityTest/CallActivityTest_calledcalledProcess.bpmn");
+
+        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(null, processIdToPathMap, null, null);
+
+        final List<List<String>> anomalies = new ArrayList<>();
+        final List<Collection<BpmnElement>> vertices = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final FlowAnalysis flowAnalysis = new FlowAnalysis();
+            final Collection<Graph> graphCollection = graphBuilder.createProcessGraph(fileScanner, modelInstance,
+                    processDefinition.getPath(), new ArrayList<>(), scanner, flowAnalysis);
+            flowAnalysis.analyze(graphCollection);
+
+            final List<String> currentAnomalies = new ArrayList<>();
+            graphBuilder.createInvalidPaths(graphCollection).keySet().forEach(anomaly -> currentAnomalies
+                    .add(anomaly.getName() + " " + anomaly.getAnomaly() + " " + anomaly.getElementId()));
+            anomalies.add(currentAnomalies);
+            vertices.add(graphCollection.iterator().next().getVertices());
+        }
+
+        Assert.assertEquals("Both called processes should be cached", 2,
+                fileScanner.getCallActivityGraphCache().size());
+        Assert.assertEquals("Reused graphs should lead to the same anomalies", anomalies.get(0), anomalies.get(1));
+        Assert.assertEquals(8, anomalies.get(1).size());
+        final BpmnElement reusedElement = vertices.get(1).stream()
+                .filter(element -> element.getGraphId().equals("_ServiceTask_1gq1azp")).findFirst().orElse(null);
+        Assert.assertNotNull(reusedElement);
+        Assert.assertTrue("Each call site should get its own copy of the called process",
+                vertices.get(0).stream().noneMatch(element -> element == reusedElement));
+    }
+
     @Test
     public void testEmbeddedWithVariableMapping() {
         // Usage of camunda:in and camunda:out
@@ -0,0 +1,91 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.graph;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompactAdjacencyTest {
+
+    @Test
+    public void testEdgesKeepInsertionOrder() {
+        final CompactAdjacency adjacency = new CompactAdjacency();
+        adjacency.add(2, 0, 100);
+        adjacency.add(0, 3, 100);
+        adjacency.add(2, 1, 50);
+        adjacency.add(0, 1, 100);
+
+        Assert.assertEquals("[3, 1]", getTargets(adjacency, 0).toString());
+        Assert.assertTrue(getTargets(adjacency, 1).isEmpty());
+        Assert.assertEquals("[0, 1]", getTargets(adjacency, 2).toString());
+        Assert.assertEquals(50, adjacency.weight(2, 1));
+        Assert.assertTrue("Vertex without edges should not fail", getTargets(adjacency, 7).isEmpty());
+
+        // edges can still be added after reading
+        adjacency.add(1, 2, 100);
+        adjacency.add(0, 2, 100);
+        Assert.assertEquals("[3, 1, 2]", getTargets(adjacency, 0).toString());
+        Assert.assertEquals("[2]", getTargets(adjacency, 1).toString());
+    }
+
+    @Test
+    public void testRemoveEdges() {
+        final CompactAdjacency adjacency = new CompactAdjacency();
+        for (int i = 0; i < 40; i++) {
+            adjacency.add(i % 2, i, 100);
+        }
+        adjacency.remove(0, 0);
+        adjacency.removeAll(1);
+
+        final List<Integer> targets = getTargets(adjacency, 0);
+        Assert.assertEquals(19, targets.size());
+        Assert.assertEquals(2, (int) targets.get(0));
+        Assert.assertEquals(38, (int) targets.get(18));
+        Assert.assertTrue(getTargets(adjacency, 1).isEmpty());
+
+        final CompactAdjacency copy = adjacency.copy();
+        copy.add(1, 0, 100);
+        Assert.assertEquals(targets, getTargets(copy, 0));
+        Assert.assertEquals("Copy should not change the original", 0, adjacency.degree(1));
+    }
+
+    private static List<Integer> getTargets(final CompactAdjacency adjacency, final int vertex) {
+        final List<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < adjacency.degree(vertex); i++) {
+            targets.add(adjacency.target(vertex, i));
+        }
+        return targets;
+    }
+}
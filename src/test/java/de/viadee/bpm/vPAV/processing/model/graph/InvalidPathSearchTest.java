@@ -0,0 +1,150 @@
+/*
+ * BSD 3-Clause License
+ *
+ * Copyright © 2020, viadee Unternehmensberatung AG
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * * Neither the name of the copyright holder nor the names of its
+ *   contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package de.viadee.bpm.vPAV.processing.model.graph;
+
+import de.viadee.bpm.vPAV.FileScanner;
+import de.viadee.bpm.vPAV.RuntimeConfig;
+import de.viadee.bpm.vPAV.config.model.Rule;
+import de.viadee.bpm.vPAV.config.model.RuleSet;
+import de.viadee.bpm.vPAV.config.model.Setting;
+import de.viadee.bpm.vPAV.constants.BpmnConstants;
+import de.viadee.bpm.vPAV.processing.ElementGraphBuilder;
+import de.viadee.bpm.vPAV.processing.EntryPointScanner;
+import de.viadee.bpm.vPAV.processing.JavaReaderStatic;
+import de.viadee.bpm.vPAV.processing.code.flow.FlowAnalysis;
+import de.viadee.bpm.vPAV.processing.model.data.AnomalyContainer;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.*;
+
+/**
+ * Unit Tests for the configurable search of invalid paths
+ */
+public class InvalidPathSearchTest {
+
+    private static final String PATH = "src/test/resources/ProcessVariablesModelCheckerTest_GraphCreation.bpmn";
+
+    // DD anomaly with two invalid paths
+    private static final String VARIABLE = "jepppa";
+
+    @BeforeClass
+    public static void setup() throws MalformedURLException {
+        RuntimeConfig.getInstance().setTest(true);
+        final File file = new File(".");
+        final String currentPath = file.toURI().toURL().toString();
+        final URL classUrl = new URL(currentPath + "src/test/java/");
+        final URL resourcesUrl = new URL(currentPath + "src/test/resources/");
+        final URL[] classUrls = { classUrl, resourcesUrl };
+        ClassLoader cl = new URLClassLoader(classUrls);
+        RuntimeConfig.getInstance().setClassLoader(cl);
+        FileScanner.setupSootClassPaths(new LinkedList<>());
+        JavaReaderStatic.setupSoot();
+    }
+
+    @Test
+    public void testBoundedSearch() {
+        final List<Path> allPaths = getInvalidPaths(createRule("all", null, null));
+        Assert.assertEquals(2, allPaths.size());
+
+        final List<Path> boundedPaths = getInvalidPaths(createRule("bounded", "1", null));
+        Assert.assertEquals("Number of paths should be limited", 1, boundedPaths.size());
+        Assert.assertEquals(allPaths.get(0).toString(), boundedPaths.get(0).toString());
+
+        final int shortestLength = allPaths.stream().mapToInt(path -> path.getElements().size()).min()
+                .getAsInt();
+        Assert.assertTrue("Paths longer than the maximum length should be skipped",
+                getInvalidPaths(createRule("bounded", null, String.valueOf(shortestLength - 1))).isEmpty());
+    }
+
+    @Test
+    public void testShortestSearch() {
+        final List<Path> allPaths = getInvalidPaths(null);
+        final Path shortestPath = allPaths.stream().min(Comparator.comparingInt(path -> path.getElements().size()))
+                .get();
+
+        final List<Path> paths = getInvalidPaths(createRule("shortest", null, null));
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(shortestPath.toString(), paths.get(0).toString());
+    }
+
+    @Test
+    public void testInvalidSettings() {
+        final InvalidPathSearch search = InvalidPathSearch.fromRule(createRule("bounded", "none", "-1"));
+        Assert.assertFalse(search.isShortest());
+        Assert.assertEquals(100, search.getMaxPaths());
+        Assert.assertEquals(100, search.getMaxPathLength());
+        Assert.assertSame(InvalidPathSearch.ALL, InvalidPathSearch.fromRule(createRule("unknown", null, null)));
+    }
+
+    private static List<Path> getInvalidPaths(final Rule rule) {
+        final EntryPointScanner scanner = new EntryPointScanner(null);
+        final FileScanner fileScanner = new FileScanner(new RuleSet());
+        final File processDefinition = new File(PATH);
+        final BpmnModelInstance modelInstance = Bpmn.readModelFromFile(processDefinition);
+        final ElementGraphBuilder graphBuilder = new ElementGraphBuilder(rule);
+        final FlowAnalysis flowAnalysis = new FlowAnalysis();
+        final Collection<Graph> graphCollection = graphBuilder.createProcessGraph(fileScanner, modelInstance,
+                processDefinition.getPath(), new ArrayList<>(), scanner, flowAnalysis);
+        flowAnalysis.analyze(graphCollection);
+
+        for (Map.Entry<AnomalyContainer, List<Path>> entry : graphBuilder.createInvalidPaths(graphCollection)
+                .entrySet()) {
+            if (entry.getKey().getName().equals(VARIABLE)) {
+                return entry.getValue();
+            }
+        }
+        throw new AssertionError("Anomaly of " + VARIABLE + " should be found");
+    }
+
+    private static Rule createRule(final String mode, final String maxPaths, final String maxPathLength) {
+        final Map<String, Setting> settings = new HashMap<>();
+        addSetting(settings, BpmnConstants.INVALID_PATHS, mode);
+        addSetting(settings, BpmnConstants.MAX_INVALID_PATHS, maxPaths);
+        addSetting(settings, BpmnConstants.MAX_INVALID_PATH_LENGTH, maxPathLength);
+        return new Rule(BpmnConstants.PROCESS_VARIABLE_MODEL_CHECKER, true, null, settings, new ArrayList<>(),
+                new ArrayList<>());
+    }
+
+    private static void addSetting(final Map<String, Setting> settings, final String name, final String value) {
+        if (value != null) {
+            settings.put(name, new Setting(name, null, null, null, false, value));
+        }
+    }
+}